@@ -0,0 +1,55 @@
+package com.surrealdb;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * An embedded {@code memory} database shared by the benchmarks of one trial.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+	public Surreal surreal;
+
+	@Setup(Level.Trial)
+	public void open() {
+		surreal = new Surreal();
+		surreal.connect("memory").useNs("bench").useDb("bench");
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		surreal.close();
+	}
+
+	static Person person(long i) {
+		return new Person("Person " + i, (int) (i % 100), Arrays.asList("a", "b", "c"), i % 2 == 0);
+	}
+
+	/**
+	 * The record used by the POJO benchmarks.
+	 */
+	public static class Person {
+		public RecordId id;
+		public String name;
+		public int age;
+		public List<String> tags;
+		public boolean active;
+
+		public Person() {
+		}
+
+		Person(String name, int age, List<String> tags, boolean active) {
+			this.name = name;
+			this.age = age;
+			this.tags = tags;
+			this.active = active;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rows per second through {@link Surreal#insert(String, java.lang.Object[])} and
+ * {@link Surreal#bulkInsert(String, java.util.Iterator, BulkOptions)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	private List<BenchmarkState.Person> rows;
+	private long table;
+
+	@Setup
+	public void setup() {
+		rows = new ArrayList<>(ROWS);
+		for (long i = 0; i < ROWS; i++) {
+			rows.add(BenchmarkState.person(i));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public List<Value> insert(BenchmarkState state) {
+		return state.surreal.insert("insert_" + table++, rows.toArray());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public BulkResult bulkInsert(BenchmarkState state) {
+		return state.surreal.bulkInsert("bulk_" + table++, rows.iterator());
+	}
+}
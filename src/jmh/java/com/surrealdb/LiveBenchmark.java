@@ -0,0 +1,81 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Live query notifications delivered per second, draining one notification at
+ * a time and in batches.
+ * <p>
+ * The records are created before each invocation, outside of the measurement,
+ * so that only the delivery of their notifications is timed. Each iteration
+ * starts from an empty table and a new live query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiveBenchmark {
+
+	private static final int NOTIFICATIONS = 500;
+
+	private LiveStream stream;
+	private final List<LiveNotification> batch = new ArrayList<>(NOTIFICATIONS);
+
+	@Setup(Level.Iteration)
+	public void setup(BenchmarkState state) {
+		state.surreal.query("REMOVE TABLE IF EXISTS feed; DEFINE TABLE feed");
+		// Large enough for every notification of an invocation, so creating them
+		// never waits for the consumer
+		stream = state.surreal.selectLive("feed", NOTIFICATIONS * 2);
+	}
+
+	@Setup(Level.Invocation)
+	public void produce(BenchmarkState state) {
+		state.surreal.query("FOR $i IN 1.." + (NOTIFICATIONS + 1) + " { CREATE feed SET n = $i }");
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		stream.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NOTIFICATIONS)
+	public int next() {
+		int received = 0;
+		while (received < NOTIFICATIONS && stream.next().isPresent()) {
+			received++;
+		}
+		return received;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NOTIFICATIONS)
+	public int nextBatch() {
+		int received = 0;
+		while (received < NOTIFICATIONS) {
+			batch.clear();
+			received += stream.nextBatch(batch, NOTIFICATIONS - received, Duration.ofSeconds(5));
+		}
+		return received;
+	}
+}
@@ -0,0 +1,64 @@
+package com.surrealdb;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * POJO marshalling ({@link ValueBuilder} encoding, {@link ValueClassConverter}
+ * decoding) on its own and as part of create and select.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PojoBenchmark {
+
+	private static final int RECORDS = 1000;
+
+	private BenchmarkState.Person person;
+	private Value stored;
+	private long next;
+
+	@Setup
+	public void setup(BenchmarkState state) {
+		person = BenchmarkState.person(1);
+		for (long i = 0; i < RECORDS; i++) {
+			state.surreal.create(new RecordId("person", i), BenchmarkState.person(i));
+		}
+		stored = state.surreal.select(new RecordId("person", 1)).get();
+		next = RECORDS;
+	}
+
+	@Benchmark
+	public void encode() {
+		ValueBuilder.convert(person).close();
+	}
+
+	@Benchmark
+	public BenchmarkState.Person decode() {
+		return stored.get(BenchmarkState.Person.class);
+	}
+
+	@Benchmark
+	public BenchmarkState.Person create(BenchmarkState state) {
+		return state.surreal.create(BenchmarkState.Person.class, new RecordId("created", next++), person);
+	}
+
+	@Benchmark
+	public Optional<BenchmarkState.Person> select(BenchmarkState state) {
+		return state.surreal.select(BenchmarkState.Person.class, new RecordId("person", next++ % RECORDS));
+	}
+}
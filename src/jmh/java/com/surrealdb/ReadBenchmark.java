@@ -0,0 +1,74 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Records per second read back through {@link Response#take(int)}, value
+ * iterators and typed iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+	private static final int ROWS = 1000;
+
+	@Setup
+	public void setup(BenchmarkState state) {
+		final List<BenchmarkState.Person> rows = new ArrayList<>(ROWS);
+		for (long i = 0; i < ROWS; i++) {
+			rows.add(BenchmarkState.person(i));
+		}
+		state.surreal.insert("item", rows.toArray());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long responseTake(BenchmarkState state) {
+		long sum = 0;
+		for (final Value row : state.surreal.query("SELECT * FROM item").take(0).getArray()) {
+			sum += row.getObject().get("age").getLong();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long valueIterator(BenchmarkState state) {
+		long sum = 0;
+		final Iterator<Value> it = state.surreal.select("item");
+		while (it.hasNext()) {
+			sum += it.next().getObject().get("age").getLong();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long typedIterator(BenchmarkState state) {
+		long sum = 0;
+		final Iterator<BenchmarkState.Person> it = state.surreal.select(BenchmarkState.Person.class, "item");
+		while (it.hasNext()) {
+			sum += it.next().age;
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,52 @@
+package com.surrealdb;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a single JNI crossing and of scalar query round trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScalarBenchmark {
+
+	private Value value;
+	private Map<String, String> params;
+
+	@Setup
+	public void setup(BenchmarkState state) {
+		value = state.surreal.query("RETURN 42").take(0);
+		params = Collections.singletonMap("v", "hello");
+	}
+
+	@Benchmark
+	public long jniCrossing() {
+		return value.getLong();
+	}
+
+	@Benchmark
+	public long returnLong(BenchmarkState state) {
+		return state.surreal.query("RETURN 1").take(0).getLong();
+	}
+
+	@Benchmark
+	public String returnBoundString(BenchmarkState state) {
+		return state.surreal.query("RETURN $v", params).take(0).getString();
+	}
+}
@@ -4,6 +4,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Function;
 
 /**
  * The Array class represents a native array structure and provides methods to
@@ -13,7 +15,7 @@ import java.util.Objects;
 public class Array extends Native implements Iterable<Value> {
 
 	Array(long ptr) {
-		super(ptr);
+		super(ptr, Array::deleteInstance, NativeScope.VALUE);
 	}
 
 	/**
@@ -62,6 +64,8 @@ public class Array extends Native implements Iterable<Value> {
 
 	private static native int len(long ptr);
 
+	private static native int getRange(long ptr, int from, long[] out);
+
 	private static native long iterator(long ptr);
 
 	private static native long synchronizedIterator(long ptr);
@@ -83,8 +87,7 @@ public class Array extends Native implements Iterable<Value> {
 		return len(getPtr());
 	}
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	@Override
 	final public Iterator<Value> iterator() {
@@ -95,6 +98,31 @@ public class Array extends Native implements Iterable<Value> {
 		return new ValueObjectIterator<>(clazz, iterator());
 	}
 
+	/**
+	 * Returns a sized spliterator that can be split by index, so that
+	 * {@code StreamSupport.stream(array.spliterator(), true)} processes the
+	 * elements on several threads.
+	 */
+	@Override
+	final public Spliterator<Value> spliterator() {
+		return new ArraySpliterator<>(this, Function.identity());
+	}
+
+	/**
+	 * Reads up to {@code count} elements starting at {@code from} into
+	 * {@code out} with one native call.
+	 *
+	 * @return the number of elements read
+	 */
+	final int getRange(int from, int count, Value[] out) {
+		final long[] ptrs = new long[count];
+		final int n = getRange(getPtr(), from, ptrs);
+		for (int i = 0; i < n; i++) {
+			out[i] = new Value(ptrs[i]);
+		}
+		return n;
+	}
+
 	final public Iterator<Value> synchronizedIterator() {
 		return new SynchronizedValueIterator(synchronizedIterator(getPtr()));
 	}
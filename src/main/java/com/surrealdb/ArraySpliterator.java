@@ -0,0 +1,96 @@
+package com.surrealdb;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A sized, splittable {@link Spliterator} over a native {@link Array}. Each
+ * half of a split reads its own index range, so parallel streams decode
+ * elements on several threads without sharing a lock. Elements are fetched in
+ * chunks of {@link ValueIterator#CHUNK_SIZE} handles per native call.
+ */
+final class ArraySpliterator<T> implements Spliterator<T> {
+
+	// Ranges smaller than this are not split further
+	private static final int MIN_SPLIT = 16;
+
+	private final Array array;
+	private final Function<Value, T> mapper;
+	private int index;
+	private final int fence;
+	private Value[] chunk;
+	private int chunkPos;
+	private int chunkLen;
+
+	ArraySpliterator(Array array, Function<Value, T> mapper) {
+		this(array, mapper, 0, array.len());
+	}
+
+	private ArraySpliterator(Array array, Function<Value, T> mapper, int index, int fence) {
+		this.array = array;
+		this.mapper = mapper;
+		this.index = index;
+		this.fence = fence;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (chunkPos == chunkLen && !fill()) {
+			return false;
+		}
+		action.accept(mapper.apply(chunk[chunkPos++]));
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		while (chunkPos < chunkLen || fill()) {
+			while (chunkPos < chunkLen) {
+				action.accept(mapper.apply(chunk[chunkPos++]));
+			}
+		}
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		// Only split before anything has been fetched
+		if (chunkLen > 0) {
+			return null;
+		}
+		final int mid = (index + fence) >>> 1;
+		if (mid - index < MIN_SPLIT) {
+			return null;
+		}
+		final ArraySpliterator<T> prefix = new ArraySpliterator<>(array, mapper, index, mid);
+		index = mid;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return (long) (fence - index) + (chunkLen - chunkPos);
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+
+	private boolean fill() {
+		if (index >= fence) {
+			return false;
+		}
+		if (chunk == null) {
+			chunk = new Value[Math.min(ValueIterator.CHUNK_SIZE, fence - index)];
+		}
+		final int n = array.getRange(index, Math.min(chunk.length, fence - index), chunk);
+		if (n == 0) {
+			return false;
+		}
+		index += n;
+		chunkPos = 0;
+		chunkLen = n;
+		return true;
+	}
+}
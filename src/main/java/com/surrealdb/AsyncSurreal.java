@@ -0,0 +1,986 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking view of a {@link Surreal} connection. Obtained with
+ * {@link Surreal#async()}.
+ * <p>
+ * Each method submits its statement to the native Tokio runtime and returns
+ * immediately with a {@link CompletableFuture}. No Java thread is held while
+ * the query runs. Completed operations are collected by a single daemon thread
+ * ({@code surrealdb-async-dispatcher}) which completes the futures.
+ * <p>
+ * Two rules apply when using this API:
+ * <ul>
+ * <li>Dependent stages registered with {@code thenApply}, {@code thenAccept},
+ * etc. run on the dispatcher thread when the future was not yet complete.
+ * Callbacks must not block, and in particular must not call {@code join()} or
+ * {@code get()} on another pending future of this API. Use the {@code *Async}
+ * variants of {@link CompletableFuture} to hand work off to another
+ * executor.</li>
+ * <li>The underlying {@link Surreal} instance must stay open until every
+ * returned future has completed.</li>
+ * </ul>
+ * Session state (namespace, database, authentication) is shared with the
+ * {@link Surreal} instance and is changed through its blocking methods.
+ */
+public class AsyncSurreal {
+
+	private static final int MODE_RESPONSE = 0;
+	private static final int MODE_ONE = 1;
+	private static final int MODE_OPTIONAL = 2;
+	private static final int MODE_ALL = 3;
+	private static final int MODE_ONE_PER_STATEMENT = 4;
+	private static final int MODE_NONE = 5;
+	private static final int MODE_SCALAR = 6;
+
+	private final Surreal surreal;
+
+	AsyncSurreal(Surreal surreal) {
+		this.surreal = surreal;
+	}
+
+	private static native void exec(long ptr, long requestId, String sql, String[] mutKeys, long[] mutPtrs,
+			String[] valueKeys, long[] valuePtrs, int mode);
+
+	/**
+	 * @return the number of completions written, or -1 once the completion queue
+	 *         is closed
+	 */
+	private static native int poll(long[] ids, long[] handles);
+
+	private static native long takeResponse(long handle);
+
+	private static native long[] takeValues(long handle);
+
+	private static native long newRange(String table, long startIdPtr, long endIdPtr);
+
+	private static native void releaseOutcome(long handle);
+
+	/**
+	 * Asynchronously executes a SurrealQL query.
+	 *
+	 * @param sql
+	 *            the SurrealQL query to be executed
+	 * @return a future completed with the response of the query
+	 * @see Surreal#query(String)
+	 */
+	public CompletableFuture<Response> query(String sql) {
+		return submit(sql, new Params(), MODE_RESPONSE, h -> new Response(takeResponse(h)));
+	}
+
+	/**
+	 * Asynchronously executes a parameterized SurrealQL query.
+	 *
+	 * @param sql
+	 *            the SurrealQL query to be executed
+	 * @param params
+	 *            a map containing parameter values to be bound to the SQL query
+	 * @return a future completed with the response of the query
+	 * @see Surreal#query(String, Map)
+	 */
+	public CompletableFuture<Response> query(String sql, Map<String, ?> params) {
+		final Params p = new Params();
+		ValueBuilder.convertParams(params).forEach(p::bindMut);
+		return submit(sql, p, MODE_RESPONSE, h -> new Response(takeResponse(h)));
+	}
+
+	/**
+	 * Asynchronously runs a SurrealDB function by name with the given arguments.
+	 *
+	 * @param name
+	 *            the function name (e.g. "array::add")
+	 * @param args
+	 *            the arguments to pass to the function
+	 * @return a future completed with the result of the function
+	 * @see Surreal#run(String, java.lang.Object...)
+	 */
+	public CompletableFuture<Value> run(String name, java.lang.Object... args) {
+		final Params p = new Params();
+		final StringBuilder sql = new StringBuilder("RETURN ").append(name).append('(');
+		if (args != null) {
+			for (int i = 0; i < args.length; i++) {
+				if (i > 0) {
+					sql.append(", ");
+				}
+				sql.append("$arg").append(i);
+				p.bind("arg" + i, args[i]);
+			}
+		}
+		sql.append(')');
+		return submit(sql.toString(), p, MODE_SCALAR, AsyncSurreal::first);
+	}
+
+	/**
+	 * Asynchronously creates a record with the given RecordId and content.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param recordId
+	 *            the RecordId associated with the new record
+	 * @param content
+	 *            the content of the created record
+	 * @return a future completed with the created record
+	 * @see Surreal#create(RecordId, java.lang.Object)
+	 */
+	public <T> CompletableFuture<Value> create(RecordId recordId, T content) {
+		final Params p = idParams(recordId).bind("val", content);
+		return submit("CREATE $_id CONTENT $val", p, MODE_ONE, AsyncSurreal::first);
+	}
+
+	/**
+	 * Asynchronously creates a record and maps it to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param recordId
+	 *            the RecordId associated with the new record
+	 * @param content
+	 *            the content of the created record
+	 * @return a future completed with the created record
+	 */
+	public <T> CompletableFuture<T> create(Class<T> type, RecordId recordId, T content) {
+		return create(recordId, content).thenApply(v -> v.get(type));
+	}
+
+	/**
+	 * Asynchronously creates one record per content in the given target.
+	 *
+	 * @param <T>
+	 *            the type of the contents
+	 * @param target
+	 *            the target for which the records are created
+	 * @param contents
+	 *            the contents of the created records
+	 * @return a future completed with the created records
+	 * @see Surreal#create(String, java.lang.Object...)
+	 */
+	@SafeVarargs
+	public final <T> CompletableFuture<List<Value>> create(String target, T... contents) {
+		final Params p = new Params();
+		final StringBuilder sql = new StringBuilder();
+		for (int i = 0; i < contents.length; i++) {
+			sql.append("CREATE ").append(target).append(" CONTENT $i").append(i).append(";\n");
+			p.bind("i" + i, contents[i]);
+		}
+		return submit(sql.toString(), p, MODE_ONE_PER_STATEMENT, AsyncSurreal::all);
+	}
+
+	/**
+	 * Asynchronously creates one record per content and maps them to the given
+	 * type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param target
+	 *            the target for which the records are created
+	 * @param contents
+	 *            the contents of the created records
+	 * @return a future completed with the created records
+	 */
+	@SafeVarargs
+	public final <T> CompletableFuture<List<T>> create(Class<T> type, String target, T... contents) {
+		return create(target, contents).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously inserts records in the given target.
+	 *
+	 * @param <T>
+	 *            the type of the contents
+	 * @param target
+	 *            the target for which the records are inserted
+	 * @param contents
+	 *            the contents of the inserted records
+	 * @return a future completed with the inserted records
+	 * @see Surreal#insert(String, java.lang.Object...)
+	 */
+	@SafeVarargs
+	public final <T> CompletableFuture<List<Value>> insert(String target, T... contents) {
+		final Params p = new Params().bind("rows", Arrays.asList(contents));
+		return submit("INSERT INTO " + target + " $rows", p, MODE_ALL, AsyncSurreal::all);
+	}
+
+	/**
+	 * Inserts rows without returning them, for {@link Surreal#bulkInsert}.
+	 */
+	CompletableFuture<Void> insertRows(String target, List<?> rows) {
+		final Params p = new Params().bind("rows", rows);
+		return submit("INSERT INTO " + target + " $rows RETURN NONE", p, MODE_NONE, AsyncSurreal::none);
+	}
+
+	/**
+	 * Asynchronously inserts records and maps them to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param target
+	 *            the target for which the records are inserted
+	 * @param contents
+	 *            the contents of the inserted records
+	 * @return a future completed with the inserted records
+	 */
+	@SafeVarargs
+	public final <T> CompletableFuture<List<T>> insert(Class<T> type, String target, T... contents) {
+		return insert(target, contents).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously inserts a relation in the given target.
+	 *
+	 * @param <T>
+	 *            the type of the relation
+	 * @param target
+	 *            the relation table
+	 * @param content
+	 *            the relation to insert
+	 * @return a future completed with the inserted relation
+	 * @see Surreal#insertRelation(String, InsertRelation)
+	 */
+	public <T extends InsertRelation> CompletableFuture<Value> insertRelation(String target, T content) {
+		final Params p = new Params().bind("val", content);
+		return submit("INSERT RELATION INTO " + target + " $val", p, MODE_ONE, AsyncSurreal::first);
+	}
+
+	/**
+	 * Asynchronously inserts a relation and maps it to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the relation
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param target
+	 *            the relation table
+	 * @param content
+	 *            the relation to insert
+	 * @return a future completed with the inserted relation
+	 */
+	public <T extends InsertRelation> CompletableFuture<T> insertRelation(Class<T> type, String target, T content) {
+		return insertRelation(target, content).thenApply(v -> v.get(type));
+	}
+
+	/**
+	 * Asynchronously inserts relations in the given target.
+	 *
+	 * @param <T>
+	 *            the type of the relations
+	 * @param target
+	 *            the relation table
+	 * @param contents
+	 *            the relations to insert
+	 * @return a future completed with the inserted relations
+	 * @see Surreal#insertRelations(String, InsertRelation...)
+	 */
+	@SafeVarargs
+	public final <T extends InsertRelation> CompletableFuture<List<Value>> insertRelations(String target,
+			T... contents) {
+		final Params p = new Params().bind("rows", Arrays.asList(contents));
+		return submit("INSERT RELATION INTO " + target + " $rows", p, MODE_ALL, AsyncSurreal::all);
+	}
+
+	/**
+	 * Asynchronously inserts relations and maps them to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the relations
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param target
+	 *            the relation table
+	 * @param contents
+	 *            the relations to insert
+	 * @return a future completed with the inserted relations
+	 */
+	@SafeVarargs
+	public final <T extends InsertRelation> CompletableFuture<List<T>> insertRelations(Class<T> type, String target,
+			T... contents) {
+		return insertRelations(target, contents).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously creates a relation between two records.
+	 *
+	 * @param from
+	 *            the record the relation starts from
+	 * @param table
+	 *            the relation table
+	 * @param to
+	 *            the record the relation points to
+	 * @return a future completed with the created relation
+	 * @see Surreal#relate(RecordId, String, RecordId)
+	 */
+	public CompletableFuture<Value> relate(RecordId from, String table, RecordId to) {
+		final Params p = new Params().bindValue("from", from).bindValue("to", to);
+		return submit("RELATE $from->" + table + "->$to", p, MODE_ONE, AsyncSurreal::first);
+	}
+
+	/**
+	 * Asynchronously creates a relation and maps it to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the relation
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param from
+	 *            the record the relation starts from
+	 * @param table
+	 *            the relation table
+	 * @param to
+	 *            the record the relation points to
+	 * @return a future completed with the created relation
+	 */
+	public <T extends Relation> CompletableFuture<T> relate(Class<T> type, RecordId from, String table, RecordId to) {
+		return relate(from, table, to).thenApply(v -> v.get(type));
+	}
+
+	/**
+	 * Asynchronously creates a relation with content between two records.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param from
+	 *            the record the relation starts from
+	 * @param table
+	 *            the relation table
+	 * @param to
+	 *            the record the relation points to
+	 * @param content
+	 *            the content of the relation
+	 * @return a future completed with the created relation
+	 * @see Surreal#relate(RecordId, String, RecordId, java.lang.Object)
+	 */
+	public <T> CompletableFuture<Value> relate(RecordId from, String table, RecordId to, T content) {
+		final Params p = new Params().bindValue("from", from).bindValue("to", to).bind("val", content);
+		return submit("RELATE $from->" + table + "->$to CONTENT $val", p, MODE_ONE, AsyncSurreal::first);
+	}
+
+	/**
+	 * Asynchronously creates a relation with content and maps it to the given
+	 * type.
+	 *
+	 * @param <R>
+	 *            the type of the relation
+	 * @param <T>
+	 *            the type of the content
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param from
+	 *            the record the relation starts from
+	 * @param table
+	 *            the relation table
+	 * @param to
+	 *            the record the relation points to
+	 * @param content
+	 *            the content of the relation
+	 * @return a future completed with the created relation
+	 */
+	public <R extends Relation, T> CompletableFuture<R> relate(Class<R> type, RecordId from, String table,
+			RecordId to, T content) {
+		return relate(from, table, to, content).thenApply(v -> v.get(type));
+	}
+
+	/**
+	 * Asynchronously updates a record.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param recordId
+	 *            the record to update
+	 * @param upType
+	 *            the type of update operation to be performed
+	 * @param content
+	 *            the update content
+	 * @return a future completed with the updated record
+	 * @see Surreal#update(RecordId, UpType, java.lang.Object)
+	 */
+	public <T> CompletableFuture<Value> update(RecordId recordId, UpType upType, T content) {
+		return up("UPDATE $_id", upType, content, idParams(recordId), MODE_ONE).thenApply(AsyncSurreal::single);
+	}
+
+	/**
+	 * Asynchronously updates a record and maps it to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param recordId
+	 *            the record to update
+	 * @param upType
+	 *            the type of update operation to be performed
+	 * @param content
+	 *            the update content
+	 * @return a future completed with the updated record
+	 */
+	public <T> CompletableFuture<T> update(Class<T> type, RecordId recordId, UpType upType, T content) {
+		return update(recordId, upType, content).thenApply(v -> v.get(type));
+	}
+
+	/**
+	 * Asynchronously updates every record in the given range.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param range
+	 *            the table and optional start/end bounds
+	 * @param upType
+	 *            the type of update operation to be performed
+	 * @param content
+	 *            the update content
+	 * @return a future completed with the updated records
+	 */
+	public <T> CompletableFuture<List<Value>> update(RecordIdRange range, UpType upType, T content) {
+		return up("UPDATE $_range", upType, content, rangeParams(range), MODE_ALL);
+	}
+
+	/**
+	 * Asynchronously updates the given target.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param target
+	 *            the target to update
+	 * @param upType
+	 *            the type of update operation to be performed
+	 * @param content
+	 *            the update content
+	 * @return a future completed with the updated records
+	 * @see Surreal#update(String, UpType, java.lang.Object)
+	 */
+	public <T> CompletableFuture<List<Value>> update(String target, UpType upType, T content) {
+		return up("UPDATE " + target, upType, content, new Params(), MODE_ALL);
+	}
+
+	/**
+	 * Asynchronously updates the given target and maps the records to the given
+	 * type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param target
+	 *            the target to update
+	 * @param upType
+	 *            the type of update operation to be performed
+	 * @param content
+	 *            the update content
+	 * @return a future completed with the updated records
+	 */
+	public <T> CompletableFuture<List<T>> update(Class<T> type, String target, UpType upType, T content) {
+		return update(target, upType, content).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously upserts a record.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param recordId
+	 *            the record to upsert
+	 * @param upType
+	 *            the type of upsert operation to be performed
+	 * @param content
+	 *            the upsert content
+	 * @return a future completed with the upserted record
+	 * @see Surreal#upsert(RecordId, UpType, java.lang.Object)
+	 */
+	public <T> CompletableFuture<Value> upsert(RecordId recordId, UpType upType, T content) {
+		return up("UPSERT $_id", upType, content, idParams(recordId), MODE_ONE).thenApply(AsyncSurreal::single);
+	}
+
+	/**
+	 * Asynchronously upserts a record and maps it to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param recordId
+	 *            the record to upsert
+	 * @param upType
+	 *            the type of upsert operation to be performed
+	 * @param content
+	 *            the upsert content
+	 * @return a future completed with the upserted record
+	 */
+	public <T> CompletableFuture<T> upsert(Class<T> type, RecordId recordId, UpType upType, T content) {
+		return upsert(recordId, upType, content).thenApply(v -> v.get(type));
+	}
+
+	/**
+	 * Asynchronously upserts every record in the given range.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param range
+	 *            the table and optional start/end bounds
+	 * @param upType
+	 *            the type of upsert operation to be performed
+	 * @param content
+	 *            the upsert content
+	 * @return a future completed with the upserted records
+	 */
+	public <T> CompletableFuture<List<Value>> upsert(RecordIdRange range, UpType upType, T content) {
+		return up("UPSERT $_range", upType, content, rangeParams(range), MODE_ALL);
+	}
+
+	/**
+	 * Asynchronously upserts the given target.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param target
+	 *            the target to upsert
+	 * @param upType
+	 *            the type of upsert operation to be performed
+	 * @param content
+	 *            the upsert content
+	 * @return a future completed with the upserted records
+	 * @see Surreal#upsert(String, UpType, java.lang.Object)
+	 */
+	public <T> CompletableFuture<List<Value>> upsert(String target, UpType upType, T content) {
+		return up("UPSERT " + target, upType, content, new Params(), MODE_ALL);
+	}
+
+	/**
+	 * Asynchronously upserts the given target and maps the records to the given
+	 * type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param target
+	 *            the target to upsert
+	 * @param upType
+	 *            the type of upsert operation to be performed
+	 * @param content
+	 *            the upsert content
+	 * @return a future completed with the upserted records
+	 */
+	public <T> CompletableFuture<List<T>> upsert(Class<T> type, String target, UpType upType, T content) {
+		return upsert(target, upType, content).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously selects a record by its RecordId.
+	 *
+	 * @param recordId
+	 *            the record to select
+	 * @return a future completed with the record, or an empty Optional if it does
+	 *         not exist
+	 * @see Surreal#select(RecordId)
+	 */
+	public CompletableFuture<Optional<Value>> select(RecordId recordId) {
+		return submit("SELECT * FROM $_id", idParams(recordId), MODE_OPTIONAL,
+				h -> all(h).stream().findFirst());
+	}
+
+	/**
+	 * Asynchronously selects a record and maps it to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param recordId
+	 *            the record to select
+	 * @return a future completed with the record, or an empty Optional if it does
+	 *         not exist
+	 */
+	public <T> CompletableFuture<Optional<T>> select(Class<T> type, RecordId recordId) {
+		return select(recordId).thenApply(o -> o.map(v -> v.get(type)));
+	}
+
+	/**
+	 * Asynchronously selects the given records.
+	 *
+	 * @param recordIds
+	 *            the records to select
+	 * @return a future completed with the records found
+	 * @see Surreal#select(RecordId...)
+	 */
+	public CompletableFuture<List<Value>> select(RecordId... recordIds) {
+		final String targets = Arrays.stream(recordIds).map(RecordId::toString).collect(Collectors.joining(","));
+		return submit("SELECT * FROM " + targets, new Params(), MODE_ALL, AsyncSurreal::all);
+	}
+
+	/**
+	 * Asynchronously selects the given records and maps them to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param recordIds
+	 *            the records to select
+	 * @return a future completed with the records found
+	 */
+	public <T> CompletableFuture<List<T>> select(Class<T> type, RecordId... recordIds) {
+		return select(recordIds).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously selects every record in the given range.
+	 *
+	 * @param range
+	 *            the table and optional start/end bounds
+	 * @return a future completed with the records in the range
+	 * @see Surreal#select(RecordIdRange)
+	 */
+	public CompletableFuture<List<Value>> select(RecordIdRange range) {
+		return submit("SELECT * FROM $_range", rangeParams(range), MODE_ALL, AsyncSurreal::all);
+	}
+
+	/**
+	 * Asynchronously selects every record in the given range and maps them to the
+	 * given type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param range
+	 *            the table and optional start/end bounds
+	 * @return a future completed with the records in the range
+	 */
+	public <T> CompletableFuture<List<T>> select(Class<T> type, RecordIdRange range) {
+		return select(range).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Asynchronously selects the given targets.
+	 *
+	 * @param targets
+	 *            the targets to select
+	 * @return a future completed with the selected records
+	 * @see Surreal#select(String)
+	 */
+	public CompletableFuture<List<Value>> select(String targets) {
+		return submit("SELECT * FROM " + targets, new Params(), MODE_ALL, AsyncSurreal::all);
+	}
+
+	/**
+	 * Asynchronously selects the given targets and maps the records to the given
+	 * type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param targets
+	 *            the targets to select
+	 * @return a future completed with the selected records
+	 */
+	public <T> CompletableFuture<List<T>> select(Class<T> type, String targets) {
+		return select(targets).thenApply(l -> map(type, l));
+	}
+
+	/**
+	 * Selects up to {@code limit} records of a table in record id order, starting
+	 * after the given record, for {@link Surreal#selectPaged(String, int)}.
+	 */
+	CompletableFuture<List<Value>> selectPage(String table, RecordId after, int limit) {
+		if (after == null) {
+			final Params p = rangeParams(new RecordIdRange(table, null, null)).bind("_limit", limit);
+			return submit("SELECT * FROM $_range LIMIT $_limit", p, MODE_ALL, AsyncSurreal::all);
+		}
+		// Range bounds are inclusive, so the last record of the previous page is
+		// filtered out again
+		final Params p = rangeParams(new RecordIdRange(table, after.getId(), null)).bindValue("_after", after)
+				.bind("_limit", limit);
+		return submit("SELECT * FROM $_range WHERE id != $_after LIMIT $_limit", p, MODE_ALL, AsyncSurreal::all);
+	}
+
+	/**
+	 * Asynchronously deletes a record.
+	 *
+	 * @param recordId
+	 *            the record to delete
+	 * @return a future completed when the record has been deleted
+	 * @see Surreal#delete(RecordId)
+	 */
+	public CompletableFuture<Void> delete(RecordId recordId) {
+		return submit("DELETE $_id", idParams(recordId), MODE_NONE, AsyncSurreal::none);
+	}
+
+	/**
+	 * Asynchronously deletes the given records.
+	 *
+	 * @param recordIds
+	 *            the records to delete
+	 * @return a future completed when the records have been deleted
+	 * @see Surreal#delete(RecordId...)
+	 */
+	public CompletableFuture<Void> delete(RecordId... recordIds) {
+		final String targets = Arrays.stream(recordIds).map(RecordId::toString).collect(Collectors.joining(","));
+		return submit("DELETE " + targets, new Params(), MODE_NONE, AsyncSurreal::none);
+	}
+
+	/**
+	 * Asynchronously deletes every record in the given range.
+	 *
+	 * @param range
+	 *            the table and optional start/end bounds
+	 * @return a future completed when the records have been deleted
+	 * @see Surreal#delete(RecordIdRange)
+	 */
+	public CompletableFuture<Void> delete(RecordIdRange range) {
+		return submit("DELETE $_range", rangeParams(range), MODE_NONE, AsyncSurreal::none);
+	}
+
+	/**
+	 * Asynchronously deletes the given target.
+	 *
+	 * @param target
+	 *            the target to delete
+	 * @return a future completed when the target has been deleted
+	 * @see Surreal#delete(String)
+	 */
+	public CompletableFuture<Void> delete(String target) {
+		return submit("DELETE FROM " + target, new Params(), MODE_NONE, AsyncSurreal::none);
+	}
+
+	private <T> CompletableFuture<List<Value>> up(String statement, UpType upType, T content, Params params,
+			int mode) {
+		params.bind("val", content);
+		return submit(statement + " " + upType.name() + " $val", params, mode, AsyncSurreal::all);
+	}
+
+	private static Params idParams(RecordId recordId) {
+		return new Params().bindValue("_id", recordId);
+	}
+
+	private static Params rangeParams(RecordIdRange range) {
+		final long startPtr = range.getStart() != null ? range.getStart().getPtr() : 0;
+		final long endPtr = range.getEnd() != null ? range.getEnd().getPtr() : 0;
+		return new Params().bindValue("_range", new Value(newRange(range.getTable(), startPtr, endPtr)));
+	}
+
+	private static Value first(long handle) {
+		return single(all(handle));
+	}
+
+	private static Value single(List<Value> values) {
+		return values.get(0);
+	}
+
+	private static List<Value> all(long handle) {
+		final long[] ptrs = takeValues(handle);
+		final List<Value> values = new ArrayList<>(ptrs.length);
+		for (final long ptr : ptrs) {
+			values.add(new Value(ptr));
+		}
+		return values;
+	}
+
+	private static Void none(long handle) {
+		takeValues(handle);
+		return null;
+	}
+
+	private static <T> List<T> map(Class<T> type, List<Value> values) {
+		final List<T> list = new ArrayList<>(values.size());
+		for (final Value v : values) {
+			list.add(v.get(type));
+		}
+		return list;
+	}
+
+	private <T> CompletableFuture<T> submit(String sql, Params params, int mode, LongFunction<T> completion) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		long requestId = 0;
+		try {
+			requestId = Dispatcher.register(future, completion);
+			exec(surreal.getPtr(), requestId, sql, params.mutKeys(), params.mutPtrs(), params.valueKeys(),
+					params.valuePtrs(), mode);
+		} catch (RuntimeException e) {
+			Dispatcher.unregister(requestId);
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Parameters bound to an asynchronous statement. Holds the Java wrappers until
+	 * the statement has been submitted, as the native side clones the values
+	 * before returning.
+	 */
+	private static final class Params {
+
+		private final List<String> mutKeys = new ArrayList<>();
+		private final List<ValueMut> muts = new ArrayList<>();
+		private final List<String> valueKeys = new ArrayList<>();
+		private final List<Native> values = new ArrayList<>();
+
+		Params bind(String key, java.lang.Object content) {
+			return bindMut(key, ValueBuilder.convert(content));
+		}
+
+		Params bindMut(String key, ValueMut value) {
+			mutKeys.add(key);
+			muts.add(value);
+			return this;
+		}
+
+		Params bindValue(String key, Native value) {
+			valueKeys.add(key);
+			values.add(value);
+			return this;
+		}
+
+		String[] mutKeys() {
+			return mutKeys.toArray(new String[0]);
+		}
+
+		long[] mutPtrs() {
+			return muts.stream().mapToLong(Native::getPtr).toArray();
+		}
+
+		String[] valueKeys() {
+			return valueKeys.toArray(new String[0]);
+		}
+
+		long[] valuePtrs() {
+			return values.stream().mapToLong(Native::getPtr).toArray();
+		}
+	}
+
+	/**
+	 * Completes pending futures from the native completion queue. The thread is
+	 * started the first time an asynchronous operation is submitted.
+	 */
+	private static final class Dispatcher {
+
+		private static final int BATCH = 64;
+
+		private static final Map<Long, Pending<?>> PENDING = new ConcurrentHashMap<>();
+
+		private static final AtomicLong NEXT_ID = new AtomicLong();
+
+		private static final Logger LOGGER = Logger.getLogger(AsyncSurreal.class.getName());
+
+		private static final long MAX_BACKOFF_MILLIS = 1000;
+
+		// Why the dispatcher stopped; set once, after which operations fail
+		// immediately
+		private static volatile Throwable stopped;
+
+		static {
+			final Thread thread = new Thread(Dispatcher::run, "surrealdb-async-dispatcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		static <T> long register(CompletableFuture<T> future, LongFunction<T> completion) {
+			final long requestId = NEXT_ID.incrementAndGet();
+			PENDING.put(requestId, new Pending<>(future, completion));
+			// Checked after registering, so that stop() either fails the future or is
+			// seen here
+			final Throwable cause = stopped;
+			if (cause != null) {
+				PENDING.remove(requestId);
+				throw new SurrealException("The asynchronous dispatcher has stopped", cause);
+			}
+			return requestId;
+		}
+
+		static void unregister(long requestId) {
+			PENDING.remove(requestId);
+		}
+
+		private static void run() {
+			final long[] ids = new long[BATCH];
+			final long[] handles = new long[BATCH];
+			long backoff = 0;
+			try {
+				while (true) {
+					final int count;
+					try {
+						count = poll(ids, handles);
+					} catch (RuntimeException e) {
+						backoff = Math.min(Math.max(1, backoff * 2), MAX_BACKOFF_MILLIS);
+						LOGGER.log(Level.WARNING, "Polling the completion queue failed; retrying in " + backoff + " ms",
+								e);
+						Thread.sleep(backoff);
+						continue;
+					}
+					if (count < 0) {
+						stop(new SurrealException("The asynchronous completion queue is closed"));
+						return;
+					}
+					backoff = 0;
+					for (int i = 0; i < count; i++) {
+						final Pending<?> pending = PENDING.remove(ids[i]);
+						if (pending == null) {
+							releaseOutcome(handles[i]);
+						} else {
+							pending.complete(handles[i]);
+						}
+					}
+				}
+			} catch (Throwable t) {
+				LOGGER.log(Level.SEVERE, "The asynchronous dispatcher stopped", t);
+				stop(t);
+				if (t instanceof Error) {
+					throw (Error) t;
+				}
+			}
+		}
+
+		/**
+		 * Fails the pending futures and every later operation.
+		 */
+		private static void stop(Throwable cause) {
+			stopped = cause;
+			final SurrealException failure = new SurrealException("The asynchronous dispatcher has stopped", cause);
+			for (final Long requestId : PENDING.keySet()) {
+				final Pending<?> pending = PENDING.remove(requestId);
+				if (pending != null) {
+					pending.future.completeExceptionally(failure);
+				}
+			}
+		}
+	}
+
+	private static final class Pending<T> {
+
+		private final CompletableFuture<T> future;
+		private final LongFunction<T> completion;
+
+		Pending(CompletableFuture<T> future, LongFunction<T> completion) {
+			this.future = future;
+			this.completion = completion;
+		}
+
+		void complete(long handle) {
+			final T result;
+			try {
+				result = completion.apply(handle);
+			} catch (Throwable t) {
+				future.completeExceptionally(t);
+				return;
+			}
+			future.complete(result);
+		}
+	}
+}
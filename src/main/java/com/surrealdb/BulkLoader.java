@@ -0,0 +1,104 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implements {@link Surreal#bulkInsert(String, Iterator, BulkOptions)}: reads
+ * rows into chunks on the calling thread and submits each chunk as an
+ * asynchronous {@code INSERT}, with at most {@link BulkOptions#getMaxInFlight()}
+ * chunks executing at once.
+ */
+final class BulkLoader {
+
+	private final AsyncSurreal async;
+	private final String table;
+	private final BulkOptions options;
+	private final Semaphore inFlight;
+	private final AtomicLong rowsInserted = new AtomicLong();
+	private final AtomicLong rowsFailed = new AtomicLong();
+	private final AtomicBoolean failed = new AtomicBoolean();
+	private final List<BulkResult.ChunkFailure> failures = new ArrayList<>();
+
+	BulkLoader(AsyncSurreal async, String table, BulkOptions options) {
+		this.async = async;
+		this.table = table;
+		this.options = options;
+		this.inFlight = new Semaphore(options.getMaxInFlight());
+	}
+
+	<T> BulkResult load(Iterator<T> rows) {
+		final long start = System.nanoTime();
+		long chunks = 0;
+		long position = 0;
+		boolean interrupted = false;
+		try {
+			while (rows.hasNext() && !(options.isStopOnError() && failed.get())) {
+				// Wait for a slot before reading the chunk, so that an interrupt never
+				// drops rows already taken from the iterator
+				inFlight.acquire();
+				final List<T> chunk = new ArrayList<>(options.getChunkSize());
+				try {
+					while (chunk.size() < options.getChunkSize() && rows.hasNext()) {
+						chunk.add(rows.next());
+					}
+				} catch (RuntimeException | Error e) {
+					// The chunk is not submitted; its slot is freed and the exception is
+					// thrown once the chunks already submitted have completed
+					inFlight.release();
+					throw e;
+				}
+				submit(chunks++, position, chunk);
+				position += chunk.size();
+			}
+		} catch (InterruptedException e) {
+			// Stop reading; the chunks already submitted are still awaited below
+			interrupted = true;
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight.acquireUninterruptibly(options.getMaxInFlight());
+			inFlight.release(options.getMaxInFlight());
+		}
+		final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+		final List<BulkResult.ChunkFailure> sorted;
+		synchronized (failures) {
+			sorted = new ArrayList<>(failures);
+		}
+		sorted.sort(Comparator.comparingLong(BulkResult.ChunkFailure::getChunkIndex));
+		return new BulkResult(rowsInserted.get(), rowsFailed.get(), chunks, elapsed, sorted, interrupted);
+	}
+
+	private <T> void submit(long index, long firstRow, List<T> chunk) {
+		final int size = chunk.size();
+		try {
+			async.insertRows(table, chunk).whenComplete((v, e) -> {
+				if (e == null) {
+					rowsInserted.addAndGet(size);
+				} else {
+					fail(index, firstRow, size, e);
+				}
+				inFlight.release();
+			});
+		} catch (RuntimeException e) {
+			// The rows could not be converted
+			fail(index, firstRow, size, e);
+			inFlight.release();
+		}
+	}
+
+	private void fail(long index, long firstRow, int size, Throwable e) {
+		final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		rowsFailed.addAndGet(size);
+		synchronized (failures) {
+			failures.add(new BulkResult.ChunkFailure(index, firstRow, size, cause));
+		}
+		failed.set(true);
+	}
+}
@@ -0,0 +1,89 @@
+package com.surrealdb;
+
+/**
+ * Options for {@link Surreal#bulkInsert(String, java.util.Iterator, BulkOptions)}.
+ * <p>
+ * Instances are immutable; each {@code with} method returns a copy.
+ *
+ * <pre>{@code
+ * BulkOptions options = BulkOptions.defaults().withChunkSize(5000).withMaxInFlight(8);
+ * }</pre>
+ */
+public final class BulkOptions {
+
+	private static final BulkOptions DEFAULTS = new BulkOptions(1000, 4, false);
+
+	private final int chunkSize;
+	private final int maxInFlight;
+	private final boolean stopOnError;
+
+	private BulkOptions(int chunkSize, int maxInFlight, boolean stopOnError) {
+		this.chunkSize = chunkSize;
+		this.maxInFlight = maxInFlight;
+		this.stopOnError = stopOnError;
+	}
+
+	/**
+	 * Returns the default options: chunks of 1000 rows, 4 chunks in flight, and
+	 * loading continues after a failed chunk.
+	 *
+	 * @return the default options
+	 */
+	public static BulkOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Sets the number of rows sent in a single {@code INSERT} statement.
+	 *
+	 * @param chunkSize
+	 *            rows per chunk (at least 1)
+	 * @return a copy of these options with the given chunk size
+	 */
+	public BulkOptions withChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be at least 1: " + chunkSize);
+		}
+		return new BulkOptions(chunkSize, maxInFlight, stopOnError);
+	}
+
+	/**
+	 * Sets how many chunks may be executing at once. Reading from the source
+	 * iterator pauses while this many chunks are in flight, which bounds the
+	 * number of rows held in memory to about {@code (maxInFlight + 1) * chunkSize}.
+	 *
+	 * @param maxInFlight
+	 *            maximum number of concurrent chunks (at least 1)
+	 * @return a copy of these options with the given limit
+	 */
+	public BulkOptions withMaxInFlight(int maxInFlight) {
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be at least 1: " + maxInFlight);
+		}
+		return new BulkOptions(chunkSize, maxInFlight, stopOnError);
+	}
+
+	/**
+	 * Sets whether loading stops at the first failed chunk. Chunks already in
+	 * flight still complete.
+	 *
+	 * @param stopOnError
+	 *            {@code true} to stop reading rows after a failure
+	 * @return a copy of these options with the given behaviour
+	 */
+	public BulkOptions withStopOnError(boolean stopOnError) {
+		return new BulkOptions(chunkSize, maxInFlight, stopOnError);
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	public boolean isStopOnError() {
+		return stopOnError;
+	}
+}
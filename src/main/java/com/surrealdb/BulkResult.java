@@ -0,0 +1,153 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link Surreal#bulkInsert(String, java.util.Iterator, BulkOptions)}.
+ * <p>
+ * A failed chunk does not fail the load: its rows are counted in
+ * {@link #getRowsFailed()} and the cause is reported in {@link #getFailures()}.
+ */
+public final class BulkResult {
+
+	private final long rowsInserted;
+	private final long rowsFailed;
+	private final long chunks;
+	private final Duration elapsed;
+	private final List<ChunkFailure> failures;
+	private final boolean interrupted;
+
+	BulkResult(long rowsInserted, long rowsFailed, long chunks, Duration elapsed, List<ChunkFailure> failures,
+			boolean interrupted) {
+		this.rowsInserted = rowsInserted;
+		this.rowsFailed = rowsFailed;
+		this.chunks = chunks;
+		this.elapsed = elapsed;
+		this.failures = Collections.unmodifiableList(failures);
+		this.interrupted = interrupted;
+	}
+
+	/**
+	 * @return the number of rows in chunks that were inserted successfully
+	 */
+	public long getRowsInserted() {
+		return rowsInserted;
+	}
+
+	/**
+	 * @return the number of rows in chunks that failed
+	 */
+	public long getRowsFailed() {
+		return rowsFailed;
+	}
+
+	/**
+	 * @return the number of chunks submitted
+	 */
+	public long getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * @return the wall-clock time from the first row read to the last chunk
+	 *         completing
+	 */
+	public Duration getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * Returns the insert throughput over the whole load.
+	 *
+	 * @return rows inserted per second
+	 */
+	public double getRowsPerSecond() {
+		final long nanos = elapsed.toNanos();
+		return nanos == 0 ? 0 : rowsInserted * 1_000_000_000.0 / nanos;
+	}
+
+	/**
+	 * @return the failed chunks, ordered by chunk index
+	 */
+	public List<ChunkFailure> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Whether the load was interrupted before every row was read. The rows read
+	 * until then were submitted and are counted; the remaining rows were left in
+	 * the iterator, and the thread's interrupt flag is set again.
+	 *
+	 * @return {@code true} if the calling thread was interrupted during the load
+	 */
+	public boolean isInterrupted() {
+		return interrupted;
+	}
+
+	/**
+	 * @return {@code true} if every row was read and every chunk was inserted
+	 */
+	public boolean isSuccess() {
+		return failures.isEmpty() && !interrupted;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkResult{rowsInserted=" + rowsInserted + ", rowsFailed=" + rowsFailed + ", chunks=" + chunks
+				+ ", elapsed=" + elapsed + ", failures=" + failures.size() + ", interrupted=" + interrupted + "}";
+	}
+
+	/**
+	 * A chunk whose {@code INSERT} statement failed.
+	 */
+	public static final class ChunkFailure {
+
+		private final long chunkIndex;
+		private final long firstRow;
+		private final int rowCount;
+		private final Throwable cause;
+
+		ChunkFailure(long chunkIndex, long firstRow, int rowCount, Throwable cause) {
+			this.chunkIndex = chunkIndex;
+			this.firstRow = firstRow;
+			this.rowCount = rowCount;
+			this.cause = cause;
+		}
+
+		/**
+		 * @return the zero-based index of the chunk
+		 */
+		public long getChunkIndex() {
+			return chunkIndex;
+		}
+
+		/**
+		 * @return the zero-based position of the chunk's first row in the source
+		 */
+		public long getFirstRow() {
+			return firstRow;
+		}
+
+		/**
+		 * @return the number of rows in the chunk
+		 */
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		/**
+		 * @return the error that failed the chunk
+		 */
+		public Throwable getCause() {
+			return cause;
+		}
+
+		@Override
+		public String toString() {
+			return "ChunkFailure{chunkIndex=" + chunkIndex + ", firstRow=" + firstRow + ", rowCount=" + rowCount
+					+ ", cause=" + cause + "}";
+		}
+	}
+}
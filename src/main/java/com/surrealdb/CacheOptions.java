@@ -0,0 +1,97 @@
+package com.surrealdb;
+
+import java.time.Duration;
+
+/**
+ * Options for a {@link CachingSurreal}.
+ * <p>
+ * Instances are immutable; each {@code with} method returns a copy.
+ *
+ * <pre>{@code
+ * CacheOptions options = CacheOptions.defaults().withMaximumSize(50_000).withExpireAfterWrite(Duration.ofMinutes(1));
+ * }</pre>
+ */
+public final class CacheOptions {
+
+	private static final CacheOptions DEFAULTS = new CacheOptions(10_000, Duration.ofMinutes(5),
+			LiveStream.DEFAULT_CAPACITY);
+
+	private final int maximumSize;
+	private final Duration expireAfterWrite;
+	private final int liveCapacity;
+
+	private CacheOptions(int maximumSize, Duration expireAfterWrite, int liveCapacity) {
+		this.maximumSize = maximumSize;
+		this.expireAfterWrite = expireAfterWrite;
+		this.liveCapacity = liveCapacity;
+	}
+
+	/**
+	 * Returns the default options: at most 10,000 records, each kept for at most
+	 * 5 minutes, and 1024 notifications buffered per watched table.
+	 *
+	 * @return the default options
+	 */
+	public static CacheOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Sets the number of records kept. When it is exceeded, the least recently
+	 * read record is evicted.
+	 *
+	 * @param maximumSize
+	 *            maximum number of cached records (at least 1)
+	 * @return a copy of these options with the given size
+	 */
+	public CacheOptions withMaximumSize(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize must be at least 1: " + maximumSize);
+		}
+		return new CacheOptions(maximumSize, expireAfterWrite, liveCapacity);
+	}
+
+	/**
+	 * Sets how long a record is kept after it was read from the database. This
+	 * bounds staleness should a change notification be lost, for example while
+	 * the connection is re-established.
+	 *
+	 * @param expireAfterWrite
+	 *            maximum age of a cached record (positive)
+	 * @return a copy of these options with the given expiry
+	 */
+	public CacheOptions withExpireAfterWrite(Duration expireAfterWrite) {
+		if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+			throw new IllegalArgumentException("expireAfterWrite must be positive: " + expireAfterWrite);
+		}
+		return new CacheOptions(maximumSize, expireAfterWrite, liveCapacity);
+	}
+
+	/**
+	 * Sets the capacity of the live query watching each cached table.
+	 *
+	 * @param liveCapacity
+	 *            maximum number of notifications buffered natively per table (at
+	 *            least 1)
+	 * @return a copy of these options with the given capacity
+	 * @see Surreal#selectLive(String, int)
+	 */
+	public CacheOptions withLiveCapacity(int liveCapacity) {
+		if (liveCapacity < 1) {
+			throw new IllegalArgumentException("liveCapacity must be at least 1: " + liveCapacity);
+		}
+		return new CacheOptions(maximumSize, expireAfterWrite, liveCapacity);
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public Duration getExpireAfterWrite() {
+		return expireAfterWrite;
+	}
+
+	public int getLiveCapacity() {
+		return liveCapacity;
+	}
+}
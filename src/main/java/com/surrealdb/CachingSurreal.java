@@ -0,0 +1,422 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the records read with {@link #select(Class, RecordId)}, so that
+ * repeated reads of the same records are answered locally instead of with a
+ * round trip.
+ *
+ * <pre>{@code
+ * try (CachingSurreal cache = new CachingSurreal(surreal)) {
+ * 	Optional<Settings> settings = cache.select(Settings.class, new RecordId("settings", "app"));
+ * }
+ * }</pre>
+ * <p>
+ * The cache holds at most {@link CacheOptions#getMaximumSize()} records and
+ * evicts the least recently read one when full. Each record is kept for at most
+ * {@link CacheOptions#getExpireAfterWrite()}.
+ * <p>
+ * The first time a record of a table is read, the cache starts a live query on
+ * that table with {@link Surreal#selectLive(String, int)}. Every notification
+ * of the table removes the changed record, so changes made by other clients are
+ * seen as soon as their notification arrives. Changes made through the update,
+ * upsert and delete methods of this class are seen immediately. If the live
+ * query of a table cannot be started, for example because the table does not
+ * exist yet, its records are read from the database without being cached. If
+ * the live query ends, the records of its table are removed and it is started
+ * again on the next read.
+ * <p>
+ * Records are cached as native values and converted on every read, so each call
+ * returns a new instance. Other operations go directly to the wrapped
+ * connection, see {@link #getSurreal()}. Its namespace and database must not
+ * be changed while the cache is in use.
+ * <p>
+ * The cache is thread-safe. Closing it stops its live queries and removes every
+ * record; the connection itself is not closed.
+ */
+public final class CachingSurreal implements AutoCloseable {
+
+	private final Surreal surreal;
+	private final CacheOptions options;
+	private final long expireAfterNanos;
+	// Access-ordered, so that the eldest record is the least recently read
+	private final LinkedHashMap<String, CachedRecord> records;
+	private final Map<String, TableWatch> watches = new HashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private volatile boolean closed;
+
+	/**
+	 * Creates a cache with the default options.
+	 *
+	 * @param surreal
+	 *            a connected instance with its namespace and database selected
+	 */
+	public CachingSurreal(Surreal surreal) {
+		this(surreal, CacheOptions.defaults());
+	}
+
+	/**
+	 * @param surreal
+	 *            a connected instance with its namespace and database selected
+	 * @param options
+	 *            the cache options
+	 */
+	public CachingSurreal(Surreal surreal, CacheOptions options) {
+		this.surreal = surreal;
+		this.options = options;
+		this.expireAfterNanos = toNanos(options.getExpireAfterWrite());
+		this.records = new LinkedHashMap<String, CachedRecord>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedRecord> eldest) {
+				if (size() <= CachingSurreal.this.options.getMaximumSize()) {
+					return false;
+				}
+				evictions.increment();
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Selects a record, from the cache if it holds it.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class to convert the record to
+	 * @param recordId
+	 *            the record to select
+	 * @return the record, or an empty Optional if it does not exist
+	 * @see Surreal#select(Class, RecordId)
+	 */
+	public <T> Optional<T> select(Class<T> type, RecordId recordId) {
+		final Value value = lookup(recordId);
+		return value == null ? Optional.empty() : Optional.of(value.get(type));
+	}
+
+	/**
+	 * Updates a record and removes it from the cache.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class to convert the updated record to
+	 * @param recordId
+	 *            the record to update
+	 * @param upType
+	 *            how the content is applied
+	 * @param content
+	 *            the update content
+	 * @return the updated record
+	 * @see Surreal#update(Class, RecordId, UpType, java.lang.Object)
+	 */
+	public <T> T update(Class<T> type, RecordId recordId, UpType upType, T content) {
+		try {
+			return surreal.update(type, recordId, upType, content);
+		} finally {
+			invalidate(recordId);
+		}
+	}
+
+	/**
+	 * Upserts a record and removes it from the cache.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class to convert the upserted record to
+	 * @param recordId
+	 *            the record to upsert
+	 * @param upType
+	 *            how the content is applied
+	 * @param content
+	 *            the upsert content
+	 * @return the upserted record
+	 * @see Surreal#upsert(Class, RecordId, UpType, java.lang.Object)
+	 */
+	public <T> T upsert(Class<T> type, RecordId recordId, UpType upType, T content) {
+		try {
+			return surreal.upsert(type, recordId, upType, content);
+		} finally {
+			invalidate(recordId);
+		}
+	}
+
+	/**
+	 * Deletes a record and removes it from the cache.
+	 *
+	 * @param recordId
+	 *            the record to delete
+	 * @see Surreal#delete(RecordId)
+	 */
+	public void delete(RecordId recordId) {
+		try {
+			surreal.delete(recordId);
+		} finally {
+			invalidate(recordId);
+		}
+	}
+
+	/**
+	 * Removes a record from the cache, for example after changing it through
+	 * {@link #getSurreal()}.
+	 *
+	 * @param recordId
+	 *            the record to remove
+	 */
+	public void invalidate(RecordId recordId) {
+		final String table = recordId.getTable();
+		final TableWatch watch;
+		synchronized (watches) {
+			watch = watches.get(table);
+		}
+		if (watch != null) {
+			// Keeps a read already in flight from caching the old record
+			watch.generation.incrementAndGet();
+		}
+		synchronized (records) {
+			records.remove(recordId.toString());
+		}
+	}
+
+	/**
+	 * Removes every record from the cache.
+	 */
+	public void invalidateAll() {
+		synchronized (watches) {
+			for (final TableWatch watch : watches.values()) {
+				watch.generation.incrementAndGet();
+			}
+		}
+		synchronized (records) {
+			records.clear();
+		}
+	}
+
+	/**
+	 * @return the wrapped connection
+	 */
+	public Surreal getSurreal() {
+		return surreal;
+	}
+
+	/**
+	 * @return the number of cached records
+	 */
+	public int getSize() {
+		synchronized (records) {
+			return records.size();
+		}
+	}
+
+	/**
+	 * @return the number of reads answered from the cache
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of reads sent to the database
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of records evicted because the cache was full
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Stops the live queries and removes every record. This method is
+	 * idempotent.
+	 */
+	@Override
+	public void close() {
+		final List<TableWatch> stopped;
+		synchronized (watches) {
+			closed = true;
+			stopped = new ArrayList<>(watches.values());
+			watches.clear();
+		}
+		for (final TableWatch watch : stopped) {
+			watch.stop();
+		}
+		synchronized (records) {
+			records.clear();
+		}
+	}
+
+	/**
+	 * @return the cached or selected record, or {@code null} if it does not exist
+	 */
+	private Value lookup(RecordId recordId) {
+		final String key = recordId.toString();
+		synchronized (records) {
+			final CachedRecord cached = records.get(key);
+			if (cached != null) {
+				if (System.nanoTime() - cached.loaded < expireAfterNanos) {
+					hits.increment();
+					return cached.value;
+				}
+				records.remove(key);
+			}
+		}
+		misses.increment();
+		final TableWatch watch = watch(recordId.getTable());
+		final long generation = watch == null ? 0 : watch.generation.get();
+		final long loaded = System.nanoTime();
+		// The value may be cached, so it must not be released with the caller's scope
+		final Value value = NativeScope.untracked(() -> surreal.select(recordId)).orElse(null);
+		if (value != null && watch != null) {
+			synchronized (records) {
+				// Skipped if the table changed while the record was read
+				if (!watch.ended && watch.generation.get() == generation) {
+					records.put(key, new CachedRecord(watch.table, value, loaded));
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * @return the watch of the table, started if needed, or {@code null} if the
+	 *         table cannot be watched
+	 */
+	private TableWatch watch(String table) {
+		synchronized (watches) {
+			if (closed) {
+				return null;
+			}
+			TableWatch watch = watches.get(table);
+			if (watch == null) {
+				final LiveStream stream;
+				try {
+					stream = surreal.selectLive(table, options.getLiveCapacity());
+				} catch (SurrealException e) {
+					// Live queries are unsupported or the table does not exist yet
+					return null;
+				}
+				watch = new TableWatch(table, stream);
+				watches.put(table, watch);
+				final Thread thread = new Thread(watch, "surrealdb-cache-" + table);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			return watch;
+		}
+	}
+
+	private void removeTable(String table) {
+		synchronized (records) {
+			final Iterator<CachedRecord> cached = records.values().iterator();
+			while (cached.hasNext()) {
+				if (cached.next().table.equals(table)) {
+					cached.remove();
+				}
+			}
+		}
+	}
+
+	private static long toNanos(Duration duration) {
+		try {
+			return duration.toNanos();
+		} catch (ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private static final class CachedRecord {
+		final String table;
+		final Value value;
+		final long loaded;
+
+		CachedRecord(String table, Value value, long loaded) {
+			this.table = table;
+			this.value = value;
+			this.loaded = loaded;
+		}
+	}
+
+	/**
+	 * The live query of a cached table, and the thread removing the records it
+	 * reports as changed.
+	 */
+	private final class TableWatch implements Runnable {
+
+		final String table;
+		final LiveStream stream;
+		// Incremented on every change of the table
+		final AtomicLong generation = new AtomicLong();
+		volatile boolean ended;
+
+		TableWatch(String table, LiveStream stream) {
+			this.table = table;
+			this.stream = stream;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Optional<LiveNotification> next;
+				while ((next = stream.next()).isPresent()) {
+					if ("KILLED".equals(next.get().getAction())) {
+						break;
+					}
+					generation.incrementAndGet();
+					final String key = recordKey(next.get());
+					if (key == null) {
+						removeTable(table);
+					} else {
+						synchronized (records) {
+							records.remove(key);
+						}
+					}
+				}
+			} catch (SurrealException e) {
+				// The live query failed; its records can no longer be trusted
+			} finally {
+				synchronized (watches) {
+					watches.remove(table, this);
+				}
+				stop();
+			}
+		}
+
+		void stop() {
+			ended = true;
+			generation.incrementAndGet();
+			stream.close();
+			removeTable(table);
+		}
+
+		/**
+		 * @return the cache key of the changed record, or {@code null} if the
+		 *         notification does not carry it
+		 */
+		private String recordKey(LiveNotification notification) {
+			try (final Value value = notification.getValue()) {
+				if (value == null || !value.isObject()) {
+					return null;
+				}
+				final Value id = value.getObject().get("id");
+				return id.isRecordId() ? id.getRecordId().toString() : null;
+			}
+		}
+	}
+}
@@ -9,7 +9,7 @@ package com.surrealdb;
 public class Entry extends Native {
 
 	Entry(long ptr) {
-		super(ptr);
+		super(ptr, Entry::deleteInstance, NativeScope.ENTRY);
 	}
 
 	private static native String getKey(long ptr);
@@ -25,8 +25,7 @@ public class Entry extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	public String getKey() {
 		return getKey(getPtr());
@@ -11,7 +11,7 @@ import java.util.Objects;
 public class EntryIterator extends Native implements Iterator<Entry> {
 
 	EntryIterator(long ptr) {
-		super(ptr);
+		super(ptr, EntryIterator::deleteInstance);
 	}
 
 	private static native boolean hasNext(long ptr);
@@ -33,8 +33,7 @@ public class EntryIterator extends Native implements Iterator<Entry> {
 		return ptr1 == ptr2;
 	}
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	@Override
 	public boolean hasNext() {
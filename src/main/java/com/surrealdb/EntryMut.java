@@ -3,7 +3,7 @@ package com.surrealdb;
 public class EntryMut extends Native {
 
 	private EntryMut(long ptr) {
-		super(ptr);
+		super(ptr, EntryMut::deleteInstance);
 	}
 
 	private static native long create(String name, long valuePtr);
@@ -25,7 +25,6 @@ public class EntryMut extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 }
@@ -10,7 +10,7 @@ package com.surrealdb;
 public class FileRef extends Native {
 
 	FileRef(long ptr) {
-		super(ptr);
+		super(ptr, FileRef::deleteInstance, NativeScope.VALUE);
 	}
 
 	private static native String getBucket(long ptr);
@@ -30,8 +30,7 @@ public class FileRef extends Native {
 		return getBucket(ptr1).equals(getBucket(ptr2)) && getKey(ptr1).equals(getKey(ptr2));
 	}
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	/**
 	 * Returns the bucket name.
@@ -0,0 +1,145 @@
+package com.surrealdb;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Bridges {@link LivePublisher} to {@code java.util.concurrent.Flow} without
+ * linking against it, so the library keeps running on Java 8. The Flow
+ * interfaces are resolved reflectively and implemented with dynamic proxies.
+ */
+final class FlowAdapter {
+
+	private static final Class<?> PUBLISHER;
+	private static final Class<?> SUBSCRIBER;
+	private static final Class<?> SUBSCRIPTION;
+	private static final Method ON_SUBSCRIBE;
+	private static final Method ON_NEXT;
+	private static final Method ON_ERROR;
+	private static final Method ON_COMPLETE;
+
+	static {
+		Class<?> publisher = null;
+		Class<?> subscriber = null;
+		Class<?> subscription = null;
+		Method onSubscribe = null;
+		Method onNext = null;
+		Method onError = null;
+		Method onComplete = null;
+		try {
+			publisher = Class.forName("java.util.concurrent.Flow$Publisher");
+			subscriber = Class.forName("java.util.concurrent.Flow$Subscriber");
+			subscription = Class.forName("java.util.concurrent.Flow$Subscription");
+			onSubscribe = subscriber.getMethod("onSubscribe", subscription);
+			onNext = subscriber.getMethod("onNext", java.lang.Object.class);
+			onError = subscriber.getMethod("onError", Throwable.class);
+			onComplete = subscriber.getMethod("onComplete");
+		} catch (ReflectiveOperationException e) {
+			// Java 8: Flow is not available
+			publisher = null;
+		}
+		PUBLISHER = publisher;
+		SUBSCRIBER = subscriber;
+		SUBSCRIPTION = subscription;
+		ON_SUBSCRIBE = onSubscribe;
+		ON_NEXT = onNext;
+		ON_ERROR = onError;
+		ON_COMPLETE = onComplete;
+	}
+
+	private FlowAdapter() {
+	}
+
+	static java.lang.Object publisher(LivePublisher publisher) {
+		if (PUBLISHER == null) {
+			throw new UnsupportedOperationException("java.util.concurrent.Flow requires Java 9 or later");
+		}
+		return proxy(PUBLISHER, publisher, (proxy, method, args) -> {
+			if (method.getName().equals("subscribe") && SUBSCRIBER.isInstance(args[0])) {
+				publisher.subscribe(new SubscriberAdapter(args[0]));
+				return null;
+			}
+			throw new UnsupportedOperationException(method.toString());
+		});
+	}
+
+	private static java.lang.Object proxy(Class<?> type, java.lang.Object target, InvocationHandler handler) {
+		return Proxy.newProxyInstance(FlowAdapter.class.getClassLoader(), new Class<?>[]{type},
+				(proxy, method, args) -> {
+					if (method.getDeclaringClass() == java.lang.Object.class) {
+						switch (method.getName()) {
+							case "equals" :
+								return proxy == args[0];
+							case "hashCode" :
+								return System.identityHashCode(proxy);
+							default :
+								return type.getName() + "[" + target + "]";
+						}
+					}
+					return handler.invoke(proxy, method, args);
+				});
+	}
+
+	private static void invoke(Method method, java.lang.Object target, java.lang.Object... args) {
+		try {
+			method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Forwards {@link LiveSubscriber} signals to a {@code Flow.Subscriber}.
+	 */
+	private static final class SubscriberAdapter implements LiveSubscriber {
+
+		private final java.lang.Object subscriber;
+
+		SubscriberAdapter(java.lang.Object subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void onSubscribe(LiveSubscription subscription) {
+			final java.lang.Object flowSubscription = proxy(SUBSCRIPTION, subscription, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "request" :
+						subscription.request((Long) args[0]);
+						return null;
+					case "cancel" :
+						subscription.cancel();
+						return null;
+					default :
+						throw new UnsupportedOperationException(method.toString());
+				}
+			});
+			invoke(ON_SUBSCRIBE, subscriber, flowSubscription);
+		}
+
+		@Override
+		public void onNext(LiveNotification notification) {
+			invoke(ON_NEXT, subscriber, notification);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			invoke(ON_ERROR, subscriber, throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			invoke(ON_COMPLETE, subscriber);
+		}
+	}
+}
@@ -21,7 +21,7 @@ import java.util.List;
 public class Geometry extends Native {
 
 	Geometry(long ptr) {
-		super(ptr);
+		super(ptr, Geometry::deleteInstance, NativeScope.VALUE);
 	}
 
 	// ---- native: read ----
@@ -61,8 +61,7 @@ public class Geometry extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	// ---- type discrimination ----
 
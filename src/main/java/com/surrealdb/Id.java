@@ -12,7 +12,7 @@ import java.util.UUID;
 public class Id extends Native {
 
 	Id(long ptr) {
-		super(ptr);
+		super(ptr, Id::deleteInstance, NativeScope.VALUE);
 	}
 
 	public static Id from(long id) {
@@ -96,8 +96,7 @@ public class Id extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	final public boolean isLong() {
 		return isLong(getPtr());
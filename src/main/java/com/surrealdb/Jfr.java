@@ -0,0 +1,268 @@
+package com.surrealdb;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The driver's Java Flight Recorder events, in the {@code SurrealDB} category.
+ * <p>
+ * The driver targets Java 8, so the event types are not subclasses of
+ * {@code jdk.jfr.Event} but are defined at run time with
+ * {@code jdk.jfr.EventFactory}, found by reflection. On a JVM without JFR, or
+ * when the {@code surrealdb.jfr} system property is {@code false}, every event
+ * type is inert and {@link Type#begin()} returns {@code null}. Events are only
+ * created while a recording has enabled their type.
+ */
+final class Jfr {
+
+	static final String JFR_PROP = "surrealdb.jfr";
+
+	// Resolved once; NEW_EVENT is null when JFR is unavailable
+	private static final MethodHandle NEW_EVENT;
+	private static final MethodHandle GET_EVENT_TYPE;
+	private static final MethodHandle IS_ENABLED;
+	private static final MethodHandle BEGIN;
+	private static final MethodHandle END;
+	private static final MethodHandle SHOULD_COMMIT;
+	private static final MethodHandle COMMIT;
+	private static final MethodHandle SET;
+
+	static {
+		MethodHandle newEvent = null, getEventType = null, isEnabled = null, begin = null, end = null,
+				shouldCommit = null, commit = null, set = null;
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			final Class<?> factory = Class.forName("jdk.jfr.EventFactory");
+			final Class<?> event = Class.forName("jdk.jfr.Event");
+			final Class<?> eventType = Class.forName("jdk.jfr.EventType");
+			newEvent = lookup.findVirtual(factory, "newEvent", MethodType.methodType(event));
+			getEventType = lookup.findVirtual(factory, "getEventType", MethodType.methodType(eventType));
+			isEnabled = lookup.findVirtual(eventType, "isEnabled", MethodType.methodType(boolean.class));
+			begin = lookup.findVirtual(event, "begin", MethodType.methodType(void.class));
+			end = lookup.findVirtual(event, "end", MethodType.methodType(void.class));
+			shouldCommit = lookup.findVirtual(event, "shouldCommit", MethodType.methodType(boolean.class));
+			commit = lookup.findVirtual(event, "commit", MethodType.methodType(void.class));
+			set = lookup.findVirtual(event, "set",
+					MethodType.methodType(void.class, int.class, java.lang.Object.class));
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			// No JFR on this JVM
+			newEvent = null;
+		}
+		NEW_EVENT = newEvent;
+		GET_EVENT_TYPE = getEventType;
+		IS_ENABLED = isEnabled;
+		BEGIN = begin;
+		END = end;
+		SHOULD_COMMIT = shouldCommit;
+		COMMIT = commit;
+		SET = set;
+	}
+
+	static final Type QUERY = define("com.surrealdb.Query", "Query", "A SurrealQL query sent by the driver",
+			field(String.class, "fingerprint", "Fingerprint", false),
+			field(int.class, "statements", "Statements", false), field(int.class, "parameters", "Parameters", false));
+
+	static final Type DECODE = define("com.surrealdb.Decode", "Decode",
+			"A native value converted into a Java object by ValueClassConverter",
+			field(String.class, "type", "Type", false));
+
+	static final Type ENCODE = define("com.surrealdb.Encode", "Encode",
+			"A Java object encoded into a native value by ValueBuilder", field(String.class, "type", "Type", false),
+			field(int.class, "bytes", "Bytes", false));
+
+	static final Type LIVE_DELIVERY = define("com.surrealdb.LiveDelivery", "Live Delivery",
+			"Live query notifications handed to the application; the duration is the time spent waiting for them",
+			field(String.class, "queryId", "Query Id", false),
+			field(int.class, "notifications", "Notifications", false),
+			field(long.class, "consumerTime", "Consumer Time", true));
+
+	private Jfr() {
+	}
+
+	private static Field field(Class<?> type, String name, String label, boolean timespan) {
+		return new Field(type, name, label, timespan);
+	}
+
+	private static Type define(String name, String label, String description, Field... fields) {
+		if (!Boolean.parseBoolean(System.getProperty(JFR_PROP, "true"))) {
+			return new Type(null, null);
+		}
+		try {
+			final Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+			final Constructor<?> annotation = annotationElement.getConstructor(Class.class, java.lang.Object.class);
+			final Class<?> labelType = Class.forName("jdk.jfr.Label");
+			final List<java.lang.Object> annotations = Arrays.asList(
+					annotation.newInstance(Class.forName("jdk.jfr.Name"), name),
+					annotation.newInstance(labelType, label),
+					annotation.newInstance(Class.forName("jdk.jfr.Description"), description),
+					annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"SurrealDB"}));
+			final Constructor<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class,
+					String.class, List.class);
+			final List<java.lang.Object> descriptors = new ArrayList<>(fields.length);
+			for (final Field field : fields) {
+				final List<java.lang.Object> fieldAnnotations = new ArrayList<>(2);
+				fieldAnnotations.add(annotation.newInstance(labelType, field.label));
+				if (field.timespan) {
+					fieldAnnotations.add(annotation.newInstance(Class.forName("jdk.jfr.Timespan"), "NANOSECONDS"));
+				}
+				descriptors.add(valueDescriptor.newInstance(field.type, field.name, fieldAnnotations));
+			}
+			final java.lang.Object factory = Class.forName("jdk.jfr.EventFactory")
+					.getMethod("create", List.class, List.class).invoke(null, annotations, descriptors);
+			return new Type(factory, GET_EVENT_TYPE == null ? null : GET_EVENT_TYPE.invoke(factory));
+		} catch (Throwable e) {
+			// JFR is unavailable or refused the definition; the type stays inert
+			if (e instanceof VirtualMachineError) {
+				throw (VirtualMachineError) e;
+			}
+			return new Type(null, null);
+		}
+	}
+
+	/**
+	 * Commits a {@link #QUERY} event started with {@link Type#begin()}. The SQL is
+	 * only fingerprinted when the event is recorded.
+	 * <p>
+	 * It is called from the {@code finally} block of the query, so it does not
+	 * throw: a failure to record the event must not replace the query's own
+	 * exception.
+	 *
+	 * @param params
+	 *            the bound parameters, or {@code null}
+	 */
+	static void commitQuery(Event event, String sql, Map<String, ?> params) {
+		if (event == null) {
+			return;
+		}
+		try {
+			if (event.end()) {
+				final String fingerprint = SqlFingerprint.of(sql);
+				event.commit(fingerprint, SqlFingerprint.statements(fingerprint), params == null ? 0 : params.size());
+			}
+		} catch (RuntimeException e) {
+			// The event is lost; the query's outcome is unaffected
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable e) {
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		// None of the invoked methods declares a checked exception
+		throw new UndeclaredThrowableException(e);
+	}
+
+	private static final class Field {
+		final Class<?> type;
+		final String name;
+		final String label;
+		final boolean timespan;
+
+		Field(Class<?> type, String name, String label, boolean timespan) {
+			this.type = type;
+			this.name = name;
+			this.label = label;
+			this.timespan = timespan;
+		}
+	}
+
+	/**
+	 * An event type defined with {@code jdk.jfr.EventFactory}.
+	 */
+	static final class Type {
+
+		private final java.lang.Object factory;
+		private final java.lang.Object eventType;
+
+		private Type(java.lang.Object factory, java.lang.Object eventType) {
+			this.factory = factory;
+			this.eventType = eventType;
+		}
+
+		/**
+		 * @return whether a recording has enabled this event type
+		 */
+		boolean isEnabled() {
+			if (eventType == null || NEW_EVENT == null) {
+				return false;
+			}
+			try {
+				return (boolean) IS_ENABLED.invoke(eventType);
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+
+		/**
+		 * Starts timing an event.
+		 *
+		 * @return the event, or {@code null} if this type is not being recorded
+		 */
+		Event begin() {
+			if (!isEnabled()) {
+				return null;
+			}
+			try {
+				final java.lang.Object event = NEW_EVENT.invoke(factory);
+				BEGIN.invoke(event);
+				return new Event(event);
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+	}
+
+	/**
+	 * An event being timed.
+	 */
+	static final class Event {
+
+		private final java.lang.Object event;
+
+		private Event(java.lang.Object event) {
+			this.event = event;
+		}
+
+		/**
+		 * Stops timing the event.
+		 *
+		 * @return whether the event passes the recording's thresholds and should be
+		 *         committed with {@link #commit(java.lang.Object...)}
+		 */
+		boolean end() {
+			try {
+				END.invoke(event);
+				return (boolean) SHOULD_COMMIT.invoke(event);
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+
+		/**
+		 * Writes the event to the recording.
+		 *
+		 * @param values
+		 *            the field values, in the order the fields were defined
+		 */
+		void commit(java.lang.Object... values) {
+			try {
+				for (int i = 0; i < values.length; i++) {
+					SET.invoke(event, i, values[i]);
+				}
+				COMMIT.invoke(event);
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.surrealdb;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registers the driver's MBeans under the {@code com.surrealdb} domain. This is
+ * opt-in, with the {@code surrealdb.jmx} system property set to {@code true}, so
+ * that loading the driver does not start the platform MBean server, which some
+ * environments such as native images lack. Registration failures, including
+ * platforms without JMX, are ignored.
+ */
+final class Jmx {
+
+	static final String JMX_PROP = "surrealdb.jmx";
+
+	private Jmx() {
+	}
+
+	static void register(String type, java.lang.Object bean) {
+		if (!Boolean.getBoolean(JMX_PROP)) {
+			return;
+		}
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName name = new ObjectName("com.surrealdb", "type", type);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(bean, name);
+			}
+		} catch (JMException | SecurityException | LinkageError e) {
+			// Monitoring is optional
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.surrealdb;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with the bucket layout of HdrHistogram.
+ * <p>
+ * Values below {@code 2^SUB_BITS} nanoseconds are counted exactly. Above that,
+ * each power of two is split into {@code 2^SUB_BITS} linear sub-buckets, so a
+ * recorded value is off by at most 1/32 of itself whatever its magnitude.
+ * Recording is one atomic increment and needs no allocation.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BITS = 5;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	// About 18 minutes; longer values are counted in the last bucket
+	private static final int MAX_EXPONENT = 40;
+	private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	void record(long nanos) {
+		final long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+		counts.incrementAndGet(index(value));
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		sum.reset();
+		max.reset();
+	}
+
+	SurrealMetrics.Latency snapshot() {
+		final long[] copy = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			copy[i] = counts.get(i);
+			count += copy[i];
+		}
+		return new SurrealMetrics.Latency(copy, count, sum.sum(), max.get());
+	}
+
+	static int index(long value) {
+		if (value < SUB_COUNT) {
+			return (int) value;
+		}
+		final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) - SUB_COUNT);
+	}
+
+	/**
+	 * @return the highest value counted in the given bucket
+	 */
+	static long highestValue(int index) {
+		if (index < SUB_COUNT) {
+			return index;
+		}
+		final int shift = index / SUB_COUNT - 1;
+		final long lowest = (long) (index % SUB_COUNT + SUB_COUNT) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
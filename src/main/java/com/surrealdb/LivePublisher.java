@@ -0,0 +1,182 @@
+package com.surrealdb;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publisher of live query notifications with demand-driven backpressure,
+ * returned by {@link Surreal#selectLivePublisher(String)}.
+ * <p>
+ * Mirrors {@code java.util.concurrent.Flow.Publisher} so it can be used on
+ * Java 8; use {@link #toFlowPublisher()} to obtain a {@code Flow.Publisher} on
+ * Java 9 and later. A publisher is bound to one live query and accepts a
+ * single subscriber.
+ *
+ * <pre>{@code
+ * surreal.selectLivePublisher("person").subscribe(new LiveSubscriber() {
+ * 	private LiveSubscription subscription;
+ *
+ * 	public void onSubscribe(LiveSubscription s) {
+ * 		subscription = s;
+ * 		s.request(16);
+ * 	}
+ *
+ * 	public void onNext(LiveNotification n) {
+ * 		process(n);
+ * 		subscription.request(1);
+ * 	}
+ *
+ * 	public void onError(Throwable t) {
+ * 	}
+ *
+ * 	public void onComplete() {
+ * 	}
+ * });
+ * }</pre>
+ * <p>
+ * Requested demand becomes native credit: the native forwarder only reads a
+ * notification from the live query stream once it has been requested, so
+ * nothing accumulates in native memory when the subscriber falls behind.
+ * Signals are delivered on a dedicated daemon thread.
+ */
+public final class LivePublisher {
+
+	private final LiveStream stream;
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	LivePublisher(LiveStream stream) {
+		this.stream = stream;
+	}
+
+	/**
+	 * Returns the UUID of the underlying live query.
+	 *
+	 * @return the live query UUID as a string
+	 * @see LiveStream#getQueryId()
+	 */
+	public String getQueryId() {
+		return stream.getQueryId();
+	}
+
+	/**
+	 * Subscribes the given subscriber. Only the first subscriber is accepted;
+	 * later subscribers receive an {@link IllegalStateException} through
+	 * {@link LiveSubscriber#onError}.
+	 *
+	 * @param subscriber
+	 *            the subscriber
+	 */
+	public void subscribe(LiveSubscriber subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(Rejected.INSTANCE);
+			subscriber.onError(new IllegalStateException("A LivePublisher supports a single subscriber"));
+			return;
+		}
+		final Delivery delivery = new Delivery(stream, subscriber);
+		subscriber.onSubscribe(delivery);
+		delivery.start();
+	}
+
+	/**
+	 * Adapts this publisher to {@code java.util.concurrent.Flow.Publisher}.
+	 * <p>
+	 * The result is typed as {@code Object} so this library stays compatible with
+	 * Java 8; cast it to {@code Flow.Publisher<LiveNotification>}.
+	 *
+	 * @return a {@code Flow.Publisher<LiveNotification>}
+	 * @throws UnsupportedOperationException
+	 *             on Java 8, where {@code java.util.concurrent.Flow} is not
+	 *             available
+	 */
+	public java.lang.Object toFlowPublisher() {
+		return FlowAdapter.publisher(this);
+	}
+
+	/**
+	 * Reads the live stream on its own thread and delivers notifications within
+	 * the requested demand, which is enforced natively by the stream credit.
+	 */
+	private static final class Delivery implements LiveSubscription, Runnable {
+
+		private final LiveStream stream;
+		private final LiveSubscriber subscriber;
+		private volatile boolean cancelled;
+		private volatile Throwable failure;
+
+		Delivery(LiveStream stream, LiveSubscriber subscriber) {
+			this.stream = stream;
+			this.subscriber = subscriber;
+		}
+
+		void start() {
+			final Thread thread = new Thread(this, "surrealdb-live-" + stream.getQueryId());
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				failure = new IllegalArgumentException("Requested demand must be positive: " + n);
+				stream.close();
+				return;
+			}
+			stream.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			stream.close();
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				final Optional<LiveNotification> next;
+				try {
+					next = stream.next();
+				} catch (RuntimeException e) {
+					stream.close();
+					if (!cancelled) {
+						subscriber.onError(e);
+					}
+					return;
+				}
+				if (!next.isPresent()) {
+					final Throwable t = failure;
+					if (t != null) {
+						subscriber.onError(t);
+					} else if (!cancelled) {
+						subscriber.onComplete();
+					}
+					return;
+				}
+				if (cancelled) {
+					return;
+				}
+				try {
+					subscriber.onNext(next.get());
+				} catch (RuntimeException e) {
+					// A subscriber must not throw; treat it as a cancellation
+					cancel();
+					return;
+				}
+			}
+		}
+	}
+
+	private enum Rejected implements LiveSubscription {
+		INSTANCE;
+
+		@Override
+		public void request(long n) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+	}
+}
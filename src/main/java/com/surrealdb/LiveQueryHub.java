@@ -0,0 +1,150 @@
+package com.surrealdb;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Delivers the notifications of many live queries through a single consumer
+ * loop.
+ * <p>
+ * Each subscription is driven by its own task on the native runtime, and all of
+ * them feed one bounded delivery queue read by {@link #next()}. Use
+ * {@link LiveNotification#getQueryId()} to tell the queries apart.
+ *
+ * <pre>{@code
+ * try (LiveQueryHub hub = new LiveQueryHub()) {
+ * 	String people = hub.subscribe(surreal, "person");
+ * 	String orders = hub.subscribe(surreal, "order");
+ * 	while (true) {
+ * 		Optional<LiveNotification> n = hub.next();
+ * 		if (!n.isPresent())
+ * 			break; // hub closed
+ * 		if (n.get().getQueryId().equals(people))
+ * 			onPerson(n.get());
+ * 		else
+ * 			onOrder(n.get());
+ * 	}
+ * }
+ * }</pre>
+ *
+ * <p>
+ * <b>Thread safety:</b> as for {@link LiveStream}, {@link #next()} may be
+ * called from one thread while {@link #subscribe}, {@link #unsubscribe} or
+ * {@link #close()} are called from others. Closing the hub unblocks a thread
+ * waiting inside {@code next()}.
+ *
+ * <p>
+ * <b>Backpressure:</b> when the delivery queue is full, every subscription
+ * stops reading from the server until {@link #next()} catches up.
+ */
+public class LiveQueryHub implements AutoCloseable {
+
+	static {
+		Loader.loadNative();
+	}
+
+	/**
+	 * Pointer to the native {@code LiveQueryHub}. Zeroed by {@link #close()}.
+	 */
+	private volatile long handle;
+
+	/**
+	 * Creates a hub buffering at most 1024 notifications.
+	 */
+	public LiveQueryHub() {
+		this(LiveStream.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a hub buffering at most {@code capacity} notifications across all of
+	 * its subscriptions.
+	 *
+	 * @param capacity
+	 *            maximum number of notifications buffered natively (at least 1)
+	 */
+	public LiveQueryHub(int capacity) {
+		this.handle = newNative(capacity);
+	}
+
+	/**
+	 * Starts a live query on the given table and delivers its notifications
+	 * through this hub.
+	 *
+	 * @param surreal
+	 *            the connection to run the live query on
+	 * @param table
+	 *            table name to watch (must already exist)
+	 * @return the live query UUID as a string
+	 * @throws SurrealException
+	 *             if live queries are not supported, the table does not exist, or
+	 *             the subscription fails
+	 * @throws IllegalStateException
+	 *             if the hub has been closed
+	 */
+	public synchronized String subscribe(Surreal surreal, String table) {
+		Objects.requireNonNull(surreal, "surreal");
+		if (handle == 0) {
+			throw new IllegalStateException("LiveQueryHub is closed");
+		}
+		return subscribeNative(handle, surreal.getPtr(), table);
+	}
+
+	/**
+	 * Stops the live query with the given id. Notifications already queued in the
+	 * hub are still returned by {@link #next()}.
+	 *
+	 * @param queryId
+	 *            the id returned by {@link #subscribe(Surreal, String)}
+	 * @return {@code true} if the query was subscribed to this hub
+	 */
+	public synchronized boolean unsubscribe(String queryId) {
+		if (handle == 0) {
+			return false;
+		}
+		return unsubscribeNative(handle, queryId);
+	}
+
+	/**
+	 * Blocks until the next notification of any subscription is available.
+	 *
+	 * <p>
+	 * Returns {@link Optional#empty()} once the hub has been closed. If a live
+	 * query encounters an error, a {@link SurrealException} is thrown.
+	 *
+	 * @return the next notification, or empty if the hub has been closed
+	 * @throws SurrealException
+	 *             if a live query encounters an error
+	 */
+	public Optional<LiveNotification> next() {
+		if (handle == 0) {
+			return Optional.empty();
+		}
+		final LiveNotification n = nextNative(handle);
+		return n == null ? Optional.empty() : Optional.of(n);
+	}
+
+	/**
+	 * Stops every live query of this hub and releases its native resources.
+	 *
+	 * <p>
+	 * A thread blocked inside {@link #next()} is unblocked and returns
+	 * {@link Optional#empty()}. This method is idempotent.
+	 */
+	@Override
+	public synchronized void close() {
+		if (handle != 0) {
+			releaseNative(handle);
+			handle = 0;
+		}
+	}
+
+	private static native long newNative(int capacity);
+
+	private static native String subscribeNative(long handle, long surrealPtr, String table);
+
+	private static native boolean unsubscribeNative(long handle, String queryId);
+
+	private static native LiveNotification nextNative(long handle);
+
+	private static native void releaseNative(long handle);
+}
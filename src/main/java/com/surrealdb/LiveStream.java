@@ -1,5 +1,10 @@
 package com.surrealdb;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -28,6 +33,18 @@ import java.util.Optional;
  * is immediately visible to concurrent {@code next()} callers. Concurrent calls
  * to {@code next()} from multiple threads are serialized by a mutex in the
  * native layer.
+ *
+ * <p>
+ * <b>Backpressure:</b> notifications are buffered natively in a bounded queue.
+ * When the queue is full the stream stops reading from the server until
+ * {@link #next()} catches up, so a slow consumer does not grow memory without
+ * limit. For demand-driven delivery, use {@link Surreal#selectLivePublisher}.
+ *
+ * <p>
+ * <b>Batching:</b> for high-rate change feeds, {@link #nextBatch(int, Duration)}
+ * drains up to a given number of queued notifications in a single native call,
+ * which is much cheaper per notification than calling {@link #next()} in a
+ * loop.
  */
 public class LiveStream implements AutoCloseable {
 
@@ -45,6 +62,41 @@ public class LiveStream implements AutoCloseable {
 	 */
 	private final String queryId;
 
+	/**
+	 * Default number of notifications buffered natively before the stream stops
+	 * reading from the server.
+	 */
+	static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Upper bound on the notifications drained by one native call, which sizes
+	 * the transfer arrays.
+	 */
+	private static final int MAX_BATCH = 65536;
+
+	/**
+	 * Notification actions indexed by the codes written by
+	 * {@code nextBatchNative}.
+	 */
+	private static final String[] ACTIONS = {"CREATE", "UPDATE", "DELETE", "KILLED"};
+
+	/**
+	 * When the previous delivery returned to the consumer, while the
+	 * {@code LiveDelivery} flight recorder event is enabled; 0 otherwise.
+	 */
+	private long delivered;
+
+	/**
+	 * Transfer arrays of {@link #nextBatch(Collection, int, Duration)}, grown to
+	 * the largest batch requested and reused by later calls. Guarded by
+	 * {@link #batchLock} rather than by this stream, so that {@link #close()} is
+	 * not blocked by a waiting batch.
+	 */
+	private final java.lang.Object batchLock = new java.lang.Object();
+	private long[] valuePtrs = new long[0];
+	private byte[] actions = new byte[0];
+	private String[] otherActions = new String[0];
+
 	LiveStream(long handle, String queryId) {
 		this.handle = handle;
 		this.queryId = queryId;
@@ -67,10 +119,124 @@ public class LiveStream implements AutoCloseable {
 		if (handle == 0) {
 			return Optional.empty();
 		}
+		final Jfr.Event event = Jfr.LIVE_DELIVERY.begin();
+		final long asked = event == null ? 0 : System.nanoTime();
 		LiveNotification n = nextNative(handle);
+		if (event != null) {
+			recordDelivery(event, asked, n == null ? 0 : 1);
+		}
 		return n == null ? Optional.empty() : Optional.of(n);
 	}
 
+	/**
+	 * Waits up to {@code timeout} for notifications and returns at most
+	 * {@code max} of them.
+	 *
+	 * <p>
+	 * Blocks until the first notification is available or the timeout elapses,
+	 * then drains whatever else is already queued, without waiting further. A
+	 * zero timeout never blocks. The returned list is empty on timeout and once
+	 * the stream has ended; use {@link #nextBatch(Collection, int, Duration)} to
+	 * tell the two apart or to reuse a collection across calls.
+	 *
+	 * @param max
+	 *            maximum number of notifications to return (at least 1); a single
+	 *            call returns at most 65536
+	 * @param timeout
+	 *            maximum time to wait for the first notification
+	 * @return the notifications, in arrival order
+	 * @throws SurrealException
+	 *             if the live query encounters an error
+	 * @throws IllegalArgumentException
+	 *             if {@code max} is less than 1 or {@code timeout} is negative
+	 */
+	public List<LiveNotification> nextBatch(int max, Duration timeout) {
+		checkMax(max);
+		final List<LiveNotification> batch = new ArrayList<>(Math.min(max, DEFAULT_CAPACITY));
+		nextBatch(batch, max, timeout);
+		return batch;
+	}
+
+	/**
+	 * Waits up to {@code timeout} for notifications and adds at most {@code max}
+	 * of them to {@code into}.
+	 *
+	 * <p>
+	 * Behaves like {@link #nextBatch(int, Duration)}, but appends to the given
+	 * collection, so a consumer can reuse one buffer for every batch.
+	 * Notifications received before an error are returned first; the error is
+	 * thrown by the following call.
+	 *
+	 * @param into
+	 *            the collection the notifications are added to
+	 * @param max
+	 *            maximum number of notifications to add (at least 1)
+	 * @param timeout
+	 *            maximum time to wait for the first notification
+	 * @return the number of notifications added, {@code 0} on timeout, or
+	 *         {@code -1} once the stream has ended
+	 * @throws SurrealException
+	 *             if the live query encounters an error
+	 * @throws IllegalArgumentException
+	 *             if {@code max} is less than 1 or {@code timeout} is negative
+	 */
+	public int nextBatch(Collection<? super LiveNotification> into, int max, Duration timeout) {
+		Objects.requireNonNull(into, "into");
+		checkMax(max);
+		if (timeout.isNegative()) {
+			throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+		}
+		if (handle == 0) {
+			return -1;
+		}
+		final int limit = Math.min(max, MAX_BATCH);
+		synchronized (batchLock) {
+			if (valuePtrs.length < limit) {
+				valuePtrs = new long[limit];
+				actions = new byte[limit];
+				otherActions = new String[limit];
+			}
+			final Jfr.Event event = Jfr.LIVE_DELIVERY.begin();
+			final long asked = event == null ? 0 : System.nanoTime();
+			final int count = nextBatchNative(handle, valuePtrs, actions, otherActions, limit, toNanos(timeout));
+			for (int i = 0; i < count; i++) {
+				final String action = actions[i] >= 0 ? ACTIONS[actions[i]] : otherActions[i];
+				into.add(new LiveNotification(action, valuePtrs[i], queryId));
+			}
+			if (event != null) {
+				recordDelivery(event, asked, count);
+			}
+			return count;
+		}
+	}
+
+	private static void checkMax(int max) {
+		if (max < 1) {
+			throw new IllegalArgumentException("max must be at least 1: " + max);
+		}
+	}
+
+	/**
+	 * Commits a {@code LiveDelivery} event. Its duration is the time spent waiting
+	 * for notifications; its consumer time is how long the application took
+	 * before asking again, during which notifications queued up natively.
+	 */
+	private void recordDelivery(Jfr.Event event, long asked, int count) {
+		final long previous = delivered;
+		delivered = System.nanoTime();
+		if (count > 0 && event.end()) {
+			event.commit(queryId, count, previous == 0 ? 0L : asked - previous);
+		}
+	}
+
+	private static long toNanos(Duration timeout) {
+		try {
+			return timeout.toNanos();
+		} catch (ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
 	/**
 	 * Releases the live query and stops receiving notifications.
 	 *
@@ -80,13 +246,24 @@ public class LiveStream implements AutoCloseable {
 	 * more than once has no effect.
 	 */
 	@Override
-	public void close() {
+	public synchronized void close() {
 		if (handle != 0) {
 			releaseNative(handle);
 			handle = 0;
 		}
 	}
 
+	/**
+	 * Grants credit for {@code n} more notifications to a demand-driven stream.
+	 * Serialized with {@link #close()} so the handle cannot be released while the
+	 * credit is added.
+	 */
+	synchronized void request(long n) {
+		if (handle != 0) {
+			requestNative(handle, n);
+		}
+	}
+
 	/**
 	 * Returns the UUID of this live query.
 	 *
@@ -104,5 +281,10 @@ public class LiveStream implements AutoCloseable {
 
 	private static native LiveNotification nextNative(long handle);
 
+	private static native int nextBatchNative(long handle, long[] valuePtrs, byte[] actions, String[] otherActions,
+			int max, long timeoutNanos);
+
 	private static native void releaseNative(long handle);
+
+	private static native void requestNative(long handle, long n);
 }
@@ -0,0 +1,43 @@
+package com.surrealdb;
+
+/**
+ * Receives live query notifications from a {@link LivePublisher}.
+ * <p>
+ * Mirrors {@code java.util.concurrent.Flow.Subscriber} so it can be used on
+ * Java 8. Signals are delivered sequentially: {@link #onSubscribe} first, then
+ * at most as many {@link #onNext} calls as were requested, followed by at most
+ * one of {@link #onError} or {@link #onComplete}.
+ */
+public interface LiveSubscriber {
+
+	/**
+	 * Invoked once before any other signal. No notification is delivered until
+	 * {@link LiveSubscription#request(long)} has been called.
+	 *
+	 * @param subscription
+	 *            the subscription used to request notifications or cancel
+	 */
+	void onSubscribe(LiveSubscription subscription);
+
+	/**
+	 * Invoked with the next notification, once per requested item.
+	 *
+	 * @param notification
+	 *            the notification
+	 */
+	void onNext(LiveNotification notification);
+
+	/**
+	 * Invoked when the live query fails. No further signals follow.
+	 *
+	 * @param throwable
+	 *            the failure
+	 */
+	void onError(Throwable throwable);
+
+	/**
+	 * Invoked when the live query ends (e.g. it was killed on the server). No
+	 * further signals follow.
+	 */
+	void onComplete();
+}
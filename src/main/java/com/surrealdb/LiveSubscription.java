@@ -0,0 +1,28 @@
+package com.surrealdb;
+
+/**
+ * Link between a {@link LivePublisher} and its {@link LiveSubscriber}.
+ * <p>
+ * Mirrors {@code java.util.concurrent.Flow.Subscription} so it can be used on
+ * Java 8. Requested demand is turned into native credit: the live query stream
+ * is only read for notifications that have been requested.
+ */
+public interface LiveSubscription {
+
+	/**
+	 * Requests {@code n} more notifications. Demand is cumulative, and
+	 * {@link Long#MAX_VALUE} means unbounded. A non-positive {@code n} cancels the
+	 * subscription and signals {@link IllegalArgumentException} through
+	 * {@link LiveSubscriber#onError}.
+	 *
+	 * @param n
+	 *            the number of additional notifications to deliver
+	 */
+	void request(long n);
+
+	/**
+	 * Cancels the subscription and releases the live query. Notifications already
+	 * read from the server but not yet delivered are discarded.
+	 */
+	void cancel();
+}
@@ -17,7 +17,19 @@ class Loader {
 	/** System property for explicit path to native lib (e.g. for tests). */
 	private static final String NATIVE_PATH_PROP = "surrealdb.native.path";
 
-	static void loadNative() throws RuntimeException {
+	// Several classes load the library from their static initializer; it must
+	// only be extracted and loaded once
+	private static boolean loaded;
+
+	static synchronized void loadNative() throws RuntimeException {
+		if (loaded) {
+			return;
+		}
+		load();
+		loaded = true;
+	}
+
+	private static void load() {
 		String explicitPath = System.getProperty(NATIVE_PATH_PROP);
 		if (explicitPath != null && !explicitPath.isEmpty()) {
 			File f = new File(explicitPath);
@@ -0,0 +1,35 @@
+package com.surrealdb;
+
+/**
+ * Receives the driver's operation metrics, for example to forward them to
+ * Micrometer, Dropwizard Metrics or OpenTelemetry. Add one with
+ * {@link SurrealMetrics#addRegistry(MetricsRegistry)}.
+ * <p>
+ * The methods are called on the thread performing the operation, so they must
+ * be thread-safe, fast, and must not throw.
+ */
+public interface MetricsRegistry {
+
+	/**
+	 * Records the duration of an operation or of one of its phases.
+	 *
+	 * @param operation
+	 *            the driver operation
+	 * @param phase
+	 *            {@link SurrealMetrics.Phase#TOTAL} for the whole call, or the
+	 *            part of it that was measured
+	 * @param nanos
+	 *            the duration in nanoseconds
+	 */
+	void recordLatency(SurrealMetrics.Operation operation, SurrealMetrics.Phase phase, long nanos);
+
+	/**
+	 * Increments a counter.
+	 *
+	 * @param counter
+	 *            the counter
+	 * @param amount
+	 *            the amount to add
+	 */
+	void increment(SurrealMetrics.Counter counter, long amount);
+}
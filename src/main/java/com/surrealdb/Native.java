@@ -1,23 +1,48 @@
 package com.surrealdb;
 
+import java.util.function.LongConsumer;
+
 /**
  * Base for types backed by a native pointer. Instances are only valid for the
  * lifetime of the native resource (e.g. the parent {@link Value} or connection
  * they were obtained from). Using an instance after the underlying resource has
  * been released may cause undefined behavior or native errors.
+ * <p>
+ * The native handle is released when the object is closed, or otherwise
+ * shortly after it becomes unreachable. Closing native objects that are no
+ * longer needed, for example with try-with-resources, frees native memory
+ * without waiting for the garbage collector.
  */
-public abstract class Native {
+public abstract class Native implements AutoCloseable {
 
 	static {
 		Loader.loadNative();
+		SurrealRuntimeConfig.installDefaults();
+		Jmx.register("NativeStats", new NativeStatsBean());
 	}
 
 	// Unique internal ptr used by the native library to locate the SurrealDB
 	// instance
 	private long ptr;
 
-	Native(long ptr) {
+	private final NativeCleaner.Cleanable cleanable;
+
+	/**
+	 * @param release
+	 *            frees the native handle; must not refer to this object
+	 */
+	Native(long ptr, LongConsumer release) {
+		this(ptr, release, NativeScope.OTHER);
+	}
+
+	/**
+	 * @param kind
+	 *            the native type of the handle, which lets a {@link NativeScope}
+	 *            release it in bulk
+	 */
+	Native(long ptr, LongConsumer release, byte kind) {
 		this.ptr = ptr;
+		this.cleanable = NativeCleaner.register(this, ptr, release, kind);
 	}
 
 	abstract String toString(long ptr);
@@ -26,19 +51,27 @@ public abstract class Native {
 
 	abstract boolean equals(long ptr1, long ptr2);
 
-	abstract void deleteInstance(long ptr);
-
 	final long getPtr() {
 		return this.ptr;
 	}
 
 	final void deleteInstance() {
-		deleteInstance(ptr);
 		ptr = 0;
+		cleanable.clean();
 	}
 
 	final void moved() {
-		this.ptr = 0;
+		ptr = 0;
+		cleanable.disarm();
+	}
+
+	/**
+	 * Releases the native resource now. Calling this more than once has no
+	 * effect, and the object must not be used afterwards.
+	 */
+	@Override
+	public void close() {
+		deleteInstance();
 	}
 
 	@Override
@@ -62,13 +95,4 @@ public abstract class Native {
 	final public String toString() {
 		return toString(ptr);
 	}
-
-	@Override
-	final protected void finalize() throws Throwable {
-		try {
-			deleteInstance();
-		} finally {
-			super.finalize();
-		}
-	}
 }
@@ -0,0 +1,149 @@
+package com.surrealdb;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongConsumer;
+
+/**
+ * Releases the native handle of a {@link Native} once the object becomes
+ * unreachable, without a finalizer. Works like {@code java.lang.ref.Cleaner},
+ * which is not available on Java 8: each handle is tracked by a
+ * {@link PhantomReference}, and a single daemon thread
+ * ({@code surrealdb-cleaner}) releases the handles whose owners were
+ * collected.
+ */
+final class NativeCleaner {
+
+	private static final ReferenceQueue<Native> QUEUE = new ReferenceQueue<>();
+
+	// Keeps the references reachable until they are cleaned
+	private static final Set<Cleanable> LIVE = ConcurrentHashMap.newKeySet();
+
+	static final Cleanable NONE = new Cleanable(null, 0, null, NativeScope.OTHER, null);
+
+	private static volatile boolean trackAllocations = Boolean.getBoolean(NativeStats.TRACK_ALLOCATIONS_PROP);
+
+	static {
+		final Thread thread = new Thread(NativeCleaner::run, "surrealdb-cleaner");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private NativeCleaner() {
+	}
+
+	/**
+	 * Tracks a native handle, and adds it to the {@link NativeScope} open on the
+	 * current thread, if any. The release function must not refer to the owner,
+	 * or the owner never becomes unreachable.
+	 */
+	static Cleanable register(Native owner, long ptr, LongConsumer release, byte kind) {
+		if (ptr == 0) {
+			return NONE;
+		}
+		final Throwable allocation = trackAllocations ? new Allocation(owner, ptr) : null;
+		final Cleanable cleanable = new Cleanable(owner, ptr, release, kind, allocation);
+		LIVE.add(cleanable);
+		NativeScope.track(cleanable);
+		return cleanable;
+	}
+
+	static void setTrackAllocations(boolean enabled) {
+		trackAllocations = enabled;
+	}
+
+	static boolean isTrackAllocations() {
+		return trackAllocations;
+	}
+
+	/**
+	 * @return the allocation traces of the handles not released yet
+	 */
+	static List<Throwable> unreleased() {
+		final List<Throwable> traces = new ArrayList<>();
+		for (final Cleanable cleanable : LIVE) {
+			if (cleanable.allocation != null && cleanable.ptr != 0) {
+				traces.add(cleanable.allocation);
+			}
+		}
+		return traces;
+	}
+
+	private static void run() {
+		while (true) {
+			try {
+				((Cleanable) QUEUE.remove()).clean();
+			} catch (Throwable t) {
+				// Keep cleaning; a failed release only leaks that handle
+			}
+		}
+	}
+
+	static final class Cleanable extends PhantomReference<Native> {
+
+		private static final AtomicLongFieldUpdater<Cleanable> PTR = AtomicLongFieldUpdater
+				.newUpdater(Cleanable.class, "ptr");
+
+		private final LongConsumer release;
+		private volatile long ptr;
+		// How a NativeScope may release the handle in bulk
+		final byte kind;
+		// Where the handle was wrapped, when allocation tracking is enabled
+		private final Throwable allocation;
+
+		private Cleanable(Native owner, long ptr, LongConsumer release, byte kind, Throwable allocation) {
+			super(owner, QUEUE);
+			this.ptr = ptr;
+			this.release = release;
+			this.kind = kind;
+			this.allocation = allocation;
+		}
+
+		/**
+		 * Releases the handle, at most once.
+		 */
+		void clean() {
+			final long p = PTR.getAndSet(this, 0);
+			if (p != 0) {
+				LIVE.remove(this);
+				release.accept(p);
+			}
+		}
+
+		/**
+		 * Stops tracking a handle whose ownership moved to the native side.
+		 */
+		void disarm() {
+			take();
+		}
+
+		/**
+		 * Stops tracking the handle and returns it, or 0 if it was already
+		 * released; the caller becomes responsible for releasing it.
+		 */
+		long take() {
+			final long p = PTR.getAndSet(this, 0);
+			if (p != 0) {
+				LIVE.remove(this);
+			}
+			return p;
+		}
+	}
+
+	/**
+	 * The allocation site of a tracked handle.
+	 */
+	private static final class Allocation extends Throwable {
+
+		private static final long serialVersionUID = 1L;
+
+		Allocation(Native owner, long ptr) {
+			super("Unreleased " + owner.getClass().getName() + "[ptr=" + ptr + "]", null, false, true);
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package com.surrealdb;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Collects the native handles created on the current thread and releases them
+ * together when the scope is closed. Values, objects, arrays, record ids and
+ * entries are freed with a single native call, instead of one call per handle
+ * as they are closed or collected.
+ * <p>
+ * A scope bounds the native memory used by a unit of work, such as one request:
+ *
+ * <pre>{@code
+ * try (NativeScope scope = surreal.scope()) {
+ * 	Person person = surreal.select(Person.class, id).orElse(null);
+ * 	...
+ * }
+ * }</pre>
+ * <p>
+ * Every native object (for example a {@link Value}, {@link Object} or
+ * {@link RecordId}) created on the thread while the scope is open belongs to
+ * the scope, and must not be used after the scope is closed. Plain Java results,
+ * such as mapped POJOs, are not affected. Objects created on other threads,
+ * including the dispatcher of {@link AsyncSurreal}, are not tracked.
+ * <p>
+ * Scopes can be nested; a native object belongs to the innermost open scope.
+ * A scope must be closed on the thread that opened it, innermost first.
+ */
+public final class NativeScope implements AutoCloseable {
+
+	// Handles released one by one
+	static final byte OTHER = 0;
+	// Handles holding a shared value
+	static final byte VALUE = 1;
+	// Handles holding an object entry
+	static final byte ENTRY = 2;
+
+	private static final ThreadLocal<NativeScope> CURRENT = new ThreadLocal<>();
+
+	// Number of open scopes on all threads; lets allocation skip the thread-local
+	// lookup when no scope is open
+	private static final AtomicInteger OPEN = new AtomicInteger();
+
+	private final NativeScope parent;
+	private NativeCleaner.Cleanable[] tracked = new NativeCleaner.Cleanable[64];
+	private int size;
+	private boolean closed;
+
+	private NativeScope(NativeScope parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Opens a scope on the current thread.
+	 *
+	 * @return the new scope, which becomes the innermost scope of the thread
+	 */
+	static NativeScope open() {
+		final NativeScope scope = new NativeScope(CURRENT.get());
+		CURRENT.set(scope);
+		OPEN.incrementAndGet();
+		return scope;
+	}
+
+	static void track(NativeCleaner.Cleanable cleanable) {
+		if (OPEN.get() == 0) {
+			return;
+		}
+		final NativeScope scope = CURRENT.get();
+		if (scope != null) {
+			scope.add(cleanable);
+		}
+	}
+
+	/**
+	 * Runs an action whose native objects must outlive the scopes open on the
+	 * current thread, such as values kept in a cache.
+	 */
+	static <T> T untracked(Supplier<T> action) {
+		final NativeScope scope = OPEN.get() == 0 ? null : CURRENT.get();
+		if (scope == null) {
+			return action.get();
+		}
+		CURRENT.remove();
+		try {
+			return action.get();
+		} finally {
+			CURRENT.set(scope);
+		}
+	}
+
+	private static native void release(long[] values, int valueCount, long[] entries, int entryCount);
+
+	private void add(NativeCleaner.Cleanable cleanable) {
+		if (size == tracked.length) {
+			tracked = Arrays.copyOf(tracked, size * 2);
+		}
+		tracked[size++] = cleanable;
+	}
+
+	/**
+	 * @return the number of native handles created in this scope so far
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Releases every native handle created in this scope that has not been
+	 * released yet. Calling this more than once has no effect.
+	 *
+	 * @throws IllegalStateException
+	 *             if the scope is not the innermost open scope of the current
+	 *             thread
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		if (CURRENT.get() != this) {
+			throw new IllegalStateException("NativeScope must be closed innermost first, on the thread that opened it");
+		}
+		closed = true;
+		if (parent == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(parent);
+		}
+		OPEN.decrementAndGet();
+		final long[] values = new long[size];
+		final long[] entries = new long[size];
+		int valueCount = 0;
+		int entryCount = 0;
+		try {
+			for (int i = 0; i < size; i++) {
+				final NativeCleaner.Cleanable cleanable = tracked[i];
+				switch (cleanable.kind) {
+					case VALUE : {
+						final long ptr = cleanable.take();
+						if (ptr != 0) {
+							values[valueCount++] = ptr;
+						}
+						break;
+					}
+					case ENTRY : {
+						final long ptr = cleanable.take();
+						if (ptr != 0) {
+							entries[entryCount++] = ptr;
+						}
+						break;
+					}
+					default :
+						cleanable.clean();
+				}
+			}
+		} finally {
+			tracked = null;
+			size = 0;
+			release(values, valueCount, entries, entryCount);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of the native handle counters of the process. For each kind of
+ * native handle it reports how many have been allocated and freed, and how many
+ * are still live. The counters are always on and shared by every
+ * {@link Surreal} instance.
+ * <p>
+ * When the {@code surrealdb.jmx} system property is {@code true}, the same
+ * counters are published over JMX as {@code com.surrealdb:type=NativeStats} (see
+ * {@link NativeStatsMXBean}).
+ * <p>
+ * To find handles that are never released, enable allocation tracking with
+ * {@link #setTrackAllocations(boolean)} or the
+ * {@code surrealdb.native.trackAllocations} system property. The allocation
+ * stack trace of every native object created afterwards is then kept until it
+ * is released, and {@link #unreleasedAllocations()} returns the traces of the
+ * objects still holding a handle. Tracking makes every allocation slower, so it
+ * is meant for debugging.
+ */
+public final class NativeStats {
+
+	/**
+	 * System property enabling allocation stack traces from startup.
+	 */
+	static final String TRACK_ALLOCATIONS_PROP = "surrealdb.native.trackAllocations";
+
+	// Names of the native handle kinds, in the order the native counters are
+	// reported
+	private static final String[] KINDS = {"Surreal", "Transaction", "Value", "MutableValue", "ArrayIterator",
+			"SynchronizedArrayIterator", "ObjectEntry", "MutableObjectEntry", "ObjectIterator",
+			"SynchronizedObjectIterator", "Response", "LiveStream", "AsyncOutcome", "LiveQueryHub"};
+
+	private final List<Kind> kinds;
+
+	private NativeStats(List<Kind> kinds) {
+		this.kinds = kinds;
+	}
+
+	private static native int counters(long[] out);
+
+	static NativeStats snapshot() {
+		final long[] out = new long[KINDS.length * 2];
+		final int n = Math.min(KINDS.length, counters(out));
+		final List<Kind> kinds = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			kinds.add(new Kind(KINDS[i], out[i * 2], out[i * 2 + 1]));
+		}
+		return new NativeStats(Collections.unmodifiableList(kinds));
+	}
+
+	/**
+	 * @return the counters of each kind of native handle
+	 */
+	public List<Kind> getKinds() {
+		return kinds;
+	}
+
+	/**
+	 * @param name
+	 *            the kind of native handle, for example {@code "Value"} or
+	 *            {@code "Response"}
+	 * @return the counters of that kind, or {@code null} if there is no such kind
+	 */
+	public Kind get(String name) {
+		for (final Kind kind : kinds) {
+			if (kind.name.equals(name)) {
+				return kind;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the number of native handles allocated and not yet freed
+	 */
+	public long getLive() {
+		long live = 0;
+		for (final Kind kind : kinds) {
+			live += kind.getLive();
+		}
+		return live;
+	}
+
+	/**
+	 * @return the number of native handles allocated since startup
+	 */
+	public long getAllocated() {
+		long allocated = 0;
+		for (final Kind kind : kinds) {
+			allocated += kind.allocated;
+		}
+		return allocated;
+	}
+
+	/**
+	 * @return the number of native handles freed since startup
+	 */
+	public long getFreed() {
+		long freed = 0;
+		for (final Kind kind : kinds) {
+			freed += kind.freed;
+		}
+		return freed;
+	}
+
+	/**
+	 * Enables or disables allocation stack traces for native objects created
+	 * from now on.
+	 *
+	 * @param enabled
+	 *            whether to record where native objects are created
+	 */
+	public static void setTrackAllocations(boolean enabled) {
+		NativeCleaner.setTrackAllocations(enabled);
+	}
+
+	/**
+	 * @return whether allocation stack traces are recorded
+	 */
+	public static boolean isTrackAllocations() {
+		return NativeCleaner.isTrackAllocations();
+	}
+
+	/**
+	 * Returns where each native object that still holds a handle was created.
+	 * Only objects created while allocation tracking was enabled are reported.
+	 * Objects that are unreachable but not yet collected are included.
+	 *
+	 * @return one throwable per unreleased native object, whose stack trace is
+	 *         the allocation site
+	 */
+	public static List<Throwable> unreleasedAllocations() {
+		return NativeCleaner.unreleased();
+	}
+
+	@Override
+	public String toString() {
+		return "NativeStats" + Arrays.toString(kinds.toArray());
+	}
+
+	/**
+	 * The counters of one kind of native handle.
+	 */
+	public static final class Kind {
+
+		private final String name;
+		private final long allocated;
+		private final long freed;
+
+		private Kind(String name, long allocated, long freed) {
+			this.name = name;
+			this.allocated = allocated;
+			this.freed = freed;
+		}
+
+		/**
+		 * @return the name of the kind, for example {@code "Value"}
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of handles of this kind allocated since startup
+		 */
+		public long getAllocated() {
+			return allocated;
+		}
+
+		/**
+		 * @return the number of handles of this kind freed since startup
+		 */
+		public long getFreed() {
+			return freed;
+		}
+
+		/**
+		 * @return the number of handles of this kind currently allocated
+		 */
+		public long getLive() {
+			return Math.max(0, allocated - freed);
+		}
+
+		@Override
+		public String toString() {
+			return name + "[live=" + getLive() + ", allocated=" + allocated + ", freed=" + freed + "]";
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.surrealdb;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link NativeStatsMXBean} registered when the native library is loaded.
+ */
+final class NativeStatsBean implements NativeStatsMXBean {
+
+	@Override
+	public long getLiveHandles() {
+		return NativeStats.snapshot().getLive();
+	}
+
+	@Override
+	public long getAllocatedHandles() {
+		return NativeStats.snapshot().getAllocated();
+	}
+
+	@Override
+	public long getFreedHandles() {
+		return NativeStats.snapshot().getFreed();
+	}
+
+	@Override
+	public Map<String, Long> getLiveHandlesByKind() {
+		final Map<String, Long> live = new LinkedHashMap<>();
+		for (final NativeStats.Kind kind : NativeStats.snapshot().getKinds()) {
+			live.put(kind.getName(), kind.getLive());
+		}
+		return live;
+	}
+
+	@Override
+	public boolean isTrackAllocations() {
+		return NativeStats.isTrackAllocations();
+	}
+
+	@Override
+	public void setTrackAllocations(boolean enabled) {
+		NativeStats.setTrackAllocations(enabled);
+	}
+
+	@Override
+	public String[] unreleasedAllocations() {
+		final List<Throwable> traces = NativeStats.unreleasedAllocations();
+		final String[] out = new String[traces.size()];
+		for (int i = 0; i < out.length; i++) {
+			final StringWriter writer = new StringWriter();
+			traces.get(i).printStackTrace(new PrintWriter(writer));
+			out[i] = writer.toString();
+		}
+		return out;
+	}
+}
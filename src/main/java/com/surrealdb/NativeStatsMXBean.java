@@ -0,0 +1,48 @@
+package com.surrealdb;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link NativeStats}, registered as
+ * {@code com.surrealdb:type=NativeStats} when the {@code surrealdb.jmx} system
+ * property is {@code true}.
+ */
+public interface NativeStatsMXBean {
+
+	/**
+	 * @return the number of native handles currently allocated
+	 */
+	long getLiveHandles();
+
+	/**
+	 * @return the number of native handles allocated since startup
+	 */
+	long getAllocatedHandles();
+
+	/**
+	 * @return the number of native handles freed since startup
+	 */
+	long getFreedHandles();
+
+	/**
+	 * @return the number of live native handles of each kind
+	 */
+	Map<String, Long> getLiveHandlesByKind();
+
+	/**
+	 * @return whether allocation stack traces are recorded
+	 */
+	boolean isTrackAllocations();
+
+	/**
+	 * @param enabled
+	 *            whether to record where native objects are created
+	 */
+	void setTrackAllocations(boolean enabled);
+
+	/**
+	 * @return the allocation stack trace of each unreleased native object
+	 *         created while tracking was enabled
+	 */
+	String[] unreleasedAllocations();
+}
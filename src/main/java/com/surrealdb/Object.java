@@ -9,7 +9,7 @@ import java.util.Iterator;
 public class Object extends Native implements Iterable<Entry> {
 
 	Object(long ptr) {
-		super(ptr);
+		super(ptr, Object::deleteInstance, NativeScope.VALUE);
 	}
 
 	private static native long iterator(long ptr);
@@ -29,8 +29,7 @@ public class Object extends Native implements Iterable<Entry> {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	final public Value get(String key) {
 		return new Value(get(getPtr(), key));
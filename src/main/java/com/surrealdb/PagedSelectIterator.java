@@ -0,0 +1,69 @@
+package com.surrealdb;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Implements {@link Surreal#selectPaged(String, int)}: reads a table one page
+ * at a time in record id order, continuing after the last record id of the
+ * previous page. The next page is requested as soon as the current one
+ * arrives, so it loads while the current page is consumed.
+ */
+final class PagedSelectIterator implements Iterator<Value> {
+
+	private final AsyncSurreal async;
+	private final String table;
+	private final int pageSize;
+	private CompletableFuture<List<Value>> next;
+	private Iterator<Value> page;
+
+	PagedSelectIterator(AsyncSurreal async, String table, int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+		}
+		this.async = async;
+		this.table = table;
+		this.pageSize = pageSize;
+		this.next = async.selectPage(table, null, pageSize);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (page == null || !page.hasNext()) {
+			if (next == null) {
+				return false;
+			}
+			final List<Value> rows = await(next);
+			next = null;
+			// A short page is the last one
+			if (rows.size() == pageSize) {
+				final RecordId last = rows.get(rows.size() - 1).getObject().get("id").getRecordId();
+				next = async.selectPage(table, last, pageSize);
+			}
+			page = rows.iterator();
+		}
+		return true;
+	}
+
+	@Override
+	public Value next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return page.next();
+	}
+
+	private static List<Value> await(CompletableFuture<List<Value>> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
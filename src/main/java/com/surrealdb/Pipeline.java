@@ -0,0 +1,338 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * A batch of operations sent together. Obtained with {@link Surreal#pipeline()}.
+ * <p>
+ * Operations are recorded by the builder methods and dispatched all at once by
+ * {@link #submit()} or {@link #execute()}. Each runs as its own request on the
+ * native runtime without waiting for the previous reply, so N independent
+ * lookups over a remote connection take about one round trip instead of N.
+ *
+ * <pre>{@code
+ * List<java.lang.Object> results = surreal.pipeline().select(Person.class, new RecordId("person", 1))
+ * 		.select(Person.class, new RecordId("person", 2)).query("SELECT count() FROM order GROUP ALL").execute();
+ * }</pre>
+ * <p>
+ * The operations run concurrently, so one must not depend on the effects of
+ * another; put dependent statements in a single {@link Surreal#query(String)} or
+ * a transaction instead. Results are returned in the order the operations were
+ * added, with the same types as the corresponding {@link AsyncSurreal} method.
+ * A pipeline can be executed more than once, which runs every operation again.
+ */
+public final class Pipeline {
+
+	private final AsyncSurreal async;
+	private final List<Function<AsyncSurreal, CompletableFuture<?>>> operations = new ArrayList<>();
+
+	Pipeline(AsyncSurreal async) {
+		this.async = async;
+	}
+
+	/**
+	 * Adds a SurrealQL query; its result is a {@link Response}.
+	 *
+	 * @param sql
+	 *            the SurrealQL query to be executed
+	 * @return this pipeline
+	 * @see AsyncSurreal#query(String)
+	 */
+	public Pipeline query(String sql) {
+		return add(a -> a.query(sql));
+	}
+
+	/**
+	 * Adds a parameterized SurrealQL query; its result is a {@link Response}.
+	 *
+	 * @param sql
+	 *            the SurrealQL query to be executed
+	 * @param params
+	 *            a map containing parameter values to be bound to the SQL query
+	 * @return this pipeline
+	 * @see AsyncSurreal#query(String, Map)
+	 */
+	public Pipeline query(String sql, Map<String, ?> params) {
+		return add(a -> a.query(sql, params));
+	}
+
+	/**
+	 * Adds a function call; its result is a {@link Value}.
+	 *
+	 * @param name
+	 *            the function name (e.g. "array::add")
+	 * @param args
+	 *            the arguments to pass to the function
+	 * @return this pipeline
+	 * @see AsyncSurreal#run(String, java.lang.Object...)
+	 */
+	public Pipeline run(String name, java.lang.Object... args) {
+		return add(a -> a.run(name, args));
+	}
+
+	/**
+	 * Adds a select of one record; its result is an {@code Optional<Value>}.
+	 *
+	 * @param recordId
+	 *            the record to select
+	 * @return this pipeline
+	 * @see AsyncSurreal#select(RecordId)
+	 */
+	public Pipeline select(RecordId recordId) {
+		return add(a -> a.select(recordId));
+	}
+
+	/**
+	 * Adds a select of one record; its result is an {@code Optional<T>}.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class to convert the record to
+	 * @param recordId
+	 *            the record to select
+	 * @return this pipeline
+	 * @see AsyncSurreal#select(Class, RecordId)
+	 */
+	public <T> Pipeline select(Class<T> type, RecordId recordId) {
+		return add(a -> a.select(type, recordId));
+	}
+
+	/**
+	 * Adds a select of a record id range; its result is a {@code List<Value>}.
+	 *
+	 * @param range
+	 *            the records to select
+	 * @return this pipeline
+	 * @see AsyncSurreal#select(RecordIdRange)
+	 */
+	public Pipeline select(RecordIdRange range) {
+		return add(a -> a.select(range));
+	}
+
+	/**
+	 * Adds a select of one or more tables; its result is a {@code List<Value>}.
+	 *
+	 * @param targets
+	 *            the tables to select from
+	 * @return this pipeline
+	 * @see AsyncSurreal#select(String)
+	 */
+	public Pipeline select(String targets) {
+		return add(a -> a.select(targets));
+	}
+
+	/**
+	 * Adds a select of one or more tables; its result is a {@code List<T>}.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class to convert the records to
+	 * @param targets
+	 *            the tables to select from
+	 * @return this pipeline
+	 * @see AsyncSurreal#select(Class, String)
+	 */
+	public <T> Pipeline select(Class<T> type, String targets) {
+		return add(a -> a.select(type, targets));
+	}
+
+	/**
+	 * Adds the creation of a record; its result is a {@link Value}.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param recordId
+	 *            the id of the new record
+	 * @param content
+	 *            the content of the record
+	 * @return this pipeline
+	 * @see AsyncSurreal#create(RecordId, java.lang.Object)
+	 */
+	public <T> Pipeline create(RecordId recordId, T content) {
+		return add(a -> a.create(recordId, content));
+	}
+
+	/**
+	 * Adds the creation of a record; its result is a {@code T}.
+	 *
+	 * @param <T>
+	 *            the type of the record
+	 * @param type
+	 *            the class to convert the created record to
+	 * @param recordId
+	 *            the id of the new record
+	 * @param content
+	 *            the content of the record
+	 * @return this pipeline
+	 * @see AsyncSurreal#create(Class, RecordId, java.lang.Object)
+	 */
+	public <T> Pipeline create(Class<T> type, RecordId recordId, T content) {
+		return add(a -> a.create(type, recordId, content));
+	}
+
+	/**
+	 * Adds the creation of records in a table; its result is a
+	 * {@code List<Value>}.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param target
+	 *            the table to create the records in
+	 * @param contents
+	 *            the content of each record
+	 * @return this pipeline
+	 * @see AsyncSurreal#create(String, java.lang.Object[])
+	 */
+	@SafeVarargs
+	public final <T> Pipeline create(String target, T... contents) {
+		return add(a -> a.create(target, contents));
+	}
+
+	/**
+	 * Adds an insert of records into a table; its result is a
+	 * {@code List<Value>}.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param target
+	 *            the table to insert into
+	 * @param contents
+	 *            the records to insert
+	 * @return this pipeline
+	 * @see AsyncSurreal#insert(String, java.lang.Object[])
+	 */
+	@SafeVarargs
+	public final <T> Pipeline insert(String target, T... contents) {
+		return add(a -> a.insert(target, contents));
+	}
+
+	/**
+	 * Adds an update of one record; its result is a {@link Value}.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param recordId
+	 *            the record to update
+	 * @param upType
+	 *            how the content is applied
+	 * @param content
+	 *            the update content
+	 * @return this pipeline
+	 * @see AsyncSurreal#update(RecordId, UpType, java.lang.Object)
+	 */
+	public <T> Pipeline update(RecordId recordId, UpType upType, T content) {
+		return add(a -> a.update(recordId, upType, content));
+	}
+
+	/**
+	 * Adds an upsert of one record; its result is a {@link Value}.
+	 *
+	 * @param <T>
+	 *            the type of the content
+	 * @param recordId
+	 *            the record to upsert
+	 * @param upType
+	 *            how the content is applied
+	 * @param content
+	 *            the upsert content
+	 * @return this pipeline
+	 * @see AsyncSurreal#upsert(RecordId, UpType, java.lang.Object)
+	 */
+	public <T> Pipeline upsert(RecordId recordId, UpType upType, T content) {
+		return add(a -> a.upsert(recordId, upType, content));
+	}
+
+	/**
+	 * Adds the deletion of a record; its result is {@code null}.
+	 *
+	 * @param recordId
+	 *            the record to delete
+	 * @return this pipeline
+	 * @see AsyncSurreal#delete(RecordId)
+	 */
+	public Pipeline delete(RecordId recordId) {
+		return add(a -> a.delete(recordId));
+	}
+
+	/**
+	 * Adds the deletion of every record of a table; its result is {@code null}.
+	 *
+	 * @param target
+	 *            the table to delete from
+	 * @return this pipeline
+	 * @see AsyncSurreal#delete(String)
+	 */
+	public Pipeline delete(String target) {
+		return add(a -> a.delete(target));
+	}
+
+	/**
+	 * @return the number of operations in this pipeline
+	 */
+	public int size() {
+		return operations.size();
+	}
+
+	/**
+	 * Dispatches every operation without waiting for any reply.
+	 *
+	 * @return one future per operation, in the order the operations were added
+	 */
+	public List<CompletableFuture<?>> submit() {
+		final List<CompletableFuture<?>> futures = new ArrayList<>(operations.size());
+		for (final Function<AsyncSurreal, CompletableFuture<?>> operation : operations) {
+			CompletableFuture<?> future;
+			try {
+				future = operation.apply(async);
+			} catch (RuntimeException e) {
+				// Keep the result positions aligned with the operations
+				final CompletableFuture<java.lang.Object> failed = new CompletableFuture<>();
+				failed.completeExceptionally(e);
+				future = failed;
+			}
+			futures.add(future);
+		}
+		return futures;
+	}
+
+	/**
+	 * Dispatches every operation and waits for all of them to complete.
+	 *
+	 * @return the result of each operation, in the order the operations were
+	 *         added
+	 * @throws SurrealException
+	 *             the failure of the first failed operation, once every operation
+	 *             has completed
+	 */
+	public List<java.lang.Object> execute() {
+		final List<CompletableFuture<?>> futures = submit();
+		final List<java.lang.Object> results = new ArrayList<>(futures.size());
+		RuntimeException failure = null;
+		for (final CompletableFuture<?> future : futures) {
+			try {
+				results.add(future.join());
+			} catch (CompletionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+	private Pipeline add(Function<AsyncSurreal, CompletableFuture<?>> operation) {
+		operations.add(operation);
+		return this;
+	}
+}
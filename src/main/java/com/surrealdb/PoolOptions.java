@@ -0,0 +1,166 @@
+package com.surrealdb;
+
+import java.time.Duration;
+
+import com.surrealdb.signin.Credential;
+
+/**
+ * Options for a {@link SurrealPool}.
+ * <p>
+ * Instances are immutable; each {@code with} method returns a copy.
+ *
+ * <pre>{@code
+ * PoolOptions options = PoolOptions.defaults().withSize(16).withNamespace("app").withDatabase("app")
+ * 		.withCredential(new RootCredential("root", "root"));
+ * }</pre>
+ */
+public final class PoolOptions {
+
+	private static final PoolOptions DEFAULTS = new PoolOptions(8, null, null, null, Duration.ofSeconds(30),
+			Duration.ofMinutes(5), true);
+
+	private final int size;
+	private final String namespace;
+	private final String database;
+	private final Credential credential;
+	private final Duration acquireTimeout;
+	private final Duration leaseTimeout;
+	private final boolean validateOnLease;
+
+	private PoolOptions(int size, String namespace, String database, Credential credential, Duration acquireTimeout,
+			Duration leaseTimeout, boolean validateOnLease) {
+		this.size = size;
+		this.namespace = namespace;
+		this.database = database;
+		this.credential = credential;
+		this.acquireTimeout = acquireTimeout;
+		this.leaseTimeout = leaseTimeout;
+		this.validateOnLease = validateOnLease;
+	}
+
+	/**
+	 * Returns the default options: 8 sessions without namespace, database or
+	 * credentials, a 30 second wait for a free session, leases reclaimed after 5
+	 * minutes, and sessions checked with {@link Surreal#health()} when leased.
+	 *
+	 * @return the default options
+	 */
+	public static PoolOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Sets the number of sessions, which is also the maximum number of
+	 * concurrent leases.
+	 *
+	 * @param size
+	 *            number of sessions (at least 1)
+	 * @return a copy of these options with the given size
+	 */
+	public PoolOptions withSize(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size must be at least 1: " + size);
+		}
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	/**
+	 * @param namespace
+	 *            namespace selected on every session, or {@code null}
+	 * @return a copy of these options with the given namespace
+	 */
+	public PoolOptions withNamespace(String namespace) {
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	/**
+	 * @param database
+	 *            database selected on every session, or {@code null}
+	 * @return a copy of these options with the given database
+	 */
+	public PoolOptions withDatabase(String database) {
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	/**
+	 * @param credential
+	 *            credentials every session signs in with, or {@code null} to
+	 *            keep the connection's authentication
+	 * @return a copy of these options with the given credentials
+	 */
+	public PoolOptions withCredential(Credential credential) {
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	/**
+	 * Sets how long {@link SurrealPool#lease()} waits for a free session.
+	 *
+	 * @param acquireTimeout
+	 *            maximum wait (positive)
+	 * @return a copy of these options with the given timeout
+	 */
+	public PoolOptions withAcquireTimeout(Duration acquireTimeout) {
+		requirePositive("acquireTimeout", acquireTimeout);
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	/**
+	 * Sets how long a session may be leased. A lease that is not closed in time
+	 * is reclaimed: its slot is given to a new session, and the expired session
+	 * is closed when the lease is.
+	 *
+	 * @param leaseTimeout
+	 *            maximum lease duration (positive)
+	 * @return a copy of these options with the given timeout
+	 */
+	public PoolOptions withLeaseTimeout(Duration leaseTimeout) {
+		requirePositive("leaseTimeout", leaseTimeout);
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	/**
+	 * Sets whether a session is checked with {@link Surreal#health()} before it
+	 * is leased. Sessions failing the check are replaced.
+	 *
+	 * @param validateOnLease
+	 *            {@code true} to check sessions when leased
+	 * @return a copy of these options with the given behaviour
+	 */
+	public PoolOptions withValidateOnLease(boolean validateOnLease) {
+		return new PoolOptions(size, namespace, database, credential, acquireTimeout, leaseTimeout, validateOnLease);
+	}
+
+	private static void requirePositive(String name, Duration duration) {
+		if (duration == null || duration.isNegative() || duration.isZero()) {
+			throw new IllegalArgumentException(name + " must be positive: " + duration);
+		}
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public String getDatabase() {
+		return database;
+	}
+
+	public Credential getCredential() {
+		return credential;
+	}
+
+	public Duration getAcquireTimeout() {
+		return acquireTimeout;
+	}
+
+	public Duration getLeaseTimeout() {
+		return leaseTimeout;
+	}
+
+	public boolean isValidateOnLease() {
+		return validateOnLease;
+	}
+}
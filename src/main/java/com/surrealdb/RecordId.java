@@ -12,33 +12,33 @@ import java.util.UUID;
 public class RecordId extends Native {
 
 	RecordId(long ptr) {
-		super(ptr);
+		super(ptr, RecordId::deleteInstance, NativeScope.VALUE);
 	}
 
 	public RecordId(String table, long id) {
-		super(newRecordIdWithLong(table, id));
+		super(newRecordIdWithLong(table, id), RecordId::deleteInstance, NativeScope.VALUE);
 	}
 
 	public RecordId(String table, String id) {
-		super(newRecordIdWithString(table, id));
+		super(newRecordIdWithString(table, id), RecordId::deleteInstance, NativeScope.VALUE);
 	}
 
 	public RecordId(String table, UUID id) {
-		super(newRecordIdWithUuid(table, id.toString()));
+		super(newRecordIdWithUuid(table, id.toString()), RecordId::deleteInstance, NativeScope.VALUE);
 	}
 
 	/**
 	 * Creates a RecordId with an array key (e.g. composite keys for timeseries).
 	 */
 	public RecordId(String table, Array id) {
-		super(newRecordIdWithArray(table, id.getPtr()));
+		super(newRecordIdWithArray(table, id.getPtr()), RecordId::deleteInstance, NativeScope.VALUE);
 	}
 
 	/**
 	 * Creates a RecordId with an object key.
 	 */
 	public RecordId(String table, Object id) {
-		super(newRecordIdWithObject(table, id.getPtr()));
+		super(newRecordIdWithObject(table, id.getPtr()), RecordId::deleteInstance, NativeScope.VALUE);
 	}
 
 	private static native long newRecordIdWithLong(String table, long id);
@@ -64,8 +64,7 @@ public class RecordId extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	public String getTable() {
 		return getTable(getPtr());
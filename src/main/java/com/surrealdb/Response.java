@@ -9,13 +9,12 @@ import java.util.Objects;
 public class Response extends Native {
 
 	Response(long ptr) {
-		super(ptr);
+		super(ptr, Response::deleteInstance);
 	}
 
 	private static native int size(long ptr);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	private native long take(long ptr, int num);
 
@@ -0,0 +1,346 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory log of the queries that took longer than a threshold, shared by
+ * every {@link Surreal} instance in the process.
+ * <p>
+ * It covers {@link Surreal#query(String)}, {@link Transaction#query(String)}
+ * and their parameterized forms, as well as the SurrealQL the driver generates
+ * for {@code select}, {@code create}, {@code insert} and {@code delete}. Each
+ * entry records the query's fingerprint, with literals replaced by {@code ?},
+ * the names of its bound parameters and the size of its result, but never the
+ * literal or parameter values.
+ *
+ * <pre>{@code
+ * SlowQueryLog.setThreshold(Duration.ofMillis(100));
+ * // ...
+ * for (SlowQueryLog.Entry entry : SlowQueryLog.entries()) {
+ * 	System.out.println(entry);
+ * }
+ * }</pre>
+ * <p>
+ * The log is off until a threshold is set, with {@link #setThreshold(Duration)}
+ * or the {@code surrealdb.slowQuery.thresholdMs} system property. It keeps the
+ * most recent entries in a ring buffer of fixed capacity
+ * ({@code surrealdb.slowQuery.capacity}, 256 by default), so older entries are
+ * overwritten. To bound the overhead further, only a sample of the queries can
+ * be timed ({@code surrealdb.slowQuery.sampleRate}, 1.0 by default). A query
+ * that is not slow costs two clock reads; only slow queries are fingerprinted.
+ */
+public final class SlowQueryLog {
+
+	static final String THRESHOLD_PROP = "surrealdb.slowQuery.thresholdMs";
+	static final String CAPACITY_PROP = "surrealdb.slowQuery.capacity";
+	static final String SAMPLE_RATE_PROP = "surrealdb.slowQuery.sampleRate";
+
+	private static final int DEFAULT_CAPACITY = 256;
+
+	// Negative when the log is off
+	private static volatile long thresholdNanos = -1;
+	private static volatile double sampleRate = 1.0;
+	private static volatile Ring ring = new Ring(DEFAULT_CAPACITY);
+
+	static {
+		final long thresholdMs = Long.getLong(THRESHOLD_PROP, -1);
+		if (thresholdMs >= 0) {
+			setThreshold(Duration.ofMillis(thresholdMs));
+		}
+		setCapacity(Integer.getInteger(CAPACITY_PROP, DEFAULT_CAPACITY));
+		final String rate = System.getProperty(SAMPLE_RATE_PROP);
+		if (rate != null) {
+			setSampleRate(Double.parseDouble(rate));
+		}
+	}
+
+	private SlowQueryLog() {
+	}
+
+	/**
+	 * Logs the queries that take at least the given time.
+	 *
+	 * @param threshold
+	 *            the minimum duration of a logged query, or {@code null} to turn
+	 *            the log off
+	 */
+	public static void setThreshold(Duration threshold) {
+		if (threshold != null && threshold.isNegative()) {
+			throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+		}
+		thresholdNanos = threshold == null ? -1 : threshold.toNanos();
+	}
+
+	/**
+	 * @return the minimum duration of a logged query, or {@code null} if the log
+	 *         is off
+	 */
+	public static Duration getThreshold() {
+		final long threshold = thresholdNanos;
+		return threshold < 0 ? null : Duration.ofNanos(threshold);
+	}
+
+	/**
+	 * @param rate
+	 *            the fraction of queries that are timed, between 0 and 1
+	 */
+	public static void setSampleRate(double rate) {
+		if (!(rate >= 0 && rate <= 1)) {
+			throw new IllegalArgumentException("sample rate must be between 0 and 1: " + rate);
+		}
+		sampleRate = rate;
+	}
+
+	/**
+	 * @return the fraction of queries that are timed
+	 */
+	public static double getSampleRate() {
+		return sampleRate;
+	}
+
+	/**
+	 * Sets the number of entries kept, clearing the log.
+	 *
+	 * @param capacity
+	 *            the number of most recent entries to keep
+	 */
+	public static void setCapacity(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+		}
+		ring = new Ring(capacity);
+	}
+
+	/**
+	 * @return the number of entries kept
+	 */
+	public static int getCapacity() {
+		return ring.entries.length();
+	}
+
+	/**
+	 * @return the logged entries, oldest first
+	 */
+	public static List<Entry> entries() {
+		return ring.snapshot();
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public static void clear() {
+		ring = new Ring(getCapacity());
+	}
+
+	/**
+	 * Starts timing a query.
+	 *
+	 * @return the start time, or 0 if the query is not timed
+	 */
+	static long start() {
+		if (thresholdNanos < 0) {
+			return 0;
+		}
+		final double rate = sampleRate;
+		if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+			return 0;
+		}
+		final long t = System.nanoTime();
+		// 0 means "not timed"
+		return t == 0 ? 1 : t;
+	}
+
+	/**
+	 * Logs a query started with {@link #start()} if it was slow.
+	 *
+	 * @param start
+	 *            the value returned by {@link #start()}
+	 * @param source
+	 *            the driver method that ran the query
+	 * @param sql
+	 *            the query as sent, or as generated by the driver
+	 * @param params
+	 *            the bound parameters, or {@code null}
+	 * @param resultSize
+	 *            the number of results, or -1 if unknown
+	 */
+	static void record(long start, String source, String sql, Map<String, ?> params, int resultSize) {
+		if (start == 0) {
+			return;
+		}
+		final long elapsed = System.nanoTime() - start;
+		final long threshold = thresholdNanos;
+		if (threshold < 0 || elapsed < threshold) {
+			return;
+		}
+		final List<String> keys = params == null || params.isEmpty()
+				? Collections.<String>emptyList()
+				: Collections.unmodifiableList(new ArrayList<>(params.keySet()));
+		ring.add(
+				new Entry(Instant.now(), source, SqlFingerprint.of(sql), keys, resultSize, Duration.ofNanos(elapsed)));
+	}
+
+	/**
+	 * Logs a query generated by the driver if it was slow. The query text is only
+	 * built when it is logged.
+	 *
+	 * @param start
+	 *            the value returned by {@link #start()}
+	 * @param source
+	 *            the driver method that ran the query
+	 * @param template
+	 *            the generated query, with {@code {}} in place of the target
+	 * @param target
+	 *            the target of the query, or an array of targets; record ids are
+	 *            logged by table only
+	 * @param resultSize
+	 *            the number of records returned, or -1 if unknown
+	 */
+	static void recordGenerated(long start, String source, String template, java.lang.Object target,
+			int resultSize) {
+		if (start == 0 || thresholdNanos < 0 || System.nanoTime() - start < thresholdNanos) {
+			return;
+		}
+		final String text = target instanceof java.lang.Object[]
+				? Arrays.stream((java.lang.Object[]) target).map(SlowQueryLog::shape).distinct()
+						.collect(Collectors.joining(","))
+				: shape(target);
+		record(start, source, template.replace("{}", text), null, resultSize);
+	}
+
+	/**
+	 * @return the target as it appears in the fingerprint: a record id is reduced
+	 *         to its table, so that the queries on every record of a table share
+	 *         one fingerprint
+	 */
+	private static String shape(java.lang.Object target) {
+		if (target instanceof RecordId) {
+			return ((RecordId) target).getTable() + ":?";
+		}
+		return String.valueOf(target);
+	}
+
+	/**
+	 * Counts the results with a native call, so it is only called for queries
+	 * that were timed.
+	 *
+	 * @return the number of statement results of the response, or -1 if there is
+	 *         none
+	 */
+	static int size(Response response) {
+		return response == null ? -1 : response.size();
+	}
+
+	private static final class Ring {
+
+		final AtomicReferenceArray<Entry> entries;
+		final AtomicLong next = new AtomicLong();
+
+		Ring(int capacity) {
+			entries = new AtomicReferenceArray<>(capacity);
+		}
+
+		void add(Entry entry) {
+			entries.set((int) (next.getAndIncrement() % entries.length()), entry);
+		}
+
+		List<Entry> snapshot() {
+			final int capacity = entries.length();
+			final long end = next.get();
+			final List<Entry> out = new ArrayList<>(capacity);
+			for (long i = Math.max(0, end - capacity); i < end; i++) {
+				final Entry entry = entries.get((int) (i % capacity));
+				if (entry != null) {
+					out.add(entry);
+				}
+			}
+			// Writers racing with the snapshot may leave slots out of order
+			out.sort((a, b) -> a.timestamp.compareTo(b.timestamp));
+			return Collections.unmodifiableList(out);
+		}
+	}
+
+	/**
+	 * A slow query.
+	 */
+	public static final class Entry {
+
+		private final Instant timestamp;
+		private final String source;
+		private final String fingerprint;
+		private final List<String> parameterKeys;
+		private final int resultSize;
+		private final Duration duration;
+
+		Entry(Instant timestamp, String source, String fingerprint, List<String> parameterKeys, int resultSize,
+				Duration duration) {
+			this.timestamp = timestamp;
+			this.source = source;
+			this.fingerprint = fingerprint;
+			this.parameterKeys = parameterKeys;
+			this.resultSize = resultSize;
+			this.duration = duration;
+		}
+
+		/**
+		 * @return when the query completed
+		 */
+		public Instant getTimestamp() {
+			return timestamp;
+		}
+
+		/**
+		 * @return the driver method that ran the query, for example
+		 *         {@code "query"}, {@code "transaction"} or {@code "select"}
+		 */
+		public String getSource() {
+			return source;
+		}
+
+		/**
+		 * @return the query with its literals replaced by {@code ?}
+		 */
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		/**
+		 * @return the names of the bound parameters
+		 */
+		public List<String> getParameterKeys() {
+			return parameterKeys;
+		}
+
+		/**
+		 * @return the number of statement results of a query, or of records for the
+		 *         generated queries; -1 if unknown, for example when the query
+		 *         failed or its records are read lazily
+		 */
+		public int getResultSize() {
+			return resultSize;
+		}
+
+		/**
+		 * @return how long the query took
+		 */
+		public Duration getDuration() {
+			return duration;
+		}
+
+		@Override
+		public String toString() {
+			return "SlowQuery[" + duration.toMillis() + "ms, source=" + source + ", fingerprint=" + fingerprint
+					+ ", parameters=" + parameterKeys + ", resultSize=" + resultSize + "]";
+		}
+	}
+}
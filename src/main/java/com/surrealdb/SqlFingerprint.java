@@ -0,0 +1,149 @@
+package com.surrealdb;
+
+/**
+ * Normalizes SurrealQL into a fingerprint that identifies the shape of a
+ * query. String, number and duration literals become {@code ?}, comments are
+ * removed and whitespace is collapsed, so
+ * {@code SELECT * FROM person:1 WHERE age > 18} and
+ * {@code SELECT * FROM person:2 WHERE age > 21} share the fingerprint
+ * {@code SELECT * FROM person:? WHERE age > ?}. Identifiers, parameters and
+ * keywords are kept as written.
+ */
+final class SqlFingerprint {
+
+	private SqlFingerprint() {
+	}
+
+	/**
+	 * @param sql
+	 *            a SurrealQL query
+	 * @return its fingerprint
+	 */
+	static String of(String sql) {
+		final int n = sql.length();
+		final StringBuilder out = new StringBuilder(Math.min(n, 1024));
+		boolean space = false;
+		int i = 0;
+		while (i < n) {
+			final char c = sql.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = true;
+				i++;
+				continue;
+			}
+			if (c == '#' || (c == '-' || c == '/') && at(sql, i + 1) == c) {
+				while (i < n && sql.charAt(i) != '\n') {
+					i++;
+				}
+				space = true;
+				continue;
+			}
+			if (c == '/' && at(sql, i + 1) == '*') {
+				final int close = sql.indexOf("*/", i + 2);
+				i = close < 0 ? n : close + 2;
+				space = true;
+				continue;
+			}
+			if (space && out.length() > 0) {
+				out.append(' ');
+			}
+			space = false;
+			if (c == '\'' || c == '"') {
+				i = skipString(sql, i + 1, c);
+				out.append('?');
+			} else if (isStringPrefix(c) && (at(sql, i + 1) == '\'' || at(sql, i + 1) == '"')) {
+				// Typed strings such as r"person:1", d"2024-01-01" or u"..."
+				i = skipString(sql, i + 2, sql.charAt(i + 1));
+				out.append('?');
+			} else if (Character.isDigit(c)) {
+				// Numbers, including decimals, exponents, suffixes and durations
+				// such as 1.5f, 10dec or 1h30m
+				while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_'
+						|| sql.charAt(i) == '.' && Character.isDigit(at(sql, i + 1)))) {
+					i++;
+				}
+				out.append('?');
+			} else if (Character.isLetter(c) || c == '_' || c == '$') {
+				final int start = i++;
+				while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+					i++;
+				}
+				out.append(sql, start, i);
+			} else if (c == '`' || c == '\u27E8') {
+				// Escaped identifiers are kept, including any digits
+				final int close = sql.indexOf(c == '`' ? '`' : '\u27E9', i + 1);
+				final int end = close < 0 ? n : close + 1;
+				out.append(sql, i, end);
+				i = end;
+			} else {
+				out.append(c);
+				i++;
+			}
+		}
+		return out.toString();
+	}
+
+	/**
+	 * @param fingerprint
+	 *            a fingerprint returned by {@link #of(String)}
+	 * @return the number of statements, counting the semicolons outside blocks
+	 */
+	static int statements(String fingerprint) {
+		int count = 0;
+		int depth = 0;
+		boolean pending = false;
+		for (int i = 0; i < fingerprint.length(); i++) {
+			final char c = fingerprint.charAt(i);
+			switch (c) {
+				case '{' :
+				case '(' :
+				case '[' :
+					depth++;
+					pending = true;
+					break;
+				case '}' :
+				case ')' :
+				case ']' :
+					depth = Math.max(0, depth - 1);
+					break;
+				case ';' :
+					if (depth == 0 && pending) {
+						count++;
+						pending = false;
+					}
+					break;
+				case '`' :
+				case '\u27E8' :
+					final int close = fingerprint.indexOf(c == '`' ? '`' : '\u27E9', i + 1);
+					i = close < 0 ? fingerprint.length() : close;
+					pending = true;
+					break;
+				default :
+					if (c != ' ') {
+						pending = true;
+					}
+			}
+		}
+		return pending ? count + 1 : count;
+	}
+
+	private static char at(String s, int i) {
+		return i < s.length() ? s.charAt(i) : 0;
+	}
+
+	private static boolean isStringPrefix(char c) {
+		return c == 'r' || c == 'd' || c == 'u' || c == 's' || c == 'b' || c == 'f';
+	}
+
+	private static int skipString(String sql, int i, char quote) {
+		while (i < sql.length()) {
+			final char c = sql.charAt(i++);
+			if (c == '\\') {
+				i++;
+			} else if (c == quote) {
+				break;
+			}
+		}
+		return Math.min(i, sql.length());
+	}
+}
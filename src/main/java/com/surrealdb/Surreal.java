@@ -6,9 +6,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.surrealdb.signin.BearerCredential;
 import com.surrealdb.signin.Credential;
@@ -30,12 +33,14 @@ public class Surreal extends Native implements AutoCloseable {
 	// server return value).
 	private String namespace;
 	private String database;
+	// Incremented by every call that may change the session's authentication
+	private volatile int authChanges;
 
 	/**
 	 * Constructs a new Surreal object.
 	 */
 	public Surreal() {
-		super(Surreal.newInstance());
+		super(Surreal.newInstance(), Surreal::deleteInstance);
 	}
 
 	/**
@@ -43,7 +48,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * from {@link #newSession()}).
 	 */
 	private Surreal(long ptr) {
-		super(ptr);
+		super(ptr, Surreal::deleteInstance);
 		this.namespace = null;
 		this.database = null;
 	}
@@ -129,6 +134,8 @@ public class Surreal extends Native implements AutoCloseable {
 
 	private static native long selectTargetsValuesSync(long ptr, String... targets);
 
+	private static native long selectTargetsArray(long ptr, String... targets);
+
 	private static native boolean deleteRecordId(long ptr, long recordId);
 
 	private static native boolean deleteRecordIds(long ptr, long[] recordIds);
@@ -147,7 +154,7 @@ public class Surreal extends Native implements AutoCloseable {
 
 	private static native boolean importSql(long ptr, String path);
 
-	private static native LiveStream selectLive(long ptr, String table);
+	private static native LiveStream selectLive(long ptr, String table, int capacity, boolean demand);
 
 	private static native void kill(long ptr, String queryId);
 
@@ -166,8 +173,34 @@ public class Surreal extends Native implements AutoCloseable {
 		return ptr1 == ptr2;
 	}
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
+
+	/**
+	 * Returns a non-blocking view of this connection. Operations submitted through
+	 * the returned {@link AsyncSurreal} run on the native runtime and complete a
+	 * {@link java.util.concurrent.CompletableFuture} instead of blocking the
+	 * calling thread.
+	 * <p>
+	 * The returned instance shares the session of this connection (namespace,
+	 * database and authentication), and this connection must stay open until
+	 * every returned future has completed.
+	 *
+	 * @return an asynchronous view of this connection
+	 */
+	public AsyncSurreal async() {
+		return new AsyncSurreal(this);
+	}
+
+	/**
+	 * Starts a {@link Pipeline}: a batch of operations dispatched together, each
+	 * without waiting for the previous reply, whose results are returned in
+	 * order.
+	 *
+	 * @return an empty pipeline on this connection
+	 */
+	public Pipeline pipeline() {
+		return new Pipeline(async());
+	}
 
 	/**
 	 * Establishes a connection to the Surreal database using the provided
@@ -222,16 +255,8 @@ public class Surreal extends Native implements AutoCloseable {
 	 *             if the run fails
 	 */
 	public Value run(String name, java.lang.Object... args) {
-		if (args == null || args.length == 0) {
-			return new Value(run(getPtr(), name, new long[0]));
-		}
-		ValueMut[] valueMuts = new ValueMut[args.length];
-		long[] ptrs = new long[args.length];
-		for (int i = 0; i < args.length; i++) {
-			valueMuts[i] = ValueBuilder.convert(args[i]);
-			ptrs[i] = valueMuts[i].getPtr();
-		}
-		return new Value(run(getPtr(), name, ptrs));
+		return measure(SurrealMetrics.Operation.RUN, () -> args == null ? new long[0] : contents2longs(args),
+				ptrs -> new Value(run(getPtr(), name, ptrs)), null);
 	}
 
 	/**
@@ -286,7 +311,53 @@ public class Surreal extends Native implements AutoCloseable {
 	 *             the subscription fails
 	 */
 	public LiveStream selectLive(String table) {
-		return selectLive(getPtr(), table);
+		return selectLive(table, LiveStream.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Starts a live query on the given table, buffering at most {@code capacity}
+	 * notifications natively.
+	 * <p>
+	 * When the buffer is full, the stream stops reading notifications from the
+	 * server until {@link LiveStream#next()} catches up.
+	 *
+	 * @param table
+	 *            table name to watch (must already exist)
+	 * @param capacity
+	 *            maximum number of notifications buffered natively (at least 1)
+	 * @return a LiveStream; the caller must call {@link LiveStream#close()} when
+	 *         done
+	 * @throws SurrealException
+	 *             if live queries are not supported, the table does not exist, or
+	 *             the subscription fails
+	 * @see #selectLive(String)
+	 */
+	public LiveStream selectLive(String table, int capacity) {
+		return selectLive(getPtr(), table, capacity, false);
+	}
+
+	/**
+	 * Starts a live query on the given table and returns a publisher delivering its
+	 * notifications with demand-driven backpressure.
+	 * <p>
+	 * Notifications are only read from the server once the subscriber has
+	 * requested them with {@link LiveSubscription#request(long)}, so a slow
+	 * subscriber does not cause notifications to pile up in native memory. The
+	 * subscription is established eagerly: subscription errors are thrown by this
+	 * method rather than signalled through {@link LiveSubscriber#onError}.
+	 * <p>
+	 * On Java 9 and later, {@link LivePublisher#toFlowPublisher()} adapts the
+	 * returned publisher to {@code java.util.concurrent.Flow.Publisher}.
+	 *
+	 * @param table
+	 *            table name to watch (must already exist)
+	 * @return a publisher supporting a single subscriber
+	 * @throws SurrealException
+	 *             if live queries are not supported, the table does not exist, or
+	 *             the subscription fails
+	 */
+	public LivePublisher selectLivePublisher(String table) {
+		return new LivePublisher(selectLive(getPtr(), table, LiveStream.DEFAULT_CAPACITY, true));
 	}
 
 	/**
@@ -345,6 +416,11 @@ public class Surreal extends Native implements AutoCloseable {
 	 *             cannot be resolved
 	 */
 	public Token signin(Credential credential) {
+		authChanges++;
+		return measure(SurrealMetrics.Operation.SIGNIN, null, none -> signinWith(credential), null);
+	}
+
+	private Token signinWith(Credential credential) {
 		if (credential instanceof DatabaseCredential) {
 			final DatabaseCredential db = (DatabaseCredential) credential;
 			return signinDatabase(getPtr(), db.getUsername(), db.getPassword(), db.getNamespace(), db.getDatabase());
@@ -394,6 +470,7 @@ public class Surreal extends Native implements AutoCloseable {
 					"RecordCredential signup requires namespace and database. Set them explicitly on RecordCredential or call useNs() and useDb() first.");
 		}
 		final ValueMut paramsValue = ValueBuilder.convert(record.getParams());
+		authChanges++;
 		return signup(getPtr(), ns, db, record.getAccess(), paramsValue.getPtr());
 	}
 
@@ -406,6 +483,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return the current instance
 	 */
 	public Surreal authenticate(String token) {
+		authChanges++;
 		authenticate(getPtr(), token);
 		return this;
 	}
@@ -416,6 +494,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return the current instance
 	 */
 	public Surreal invalidate() {
+		authChanges++;
 		invalidate(getPtr());
 		return this;
 	}
@@ -431,6 +510,44 @@ public class Surreal extends Native implements AutoCloseable {
 		return new Surreal(cloneSession(getPtr()));
 	}
 
+	/**
+	 * @return a count that changes whenever {@link #signin(Credential)},
+	 *         {@link #signup(RecordCredential)}, {@link #authenticate(String)} or
+	 *         {@link #invalidate()} is called on this session
+	 */
+	int getAuthChanges() {
+		return authChanges;
+	}
+
+	/**
+	 * Opens a {@link NativeScope} on the current thread. The native values
+	 * created on this thread until the scope is closed are released together
+	 * when it is closed.
+	 *
+	 * <pre>{@code
+	 * try (NativeScope scope = surreal.scope()) {
+	 * 	Optional<Person> person = surreal.select(Person.class, id);
+	 * }
+	 * }</pre>
+	 *
+	 * @return the new scope; close it on the same thread
+	 */
+	public NativeScope scope() {
+		return NativeScope.open();
+	}
+
+	/**
+	 * Returns the native handle counters of the process: how many handles of each
+	 * kind have been allocated and freed, and how many are live. The counters are
+	 * shared by all instances.
+	 *
+	 * @return a snapshot of the counters
+	 * @see NativeStats
+	 */
+	public NativeStats nativeStats() {
+		return NativeStats.snapshot();
+	}
+
 	private static native long beginTransaction(long ptr);
 
 	/**
@@ -526,7 +643,18 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return a Response object containing the results of the query
 	 */
 	public Response query(String sql) {
-		return new Response(query(getPtr(), sql));
+		final Jfr.Event event = Jfr.QUERY.begin();
+		final long slow = SlowQueryLog.start();
+		Response response = null;
+		try {
+			response = measure(SurrealMetrics.Operation.QUERY, null, none -> new Response(query(getPtr(), sql)), null);
+			return response;
+		} finally {
+			Jfr.commitQuery(event, sql, null);
+			if (slow != 0) {
+				SlowQueryLog.record(slow, "query", sql, null, SlowQueryLog.size(response));
+			}
+		}
 	}
 
 	/**
@@ -543,13 +671,25 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return a Response object containing the results of the query
 	 */
 	public Response query(String sql, Map<String, ?> params) {
-		final Map<String, ValueMut> valueMuts = ValueBuilder.convertParams(params);
-		final String[] keys = valueMuts.keySet().toArray(new String[0]);
-		final long[] values = new long[keys.length];
-		for (int i = 0; i < keys.length; i++) {
-			values[i] = valueMuts.get(keys[i]).getPtr();
+		final Jfr.Event event = Jfr.QUERY.begin();
+		final long slow = SlowQueryLog.start();
+		Response response = null;
+		try {
+			response = measure(SurrealMetrics.Operation.QUERY, () -> ValueBuilder.convertParams(params), valueMuts -> {
+				final String[] keys = valueMuts.keySet().toArray(new String[0]);
+				final long[] values = new long[keys.length];
+				for (int i = 0; i < keys.length; i++) {
+					values[i] = valueMuts.get(keys[i]).getPtr();
+				}
+				return new Response(queryWithBindings(getPtr(), sql, keys, values));
+			}, null);
+			return response;
+		} finally {
+			Jfr.commitQuery(event, sql, params);
+			if (slow != 0) {
+				SlowQueryLog.record(slow, "query", sql, params, SlowQueryLog.size(response));
+			}
 		}
-		return new Response(queryWithBindings(getPtr(), sql, keys, values));
 	}
 
 	/**
@@ -591,9 +731,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return a new Value object initialized with the provided RecordId and content
 	 */
 	public <T> Value create(RecordId recordId, T content) {
-		final ValueMut valueMut = ValueBuilder.convert(content);
-		final long valuePtr = createRecordIdValue(getPtr(), recordId.getPtr(), valueMut.getPtr());
-		return new Value(valuePtr);
+		return createRecord(recordId, content, null);
 	}
 
 	/**
@@ -614,7 +752,24 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return An instance of the specified type
 	 */
 	public <T> T create(Class<T> type, RecordId recordId, T content) {
-		return create(recordId, content).get(type);
+		return createRecord(recordId, content, v -> v.get(type));
+	}
+
+	private <T, R> R createRecord(RecordId recordId, T content, Function<Value, R> decode) {
+		final long slow = SlowQueryLog.start();
+		int size = -1;
+		try {
+			final R created = measure(SurrealMetrics.Operation.CREATE, () -> ValueBuilder.convert(content),
+					valueMut -> {
+						final long valuePtr = createRecordIdValue(getPtr(), recordId.getPtr(), valueMut.getPtr());
+						SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_WRITTEN, 1);
+						return new Value(valuePtr);
+					}, decode);
+			size = 1;
+			return created;
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "create", "CREATE {} CONTENT $val", recordId, size);
+		}
 	}
 
 	/**
@@ -636,9 +791,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 */
 	@SafeVarargs
 	public final <T> List<Value> create(String target, T... contents) {
-		final long[] valueMutPtrs = contents2longs(contents);
-		final long[] valuePtrs = createTargetValues(getPtr(), target, valueMutPtrs);
-		return Arrays.stream(valuePtrs).mapToObj(Value::new).collect(Collectors.toList());
+		return createRecords(target, contents, null);
 	}
 
 	/**
@@ -662,8 +815,23 @@ public class Surreal extends Native implements AutoCloseable {
 	 */
 	@SafeVarargs
 	public final <T> List<T> create(Class<T> type, String target, T... contents) {
-		try (final Stream<Value> s = create(target, contents).stream()) {
-			return s.map(v -> v.get(type)).collect(Collectors.toList());
+		return createRecords(target, contents, v -> v.get(type));
+	}
+
+	private <T, R> List<R> createRecords(String target, T[] contents, Function<Value, R> decode) {
+		final long slow = SlowQueryLog.start();
+		int size = -1;
+		try {
+			final List<R> created = measure(SurrealMetrics.Operation.CREATE, () -> contents2longs(contents),
+					valueMutPtrs -> {
+						final long[] valuePtrs = createTargetValues(getPtr(), target, valueMutPtrs);
+						SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_WRITTEN, valuePtrs.length);
+						return values(valuePtrs);
+					}, decodeAll(decode));
+			size = created.size();
+			return created;
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "create", "CREATE {} CONTENT $val", target, size);
 		}
 	}
 
@@ -686,9 +854,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 */
 	@SafeVarargs
 	public final <T> List<Value> insert(String target, T... contents) {
-		final long[] valueMutPtrs = contents2longs(contents);
-		final long[] valuePtrs = insertTargetValues(getPtr(), target, valueMutPtrs);
-		return Arrays.stream(valuePtrs).mapToObj(Value::new).collect(Collectors.toList());
+		return insertRecords(target, contents, null);
 	}
 
 	/**
@@ -712,11 +878,86 @@ public class Surreal extends Native implements AutoCloseable {
 	 */
 	@SafeVarargs
 	public final <T> List<T> insert(Class<T> type, String target, T... contents) {
-		try (final Stream<Value> s = insert(target, contents).stream()) {
-			return s.map(v -> v.get(type)).collect(Collectors.toList());
+		return insertRecords(target, contents, v -> v.get(type));
+	}
+
+	private <T, R> List<R> insertRecords(String target, T[] contents, Function<Value, R> decode) {
+		final long slow = SlowQueryLog.start();
+		int size = -1;
+		try {
+			final List<R> inserted = measure(SurrealMetrics.Operation.INSERT, () -> contents2longs(contents),
+					valueMutPtrs -> {
+						final long[] valuePtrs = insertTargetValues(getPtr(), target, valueMutPtrs);
+						SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_WRITTEN, valuePtrs.length);
+						return values(valuePtrs);
+					}, decodeAll(decode));
+			size = inserted.size();
+			return inserted;
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "insert", "INSERT INTO {} $rows", target, size);
 		}
 	}
 
+	/**
+	 * Streams rows from an iterator into the given table using the default
+	 * {@link BulkOptions}.
+	 *
+	 * @param <T>
+	 *            the type of the rows
+	 * @param target
+	 *            the table the rows are inserted into
+	 * @param rows
+	 *            the rows to insert
+	 * @return the outcome of the load
+	 * @see #bulkInsert(String, Iterator, BulkOptions)
+	 */
+	public <T> BulkResult bulkInsert(String target, Iterator<T> rows) {
+		return bulkInsert(target, rows, BulkOptions.defaults());
+	}
+
+	/**
+	 * Streams rows from an iterator into the given table.
+	 * <p>
+	 * Rows are pulled from {@code rows} on the calling thread and grouped into
+	 * chunks of {@link BulkOptions#getChunkSize()} rows. Each chunk is sent as a
+	 * single {@code INSERT} with the rows bound as a parameter and runs on the
+	 * native runtime, with up to {@link BulkOptions#getMaxInFlight()} chunks in
+	 * flight at once. Reading pauses while that limit is reached, so the whole
+	 * dataset never has to be held in memory. The inserted records are not
+	 * returned.
+	 * <p>
+	 * A failed chunk does not abort the load unless
+	 * {@link BulkOptions#withStopOnError(boolean)} is set; it is reported in the
+	 * returned {@link BulkResult}. This method returns once every submitted chunk
+	 * has completed. If the calling thread is interrupted, no further rows are
+	 * read and the interrupt flag is set when the method returns. An exception
+	 * thrown by {@code rows} is rethrown once the chunks already submitted have
+	 * completed.
+	 *
+	 * <pre>{@code
+	 * try (Stream<Person> people = readPeople()) {
+	 * 	BulkResult result = surreal.bulkInsert("person", people.iterator(),
+	 * 			BulkOptions.defaults().withChunkSize(5000));
+	 * 	System.out.println(result.getRowsPerSecond() + " rows/s");
+	 * }
+	 * }</pre>
+	 *
+	 * @param <T>
+	 *            the type of the rows
+	 * @param target
+	 *            the table the rows are inserted into
+	 * @param rows
+	 *            the rows to insert
+	 * @param options
+	 *            chunking and concurrency options
+	 * @return the outcome of the load
+	 */
+	public <T> BulkResult bulkInsert(String target, Iterator<T> rows, BulkOptions options) {
+		Objects.requireNonNull(rows, "rows");
+		Objects.requireNonNull(options, "options");
+		return new BulkLoader(async(), target, options).load(rows);
+	}
+
 	/**
 	 * Inserts a relation to the specified table using the provided content.
 	 * <p>
@@ -927,9 +1168,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return A Value object representing the updated value.
 	 */
 	public <T> Value update(RecordId recordId, UpType upType, T content) {
-		final ValueMut valueMut = ValueBuilder.convert(content);
-		final long valuePtr = updateRecordIdValue(getPtr(), recordId.getPtr(), upType.code, valueMut.getPtr());
-		return new Value(valuePtr);
+		return updateRecord(recordId, upType, content, null);
 	}
 
 	/**
@@ -973,7 +1212,15 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return the updated record of the specified type
 	 */
 	public <T> T update(Class<T> type, RecordId recordId, UpType upType, T content) {
-		return update(recordId, upType, content).get(type);
+		return updateRecord(recordId, upType, content, v -> v.get(type));
+	}
+
+	private <T, R> R updateRecord(RecordId recordId, UpType upType, T content, Function<Value, R> decode) {
+		return measure(SurrealMetrics.Operation.UPDATE, () -> ValueBuilder.convert(content), valueMut -> {
+			final long valuePtr = updateRecordIdValue(getPtr(), recordId.getPtr(), upType.code, valueMut.getPtr());
+			SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_WRITTEN, 1);
+			return new Value(valuePtr);
+		}, decode);
 	}
 
 	/**
@@ -1187,9 +1434,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return The resulting value after the upsert operation.
 	 */
 	public <T> Value upsert(RecordId recordId, UpType upType, T content) {
-		final ValueMut valueMut = ValueBuilder.convert(content);
-		final long valuePtr = upsertRecordIdValue(getPtr(), recordId.getPtr(), upType.code, valueMut.getPtr());
-		return new Value(valuePtr);
+		return upsertRecord(recordId, upType, content, null);
 	}
 
 	/**
@@ -1232,7 +1477,15 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return The upserted entity of the specified type.
 	 */
 	public <T> T upsert(Class<T> type, RecordId recordId, UpType upType, T content) {
-		return upsert(recordId, upType, content).get(type);
+		return upsertRecord(recordId, upType, content, v -> v.get(type));
+	}
+
+	private <T, R> R upsertRecord(RecordId recordId, UpType upType, T content, Function<Value, R> decode) {
+		return measure(SurrealMetrics.Operation.UPSERT, () -> ValueBuilder.convert(content), valueMut -> {
+			final long valuePtr = upsertRecordIdValue(getPtr(), recordId.getPtr(), upType.code, valueMut.getPtr());
+			SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_WRITTEN, 1);
+			return new Value(valuePtr);
+		}, decode);
 	}
 
 	/**
@@ -1426,6 +1679,62 @@ public class Surreal extends Native implements AutoCloseable {
 		return new ValueObjectIterator<>(type, upsertSync(targets, upType, content));
 	}
 
+	/**
+	 * Runs an operation measured by {@link SurrealMetrics}: {@code encode}
+	 * converts the arguments into native values, {@code execute} makes the native
+	 * call and {@code decode} converts its result into the requested type. Each
+	 * step is recorded as a phase, and the whole as the operation's total.
+	 *
+	 * @param encode
+	 *            the conversion of the arguments, or {@code null} if there is none
+	 * @param decode
+	 *            the conversion of the result, or {@code null} to return it as is
+	 */
+	@SuppressWarnings("unchecked")
+	private static <A, V, R> R measure(SurrealMetrics.Operation operation, Supplier<A> encode,
+			Function<A, V> execute, Function<V, R> decode) {
+		final long start = SurrealMetrics.begin();
+		try {
+			long since = start;
+			A arguments = null;
+			if (encode != null) {
+				arguments = encode.get();
+				since = SurrealMetrics.phase(operation, SurrealMetrics.Phase.ENCODE, since);
+			}
+			final V result = execute.apply(arguments);
+			since = SurrealMetrics.phase(operation, SurrealMetrics.Phase.EXECUTE, since);
+			if (decode == null) {
+				return (R) result;
+			}
+			final R decoded = decode.apply(result);
+			SurrealMetrics.phase(operation, SurrealMetrics.Phase.DECODE, since);
+			return decoded;
+		} finally {
+			SurrealMetrics.end(operation, start);
+		}
+	}
+
+	/**
+	 * @return the conversion of each value of a list, or {@code null} if
+	 *         {@code decode} is {@code null}
+	 */
+	private static <R> Function<List<Value>, List<R>> decodeAll(Function<Value, R> decode) {
+		if (decode == null) {
+			return null;
+		}
+		return values -> {
+			try (final Stream<Value> s = values.stream()) {
+				return s.map(decode).collect(Collectors.toList());
+			}
+		};
+	}
+
+	private static List<Value> values(long[] valuePtrs) {
+		try (final LongStream s = Arrays.stream(valuePtrs)) {
+			return s.mapToObj(Value::new).collect(Collectors.toList());
+		}
+	}
+
 	@SafeVarargs
 	private final <T> long[] contents2longs(T... contents) {
 		final long[] ptrs = new long[contents.length];
@@ -1449,11 +1758,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 *         Optional if not found
 	 */
 	public Optional<Value> select(RecordId recordId) {
-		final long valuePtr = selectRecordId(getPtr(), recordId.getPtr());
-		if (valuePtr == 0) {
-			return Optional.empty();
-		}
-		return Optional.of(new Value(valuePtr));
+		return selectRecord(recordId, null);
 	}
 
 	/**
@@ -1475,7 +1780,26 @@ public class Surreal extends Native implements AutoCloseable {
 	 *         present, otherwise an empty Optional
 	 */
 	public <T> Optional<T> select(Class<T> type, RecordId recordId) {
-		return select(recordId).map(v -> v.get(type));
+		return selectRecord(recordId, v -> v.get(type));
+	}
+
+	private <R> Optional<R> selectRecord(RecordId recordId, Function<Value, R> decode) {
+		final long slow = SlowQueryLog.start();
+		int size = -1;
+		try {
+			final Optional<R> selected = measure(SurrealMetrics.Operation.SELECT, null, none -> {
+				final long valuePtr = selectRecordId(getPtr(), recordId.getPtr());
+				if (valuePtr == 0) {
+					return Optional.<Value>empty();
+				}
+				SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_READ, 1);
+				return Optional.of(new Value(valuePtr));
+			}, decode == null ? null : value -> value.map(decode));
+			size = selected.isPresent() ? 1 : 0;
+			return selected;
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "select", "SELECT * FROM {}", recordId, size);
+		}
 	}
 
 	/**
@@ -1490,10 +1814,23 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return a list of Value objects corresponding to the selected RecordIds.
 	 */
 	public List<Value> select(RecordId... recordIds) {
-		final long[] recordIdsPtr = recordIds2longs(recordIds);
-		final long[] valuePtrs = selectRecordIds(getPtr(), recordIdsPtr);
-		try (final LongStream s = Arrays.stream(valuePtrs)) {
-			return s.mapToObj(Value::new).collect(Collectors.toList());
+		return selectRecords(recordIds, null);
+	}
+
+	private <R> List<R> selectRecords(RecordId[] recordIds, Function<Value, R> decode) {
+		final long slow = SlowQueryLog.start();
+		int size = -1;
+		try {
+			final List<R> selected = measure(SurrealMetrics.Operation.SELECT, () -> recordIds2longs(recordIds),
+					recordIdsPtr -> {
+						final long[] valuePtrs = selectRecordIds(getPtr(), recordIdsPtr);
+						SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_READ, valuePtrs.length);
+						return values(valuePtrs);
+					}, decodeAll(decode));
+			size = selected.size();
+			return selected;
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "select", "SELECT * FROM {}", recordIds, size);
 		}
 	}
 
@@ -1525,9 +1862,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 *         record IDs
 	 */
 	public <T> List<T> select(Class<T> type, RecordId... recordIds) {
-		try (final Stream<Value> s = select(recordIds).stream()) {
-			return s.map(v -> v.get(type)).collect(Collectors.toList());
-		}
+		return selectRecords(recordIds, v -> v.get(type));
 	}
 
 	/**
@@ -1538,12 +1873,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return list of values for records in the range
 	 */
 	public List<Value> select(RecordIdRange range) {
-		final long startPtr = range.getStart() != null ? range.getStart().getPtr() : 0;
-		final long endPtr = range.getEnd() != null ? range.getEnd().getPtr() : 0;
-		final long[] valuePtrs = selectRecordIdRange(getPtr(), range.getTable(), startPtr, endPtr);
-		try (final LongStream s = Arrays.stream(valuePtrs)) {
-			return s.mapToObj(Value::new).collect(Collectors.toList());
-		}
+		return selectRange(range, null);
 	}
 
 	/**
@@ -1558,9 +1888,17 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return list of objects of the specified type
 	 */
 	public <T> List<T> select(Class<T> type, RecordIdRange range) {
-		try (final Stream<Value> s = select(range).stream()) {
-			return s.map(v -> v.get(type)).collect(Collectors.toList());
-		}
+		return selectRange(range, v -> v.get(type));
+	}
+
+	private <R> List<R> selectRange(RecordIdRange range, Function<Value, R> decode) {
+		return measure(SurrealMetrics.Operation.SELECT, null, none -> {
+			final long startPtr = range.getStart() != null ? range.getStart().getPtr() : 0;
+			final long endPtr = range.getEnd() != null ? range.getEnd().getPtr() : 0;
+			final long[] valuePtrs = selectRecordIdRange(getPtr(), range.getTable(), startPtr, endPtr);
+			SurrealMetrics.count(SurrealMetrics.Counter.RECORDS_READ, valuePtrs.length);
+			return values(valuePtrs);
+		}, decodeAll(decode));
 	}
 
 	/**
@@ -1576,7 +1914,13 @@ public class Surreal extends Native implements AutoCloseable {
 	 * @return An iterator over the values corresponding to the specified targets.
 	 */
 	public Iterator<Value> select(String targets) {
-		return new ValueIterator(selectTargetsValues(getPtr(), targets));
+		final long slow = SlowQueryLog.start();
+		try {
+			return measure(SurrealMetrics.Operation.SELECT, null,
+					none -> new ValueIterator(selectTargetsValues(getPtr(), targets)), null);
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "select", "SELECT * FROM {}", targets, -1);
+		}
 	}
 
 	/**
@@ -1637,6 +1981,93 @@ public class Surreal extends Native implements AutoCloseable {
 		return new ValueObjectIterator<>(type, selectSync(targets));
 	}
 
+	/**
+	 * Selects the given targets and returns the values as a stream.
+	 * <p>
+	 * The stream is sized and splits by index over the native result, so
+	 * {@code parallel()} spreads the work across the common fork-join pool
+	 * without a shared lock. Closing the stream releases the native result.
+	 *
+	 * @param targets
+	 *            the targets to select
+	 * @return a stream over the selected values
+	 */
+	public Stream<Value> selectStream(String targets) {
+		final Array array = new Array(selectTargetsArray(getPtr(), targets));
+		return StreamSupport.stream(array.spliterator(), false).onClose(array::deleteInstance);
+	}
+
+	/**
+	 * Selects the given targets and returns the records, mapped to the given
+	 * type, as a stream. Mapping runs inside the stream, so with
+	 * {@code parallel()} records are decoded on several threads.
+	 *
+	 * <pre>{@code
+	 * try (Stream<Person> people = surreal.selectStream(Person.class, "person")) {
+	 * 	List<Person> adults = people.parallel().filter(p -> p.age >= 18).collect(Collectors.toList());
+	 * }
+	 * }</pre>
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param targets
+	 *            the targets to select
+	 * @return a stream over the selected records
+	 * @see #selectStream(String)
+	 */
+	public <T> Stream<T> selectStream(Class<T> type, String targets) {
+		final ValueClassConverter<T> converter = new ValueClassConverter<>(type);
+		final Array array = new Array(selectTargetsArray(getPtr(), targets));
+		return StreamSupport.stream(new ArraySpliterator<>(array, converter::convert), false)
+				.onClose(array::deleteInstance);
+	}
+
+	/**
+	 * Selects every record of a table, one page at a time.
+	 * <p>
+	 * Unlike {@link #select(String)}, which loads the whole result before
+	 * returning, this method reads the table in record id order in pages of
+	 * {@code pageSize} records. Each page continues after the last record id of
+	 * the previous one, so at most the current page and the next one, which is
+	 * loaded in the background, are held in memory. Use it to scan tables that do
+	 * not fit in memory.
+	 * <p>
+	 * The scan is not isolated: records created, updated or deleted while
+	 * iterating may or may not be returned. This connection must stay open until
+	 * the iteration completes.
+	 *
+	 * @param table
+	 *            the table to select from
+	 * @param pageSize
+	 *            the number of records fetched per query
+	 * @return an iterator over the records of the table
+	 */
+	public Iterator<Value> selectPaged(String table, int pageSize) {
+		Objects.requireNonNull(table, "table");
+		return new PagedSelectIterator(async(), table, pageSize);
+	}
+
+	/**
+	 * Selects every record of a table, one page at a time, and maps the records
+	 * to the given type.
+	 *
+	 * @param <T>
+	 *            the type of the records
+	 * @param type
+	 *            the class of the type to be returned
+	 * @param table
+	 *            the table to select from
+	 * @param pageSize
+	 *            the number of records fetched per query
+	 * @return an iterator over the records of the table
+	 * @see #selectPaged(String, int)
+	 */
+	public <T> Iterator<T> selectPaged(Class<T> type, String table, int pageSize) {
+		return new ValueObjectIterator<>(type, selectPaged(table, pageSize));
+	}
+
 	/**
 	 * Deletes a record identified by the provided RecordId.
 	 * <p>
@@ -1648,7 +2079,7 @@ public class Surreal extends Native implements AutoCloseable {
 	 *            the identifier of the record to be deleted
 	 */
 	public void delete(RecordId recordId) {
-		deleteRecordId(getPtr(), recordId.getPtr());
+		measure(SurrealMetrics.Operation.DELETE, null, none -> deleteRecordId(getPtr(), recordId.getPtr()), null);
 	}
 
 	/**
@@ -1690,7 +2121,12 @@ public class Surreal extends Native implements AutoCloseable {
 	 *            the name of the target to be deleted
 	 */
 	public void delete(String target) {
-		deleteTarget(getPtr(), target);
+		final long slow = SlowQueryLog.start();
+		try {
+			measure(SurrealMetrics.Operation.DELETE, null, none -> deleteTarget(getPtr(), target), null);
+		} finally {
+			SlowQueryLog.recordGenerated(slow, "delete", "DELETE FROM {}", target, -1);
+		}
 	}
 
 	/**
@@ -0,0 +1,30 @@
+package com.surrealdb;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a POJO or record for compile-time mapping.
+ * <p>
+ * With the {@code surrealdb} processor on the annotation processor path, each
+ * annotated type gets a generated {@link SurrealMapper} named
+ * {@code <Type>_SurrealMapper} in the same package (nested types use
+ * {@code Outer_Inner_SurrealMapper}). The driver picks it up automatically and
+ * reads and writes the type with direct field access instead of reflection.
+ * Types without a generated mapper keep using reflection.
+ *
+ * <pre>{@code
+ * dependencies {
+ *     annotationProcessor 'com.surrealdb:surrealdb:<version>:processor'
+ * }
+ * }</pre>
+ * <p>
+ * The generated code accesses fields directly, so mapped fields and the no-arg
+ * constructor of a POJO must not be private. {@link SurrealName} is honoured.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface SurrealEntity {
+}
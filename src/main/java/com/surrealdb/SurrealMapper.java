@@ -0,0 +1,85 @@
+package com.surrealdb;
+
+/**
+ * Converts a type to and from SurrealDB objects without reflection.
+ * <p>
+ * Implementations are generated for types annotated with
+ * {@link SurrealEntity}; they are not meant to be written by hand, and this
+ * interface may change between releases together with the processor.
+ *
+ * @param <T>
+ *            the mapped type
+ */
+public interface SurrealMapper<T> {
+
+	/**
+	 * Returns the SurrealDB keys of the mapped fields, in the order used by
+	 * {@link #values(java.lang.Object)}. The returned array must not be modified.
+	 *
+	 * @return the object keys
+	 */
+	String[] names();
+
+	/**
+	 * Reads the mapped fields of an instance. {@code null} entries are omitted
+	 * from the written object.
+	 *
+	 * @param value
+	 *            the instance to write
+	 * @return the field values, in the order of {@link #names()}
+	 */
+	java.lang.Object[] values(T value);
+
+	/**
+	 * Creates an instance from a SurrealDB object.
+	 *
+	 * @param reader
+	 *            the entries of the object
+	 * @return the new instance
+	 */
+	T read(Reader reader);
+
+	/**
+	 * Gives a {@link SurrealMapper} access to the entries of a SurrealDB object,
+	 * converted with the same rules as reflective mapping.
+	 */
+	interface Reader {
+
+		/**
+		 * @param key
+		 *            the object key
+		 * @return {@code true} if the object has an entry for the key
+		 */
+		boolean has(String key);
+
+		/**
+		 * Converts the entry for a key to the declared type of a field.
+		 *
+		 * @param key
+		 *            the object key
+		 * @param type
+		 *            the raw declared type
+		 * @param typeArguments
+		 *            the raw type arguments of a parameterized declared type, such
+		 *            as the element type of a {@code List}
+		 * @return the converted value, or {@code null} if the entry is missing
+		 *         or null
+		 */
+		java.lang.Object get(String key, Class<?> type, Class<?>... typeArguments);
+
+		/**
+		 * Like {@link #get(String, Class, Class...)}, but returns the default of
+		 * a record component (zero, {@code false}, {@link java.util.Optional#empty()}
+		 * or {@code null}) when the entry is missing or null.
+		 *
+		 * @param key
+		 *            the object key
+		 * @param type
+		 *            the raw declared type
+		 * @param typeArguments
+		 *            the raw type arguments of a parameterized declared type
+		 * @return the converted value or the default
+		 */
+		java.lang.Object getOrDefault(String key, Class<?> type, Class<?>... typeArguments);
+	}
+}
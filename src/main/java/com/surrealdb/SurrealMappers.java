@@ -0,0 +1,60 @@
+package com.surrealdb;
+
+import java.util.Optional;
+
+/**
+ * Finds the {@link SurrealMapper} generated for a {@link SurrealEntity} type.
+ */
+final class SurrealMappers {
+
+	static final String SUFFIX = "_SurrealMapper";
+
+	// Looked up once per class; see the ClassValue note in SurrealFieldNames.
+	private static final ClassValue<Optional<SurrealMapper<?>>> MAPPERS = new ClassValue<Optional<SurrealMapper<?>>>() {
+		@Override
+		protected Optional<SurrealMapper<?>> computeValue(final Class<?> clazz) {
+			return Optional.ofNullable(load(clazz));
+		}
+	};
+
+	private SurrealMappers() {
+	}
+
+	/**
+	 * @return the generated mapper for the class, or {@code null} if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> SurrealMapper<T> find(final Class<T> clazz) {
+		return (SurrealMapper<T>) MAPPERS.get(clazz).orElse(null);
+	}
+
+	/**
+	 * Returns the binary name of the mapper generated for a class:
+	 * {@code pkg.Outer$Inner} maps to {@code pkg.Outer_Inner_SurrealMapper}.
+	 */
+	static String mapperName(final String binaryName) {
+		final int dot = binaryName.lastIndexOf('.');
+		return binaryName.substring(0, dot + 1) + binaryName.substring(dot + 1).replace('$', '_') + SUFFIX;
+	}
+
+	private static SurrealMapper<?> load(final Class<?> clazz) {
+		final ClassLoader loader = clazz.getClassLoader();
+		if (loader == null || clazz.isPrimitive() || clazz.isArray() || clazz.isInterface()) {
+			return null;
+		}
+		final Class<?> mapperClass;
+		try {
+			mapperClass = Class.forName(mapperName(clazz.getName()), true, loader);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+		if (!SurrealMapper.class.isAssignableFrom(mapperClass)) {
+			return null;
+		}
+		try {
+			return (SurrealMapper<?>) mapperClass.getConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new SurrealException("Failed to create " + mapperClass.getName(), e);
+		}
+	}
+}
@@ -0,0 +1,368 @@
+package com.surrealdb;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in latency and throughput metrics for the operations of every
+ * {@link Surreal} instance in the process.
+ * <p>
+ * Metrics are off by default, and then cost one volatile read per operation.
+ * Turn them on with {@link #enable()} or the {@code surrealdb.metrics} system
+ * property. While enabled, the driver keeps for each {@link Operation} a
+ * latency histogram of the whole call, and of its {@link Phase}s: encoding the
+ * Java content and parameters, the native call, and decoding the result into
+ * Java objects. The native call covers the JNI crossing together with the
+ * engine or network time, which cannot be told apart from Java. Counters track
+ * the bytes encoded and decoded and the records read and written, and a gauge
+ * the number of operations in flight.
+ *
+ * <pre>{@code
+ * SurrealMetrics.enable();
+ * // ...
+ * long p99 = SurrealMetrics.latency(SurrealMetrics.Operation.SELECT).getValueAtPercentile(99);
+ * }</pre>
+ * <p>
+ * When the {@code surrealdb.jmx} system property is {@code true}, enabling
+ * metrics also publishes them over JMX as
+ * {@code com.surrealdb:type=SurrealMetrics} (see {@link SurrealMetricsMXBean}).
+ * To feed another metrics library, add a {@link MetricsRegistry}; it receives
+ * every measurement as it is taken.
+ */
+public final class SurrealMetrics {
+
+	/**
+	 * System property enabling metrics from startup.
+	 */
+	static final String METRICS_PROP = "surrealdb.metrics";
+
+	private static final Operation[] OPERATIONS = Operation.values();
+	private static final Phase[] PHASES = Phase.values();
+	private static final Counter[] COUNTERS = Counter.values();
+
+	// Created on first use, so that operations that are never called cost no
+	// memory
+	private static final AtomicReferenceArray<LatencyHistogram> HISTOGRAMS = new AtomicReferenceArray<>(
+			OPERATIONS.length * PHASES.length);
+	private static final LongAdder[] COUNTS = new LongAdder[COUNTERS.length];
+	private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+	private static final List<MetricsRegistry> REGISTRIES = new CopyOnWriteArrayList<>();
+
+	private static volatile boolean enabled;
+
+	static {
+		for (int i = 0; i < COUNTS.length; i++) {
+			COUNTS[i] = new LongAdder();
+		}
+		if (Boolean.getBoolean(METRICS_PROP)) {
+			enable();
+		}
+	}
+
+	private SurrealMetrics() {
+	}
+
+	/**
+	 * Starts measuring operations, and registers the JMX bean if JMX is enabled.
+	 */
+	public static void enable() {
+		enabled = true;
+		Jmx.register("SurrealMetrics", new SurrealMetricsBean());
+	}
+
+	/**
+	 * Stops measuring operations. The values recorded so far are kept.
+	 */
+	public static void disable() {
+		enabled = false;
+	}
+
+	/**
+	 * @return whether operations are being measured
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Adds a registry that receives every measurement from now on.
+	 *
+	 * @param registry
+	 *            the registry to add
+	 */
+	public static void addRegistry(MetricsRegistry registry) {
+		REGISTRIES.add(registry);
+	}
+
+	/**
+	 * @param registry
+	 *            the registry to remove
+	 */
+	public static void removeRegistry(MetricsRegistry registry) {
+		REGISTRIES.remove(registry);
+	}
+
+	/**
+	 * @param operation
+	 *            the operation
+	 * @return the latency of whole calls of the operation
+	 */
+	public static Latency latency(Operation operation) {
+		return latency(operation, Phase.TOTAL);
+	}
+
+	/**
+	 * @param operation
+	 *            the operation
+	 * @param phase
+	 *            the part of the call
+	 * @return the latency of that part of calls of the operation
+	 */
+	public static Latency latency(Operation operation, Phase phase) {
+		final LatencyHistogram histogram = HISTOGRAMS.get(slot(operation, phase));
+		return histogram == null ? Latency.EMPTY : histogram.snapshot();
+	}
+
+	/**
+	 * @param counter
+	 *            the counter
+	 * @return its value
+	 */
+	public static long getCount(Counter counter) {
+		return COUNTS[counter.ordinal()].sum();
+	}
+
+	/**
+	 * @return the number of measured operations currently running
+	 */
+	public static int getInFlight() {
+		return IN_FLIGHT.get();
+	}
+
+	/**
+	 * Clears the histograms and counters. The in-flight gauge is left as is.
+	 */
+	public static void reset() {
+		for (int i = 0; i < HISTOGRAMS.length(); i++) {
+			final LatencyHistogram histogram = HISTOGRAMS.get(i);
+			if (histogram != null) {
+				histogram.reset();
+			}
+		}
+		for (final LongAdder count : COUNTS) {
+			count.reset();
+		}
+	}
+
+	/**
+	 * Starts measuring an operation, which must be ended with
+	 * {@link #end(Operation, long)}.
+	 *
+	 * @return the start time, or 0 when metrics are disabled
+	 */
+	static long begin() {
+		if (!enabled) {
+			return 0;
+		}
+		IN_FLIGHT.incrementAndGet();
+		return time();
+	}
+
+	/**
+	 * @return the current time, or 0 when metrics are disabled
+	 */
+	static long now() {
+		return enabled ? time() : 0;
+	}
+
+	/**
+	 * Records the time since {@code since} as a phase of the operation.
+	 *
+	 * @return the current time, to be passed as the start of the next phase, or 0
+	 *         when {@code since} is 0
+	 */
+	static long phase(Operation operation, Phase phase, long since) {
+		if (since == 0) {
+			return 0;
+		}
+		final long now = time();
+		record(operation, phase, now - since);
+		return now;
+	}
+
+	static void end(Operation operation, long start) {
+		if (start == 0) {
+			return;
+		}
+		record(operation, Phase.TOTAL, time() - start);
+		IN_FLIGHT.decrementAndGet();
+	}
+
+	static void count(Counter counter, long amount) {
+		if (!enabled || amount == 0) {
+			return;
+		}
+		COUNTS[counter.ordinal()].add(amount);
+		for (final MetricsRegistry registry : REGISTRIES) {
+			registry.increment(counter, amount);
+		}
+	}
+
+	private static void record(Operation operation, Phase phase, long nanos) {
+		final int slot = slot(operation, phase);
+		LatencyHistogram histogram = HISTOGRAMS.get(slot);
+		if (histogram == null) {
+			HISTOGRAMS.compareAndSet(slot, null, new LatencyHistogram());
+			histogram = HISTOGRAMS.get(slot);
+		}
+		histogram.record(nanos);
+		for (final MetricsRegistry registry : REGISTRIES) {
+			registry.recordLatency(operation, phase, nanos);
+		}
+	}
+
+	private static int slot(Operation operation, Phase phase) {
+		return operation.ordinal() * PHASES.length + phase.ordinal();
+	}
+
+	private static long time() {
+		final long t = System.nanoTime();
+		// 0 means "not measured"
+		return t == 0 ? 1 : t;
+	}
+
+	/**
+	 * The measured driver operations.
+	 */
+	public enum Operation {
+		QUERY, SELECT, CREATE, INSERT, UPDATE, UPSERT, DELETE, RUN, SIGNIN;
+
+		private final String name = name().toLowerCase(Locale.ROOT);
+
+		/**
+		 * @return the lower-case name of the operation, as used in the JMX
+		 *         attributes
+		 */
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * The parts of an operation that are measured separately.
+	 */
+	public enum Phase {
+		/**
+		 * The whole call.
+		 */
+		TOTAL,
+		/**
+		 * Converting the Java content and parameters into native values.
+		 */
+		ENCODE,
+		/**
+		 * The native call: the JNI crossing and the engine or network round trip.
+		 */
+		EXECUTE,
+		/**
+		 * Converting the result into Java objects, for the typed methods. It is
+		 * part of their {@link #TOTAL}.
+		 */
+		DECODE
+	}
+
+	/**
+	 * The throughput counters.
+	 */
+	public enum Counter {
+		/**
+		 * Bytes of Java values encoded for the native layer.
+		 */
+		BYTES_ENCODED,
+		/**
+		 * Bytes of native values decoded into Java objects.
+		 */
+		BYTES_DECODED,
+		/**
+		 * Records returned by selects of record ids and ranges.
+		 */
+		RECORDS_READ,
+		/**
+		 * Records returned by creates, inserts, updates and upserts.
+		 */
+		RECORDS_WRITTEN
+	}
+
+	/**
+	 * A snapshot of a latency histogram. Values are in nanoseconds and accurate to
+	 * about 3%.
+	 */
+	public static final class Latency {
+
+		static final Latency EMPTY = new Latency(new long[0], 0, 0, 0);
+
+		private final long[] counts;
+		private final long count;
+		private final long sum;
+		private final long max;
+
+		Latency(long[] counts, long count, long sum, long max) {
+			this.counts = counts;
+			this.count = count;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		/**
+		 * @return the number of recorded values
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the mean of the recorded values, or 0 if there are none
+		 */
+		public double getMean() {
+			return count == 0 ? 0 : (double) sum / count;
+		}
+
+		/**
+		 * @return the largest recorded value, or 0 if there are none
+		 */
+		public long getMax() {
+			return max;
+		}
+
+		/**
+		 * @param percentile
+		 *            the percentile, between 0 and 100
+		 * @return the value below or at which the given percentage of the recorded
+		 *         values fall, or 0 if there are none
+		 */
+		public long getValueAtPercentile(double percentile) {
+			if (percentile < 0 || percentile > 100) {
+				throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+			}
+			final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank) {
+					return Math.min(LatencyHistogram.highestValue(i), max);
+				}
+			}
+			return max;
+		}
+
+		@Override
+		public String toString() {
+			return "Latency[count=" + count + ", mean=" + (long) getMean() + ", p50=" + getValueAtPercentile(50)
+					+ ", p99=" + getValueAtPercentile(99) + ", max=" + max + "]";
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.surrealdb;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link SurrealMetricsMXBean} registered when metrics are enabled.
+ */
+final class SurrealMetricsBean implements SurrealMetricsMXBean {
+
+	@Override
+	public boolean isEnabled() {
+		return SurrealMetrics.isEnabled();
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		if (enabled) {
+			SurrealMetrics.enable();
+		} else {
+			SurrealMetrics.disable();
+		}
+	}
+
+	@Override
+	public int getInFlight() {
+		return SurrealMetrics.getInFlight();
+	}
+
+	@Override
+	public long getBytesEncoded() {
+		return SurrealMetrics.getCount(SurrealMetrics.Counter.BYTES_ENCODED);
+	}
+
+	@Override
+	public long getBytesDecoded() {
+		return SurrealMetrics.getCount(SurrealMetrics.Counter.BYTES_DECODED);
+	}
+
+	@Override
+	public long getRecordsRead() {
+		return SurrealMetrics.getCount(SurrealMetrics.Counter.RECORDS_READ);
+	}
+
+	@Override
+	public long getRecordsWritten() {
+		return SurrealMetrics.getCount(SurrealMetrics.Counter.RECORDS_WRITTEN);
+	}
+
+	@Override
+	public Map<String, Long> getOperationCounts() {
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for (final SurrealMetrics.Operation operation : SurrealMetrics.Operation.values()) {
+			counts.put(operation.getName(), SurrealMetrics.latency(operation).getCount());
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<String, Double> getLatencyMicros() {
+		final Map<String, Double> latencies = new LinkedHashMap<>();
+		for (final SurrealMetrics.Operation operation : SurrealMetrics.Operation.values()) {
+			final SurrealMetrics.Latency latency = SurrealMetrics.latency(operation);
+			if (latency.getCount() == 0) {
+				continue;
+			}
+			final String name = operation.getName();
+			latencies.put(name + ".p50", latency.getValueAtPercentile(50) / 1000.0);
+			latencies.put(name + ".p99", latency.getValueAtPercentile(99) / 1000.0);
+			latencies.put(name + ".p999", latency.getValueAtPercentile(99.9) / 1000.0);
+			latencies.put(name + ".max", latency.getMax() / 1000.0);
+		}
+		return latencies;
+	}
+
+	@Override
+	public void reset() {
+		SurrealMetrics.reset();
+	}
+}
@@ -0,0 +1,64 @@
+package com.surrealdb;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link SurrealMetrics}, registered as
+ * {@code com.surrealdb:type=SurrealMetrics} when metrics are enabled and the
+ * {@code surrealdb.jmx} system property is {@code true}.
+ */
+public interface SurrealMetricsMXBean {
+
+	/**
+	 * @return whether operations are being measured
+	 */
+	boolean isEnabled();
+
+	/**
+	 * @param enabled
+	 *            whether to measure operations
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * @return the number of measured operations currently running
+	 */
+	int getInFlight();
+
+	/**
+	 * @return the number of bytes of Java values encoded for the native layer
+	 */
+	long getBytesEncoded();
+
+	/**
+	 * @return the number of bytes of native values decoded into Java objects
+	 */
+	long getBytesDecoded();
+
+	/**
+	 * @return the number of records returned by selects
+	 */
+	long getRecordsRead();
+
+	/**
+	 * @return the number of records returned by creates, inserts, updates and
+	 *         upserts
+	 */
+	long getRecordsWritten();
+
+	/**
+	 * @return the number of completed calls of each operation
+	 */
+	Map<String, Long> getOperationCounts();
+
+	/**
+	 * @return the median, 99th and 99.9th percentile and maximum latency of each
+	 *         operation in microseconds, keyed as {@code select.p99}
+	 */
+	Map<String, Double> getLatencyMicros();
+
+	/**
+	 * Clears the histograms and counters.
+	 */
+	void reset();
+}
@@ -0,0 +1,305 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.surrealdb.signin.Credential;
+
+/**
+ * A fixed-size pool of sessions sharing one connection. Each session is created
+ * with {@link Surreal#newSession()} and set up once with the configured
+ * credentials, namespace and database, so leasing a session needs no setup
+ * round trips.
+ *
+ * <pre>{@code
+ * try (SurrealPool pool = new SurrealPool(surreal, PoolOptions.defaults().withNamespace("app").withDatabase("app"))) {
+ * 	try (SurrealPool.Lease lease = pool.lease()) {
+ * 		lease.session().select(Person.class, "person");
+ * 	}
+ * }
+ * }</pre>
+ * <p>
+ * At most {@link PoolOptions#getSize()} sessions are leased at once; further
+ * callers wait up to the acquire timeout. A lease held longer than the lease
+ * timeout is reclaimed and its slot given to a new session. A session whose
+ * namespace or database was changed by its lessee, or on which its lessee
+ * called {@code signin}, {@code signup}, {@code authenticate} or
+ * {@code invalidate}, is replaced when returned instead of being reused.
+ * <p>
+ * The pool is thread-safe. Closing it closes the idle sessions; leased
+ * sessions are closed when their lease is. The connection itself is not
+ * closed.
+ */
+public final class SurrealPool implements AutoCloseable {
+
+	private static final int LEASED = 0;
+	private static final int RETURNED = 1;
+	private static final int EXPIRED = 2;
+
+	private final Surreal surreal;
+	private final PoolOptions options;
+	private final Semaphore permits;
+	// Most recently returned first, so that warm sessions are reused
+	private final BlockingDeque<Surreal> idle = new LinkedBlockingDeque<>();
+	private final ScheduledThreadPoolExecutor reaper;
+	private volatile boolean closed;
+
+	/**
+	 * Creates the pool and opens all of its sessions.
+	 *
+	 * @param surreal
+	 *            a connected instance whose connection the sessions share
+	 * @param options
+	 *            the pool options
+	 * @throws SurrealException
+	 *             if a session cannot be set up
+	 */
+	public SurrealPool(Surreal surreal, PoolOptions options) {
+		this.surreal = surreal;
+		this.options = options;
+		this.permits = new Semaphore(options.getSize(), true);
+		try {
+			for (int i = 0; i < options.getSize(); i++) {
+				idle.add(open());
+			}
+		} catch (RuntimeException e) {
+			closeIdle();
+			throw e;
+		}
+		this.reaper = new ScheduledThreadPoolExecutor(1, r -> {
+			final Thread thread = new Thread(r, "surrealdb-pool-reaper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.reaper.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Leases a session, waiting up to the configured acquire timeout.
+	 *
+	 * @return the lease; close it to return the session
+	 * @throws SurrealException
+	 *             if no session becomes available in time, or a replacement
+	 *             session cannot be set up
+	 * @throws IllegalStateException
+	 *             if the pool is closed
+	 */
+	public Lease lease() {
+		return lease(options.getAcquireTimeout());
+	}
+
+	/**
+	 * Leases a session, waiting up to the given timeout.
+	 *
+	 * @param timeout
+	 *            maximum wait for a free session
+	 * @return the lease; close it to return the session
+	 * @throws SurrealException
+	 *             if no session becomes available in time, or a replacement
+	 *             session cannot be set up
+	 * @throws IllegalStateException
+	 *             if the pool is closed
+	 */
+	public Lease lease(Duration timeout) {
+		ensureOpen();
+		try {
+			if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new SurrealException("No pooled session became available within " + timeout);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SurrealException("Interrupted while waiting for a pooled session", e);
+		}
+		try {
+			ensureOpen();
+			final Lease lease = new Lease(take());
+			lease.expiry = reaper.schedule(lease::expire, options.getLeaseTimeout().toNanos(), TimeUnit.NANOSECONDS);
+			return lease;
+		} catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the maximum number of concurrent leases
+	 */
+	public int getSize() {
+		return options.getSize();
+	}
+
+	/**
+	 * @return the number of sessions currently leased
+	 */
+	public int getLeased() {
+		return options.getSize() - permits.availablePermits();
+	}
+
+	/**
+	 * @return the number of open sessions waiting to be leased
+	 */
+	public int getIdle() {
+		return idle.size();
+	}
+
+	/**
+	 * Closes the idle sessions and stops handing out leases. Sessions still
+	 * leased are closed when their lease is closed.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		reaper.shutdownNow();
+		closeIdle();
+	}
+
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException("SurrealPool is closed");
+		}
+	}
+
+	private Surreal take() {
+		Surreal session;
+		while ((session = idle.pollFirst()) != null) {
+			if (!options.isValidateOnLease() || isHealthy(session)) {
+				return session;
+			}
+			session.close();
+		}
+		// The slot's session was discarded; set up a new one
+		return open();
+	}
+
+	private static boolean isHealthy(Surreal session) {
+		try {
+			return session.health();
+		} catch (SurrealException e) {
+			return false;
+		}
+	}
+
+	private Surreal open() {
+		// Sessions outlive the caller's native scope, if any
+		return NativeScope.untracked(this::newSession);
+	}
+
+	private Surreal newSession() {
+		final Surreal session = surreal.newSession();
+		try {
+			final Credential credential = options.getCredential();
+			if (credential != null) {
+				session.signin(credential);
+			}
+			if (options.getNamespace() != null) {
+				session.useNs(options.getNamespace());
+			}
+			if (options.getDatabase() != null) {
+				session.useDb(options.getDatabase());
+			}
+			return session;
+		} catch (RuntimeException e) {
+			session.close();
+			throw e;
+		}
+	}
+
+	private void giveBack(Surreal session, int authChanges) {
+		if (closed || !isUnchanged(session, authChanges)) {
+			session.close();
+			return;
+		}
+		idle.offerFirst(session);
+		// close() may have drained the idle sessions in the meantime
+		if (closed) {
+			closeIdle();
+		}
+	}
+
+	private boolean isUnchanged(Surreal session, int authChanges) {
+		// The lessee may have signed in as another user, or signed out
+		return session.getAuthChanges() == authChanges
+				&& (options.getNamespace() == null || options.getNamespace().equals(session.getNamespace()))
+				&& (options.getDatabase() == null || options.getDatabase().equals(session.getDatabase()));
+	}
+
+	private void closeIdle() {
+		Surreal session;
+		while ((session = idle.pollFirst()) != null) {
+			session.close();
+		}
+	}
+
+	/**
+	 * A session leased from a {@link SurrealPool}. Closing the lease returns the
+	 * session to the pool.
+	 */
+	public final class Lease implements AutoCloseable {
+
+		private final Surreal session;
+		// The session's authentication count when it was leased
+		private final int authChanges;
+		private final AtomicInteger state = new AtomicInteger(LEASED);
+		private volatile ScheduledFuture<?> expiry;
+
+		private Lease(Surreal session) {
+			this.session = session;
+			this.authChanges = session.getAuthChanges();
+		}
+
+		/**
+		 * @return the leased session; do not close it
+		 * @throws IllegalStateException
+		 *             if the lease has been closed or has expired
+		 */
+		public Surreal session() {
+			if (state.get() != LEASED) {
+				throw new IllegalStateException("The lease is no longer valid");
+			}
+			return session;
+		}
+
+		/**
+		 * @return whether the lease was reclaimed because it was held longer than
+		 *         the lease timeout
+		 */
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+
+		private void expire() {
+			if (state.compareAndSet(LEASED, EXPIRED)) {
+				// The lessee may still be using the session, so it is only closed
+				// with the lease
+				permits.release();
+			}
+		}
+
+		/**
+		 * Returns the session to the pool. An expired lease closes its session
+		 * instead. Calling this more than once has no effect.
+		 */
+		@Override
+		public void close() {
+			if (state.compareAndSet(LEASED, RETURNED)) {
+				final ScheduledFuture<?> f = expiry;
+				if (f != null) {
+					f.cancel(false);
+				}
+				try {
+					giveBack(session, authChanges);
+				} finally {
+					permits.release();
+				}
+			} else if (state.compareAndSet(EXPIRED, RETURNED)) {
+				session.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.surrealdb;
+
+/**
+ * Settings for the native async runtime shared by every {@link Surreal}
+ * instance in the process. The runtime is started on first use, so the
+ * settings must be installed before the first connection is made:
+ *
+ * <pre>{@code
+ * SurrealRuntimeConfig.builder().workerThreads(4).threadNamePrefix("db").build().install();
+ * }</pre>
+ * <p>
+ * Each setting can also be given as a system property, which is read when the
+ * driver is loaded and used unless a configuration has been installed first:
+ * <ul>
+ * <li>{@code surrealdb.runtime.workerThreads}: number of worker threads
+ * (default: one per CPU core)</li>
+ * <li>{@code surrealdb.runtime.threadNamePrefix}: prefix of the runtime's
+ * thread names (default: {@code surrealdb-runtime})</li>
+ * <li>{@code surrealdb.runtime.stackSize}: stack size of the runtime's threads,
+ * in bytes</li>
+ * <li>{@code surrealdb.runtime.maxBlockingThreads}: maximum number of threads
+ * for blocking operations</li>
+ * <li>{@code surrealdb.runtime.currentThread}: {@code true} to run every task on
+ * a single thread</li>
+ * </ul>
+ * A builder starts from the system property values. Zero means the runtime
+ * default.
+ */
+public final class SurrealRuntimeConfig {
+
+	static final String WORKER_THREADS_PROP = "surrealdb.runtime.workerThreads";
+	static final String THREAD_NAME_PREFIX_PROP = "surrealdb.runtime.threadNamePrefix";
+	static final String STACK_SIZE_PROP = "surrealdb.runtime.stackSize";
+	static final String MAX_BLOCKING_THREADS_PROP = "surrealdb.runtime.maxBlockingThreads";
+	static final String CURRENT_THREAD_PROP = "surrealdb.runtime.currentThread";
+
+	static {
+		Loader.loadNative();
+	}
+
+	// Whether install() succeeded; guarded by the class monitor
+	private static boolean installed;
+
+	private final int workerThreads;
+	private final String threadNamePrefix;
+	private final long stackSize;
+	private final int maxBlockingThreads;
+	private final boolean currentThread;
+
+	private SurrealRuntimeConfig(Builder builder) {
+		this.workerThreads = builder.workerThreads;
+		this.threadNamePrefix = builder.threadNamePrefix;
+		this.stackSize = builder.stackSize;
+		this.maxBlockingThreads = builder.maxBlockingThreads;
+		this.currentThread = builder.currentThread;
+	}
+
+	private static native boolean install(int workerThreads, String threadNamePrefix, long stackSize,
+			int maxBlockingThreads, boolean currentThread);
+
+	private static native boolean isStarted();
+
+	/**
+	 * @return a builder initialized from the system properties
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Installs the system property settings when the driver is loaded, unless a
+	 * configuration was installed already.
+	 */
+	static void installDefaults() {
+		if (System.getProperty(WORKER_THREADS_PROP) == null && System.getProperty(THREAD_NAME_PREFIX_PROP) == null
+				&& System.getProperty(STACK_SIZE_PROP) == null && System.getProperty(MAX_BLOCKING_THREADS_PROP) == null
+				&& System.getProperty(CURRENT_THREAD_PROP) == null) {
+			return;
+		}
+		synchronized (SurrealRuntimeConfig.class) {
+			if (!installed) {
+				builder().build().apply();
+			}
+		}
+	}
+
+	/**
+	 * @return whether the runtime has started, after which configuration can no
+	 *         longer change
+	 */
+	public static boolean isRuntimeStarted() {
+		return isStarted();
+	}
+
+	/**
+	 * Makes this the configuration the runtime starts with.
+	 *
+	 * @throws IllegalStateException
+	 *             if the runtime has already started
+	 */
+	public void install() {
+		synchronized (SurrealRuntimeConfig.class) {
+			if (!apply()) {
+				throw new IllegalStateException(
+						"The SurrealDB runtime has already started; install the configuration before the first connection");
+			}
+			installed = true;
+		}
+	}
+
+	private boolean apply() {
+		return install(workerThreads, threadNamePrefix == null ? "" : threadNamePrefix, stackSize, maxBlockingThreads,
+				currentThread);
+	}
+
+	/**
+	 * @return the number of worker threads, or 0 for one per CPU core
+	 */
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	/**
+	 * @return the prefix of the runtime's thread names, or {@code null} for the
+	 *         default
+	 */
+	public String getThreadNamePrefix() {
+		return threadNamePrefix;
+	}
+
+	/**
+	 * @return the stack size of the runtime's threads in bytes, or 0 for the
+	 *         default
+	 */
+	public long getStackSize() {
+		return stackSize;
+	}
+
+	/**
+	 * @return the maximum number of blocking threads, or 0 for the default
+	 */
+	public int getMaxBlockingThreads() {
+		return maxBlockingThreads;
+	}
+
+	/**
+	 * @return whether every task runs on a single thread
+	 */
+	public boolean isCurrentThread() {
+		return currentThread;
+	}
+
+	@Override
+	public String toString() {
+		return "SurrealRuntimeConfig[workerThreads=" + workerThreads + ", threadNamePrefix=" + threadNamePrefix
+				+ ", stackSize=" + stackSize + ", maxBlockingThreads=" + maxBlockingThreads + ", currentThread="
+				+ currentThread + "]";
+	}
+
+	/**
+	 * Builds a {@link SurrealRuntimeConfig}.
+	 */
+	public static final class Builder {
+
+		private int workerThreads = Math.max(0, Integer.getInteger(WORKER_THREADS_PROP, 0));
+		private String threadNamePrefix = System.getProperty(THREAD_NAME_PREFIX_PROP);
+		private long stackSize = Math.max(0, Long.getLong(STACK_SIZE_PROP, 0));
+		private int maxBlockingThreads = Math.max(0, Integer.getInteger(MAX_BLOCKING_THREADS_PROP, 0));
+		private boolean currentThread = Boolean.getBoolean(CURRENT_THREAD_PROP);
+
+		private Builder() {
+		}
+
+		/**
+		 * @param workerThreads
+		 *            number of worker threads, or 0 for one per CPU core; ignored
+		 *            in current-thread mode
+		 * @return this builder
+		 */
+		public Builder workerThreads(int workerThreads) {
+			if (workerThreads < 0) {
+				throw new IllegalArgumentException("workerThreads must not be negative: " + workerThreads);
+			}
+			this.workerThreads = workerThreads;
+			return this;
+		}
+
+		/**
+		 * @param threadNamePrefix
+		 *            prefix of the runtime's thread names, which are numbered
+		 * @return this builder
+		 */
+		public Builder threadNamePrefix(String threadNamePrefix) {
+			this.threadNamePrefix = threadNamePrefix;
+			return this;
+		}
+
+		/**
+		 * @param stackSize
+		 *            stack size of the runtime's threads in bytes, or 0 for the
+		 *            default
+		 * @return this builder
+		 */
+		public Builder stackSize(long stackSize) {
+			if (stackSize < 0) {
+				throw new IllegalArgumentException("stackSize must not be negative: " + stackSize);
+			}
+			this.stackSize = stackSize;
+			return this;
+		}
+
+		/**
+		 * @param maxBlockingThreads
+		 *            maximum number of threads for blocking operations, or 0 for
+		 *            the default
+		 * @return this builder
+		 */
+		public Builder maxBlockingThreads(int maxBlockingThreads) {
+			if (maxBlockingThreads < 0) {
+				throw new IllegalArgumentException("maxBlockingThreads must not be negative: " + maxBlockingThreads);
+			}
+			this.maxBlockingThreads = maxBlockingThreads;
+			return this;
+		}
+
+		/**
+		 * @param currentThread
+		 *            {@code true} to run every task on one dedicated thread
+		 *            instead of a pool of workers
+		 * @return this builder
+		 */
+		public Builder currentThread(boolean currentThread) {
+			this.currentThread = currentThread;
+			return this;
+		}
+
+		/**
+		 * @return the configuration
+		 */
+		public SurrealRuntimeConfig build() {
+			return new SurrealRuntimeConfig(this);
+		}
+	}
+}
@@ -6,15 +6,14 @@ import java.util.Objects;
 class SynchronizedEntryIterator extends Native implements Iterator<Entry> {
 
 	SynchronizedEntryIterator(long ptr) {
-		super(ptr);
+		super(ptr, SynchronizedEntryIterator::deleteInstance);
 	}
 
 	private static native boolean hasNext(long ptr);
 
 	private static native long next(long ptr);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	@Override
 	final public boolean hasNext() {
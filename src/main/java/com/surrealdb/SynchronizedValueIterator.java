@@ -1,20 +1,34 @@
 package com.surrealdb;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
+/**
+ * A thread-safe {@link ValueIterator}: the chunk buffer is guarded by its own
+ * monitor.
+ */
 class SynchronizedValueIterator extends Native implements Iterator<Value> {
 
+	private final ValueIterator.Chunk chunk;
+
 	SynchronizedValueIterator(long ptr) {
-		super(ptr);
+		this(ptr, new ValueIterator.Chunk());
 	}
 
-	private static native boolean hasNext(long ptr);
+	private SynchronizedValueIterator(long ptr, ValueIterator.Chunk chunk) {
+		super(ptr, p -> {
+			synchronized (chunk) {
+				release(p, chunk.handles, chunk.pos, chunk.count);
+				chunk.pos = chunk.count;
+			}
+		});
+		this.chunk = chunk;
+	}
 
-	private static native long next(long ptr);
+	private static native int nextChunk(long ptr, long[] out);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void release(long ptr, long[] handles, int from, int to);
 
 	@Override
 	final String toString(long ptr) {
@@ -33,11 +47,22 @@ class SynchronizedValueIterator extends Native implements Iterator<Value> {
 
 	@Override
 	final public boolean hasNext() {
-		return hasNext(getPtr());
+		synchronized (chunk) {
+			if (chunk.pos == chunk.count) {
+				chunk.pos = 0;
+				chunk.count = nextChunk(getPtr(), chunk.handles);
+			}
+			return chunk.pos < chunk.count;
+		}
 	}
 
 	@Override
 	final public Value next() {
-		return new Value(next(getPtr()));
+		synchronized (chunk) {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return new Value(chunk.handles[chunk.pos++]);
+		}
 	}
 }
@@ -11,7 +11,7 @@ import java.util.Objects;
 public class Transaction extends Native {
 
 	Transaction(long ptr) {
-		super(ptr);
+		super(ptr, Transaction::nativeDeleteInstance);
 	}
 
 	private static native void nativeDeleteInstance(long ptr);
@@ -58,7 +58,18 @@ public class Transaction extends Native {
 	 * @return the query response
 	 */
 	public Response query(String sql) {
-		return new Response(query(getPtr(), sql));
+		final Jfr.Event event = Jfr.QUERY.begin();
+		final long slow = SlowQueryLog.start();
+		Response response = null;
+		try {
+			response = new Response(query(getPtr(), sql));
+			return response;
+		} finally {
+			Jfr.commitQuery(event, sql, null);
+			if (slow != 0) {
+				SlowQueryLog.record(slow, "transaction", sql, null, SlowQueryLog.size(response));
+			}
+		}
 	}
 
 	/**
@@ -71,18 +82,24 @@ public class Transaction extends Native {
 	 * @return the query response
 	 */
 	public Response query(String sql, Map<String, ?> params) {
-		final Map<String, ValueMut> valueMuts = ValueBuilder.convertParams(params);
-		final String[] keys = valueMuts.keySet().toArray(new String[0]);
-		final long[] values = new long[keys.length];
-		for (int i = 0; i < keys.length; i++) {
-			values[i] = valueMuts.get(keys[i]).getPtr();
+		final Jfr.Event event = Jfr.QUERY.begin();
+		final long slow = SlowQueryLog.start();
+		Response response = null;
+		try {
+			final Map<String, ValueMut> valueMuts = ValueBuilder.convertParams(params);
+			final String[] keys = valueMuts.keySet().toArray(new String[0]);
+			final long[] values = new long[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				values[i] = valueMuts.get(keys[i]).getPtr();
+			}
+			response = new Response(queryWithBindings(getPtr(), sql, keys, values));
+			return response;
+		} finally {
+			Jfr.commitQuery(event, sql, params);
+			if (slow != 0) {
+				SlowQueryLog.record(slow, "transaction", sql, params, SlowQueryLog.size(response));
+			}
 		}
-		return new Response(queryWithBindings(getPtr(), sql, keys, values));
-	}
-
-	@Override
-	final void deleteInstance(long ptr) {
-		nativeDeleteInstance(ptr);
 	}
 
 	@Override
@@ -16,7 +16,7 @@ import java.util.UUID;
 public class Value extends Native {
 
 	Value(long ptr) {
-		super(ptr);
+		super(ptr, Value::deleteInstance, NativeScope.VALUE);
 	}
 
 	private static native boolean isNone(long ptr);
@@ -89,6 +89,8 @@ public class Value extends Native {
 
 	private static native String getTable(long ptr);
 
+	private static native byte[] encode(long ptr);
+
 	@Override
 	final native String toString(long ptr);
 
@@ -98,8 +100,7 @@ public class Value extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 
 	public boolean isArray() {
 		return isArray(getPtr());
@@ -255,6 +256,17 @@ public class Value extends Native {
 		return Duration.ofMillis(durationMillis);
 	}
 
+	/**
+	 * Reads the whole value into plain Java objects with a single native call.
+	 *
+	 * @see ValueDecoder
+	 */
+	java.lang.Object decode() {
+		final byte[] buf = encode(getPtr());
+		SurrealMetrics.count(SurrealMetrics.Counter.BYTES_DECODED, buf.length);
+		return ValueDecoder.decode(buf);
+	}
+
 	public <T> T get(Class<T> type) {
 		return new ValueClassConverter<>(type).convert(this);
 	}
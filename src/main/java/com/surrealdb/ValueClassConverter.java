@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 class ValueClassConverter<T> {
 
@@ -68,67 +69,44 @@ class ValueClassConverter<T> {
 		}
 	}
 
-	private static java.lang.Object convertSingleValue(final Value value) {
-		if (value.isNull())
-			return null;
-		if (value.isBoolean())
-			return value.getBoolean();
-		if (value.isDouble())
-			return value.getDouble();
-		if (value.isLong())
-			return value.getLong();
-		if (value.isString())
-			return value.getString();
-		if (value.isRecordId())
-			return value.getRecordId();
-		if (value.isGeometry())
-			return value.getGeometry();
-		if (value.isBigDecimal())
-			return value.getBigDecimal();
-		if (value.isBytes())
-			return value.getBytes();
-		if (value.isUuid())
-			return value.getUuid();
-		if (value.isDuration())
-			return value.getDuration();
-		if (value.isDateTime())
-			return value.getDateTime();
-		throw new SurrealException("Unsupported value: " + value);
+	// Scalar nodes decoded by ValueDecoder are already the Java objects the
+	// setters expect; arrays and objects are only valid as typed containers.
+	private static java.lang.Object convertSingleValue(final java.lang.Object node) {
+		if (node instanceof Value || node instanceof List || node instanceof Map) {
+			throw new SurrealException("Unsupported value: " + node);
+		}
+		return node;
 	}
 
 	// Type-aware single-value conversion: returns the boxed Java object that
 	// Field.set / Constructor.newInstance will auto-unbox into the target slot.
-	private static java.lang.Object convertSingleValueTyped(final Value value, final Class<?> type) {
-		if (value.isNull()) {
-			return null;
-		}
-		if (value.isDouble()) {
-			final double d = value.getDouble();
+	private static java.lang.Object convertSingleValueTyped(final java.lang.Object node, final Class<?> type) {
+		if (node instanceof Double) {
 			if (type == Float.TYPE || type == Float.class) {
-				return (float) d;
+				return ((Double) node).floatValue();
 			}
-			return d;
+			return node;
 		}
-		if (value.isLong()) {
-			final long l = value.getLong();
+		if (node instanceof Long) {
+			final long l = (Long) node;
 			if (type == Integer.TYPE || type == Integer.class) {
 				return (int) l;
 			}
 			if (type == Short.TYPE || type == Short.class) {
 				return (short) l;
 			}
-			return l;
+			return node;
 		}
-		if (value.isRecordId()) {
+		if (node instanceof RecordId) {
 			if (type == Id.class) {
-				return value.getRecordId().getId();
+				return ((RecordId) node).getId();
 			}
-			return value.getRecordId();
+			return node;
 		}
-		if (value.isDateTime()) {
-			// Value.getDateTime() returns the datetime at UTC, so LocalDateTime
-			// keeps the same interpretation as the write side (ValueMut).
-			final ZonedDateTime dateTime = value.getDateTime();
+		if (node instanceof ZonedDateTime) {
+			// Datetimes are decoded at UTC, like Value.getDateTime(), so
+			// LocalDateTime keeps the same interpretation as the write side.
+			final ZonedDateTime dateTime = (ZonedDateTime) node;
 			if (type == Instant.class) {
 				return dateTime.toInstant();
 			}
@@ -155,23 +133,25 @@ class ValueClassConverter<T> {
 			}
 			return dateTime;
 		}
-		return convertSingleValue(value);
+		return convertSingleValue(node);
 	}
 
-	// Convert a Value into the Java object suitable for the given declared type.
-	// Used by both the POJO field-setting path and the record canonical-constructor
-	// path.
-	private static java.lang.Object convertValueToType(final Value value, final Class<?> type, final Type genericType)
-			throws ReflectiveOperationException {
+	// Convert a decoded node into the Java object suitable for the given declared
+	// type. Used by both the POJO field-setting path and the record
+	// canonical-constructor path. The source supplies the native Value of the
+	// node, which is only fetched for fields declared as Value.
+	private static java.lang.Object convertValueToType(final java.lang.Object node, final Supplier<Value> source,
+			final Class<?> type, final Type genericType) throws ReflectiveOperationException {
 		if (Value.class.equals(type)) {
-			return value;
+			return source.get();
 		}
-		if (value.isArray()) {
+		if (node instanceof List) {
+			final List<?> elements = (List<?>) node;
 			final Class<?> elementType = firstTypeArgumentRaw(genericType);
 			final Type elementGenericType = firstTypeArgument(genericType);
-			final List<java.lang.Object> list = new ArrayList<>();
-			for (final Value element : value.getArray()) {
-				list.add(convertArrayElement(element, elementType, elementGenericType));
+			final List<java.lang.Object> list = new ArrayList<>(elements.size());
+			for (int i = 0; i < elements.size(); i++) {
+				list.add(convertArrayElement(elements.get(i), element(source, i), elementType, elementGenericType));
 			}
 			if (type == byte[].class) {
 				final byte[] bytes = new byte[list.size()];
@@ -191,19 +171,21 @@ class ValueClassConverter<T> {
 			}
 			return list;
 		}
-		if (value.isObject()) {
+		if (node instanceof Map) {
+			@SuppressWarnings("unchecked")
+			final Map<String, java.lang.Object> object = (Map<String, java.lang.Object>) node;
 			if (Map.class.isAssignableFrom(type)) {
 				final Class<?> valueType = secondTypeArgumentRaw(genericType);
 				if (valueType == null) {
 					throw new SurrealException("Unsupported map type for: " + genericType);
 				}
 				final Map<String, java.lang.Object> map = new HashMap<>();
-				for (final Entry mapEntry : value.getObject()) {
+				for (final Map.Entry<String, java.lang.Object> mapEntry : object.entrySet()) {
 					final String entryKey = mapEntry.getKey();
-					final Value entryValue = mapEntry.getValue();
+					final java.lang.Object entryValue = mapEntry.getValue();
 					// todo - array support inside maps
-					if (entryValue.isObject()) {
-						map.put(entryKey, convert(valueType, entryValue.getObject()));
+					if (entryValue instanceof Map) {
+						map.put(entryKey, convert(valueType, asObject(entryValue), member(source, entryKey)));
 					} else {
 						map.put(entryKey, convertSingleValue(entryValue));
 					}
@@ -215,38 +197,54 @@ class ValueClassConverter<T> {
 				if (innerType == null) {
 					throw new SurrealException("Unsupported Optional type for: " + genericType);
 				}
-				return Optional.of(convert(innerType, value.getObject()));
+				return Optional.of(convert(innerType, object, source));
 			}
-			return convert(type, value.getObject());
+			return convert(type, object, source);
 		}
 		// scalar value
 		if (Optional.class.equals(type)) {
 			final Class<?> innerType = firstTypeArgumentRaw(genericType);
 			final java.lang.Object converted = innerType == null
-					? convertSingleValue(value)
-					: convertSingleValueTyped(value, innerType);
+					? convertSingleValue(node)
+					: convertSingleValueTyped(node, innerType);
 			return converted == null ? Optional.empty() : Optional.of(converted);
 		}
-		return convertSingleValueTyped(value, type);
+		return convertSingleValueTyped(node, type);
 	}
 
-	private static java.lang.Object convertArrayElement(final Value value, final Class<?> elementType,
-			final Type elementGenericType) throws ReflectiveOperationException {
-		if (value.isObject()) {
+	private static java.lang.Object convertArrayElement(final java.lang.Object node, final Supplier<Value> source,
+			final Class<?> elementType, final Type elementGenericType) throws ReflectiveOperationException {
+		if (node instanceof Map) {
 			if (elementType == null) {
 				throw new SurrealException("Unsupported element type for array");
 			}
-			return convert(elementType, value.getObject());
+			return convert(elementType, asObject(node), source);
 		}
-		if (value.isArray()) {
-			final List<java.lang.Object> nested = new ArrayList<>();
-			for (final Value v : value.getArray()) {
-				nested.add(convertArrayElement(v, elementType, elementGenericType));
+		if (node instanceof List) {
+			final List<?> elements = (List<?>) node;
+			final List<java.lang.Object> nested = new ArrayList<>(elements.size());
+			for (int i = 0; i < elements.size(); i++) {
+				nested.add(convertArrayElement(elements.get(i), element(source, i), elementType, elementGenericType));
 			}
 			return nested;
 		}
 		// Preserve the historical behaviour: scalar array elements are type-agnostic.
-		return convertSingleValue(value);
+		return convertSingleValue(node);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, java.lang.Object> asObject(final java.lang.Object node) {
+		return (Map<String, java.lang.Object>) node;
+	}
+
+	// Lazily resolve the native Value of a nested node, for fields declared as
+	// Value. Nothing crosses JNI unless such a field is reached.
+	private static Supplier<Value> member(final Supplier<Value> parent, final String key) {
+		return () -> parent.get().getObject().get(key);
+	}
+
+	private static Supplier<Value> element(final Supplier<Value> parent, final int index) {
+		return () -> parent.get().getArray().get(index);
 	}
 
 	private static Type firstTypeArgument(final Type genericType) {
@@ -286,22 +284,27 @@ class ValueClassConverter<T> {
 		return null;
 	}
 
-	private static <T> T convert(Class<T> clazz, Object source) throws ReflectiveOperationException {
+	private static <T> T convert(Class<T> clazz, Map<String, java.lang.Object> source, Supplier<Value> value)
+			throws ReflectiveOperationException {
+		final SurrealMapper<T> mapper = SurrealMappers.find(clazz);
+		if (mapper != null) {
+			return mapper.read(new NodeReader(source, value));
+		}
 		if (isRecord(clazz)) {
-			return convertRecord(clazz, source);
+			return convertRecord(clazz, source, value);
 		}
 		final T target = clazz.getConstructor().newInstance();
 		initOptionalFields(clazz, target);
 		final Map<String, Field> fields = SurrealFieldNames.inheritedFieldsBySurrealName(clazz);
-		for (final Entry entry : source) {
+		for (final Map.Entry<String, java.lang.Object> entry : source.entrySet()) {
 			final String key = entry.getKey();
-			final Value value = entry.getValue();
 			final Field field = fields.get(key);
 			if (field == null) {
 				// Safe to ignore: source has a key with no matching field.
 				continue;
 			}
-			final java.lang.Object converted = convertValueToType(value, field.getType(), field.getGenericType());
+			final java.lang.Object converted = convertValueToType(entry.getValue(), member(value, key),
+					field.getType(), field.getGenericType());
 			if (converted == null && field.getType().isPrimitive()) {
 				// Leave primitive fields at their default value; setting null would throw.
 				continue;
@@ -354,7 +357,8 @@ class ValueClassConverter<T> {
 		}
 	}
 
-	private static <T> T convertRecord(final Class<T> clazz, final Object source) throws ReflectiveOperationException {
+	private static <T> T convertRecord(final Class<T> clazz, final Map<String, java.lang.Object> source,
+			final Supplier<Value> value) throws ReflectiveOperationException {
 		if (GET_RECORD_COMPONENTS == null) {
 			// Should be unreachable: isRecord() returned true, so the JVM exposes
 			// RecordComponent.
@@ -363,21 +367,16 @@ class ValueClassConverter<T> {
 		final RecordMeta meta = RECORD_META.get(clazz);
 		final int count = meta.names.length;
 
-		// Build a lookup of incoming entries keyed by name.
-		final Map<String, Value> entries = new HashMap<>();
-		for (final Entry entry : source) {
-			entries.put(entry.getKey(), entry.getValue());
-		}
-
 		final java.lang.Object[] args = new java.lang.Object[count];
 		for (int i = 0; i < count; i++) {
-			final Value value = entries.get(meta.names[i]);
+			final String name = meta.names[i];
 			final Class<?> type = meta.types[i];
-			if (value == null) {
+			if (!source.containsKey(name)) {
 				args[i] = defaultForRecordComponent(type);
 				continue;
 			}
-			final java.lang.Object converted = convertValueToType(value, type, meta.genericTypes[i]);
+			final java.lang.Object converted = convertValueToType(source.get(name), member(value, name), type,
+					meta.genericTypes[i]);
 			if (converted == null) {
 				args[i] = defaultForRecordComponent(type);
 			} else {
@@ -430,6 +429,97 @@ class ValueClassConverter<T> {
 		return null;
 	}
 
+	/**
+	 * Feeds the entries of a decoded object to a generated {@link SurrealMapper}
+	 * with the conversions of the reflective path.
+	 */
+	private static final class NodeReader implements SurrealMapper.Reader {
+
+		private final Map<String, java.lang.Object> source;
+		private final Supplier<Value> value;
+
+		NodeReader(final Map<String, java.lang.Object> source, final Supplier<Value> value) {
+			this.source = source;
+			this.value = value;
+		}
+
+		@Override
+		public boolean has(final String key) {
+			return source.containsKey(key);
+		}
+
+		@Override
+		public java.lang.Object get(final String key, final Class<?> type, final Class<?>... typeArguments) {
+			if (!source.containsKey(key)) {
+				return null;
+			}
+			try {
+				final java.lang.Object converted = convertValueToType(source.get(key), member(value, key), type,
+						genericType(type, typeArguments));
+				return coerce(converted, type);
+			} catch (ReflectiveOperationException e) {
+				throw new SurrealException("Failed to convert field " + key, e);
+			}
+		}
+
+		@Override
+		public java.lang.Object getOrDefault(final String key, final Class<?> type, final Class<?>... typeArguments) {
+			final java.lang.Object converted = get(key, type, typeArguments);
+			return converted == null ? defaultForRecordComponent(type) : converted;
+		}
+
+		private static Type genericType(final Class<?> type, final Class<?>[] typeArguments) {
+			if (typeArguments.length == 0) {
+				return type;
+			}
+			final Type[] arguments = typeArguments.clone();
+			return new ParameterizedType() {
+				@Override
+				public Type[] getActualTypeArguments() {
+					return arguments.clone();
+				}
+
+				@Override
+				public Type getRawType() {
+					return type;
+				}
+
+				@Override
+				public Type getOwnerType() {
+					return null;
+				}
+			};
+		}
+
+		// Field.set widens boxed numbers into primitive fields; generated code
+		// casts instead, so convert numbers to the declared type up front.
+		private static java.lang.Object coerce(final java.lang.Object value, final Class<?> type) {
+			if (!(value instanceof Number)) {
+				return value;
+			}
+			final Number number = (Number) value;
+			if (type == Double.TYPE || type == Double.class) {
+				return number.doubleValue();
+			}
+			if (type == Float.TYPE || type == Float.class) {
+				return number.floatValue();
+			}
+			if (type == Long.TYPE || type == Long.class) {
+				return number.longValue();
+			}
+			if (type == Integer.TYPE || type == Integer.class) {
+				return number.intValue();
+			}
+			if (type == Short.TYPE || type == Short.class) {
+				return number.shortValue();
+			}
+			if (type == Byte.TYPE || type == Byte.class) {
+				return number.byteValue();
+			}
+			return value;
+		}
+	}
+
 	private static <T> void initOptionalFields(Class<?> clazz, T target) throws IllegalAccessException {
 		Class<?> c = clazz;
 		while (c != null && c != java.lang.Object.class) {
@@ -450,16 +540,24 @@ class ValueClassConverter<T> {
 	}
 
 	final T convert(final Value value) {
+		final Jfr.Event event = Jfr.DECODE.begin();
 		try {
-			if (value.isNone() || value.isNull())
+			// One native call serializes the whole value; the conversion below
+			// works on plain Java objects.
+			final java.lang.Object node = value.decode();
+			if (node == null)
 				return null;
 
-			if (!value.isObject())
+			if (!(node instanceof Map))
 				throw new SurrealException("Unexpected value: " + value);
 
-			return convert(clazz, value.getObject());
+			return convert(clazz, asObject(node), () -> value);
 		} catch (ReflectiveOperationException e) {
 			throw new SurrealException("Failed to create instance of " + clazz.getName(), e);
+		} finally {
+			if (event != null && event.end()) {
+				event.commit(clazz.getName());
+			}
 		}
 	}
 }
@@ -0,0 +1,275 @@
+package com.surrealdb;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decodes a value serialized by the native layer (see {@code codec.rs} and
+ * {@link ValueEncoder} for the format) into plain Java objects:
+ * <ul>
+ * <li>null and none: {@code null}</li>
+ * <li>bool, int, float, decimal, string, uuid: {@link Boolean}, {@link Long},
+ * {@link Double}, {@link BigDecimal}, {@link String}, {@link UUID}</li>
+ * <li>datetime: {@link ZonedDateTime} at UTC, as {@link Value#getDateTime()}</li>
+ * <li>duration: {@link Duration}</li>
+ * <li>bytes: {@code byte[]}</li>
+ * <li>array: {@link List}; object: {@link Map} with {@link String} keys</li>
+ * <li>record id and geometry: {@link RecordId} and {@link Geometry}</li>
+ * <li>anything else (ranges, tables, files...): a {@link Value}</li>
+ * </ul>
+ * Native handles are created by the encoder and owned by the objects wrapping
+ * them here, so a buffer must be decoded exactly once. If decoding fails, the
+ * handles that were not wrapped yet are released.
+ */
+final class ValueDecoder {
+
+	// The zone Value.getDateTime() uses; ZonedDateTime.equals compares zone ids
+	private static final ZoneId UTC = ZoneId.of("UTC");
+
+	private final byte[] buf;
+	private int pos;
+	// Handles wrapped so far, in buffer order
+	private int handles;
+
+	private ValueDecoder(byte[] buf) {
+		this.buf = buf;
+	}
+
+	static java.lang.Object decode(byte[] buf) {
+		final ValueDecoder decoder = new ValueDecoder(buf);
+		try {
+			final java.lang.Object value = decoder.read();
+			if (decoder.pos != buf.length) {
+				throw decoder.error("trailing bytes");
+			}
+			return value;
+		} catch (RuntimeException e) {
+			// The wrapped handles are released with their objects
+			new ValueDecoder(buf).releaseHandles(decoder.handles);
+			throw e;
+		}
+	}
+
+	/**
+	 * Walks the whole buffer without decoding it, releasing every handle after
+	 * the first {@code wrapped} ones. On a malformed buffer, the handles after
+	 * the malformed item cannot be located and are not released.
+	 */
+	private void releaseHandles(int wrapped) {
+		try {
+			while (pos < buf.length) {
+				skip(wrapped);
+			}
+		} catch (RuntimeException e) {
+			// Malformed buffer
+		}
+	}
+
+	private void skip(int wrapped) {
+		final int initial = buf[pos++] & 0xFF;
+		final int major = initial >>> 5;
+		final int info = initial & 0x1F;
+		switch (major) {
+			case 2 :
+			case 3 :
+				pos += length(info);
+				break;
+			case 4 :
+			case 5 : {
+				final int len = length(info);
+				for (int i = 0; i < (major == 4 ? len : 2 * len); i++) {
+					skip(wrapped);
+				}
+				break;
+			}
+			case 6 : {
+				final long tag = argument(info);
+				if (tag == ValueEncoder.TAG_RECORD_ID || tag == ValueEncoder.TAG_GEOMETRY
+						|| tag == ValueEncoder.TAG_VALUE) {
+					final long handle = readHandle();
+					if (handles++ >= wrapped) {
+						// Wrapping and closing frees the handle with its own release function
+						wrap(tag, handle).close();
+					}
+				} else {
+					skip(wrapped);
+				}
+				break;
+			}
+			default :
+				// Integers and simple values carry at most their argument
+				argument(info);
+		}
+	}
+
+	private static Native wrap(long tag, long handle) {
+		if (tag == ValueEncoder.TAG_RECORD_ID) {
+			return new RecordId(handle);
+		}
+		if (tag == ValueEncoder.TAG_GEOMETRY) {
+			return new Geometry(handle);
+		}
+		return new Value(handle);
+	}
+
+	private SurrealException error(String message) {
+		return new SurrealException("Invalid value buffer at " + pos + ": " + message);
+	}
+
+	private java.lang.Object read() {
+		final int initial = buf[pos++] & 0xFF;
+		final int major = initial >>> 5;
+		final int info = initial & 0x1F;
+		switch (major) {
+			case 0 :
+				return argument(info);
+			case 1 :
+				// CBOR stores -1 - n, which is ~n
+				return ~argument(info);
+			case 2 : {
+				final int len = length(info);
+				final byte[] bytes = new byte[len];
+				System.arraycopy(buf, pos, bytes, 0, len);
+				pos += len;
+				return bytes;
+			}
+			case 3 :
+				return text(info);
+			case 4 : {
+				final int len = length(info);
+				final List<java.lang.Object> list = new ArrayList<>(len);
+				for (int i = 0; i < len; i++) {
+					list.add(read());
+				}
+				return list;
+			}
+			case 5 : {
+				final int len = length(info);
+				final Map<String, java.lang.Object> map = new LinkedHashMap<>(len * 4 / 3 + 1);
+				for (int i = 0; i < len; i++) {
+					final java.lang.Object key = read();
+					if (!(key instanceof String)) {
+						throw error("expected a string key");
+					}
+					map.put((String) key, read());
+				}
+				return map;
+			}
+			case 6 :
+				return tagged(argument(info));
+			default :
+				return simple(info);
+		}
+	}
+
+	private java.lang.Object tagged(long tag) {
+		if (tag == ValueEncoder.TAG_DECIMAL) {
+			return new BigDecimal(readText());
+		}
+		if (tag == ValueEncoder.TAG_DATETIME) {
+			final java.lang.Object pair = read();
+			if (!(pair instanceof List) || ((List<?>) pair).size() != 2) {
+				throw error("expected [seconds, nanos]");
+			}
+			final long seconds = (Long) ((List<?>) pair).get(0);
+			final long nanos = (Long) ((List<?>) pair).get(1);
+			return ZonedDateTime.ofInstant(Instant.ofEpochSecond(seconds, nanos), UTC);
+		}
+		if (tag == ValueEncoder.TAG_DURATION) {
+			return Duration.ofMillis((Long) read());
+		}
+		if (tag == ValueEncoder.TAG_UUID) {
+			return UUID.fromString(readText());
+		}
+		if (tag == ValueEncoder.TAG_RECORD_ID || tag == ValueEncoder.TAG_GEOMETRY || tag == ValueEncoder.TAG_VALUE) {
+			final Native wrapped = wrap(tag, readHandle());
+			handles++;
+			return wrapped;
+		}
+		throw error("unknown tag " + tag);
+	}
+
+	private java.lang.Object simple(int info) {
+		switch (info) {
+			case 20 :
+				return Boolean.FALSE;
+			case 21 :
+				return Boolean.TRUE;
+			case 22 :
+			case 23 :
+				return null;
+			case 27 :
+				return Double.longBitsToDouble(argument(info));
+			default :
+				throw error("unsupported simple value " + info);
+		}
+	}
+
+	private long readHandle() {
+		final int initial = buf[pos++] & 0xFF;
+		if (initial >>> 5 != 0) {
+			throw error("expected a handle");
+		}
+		return argument(initial & 0x1F);
+	}
+
+	private String readText() {
+		final int initial = buf[pos++] & 0xFF;
+		if (initial >>> 5 != 3) {
+			throw error("expected a text string");
+		}
+		return text(initial & 0x1F);
+	}
+
+	private String text(int info) {
+		final int len = length(info);
+		final String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+		pos += len;
+		return s;
+	}
+
+	private int length(int info) {
+		final long len = argument(info);
+		if (len < 0 || len > buf.length - pos) {
+			throw error("length exceeds buffer");
+		}
+		return (int) len;
+	}
+
+	private long argument(int info) {
+		if (info < 24) {
+			return info;
+		}
+		final int size;
+		switch (info) {
+			case 24 :
+				size = 1;
+				break;
+			case 25 :
+				size = 2;
+				break;
+			case 26 :
+				size = 4;
+				break;
+			case 27 :
+				size = 8;
+				break;
+			default :
+				throw error("indefinite or reserved length");
+		}
+		long value = 0;
+		for (int i = 0; i < size; i++) {
+			value = value << 8 | (buf[pos++] & 0xFF);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,311 @@
+package com.surrealdb;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Encodes a Java object graph into a single buffer that the native layer turns
+ * into a {@link ValueMut} in one call.
+ * <p>
+ * The format is a subset of CBOR (RFC 8949): integers, floats, text strings,
+ * byte strings, arrays, text-keyed maps, booleans, null and undefined (none).
+ * SurrealDB types use the tags of the SurrealDB CBOR protocol where one
+ * exists, with an internal payload:
+ * <ul>
+ * <li>{@code 10}: decimal, as a text string</li>
+ * <li>{@code 12}: datetime, as {@code [seconds, nanoseconds]}</li>
+ * <li>{@code 14}: duration, as an integer number of milliseconds</li>
+ * <li>{@code 37}: uuid, as a text string</li>
+ * </ul>
+ * Values that already live in native memory ({@link Array}, {@link Object},
+ * {@link RecordId}, {@link Geometry}, {@link Id} and {@link ValueMut}) are
+ * passed by handle: the item is an index into a side array of pointers,
+ * wrapped in one of the private tags {@link #TAG_VALUE} (cloned as is),
+ * {@link #TAG_ID} (the key of the record id) and {@link #TAG_VALUE_MUT}.
+ * <p>
+ * A byte string becomes an array of integers, matching how {@code byte[]}
+ * fields have always been stored.
+ * <p>
+ * Keep in sync with {@code codec.rs}.
+ */
+final class ValueEncoder {
+
+	static final int TAG_DECIMAL = 10;
+	static final int TAG_DATETIME = 12;
+	static final int TAG_DURATION = 14;
+	static final int TAG_UUID = 37;
+	static final int TAG_VALUE = 5100;
+	static final int TAG_ID = 5101;
+	static final int TAG_VALUE_MUT = 5102;
+	// Only written by the native encoder, see ValueDecoder
+	static final int TAG_RECORD_ID = 5103;
+	static final int TAG_GEOMETRY = 5104;
+
+	private static final int MAJOR_UNSIGNED = 0;
+	private static final int MAJOR_NEGATIVE = 1;
+	private static final int MAJOR_BYTES = 2;
+	private static final int MAJOR_TEXT = 3;
+	private static final int MAJOR_ARRAY = 4;
+	private static final int MAJOR_MAP = 5;
+	private static final int MAJOR_TAG = 6;
+	private static final int MAJOR_SIMPLE = 7;
+
+	private static final int SIMPLE_FALSE = 20;
+	private static final int SIMPLE_TRUE = 21;
+	private static final int SIMPLE_NULL = 22;
+	private static final int FLOAT64 = 27;
+
+	private byte[] buf = new byte[256];
+	private int len;
+	private final List<Native> handles = new ArrayList<>();
+
+	private ValueEncoder() {
+	}
+
+	/**
+	 * Converts the given object into a native value with a single native call.
+	 */
+	static ValueMut encode(java.lang.Object object) throws IllegalAccessException {
+		final Jfr.Event event = Jfr.ENCODE.begin();
+		final ValueEncoder encoder = new ValueEncoder();
+		encoder.write(object);
+		final long[] ptrs = new long[encoder.handles.size()];
+		for (int i = 0; i < ptrs.length; i++) {
+			ptrs[i] = encoder.handles.get(i).getPtr();
+		}
+		final ValueMut value = ValueMut.decode(encoder.buf, encoder.len, ptrs);
+		SurrealMetrics.count(SurrealMetrics.Counter.BYTES_ENCODED, encoder.len);
+		// Keep the referenced natives reachable until the native copy is done
+		encoder.handles.clear();
+		if (event != null && event.end()) {
+			event.commit(object == null ? "null" : object.getClass().getName(), encoder.len);
+		}
+		return value;
+	}
+
+	private void write(java.lang.Object object) throws IllegalAccessException {
+		if (object == null) {
+			writeSimple(SIMPLE_NULL);
+		} else if (object instanceof ValueMut) {
+			writeHandle(TAG_VALUE_MUT, (ValueMut) object);
+		} else if (object instanceof String) {
+			writeText((String) object);
+		} else if (object instanceof Double) {
+			writeDouble((Double) object);
+		} else if (object instanceof Float) {
+			writeDouble((Float) object);
+		} else if (object instanceof Long) {
+			writeLong((Long) object);
+		} else if (object instanceof Integer) {
+			writeLong((Integer) object);
+		} else if (object instanceof Short) {
+			writeLong((Short) object);
+		} else if (object instanceof Boolean) {
+			writeSimple((Boolean) object ? SIMPLE_TRUE : SIMPLE_FALSE);
+		} else if (object instanceof BigDecimal) {
+			writeHead(MAJOR_TAG, TAG_DECIMAL);
+			writeText(object.toString());
+		} else if (object instanceof Duration) {
+			writeHead(MAJOR_TAG, TAG_DURATION);
+			writeLong(((Duration) object).toMillis());
+		} else if (object instanceof Instant) {
+			writeDatetime((Instant) object);
+		} else if (object instanceof ZonedDateTime) {
+			writeDatetime(((ZonedDateTime) object).toInstant());
+		} else if (object instanceof OffsetDateTime) {
+			writeDatetime(((OffsetDateTime) object).toInstant());
+		} else if (object instanceof LocalDateTime) {
+			writeDatetime(((LocalDateTime) object).toInstant(ZoneOffset.UTC));
+		} else if (object instanceof java.util.Date) {
+			writeDate((java.util.Date) object);
+		} else if (object instanceof BigInteger) {
+			throw new SurrealException("Type not supported: " + object.getClass().getCanonicalName());
+		} else if (object instanceof Collection) {
+			final Collection<?> collection = (Collection<?>) object;
+			writeHead(MAJOR_ARRAY, collection.size());
+			for (final java.lang.Object element : collection) {
+				write(element);
+			}
+		} else if (object instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) object;
+			writeHead(MAJOR_MAP, map.size());
+			for (final Map.Entry<?, ?> entry : map.entrySet()) {
+				writeText(entry.getKey().toString());
+				write(entry.getValue());
+			}
+		} else if (object instanceof Optional) {
+			write(((Optional<?>) object).orElse(null));
+		} else if (object instanceof Id) {
+			writeHandle(TAG_ID, (Id) object);
+		} else if (object instanceof UUID) {
+			writeHead(MAJOR_TAG, TAG_UUID);
+			writeText(object.toString());
+		} else if (object instanceof RecordId) {
+			writeHandle(TAG_VALUE, (RecordId) object);
+		} else if (object instanceof byte[]) {
+			final byte[] bytes = (byte[]) object;
+			writeHead(MAJOR_BYTES, bytes.length);
+			append(bytes, 0, bytes.length);
+		} else if (object instanceof Array) {
+			writeHandle(TAG_VALUE, (Array) object);
+		} else if (object instanceof Geometry) {
+			writeHandle(TAG_VALUE, (Geometry) object);
+		} else if (object instanceof Object) {
+			writeHandle(TAG_VALUE, (Object) object);
+		} else {
+			writePojo(object);
+		}
+	}
+
+	private void writePojo(java.lang.Object object) throws IllegalAccessException {
+		@SuppressWarnings("unchecked")
+		final Class<java.lang.Object> clazz = (Class<java.lang.Object>) object.getClass();
+		final SurrealMapper<java.lang.Object> mapper = SurrealMappers.find(clazz);
+		if (mapper != null) {
+			writeEntries(mapper.names(), mapper.values(object));
+			return;
+		}
+		// Mirror the read path (ValueClassConverter): the cached resolver walks
+		// the user-defined hierarchy with the same hiding, naming, and
+		// duplicate-rejection semantics so objects round-trip symmetrically.
+		final Map<String, Field> fields = SurrealFieldNames.inheritedFieldsBySurrealName(clazz);
+		if (fields.isEmpty() && clazz.getDeclaredFields().length == 0) {
+			throw new SurrealException("No field found: " + clazz.getCanonicalName());
+		}
+		final String[] names = new String[fields.size()];
+		final java.lang.Object[] values = new java.lang.Object[fields.size()];
+		int i = 0;
+		for (final Map.Entry<String, Field> field : fields.entrySet()) {
+			names[i] = field.getKey();
+			values[i++] = field.getValue().get(object);
+		}
+		writeEntries(names, values);
+	}
+
+	private void writeEntries(String[] names, java.lang.Object[] values) throws IllegalAccessException {
+		// Null fields are omitted, so the entry count is only known afterwards
+		int count = 0;
+		for (final java.lang.Object value : values) {
+			if (value != null) {
+				count++;
+			}
+		}
+		writeHead(MAJOR_MAP, count);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				writeText(names[i]);
+				write(values[i]);
+			}
+		}
+	}
+
+	private void writeDate(java.util.Date date) {
+		Instant instant;
+		try {
+			instant = date.toInstant();
+		} catch (UnsupportedOperationException e) {
+			// java.sql.Date and java.sql.Time refuse toInstant()
+			instant = Instant.ofEpochMilli(date.getTime());
+		}
+		writeDatetime(instant);
+	}
+
+	private void writeDatetime(Instant instant) {
+		writeHead(MAJOR_TAG, TAG_DATETIME);
+		writeHead(MAJOR_ARRAY, 2);
+		writeLong(instant.getEpochSecond());
+		writeLong(instant.getNano());
+	}
+
+	private void writeHandle(int tag, Native value) {
+		writeHead(MAJOR_TAG, tag);
+		writeHead(MAJOR_UNSIGNED, handles.size());
+		handles.add(value);
+	}
+
+	private void writeLong(long value) {
+		if (value >= 0) {
+			writeHead(MAJOR_UNSIGNED, value);
+		} else {
+			// CBOR stores -1 - n, which is ~n for negative n
+			writeHead(MAJOR_NEGATIVE, ~value);
+		}
+	}
+
+	private void writeDouble(double value) {
+		ensure(9);
+		buf[len++] = (byte) (MAJOR_SIMPLE << 5 | FLOAT64);
+		putLong(Double.doubleToRawLongBits(value));
+	}
+
+	private void writeSimple(int value) {
+		ensure(1);
+		buf[len++] = (byte) (MAJOR_SIMPLE << 5 | value);
+	}
+
+	private void writeText(String value) {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeHead(MAJOR_TEXT, bytes.length);
+		append(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Writes a head with the shortest encoding of the (unsigned) argument.
+	 */
+	private void writeHead(int major, long argument) {
+		ensure(9);
+		final int type = major << 5;
+		if (argument >= 0 && argument < 24) {
+			buf[len++] = (byte) (type | (int) argument);
+		} else if (argument >= 0 && argument <= 0xFF) {
+			buf[len++] = (byte) (type | 24);
+			buf[len++] = (byte) argument;
+		} else if (argument >= 0 && argument <= 0xFFFF) {
+			buf[len++] = (byte) (type | 25);
+			buf[len++] = (byte) (argument >>> 8);
+			buf[len++] = (byte) argument;
+		} else if (argument >= 0 && argument <= 0xFFFFFFFFL) {
+			buf[len++] = (byte) (type | 26);
+			buf[len++] = (byte) (argument >>> 24);
+			buf[len++] = (byte) (argument >>> 16);
+			buf[len++] = (byte) (argument >>> 8);
+			buf[len++] = (byte) argument;
+		} else {
+			buf[len++] = (byte) (type | 27);
+			putLong(argument);
+		}
+	}
+
+	private void putLong(long value) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			buf[len++] = (byte) (value >>> shift);
+		}
+	}
+
+	private void append(byte[] bytes, int offset, int length) {
+		ensure(length);
+		System.arraycopy(bytes, offset, buf, len, length);
+		len += length;
+	}
+
+	private void ensure(int extra) {
+		if (len + extra > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.surrealdb;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
@@ -12,18 +13,41 @@ import java.util.Objects;
  * This class implements the Iterator interface for the Value type, enabling
  * standard iteration mechanisms such as hasNext and next methods.
  * <p>
+ * Values are fetched from the native side in chunks, so most calls to next are
+ * served without a native call. The chunk size can be set with the
+ * {@code surrealdb.iterator.chunkSize} system property.
+ * <p>
  * Methods: - hasNext(): Checks if there are more elements in the collection to
  * iterate over. - next(): Returns the next Value in the iteration.
  */
 public class ValueIterator extends Native implements Iterator<Value> {
 
+	/**
+	 * System property setting how many values {@code ValueIterator} and
+	 * {@code SynchronizedValueIterator} fetch per native call (default 64).
+	 */
+	static final String CHUNK_SIZE_PROP = "surrealdb.iterator.chunkSize";
+
+	static final int CHUNK_SIZE = Math.max(1, Integer.getInteger(CHUNK_SIZE_PROP, 64));
+
+	private final Chunk chunk;
+
 	ValueIterator(long ptr) {
-		super(ptr);
+		this(ptr, new Chunk());
+	}
+
+	private ValueIterator(long ptr, Chunk chunk) {
+		super(ptr, p -> {
+			// Hands the unreturned handles back with the iterator
+			release(p, chunk.handles, chunk.pos, chunk.count);
+			chunk.pos = chunk.count;
+		});
+		this.chunk = chunk;
 	}
 
-	private static native boolean hasNext(long ptr);
+	private static native int nextChunk(long ptr, long[] out);
 
-	private static native long next(long ptr);
+	private static native void release(long ptr, long[] handles, int from, int to);
 
 	@Override
 	final String toString(long ptr) {
@@ -40,16 +64,32 @@ public class ValueIterator extends Native implements Iterator<Value> {
 		return ptr1 == ptr2;
 	}
 
-	@Override
-	final native void deleteInstance(long ptr);
-
 	@Override
 	public boolean hasNext() {
-		return hasNext(getPtr());
+		if (chunk.pos == chunk.count) {
+			chunk.pos = 0;
+			chunk.count = nextChunk(getPtr(), chunk.handles);
+		}
+		return chunk.pos < chunk.count;
 	}
 
 	@Override
 	public Value next() {
-		return new Value(next(getPtr()));
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return new Value(chunk.handles[chunk.pos++]);
+	}
+
+	/**
+	 * Prefetched value handles; handles[pos..count) have not been returned yet.
+	 * Kept outside the iterator so that it can be released after the iterator
+	 * has been collected.
+	 */
+	static final class Chunk {
+
+		final long[] handles = new long[CHUNK_SIZE];
+		int pos;
+		int count;
 	}
 }
@@ -13,7 +13,7 @@ import java.util.UUID;
 public class ValueMut extends Native {
 
 	private ValueMut(long ptr) {
-		super(ptr);
+		super(ptr, ValueMut::deleteInstance);
 	}
 
 	private static native long newNone();
@@ -54,6 +54,8 @@ public class ValueMut extends Native {
 
 	private static native long newTable(String name);
 
+	private static native long newFromBuffer(byte[] buf, int len, long[] handles);
+
 	public static ValueMut createNone() {
 		return new ValueMut(newNone());
 	}
@@ -185,6 +187,14 @@ public class ValueMut extends Native {
 		return new ValueMut(newTable(name));
 	}
 
+	/**
+	 * Builds a value from the first {@code len} bytes of a buffer written by
+	 * {@link ValueEncoder}, resolving handle references against {@code handles}.
+	 */
+	static ValueMut decode(byte[] buf, int len, long[] handles) {
+		return new ValueMut(newFromBuffer(buf, len, handles));
+	}
+
 	@Override
 	final native String toString(long ptr);
 
@@ -194,6 +204,5 @@ public class ValueMut extends Native {
 	@Override
 	final native boolean equals(long ptr1, long ptr2);
 
-	@Override
-	final native void deleteInstance(long ptr);
+	private static native void deleteInstance(long ptr);
 }
@@ -10,6 +10,7 @@ use parking_lot::Mutex;
 use surrealdb::types::{Array, ToSql, Value};
 
 use crate::error::SurrealError;
+use crate::iter::ValueIter;
 use crate::{
     get_long_array, get_value_instance, new_string, release_instance, take_value_mut_instance,
     JniTypes,
@@ -21,7 +22,7 @@ pub extern "system" fn Java_com_surrealdb_Array_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<Arc<Value>>(ptr);
+    release_instance::<Arc<Value>>(ptr, JniTypes::Value);
 }
 
 #[no_mangle]
@@ -76,6 +77,43 @@ pub extern "system" fn Java_com_surrealdb_Array_get<'local>(
     })
 }
 
+/// Writes handles for up to `out.length` elements, starting at index `from`,
+/// into `out` and returns how many were written.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_Array_getRange<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+    from: jint,
+    out: JLongArray<'local>,
+) -> jint {
+    with_env_body!(env, env, {
+        let value = get_value_instance!(env, ptr, || 0);
+        let a = if let Value::Array(a) = value.as_ref() {
+            a
+        } else {
+            return SurrealError::NullPointerException("Array").exception(env, || 0);
+        };
+        let capacity = match out.len(env) {
+            Ok(l) => l,
+            Err(e) => return SurrealError::from(e).exception(env, || 0),
+        };
+        let handles: Vec<jlong> = a
+            .iter()
+            .skip(from.max(0) as usize)
+            .take(capacity)
+            .map(|v| JniTypes::new_value(Arc::new(v.clone())))
+            .collect();
+        if let Err(e) = out.set_region(env, 0, &handles) {
+            for handle in handles {
+                release_instance::<Arc<Value>>(handle, JniTypes::Value);
+            }
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        handles.len() as jint
+    })
+}
+
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_Array_iterator<'local>(
     mut env: EnvUnowned<'local>,
@@ -84,8 +122,7 @@ pub extern "system" fn Java_com_surrealdb_Array_iterator<'local>(
 ) -> jlong {
     with_env_body!(env, env, {
         let value = get_value_instance!(env, ptr, || 0);
-        if let Value::Array(a) = value.as_ref() {
-            let iter = a.clone().into_iter();
+        if let Some(iter) = ValueIter::shared(value) {
             JniTypes::new_array_iter(iter)
         } else {
             SurrealError::NullPointerException("Array").exception(env, || 0)
@@ -101,8 +138,7 @@ pub extern "system" fn Java_com_surrealdb_Array_synchronizedIterator<'local>(
 ) -> jlong {
     with_env_body!(env, env, {
         let value = get_value_instance!(env, ptr, || 0);
-        if let Value::Array(a) = value.as_ref() {
-            let iter = a.clone().into_iter();
+        if let Some(iter) = ValueIter::shared(value) {
             JniTypes::new_sync_array_iter(Mutex::new(iter).into())
         } else {
             SurrealError::NullPointerException("Array").exception(env, || 0)
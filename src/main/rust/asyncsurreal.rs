@@ -0,0 +1,303 @@
+//! Asynchronous execution for `AsyncSurreal`.
+//!
+//! Every asynchronous operation is expressed as a single SurrealQL query with
+//! bound parameters. `exec` reads the arguments on the calling Java thread,
+//! spawns the query on the shared Tokio runtime and returns immediately. When
+//! the query completes, the task stores the outcome in a native handle and
+//! pushes `(request_id, handle)` onto a process-wide completion queue.
+//!
+//! The Java side drains that queue from a single dispatcher thread via `poll`
+//! and completes the matching `CompletableFuture`. Keeping all JVM interaction
+//! on Java-owned threads means the Tokio workers never attach to the JVM.
+//!
+//! ```text
+//!  Java caller           Tokio worker                 Java dispatcher
+//!  ───────────           ────────────                 ───────────────
+//!  exec(id, sql) ──────▶ query(sql).bind(..).await
+//!    return                 │
+//!                           └─ COMPLETIONS.send((id, handle))
+//!                                                      poll() ──▶ (id, handle)
+//!                                                      takeValues(handle)
+//!                                                      future.complete(..)
+//! ```
+use std::collections::BTreeMap;
+use std::ptr::null_mut;
+use std::sync::Arc;
+
+use crate::error::SurrealError;
+use crate::{
+    create_instance, get_rust_string, get_surreal_ref, new_jlong_array, release_instance,
+    take_instance, with_env_body, JniTypes, TOKIO_RUNTIME,
+};
+use async_channel::{Receiver, Sender};
+use jni::objects::{JClass, JLongArray, JObjectArray, JString};
+use jni::sys::{jint, jlong, jlongArray};
+use jni::EnvUnowned;
+use once_cell::sync::Lazy;
+use surrealdb::engine::any::Any;
+use surrealdb::types::{ToSql, Value};
+use surrealdb::{IndexedResults, Surreal};
+
+/// Return the raw response (all statements).
+const MODE_RESPONSE: jint = 0;
+/// The first statement must return exactly one record.
+const MODE_ONE: jint = 1;
+/// The first statement returns zero or one record.
+const MODE_OPTIONAL: jint = 2;
+/// Return every record of the first statement.
+const MODE_ALL: jint = 3;
+/// Every statement must return exactly one record.
+const MODE_ONE_PER_STATEMENT: jint = 4;
+/// Only check that every statement succeeded.
+const MODE_NONE: jint = 5;
+/// Return the value of the first statement, unwrapping single element arrays.
+const MODE_SCALAR: jint = 6;
+
+/// (request id, outcome handle) pairs of completed operations.
+type Completion = (jlong, jlong);
+
+static COMPLETIONS: Lazy<(Sender<Completion>, Receiver<Completion>)> =
+    Lazy::new(async_channel::unbounded);
+
+/// Native handle holding the result of an asynchronous operation until the
+/// dispatcher consumes it with `takeResponse` or `takeValues`.
+pub(crate) enum AsyncOutcome {
+    Response(IndexedResults),
+    Values(Vec<Value>),
+    Failed(surrealdb::Error),
+    Unexpected(String),
+}
+
+impl AsyncOutcome {
+    fn new(res: surrealdb::Result<IndexedResults>, mode: jint) -> Self {
+        let mut res = match res {
+            Ok(r) => r,
+            Err(e) => return Self::Failed(e),
+        };
+        if mode == MODE_RESPONSE {
+            return Self::Response(res);
+        }
+        if mode == MODE_ONE_PER_STATEMENT || mode == MODE_NONE {
+            let mut values = Vec::with_capacity(res.num_statements());
+            for i in 0..res.num_statements() {
+                let mut value = match res.take::<Value>(i) {
+                    Ok(v) => v,
+                    Err(e) => return Self::Failed(e),
+                };
+                if mode == MODE_ONE_PER_STATEMENT {
+                    match value {
+                        Value::Array(ref mut a) if a.len() == 1 => values.push(a.remove(0)),
+                        _ => return Self::Unexpected(value.to_sql()),
+                    }
+                }
+            }
+            return Self::Values(values);
+        }
+        let value = match res.take::<Value>(0) {
+            Ok(v) => v,
+            Err(e) => return Self::Failed(e),
+        };
+        match (mode, value) {
+            (MODE_ALL, Value::Array(a)) => Self::Values(a.into_iter().collect()),
+            (MODE_ONE | MODE_SCALAR, Value::Array(a)) if a.len() == 1 => {
+                Self::Values(a.into_iter().collect())
+            }
+            (MODE_OPTIONAL, Value::Array(a)) if a.len() <= 1 => {
+                Self::Values(a.into_iter().collect())
+            }
+            (MODE_SCALAR, value) => Self::Values(vec![value]),
+            (_, value) => Self::Unexpected(value.to_sql()),
+        }
+    }
+}
+
+/// Reads `keys`/`ptrs` pairs into the parameter map. `Value` handles are
+/// cloned out of their `Arc`, `ValueMut` handles are cloned in place; neither
+/// is consumed so the Java objects stay valid.
+fn read_params(
+    env: &mut jni::Env,
+    keys: JObjectArray<JString>,
+    ptrs: &JLongArray,
+    kind: JniTypes,
+    params: &mut BTreeMap<String, Value>,
+) -> Result<(), SurrealError> {
+    let keys = crate::read_string_array(env, keys)?;
+    let len = ptrs.len(env)?;
+    let mut value_ptrs: Vec<jlong> = vec![0; len];
+    ptrs.get_region(env, 0, &mut value_ptrs)?;
+    for (key, ptr) in keys.into_iter().zip(value_ptrs) {
+        let value = if kind == JniTypes::Value {
+            crate::get_instance::<Arc<Value>>(ptr, JniTypes::Value)?
+                .as_ref()
+                .clone()
+        } else {
+            crate::get_instance::<Value>(ptr, JniTypes::ValueMut)?.clone()
+        };
+        params.insert(key, value);
+    }
+    Ok(())
+}
+
+/// Spawns `sql` on the Tokio runtime. Parameters are passed as two sets of
+/// key/handle pairs: mutable values (built by `ValueBuilder`) and immutable
+/// values (record ids, ranges and values returned by earlier calls).
+#[no_mangle]
+#[allow(clippy::too_many_arguments)]
+pub extern "system" fn Java_com_surrealdb_AsyncSurreal_exec<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+    request_id: jlong,
+    sql: JString<'local>,
+    mut_keys: JObjectArray<'local, JString<'local>>,
+    mut_ptrs: JLongArray<'local>,
+    value_keys: JObjectArray<'local, JString<'local>>,
+    value_ptrs: JLongArray<'local>,
+    mode: jint,
+) {
+    with_env_body!(env, env, {
+        // The task owns a clone (an Arc-backed handle), so it stays valid if the
+        // Java instance is closed or collected while the query is pending
+        let surreal: Surreal<Any> = get_surreal_ref!(env, ptr, || ()).clone();
+        let sql = get_rust_string!(env, &sql, || ());
+        let mut params = BTreeMap::new();
+        if let Err(e) = read_params(env, mut_keys, &mut_ptrs, JniTypes::ValueMut, &mut params) {
+            return e.exception(env, || ());
+        }
+        if let Err(e) = read_params(env, value_keys, &value_ptrs, JniTypes::Value, &mut params) {
+            return e.exception(env, || ());
+        }
+        TOKIO_RUNTIME.spawn(async move {
+            let res = surreal.query(sql).bind(params).await;
+            let handle = create_instance(AsyncOutcome::new(res, mode), JniTypes::AsyncOutcome);
+            // The receiver lives in a static, so the queue is never closed
+            let _ = COMPLETIONS.0.try_send((request_id, handle));
+        });
+    })
+}
+
+/// Blocks until at least one operation has completed, then drains up to
+/// `ids.length` completions without blocking. Returns the number of entries
+/// written to `ids` and `handles`, or -1 once the queue is closed.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_AsyncSurreal_poll<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ids: JLongArray<'local>,
+    handles: JLongArray<'local>,
+) -> jint {
+    with_env_body!(env, env, {
+        let capacity = match ids.len(env) {
+            Ok(l) => l.max(1),
+            Err(e) => return SurrealError::from(e).exception(env, || 0),
+        };
+        let rx = &COMPLETIONS.1;
+        let (id, handle) = match rx.recv_blocking() {
+            Ok(c) => c,
+            Err(_) => return -1,
+        };
+        let mut request_ids = Vec::with_capacity(capacity);
+        let mut outcomes = Vec::with_capacity(capacity);
+        request_ids.push(id);
+        outcomes.push(handle);
+        while request_ids.len() < capacity {
+            match rx.try_recv() {
+                Ok((id, handle)) => {
+                    request_ids.push(id);
+                    outcomes.push(handle);
+                }
+                Err(_) => break,
+            }
+        }
+        if let Err(e) = ids.set_region(env, 0, &request_ids) {
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        if let Err(e) = handles.set_region(env, 0, &outcomes) {
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        request_ids.len() as jint
+    })
+}
+
+fn take_outcome(handle: jlong) -> Result<AsyncOutcome, SurrealError> {
+    match take_instance::<AsyncOutcome>(handle, JniTypes::AsyncOutcome)? {
+        AsyncOutcome::Failed(e) => Err(SurrealError::SurrealDB(e)),
+        AsyncOutcome::Unexpected(s) => Err(SurrealError::SurrealDBJni(format!(
+            "Unexpected result: {}",
+            s
+        ))),
+        outcome => Ok(outcome),
+    }
+}
+
+/// Consumes an outcome handle created in `MODE_RESPONSE` and returns a
+/// `Response` handle.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_AsyncSurreal_takeResponse<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+) -> jlong {
+    with_env_body!(env, env, {
+        match take_outcome(handle) {
+            Ok(AsyncOutcome::Response(res)) => {
+                JniTypes::new_response(Arc::new(parking_lot::Mutex::new(res)))
+            }
+            Ok(_) => SurrealError::SurrealDBJni("Unexpected async outcome".to_string())
+                .exception(env, || 0),
+            Err(e) => e.exception(env, || 0),
+        }
+    })
+}
+
+/// Consumes an outcome handle and returns one `Value` handle per record.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_AsyncSurreal_takeValues<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+) -> jlongArray {
+    with_env_body!(env, env, {
+        match take_outcome(handle) {
+            Ok(AsyncOutcome::Values(values)) => {
+                let value_ptrs: Vec<jlong> = values
+                    .into_iter()
+                    .map(|v| JniTypes::new_value(Arc::new(v)))
+                    .collect();
+                new_jlong_array!(env, &value_ptrs, null_mut)
+            }
+            Ok(_) => SurrealError::SurrealDBJni("Unexpected async outcome".to_string())
+                .exception(env, null_mut),
+            Err(e) => e.exception(env, null_mut),
+        }
+    })
+}
+
+/// Builds the range record id used by the asynchronous range operations and
+/// returns it as a `Value` handle, ready to be bound as a parameter.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_AsyncSurreal_newRange<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    table: JString<'local>,
+    start_id_ptr: jlong,
+    end_id_ptr: jlong,
+) -> jlong {
+    with_env_body!(env, env, {
+        let table = get_rust_string!(env, table, || 0);
+        match crate::surreal::build_range_value(env, &table, start_id_ptr, end_id_ptr) {
+            Ok(v) => JniTypes::new_value(Arc::new(v)),
+            Err(e) => e.exception(env, || 0),
+        }
+    })
+}
+
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_AsyncSurreal_releaseOutcome<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+) {
+    release_instance::<AsyncOutcome>(handle, JniTypes::AsyncOutcome);
+}
+
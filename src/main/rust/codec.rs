@@ -0,0 +1,395 @@
+//! The binary value format shared with `ValueEncoder.java` and
+//! `ValueDecoder.java`.
+//!
+//! The format is a subset of CBOR (RFC 8949): definite-length integers, byte
+//! and text strings, arrays, text-keyed maps, float64, booleans, null and
+//! undefined.  SurrealDB types use the tags of the SurrealDB CBOR protocol
+//! with a simplified payload.  Values that live behind a native handle are
+//! not serialized:
+//!
+//! - Java to Rust (`decode_value`): `Array`, `Object`, `RecordId`, `Geometry`,
+//!   `Id` and `ValueMut` arguments are passed as an index into a side array of
+//!   pointers, and cloned.
+//! - Rust to Java (`encode_value`): record ids, geometries and any type without
+//!   a plain Java representation are written as a new `Value` handle whose
+//!   pointer is the tag payload; the Java decoder takes ownership of it.
+use std::collections::BTreeMap;
+use std::str::FromStr;
+use std::sync::Arc;
+
+use chrono::DateTime;
+use jni::sys::jlong;
+use rust_decimal::Decimal;
+use surrealdb::types::{Array, Datetime, Duration, Number, Object, RecordIdKey, Uuid, Value};
+
+use crate::error::SurrealError;
+use crate::{get_instance, release_instance, JniTypes};
+
+pub(crate) const TAG_DECIMAL: u64 = 10;
+pub(crate) const TAG_DATETIME: u64 = 12;
+pub(crate) const TAG_DURATION: u64 = 14;
+pub(crate) const TAG_UUID: u64 = 37;
+/// A `Value` handle, cloned as is.
+pub(crate) const TAG_VALUE: u64 = 5100;
+/// A `Value` handle holding a record id, of which only the key is used.
+pub(crate) const TAG_ID: u64 = 5101;
+/// A `ValueMut` handle, cloned as is.
+pub(crate) const TAG_VALUE_MUT: u64 = 5102;
+/// A `Value` handle holding a record id, read as a Java `RecordId`.
+pub(crate) const TAG_RECORD_ID: u64 = 5103;
+/// A `Value` handle holding a geometry, read as a Java `Geometry`.
+pub(crate) const TAG_GEOMETRY: u64 = 5104;
+
+const MAJOR_UNSIGNED: u8 = 0;
+const MAJOR_NEGATIVE: u8 = 1;
+const MAJOR_BYTES: u8 = 2;
+const MAJOR_TEXT: u8 = 3;
+const MAJOR_ARRAY: u8 = 4;
+const MAJOR_MAP: u8 = 5;
+const MAJOR_TAG: u8 = 6;
+const MAJOR_SIMPLE: u8 = 7;
+
+/// Nesting limit, so that a malformed buffer cannot overflow the stack.
+const MAX_DEPTH: usize = 512;
+
+/// Decodes a single value from `buf`, resolving handle tags against `handles`.
+pub(crate) fn decode_value(buf: &[u8], handles: &[jlong]) -> Result<Value, SurrealError> {
+    let mut decoder = Decoder {
+        buf,
+        pos: 0,
+        handles,
+    };
+    let value = decoder.value(0)?;
+    if decoder.pos != buf.len() {
+        return Err(decoder.error("trailing bytes"));
+    }
+    Ok(value)
+}
+
+struct Decoder<'a> {
+    buf: &'a [u8],
+    pos: usize,
+    handles: &'a [jlong],
+}
+
+impl<'a> Decoder<'a> {
+    fn error(&self, msg: &str) -> SurrealError {
+        SurrealError::SurrealDBJni(format!("Invalid value buffer at {}: {msg}", self.pos))
+    }
+
+    fn bytes(&mut self, len: usize) -> Result<&'a [u8], SurrealError> {
+        match self.pos.checked_add(len) {
+            Some(end) if end <= self.buf.len() => {
+                let bytes = &self.buf[self.pos..end];
+                self.pos = end;
+                Ok(bytes)
+            }
+            _ => Err(self.error("unexpected end of buffer")),
+        }
+    }
+
+    fn uint(&mut self, len: usize) -> Result<u64, SurrealError> {
+        Ok(self.bytes(len)?.iter().fold(0u64, |acc, b| acc << 8 | *b as u64))
+    }
+
+    /// Reads an item head, returning the major type, the additional
+    /// information and the argument it encodes.
+    fn head(&mut self) -> Result<(u8, u8, u64), SurrealError> {
+        let initial = self.bytes(1)?[0];
+        let (major, info) = (initial >> 5, initial & 0x1f);
+        let arg = match info {
+            0..=23 => info as u64,
+            24 => self.uint(1)?,
+            25 => self.uint(2)?,
+            26 => self.uint(4)?,
+            27 => self.uint(8)?,
+            _ => return Err(self.error("indefinite or reserved length")),
+        };
+        Ok((major, info, arg))
+    }
+
+    fn len(&self, arg: u64) -> Result<usize, SurrealError> {
+        // Every element takes at least one byte, which bounds any valid length
+        match usize::try_from(arg) {
+            Ok(len) if len <= self.buf.len() - self.pos => Ok(len),
+            _ => Err(self.error("length exceeds buffer")),
+        }
+    }
+
+    fn text(&mut self) -> Result<String, SurrealError> {
+        let (major, _, arg) = self.head()?;
+        if major != MAJOR_TEXT {
+            return Err(self.error("expected a text string"));
+        }
+        let len = self.len(arg)?;
+        let bytes = self.bytes(len)?;
+        match std::str::from_utf8(bytes) {
+            Ok(s) => Ok(s.to_string()),
+            Err(e) => Err(SurrealError::SurrealDBJni(e.to_string())),
+        }
+    }
+
+    fn int(&mut self) -> Result<i64, SurrealError> {
+        let (major, _, arg) = self.head()?;
+        match major {
+            MAJOR_UNSIGNED => i64::try_from(arg).map_err(|_| self.error("integer overflow")),
+            MAJOR_NEGATIVE => match i64::try_from(arg) {
+                Ok(n) => Ok(-1 - n),
+                Err(_) => Err(self.error("integer overflow")),
+            },
+            _ => Err(self.error("expected an integer")),
+        }
+    }
+
+    fn value(&mut self, depth: usize) -> Result<Value, SurrealError> {
+        if depth > MAX_DEPTH {
+            return Err(self.error("nesting too deep"));
+        }
+        let start = self.pos;
+        let (major, info, arg) = self.head()?;
+        match major {
+            MAJOR_UNSIGNED | MAJOR_NEGATIVE => {
+                self.pos = start;
+                Ok(Value::Number(Number::Int(self.int()?)))
+            }
+            MAJOR_BYTES => {
+                // byte[] has always been stored as an array of unsigned bytes
+                let len = self.len(arg)?;
+                let bytes = self.bytes(len)?;
+                let values = bytes.iter().map(|b| Value::Number(Number::Int(*b as i64))).collect();
+                Ok(Value::Array(Array::from(values)))
+            }
+            MAJOR_TEXT => {
+                self.pos = start;
+                Ok(Value::String(self.text()?))
+            }
+            MAJOR_ARRAY => {
+                let len = self.len(arg)?;
+                let mut values = Vec::with_capacity(len);
+                for _ in 0..len {
+                    values.push(self.value(depth + 1)?);
+                }
+                Ok(Value::Array(Array::from(values)))
+            }
+            MAJOR_MAP => {
+                let len = self.len(arg)?;
+                let mut map = BTreeMap::new();
+                for _ in 0..len {
+                    let key = self.text()?;
+                    let value = self.value(depth + 1)?;
+                    map.insert(key, value);
+                }
+                Ok(Value::Object(Object::from(map)))
+            }
+            MAJOR_TAG => self.tagged(arg),
+            MAJOR_SIMPLE => match (info, arg) {
+                (20, _) => Ok(Value::Bool(false)),
+                (21, _) => Ok(Value::Bool(true)),
+                (22, _) => Ok(Value::Null),
+                (23, _) => Ok(Value::None),
+                (27, bits) => Ok(Value::Number(Number::Float(f64::from_bits(bits)))),
+                _ => Err(self.error("unsupported simple value")),
+            },
+            _ => Err(self.error("unknown major type")),
+        }
+    }
+
+    fn tagged(&mut self, tag: u64) -> Result<Value, SurrealError> {
+        match tag {
+            TAG_DECIMAL => {
+                let s = self.text()?;
+                match Decimal::from_str(&s) {
+                    Ok(d) => Ok(Value::Number(Number::Decimal(d))),
+                    Err(e) => Err(SurrealError::SurrealDBJni(e.to_string())),
+                }
+            }
+            TAG_DATETIME => {
+                let (major, _, len) = self.head()?;
+                if major != MAJOR_ARRAY || len != 2 {
+                    return Err(self.error("expected [seconds, nanos]"));
+                }
+                let seconds = self.int()?;
+                let nanos = self.int()?;
+                match DateTime::from_timestamp(seconds, nanos as u32) {
+                    Some(d) => Ok(Value::Datetime(Datetime::from(d))),
+                    None => Err(SurrealError::SurrealDBJni(format!(
+                        "Can't create the Datetime from seconds: {seconds}, nanos: {nanos}"
+                    ))),
+                }
+            }
+            TAG_DURATION => Ok(Value::Duration(Duration::from_millis(self.int()? as u64))),
+            TAG_UUID => {
+                let s = self.text()?;
+                match Uuid::from_str(&s) {
+                    Ok(uuid) => Ok(Value::Uuid(uuid)),
+                    Err(_) => Err(SurrealError::NullPointerException("Uuid")),
+                }
+            }
+            TAG_VALUE | TAG_RECORD_ID | TAG_GEOMETRY => {
+                let ptr = self.handle()?;
+                let value = get_instance::<Arc<Value>>(ptr, JniTypes::Value)?;
+                Ok(value.as_ref().clone())
+            }
+            TAG_ID => {
+                let ptr = self.handle()?;
+                let value = get_instance::<Arc<Value>>(ptr, JniTypes::Value)?;
+                match value.as_ref() {
+                    Value::RecordId(record_id) => id_key(&record_id.key),
+                    _ => Err(SurrealError::NullPointerException("ID")),
+                }
+            }
+            TAG_VALUE_MUT => {
+                let ptr = self.handle()?;
+                Ok(get_instance::<Value>(ptr, JniTypes::ValueMut)?.clone())
+            }
+            _ => Err(self.error("unknown tag")),
+        }
+    }
+
+    fn handle(&mut self) -> Result<jlong, SurrealError> {
+        let (major, _, index) = self.head()?;
+        if major != MAJOR_UNSIGNED {
+            return Err(self.error("expected a handle index"));
+        }
+        match usize::try_from(index).ok().and_then(|i| self.handles.get(i)) {
+            Some(ptr) => Ok(*ptr),
+            None => Err(self.error("handle index out of range")),
+        }
+    }
+}
+
+/// Extracts the key of a record id as a standalone value, as `ValueMut.newId`.
+fn id_key(key: &RecordIdKey) -> Result<Value, SurrealError> {
+    Ok(match key {
+        RecordIdKey::Number(n) => Value::Number(Number::Int(*n)),
+        RecordIdKey::String(s) => Value::String(s.clone()),
+        RecordIdKey::Uuid(u) => Value::Uuid(*u),
+        RecordIdKey::Array(a) => Value::Array(a.clone()),
+        RecordIdKey::Object(o) => Value::Object(o.clone()),
+        RecordIdKey::Range(_) => {
+            return Err(SurrealError::SurrealDBJni(
+                "Range-based IDs are not supported for Id serialization".to_string(),
+            ))
+        }
+    })
+}
+
+/// Encodes `value` for the Java `ValueDecoder`.
+///
+/// Every handle written into the buffer is a new native allocation owned by
+/// the buffer; `release_handles` frees them if the buffer never reaches Java.
+pub(crate) fn encode_value(value: &Value) -> Encoded {
+    let mut encoder = Encoded {
+        buf: Vec::with_capacity(256),
+        handles: Vec::new(),
+    };
+    encoder.value(value);
+    encoder
+}
+
+pub(crate) struct Encoded {
+    pub(crate) buf: Vec<u8>,
+    handles: Vec<jlong>,
+}
+
+impl Encoded {
+    /// Frees the handles written into the buffer.
+    pub(crate) fn release_handles(self) {
+        for ptr in self.handles {
+            release_instance::<Arc<Value>>(ptr, JniTypes::Value);
+        }
+    }
+
+    fn head(&mut self, major: u8, arg: u64) {
+        let major = major << 5;
+        if arg < 24 {
+            self.buf.push(major | arg as u8);
+        } else if arg <= u8::MAX as u64 {
+            self.buf.push(major | 24);
+            self.buf.push(arg as u8);
+        } else if arg <= u16::MAX as u64 {
+            self.buf.push(major | 25);
+            self.buf.extend_from_slice(&(arg as u16).to_be_bytes());
+        } else if arg <= u32::MAX as u64 {
+            self.buf.push(major | 26);
+            self.buf.extend_from_slice(&(arg as u32).to_be_bytes());
+        } else {
+            self.buf.push(major | 27);
+            self.buf.extend_from_slice(&arg.to_be_bytes());
+        }
+    }
+
+    fn int(&mut self, i: i64) {
+        if i >= 0 {
+            self.head(MAJOR_UNSIGNED, i as u64);
+        } else {
+            // CBOR stores -1 - n, which is !n for negative n
+            self.head(MAJOR_NEGATIVE, !i as u64);
+        }
+    }
+
+    fn text(&mut self, s: &str) {
+        self.head(MAJOR_TEXT, s.len() as u64);
+        self.buf.extend_from_slice(s.as_bytes());
+    }
+
+    fn handle(&mut self, tag: u64, value: &Value) {
+        let ptr = JniTypes::new_value(Arc::new(value.clone()));
+        self.handles.push(ptr);
+        self.head(MAJOR_TAG, tag);
+        self.head(MAJOR_UNSIGNED, ptr as u64);
+    }
+
+    fn value(&mut self, value: &Value) {
+        match value {
+            Value::None => self.buf.push(MAJOR_SIMPLE << 5 | 23),
+            Value::Null => self.buf.push(MAJOR_SIMPLE << 5 | 22),
+            Value::Bool(b) => self.buf.push(MAJOR_SIMPLE << 5 | if *b { 21 } else { 20 }),
+            Value::Number(Number::Int(i)) => self.int(*i),
+            Value::Number(Number::Float(f)) => {
+                self.buf.push(MAJOR_SIMPLE << 5 | 27);
+                self.buf.extend_from_slice(&f.to_bits().to_be_bytes());
+            }
+            Value::Number(Number::Decimal(d)) => {
+                self.head(MAJOR_TAG, TAG_DECIMAL);
+                self.text(&d.to_string());
+            }
+            Value::String(s) => self.text(s),
+            Value::Uuid(uuid) => {
+                self.head(MAJOR_TAG, TAG_UUID);
+                self.text(&uuid.to_string());
+            }
+            Value::Datetime(dt) => {
+                self.head(MAJOR_TAG, TAG_DATETIME);
+                self.head(MAJOR_ARRAY, 2);
+                self.int(dt.timestamp());
+                self.int(dt.timestamp_subsec_nanos() as i64);
+            }
+            Value::Duration(d) => {
+                self.head(MAJOR_TAG, TAG_DURATION);
+                self.int(d.as_millis() as i64);
+            }
+            Value::Bytes(bytes) => {
+                let bytes: &[u8] = bytes;
+                self.head(MAJOR_BYTES, bytes.len() as u64);
+                self.buf.extend_from_slice(bytes);
+            }
+            Value::Array(a) => {
+                self.head(MAJOR_ARRAY, a.len() as u64);
+                for v in a.iter() {
+                    self.value(v);
+                }
+            }
+            Value::Object(o) => {
+                self.head(MAJOR_MAP, o.len() as u64);
+                for (k, v) in o.iter() {
+                    self.text(k);
+                    self.value(v);
+                }
+            }
+            Value::RecordId(_) => self.handle(TAG_RECORD_ID, value),
+            Value::Geometry(_) => self.handle(TAG_GEOMETRY, value),
+            _ => self.handle(TAG_VALUE, value),
+        }
+    }
+}
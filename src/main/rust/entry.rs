@@ -1,12 +1,22 @@
 use std::hash::{DefaultHasher, Hash, Hasher};
 use std::ptr::null_mut;
+use std::sync::Arc;
 
 use crate::with_env_body;
-use crate::{get_entry_instance, new_string, JniTypes};
+use crate::{get_entry_instance, new_string, release_instance, JniTypes};
 use jni::objects::JClass;
 use jni::sys::{jboolean, jint, jlong, jstring};
 use jni::EnvUnowned;
-use surrealdb::types::ToSql;
+use surrealdb::types::{ToSql, Value};
+
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_Entry_deleteInstance<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) {
+    release_instance::<(String, Arc<Value>)>(ptr, JniTypes::KeyValueEntry);
+}
 
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_Entry_getKey<'local>(
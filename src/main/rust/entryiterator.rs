@@ -4,7 +4,19 @@ use jni::sys::{jboolean, jlong};
 use jni::EnvUnowned;
 
 use crate::error::SurrealError;
-use crate::{get_entry_iterator_instance, get_entry_iterator_mut_instance, JniTypes};
+use crate::iter::EntryIter;
+use crate::{
+    get_entry_iterator_instance, get_entry_iterator_mut_instance, release_instance, JniTypes,
+};
+
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_EntryIterator_deleteInstance<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) {
+    release_instance::<EntryIter>(ptr, JniTypes::ObjectIter);
+}
 
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_EntryIterator_hasNext<'local>(
@@ -18,7 +18,7 @@ pub extern "system" fn Java_com_surrealdb_EntryMut_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<(String, Value)>(ptr);
+    release_instance::<(String, Value)>(ptr, JniTypes::KeyValueMutEntry);
 }
 
 #[no_mangle]
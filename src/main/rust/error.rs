@@ -3,9 +3,11 @@ use std::error::Error as StdError;
 use jni::errors::Error;
 use jni::objects::{JObject, JThrowable, JValue};
 use jni::strings::JNIString;
-use jni::{jni_sig, jni_str, Env};
+use jni::Env;
 use surrealdb::types::{ErrorDetails, Number, SurrealValue, Value};
 
+use crate::jnicache::jni_cache;
+
 pub(super) enum SurrealError {
     Exception(Error),
     NullPointerException(&'static str),
@@ -48,43 +50,23 @@ fn value_to_jobject<'a>(env: &mut Env<'a>, value: &Value) -> Option<JObject<'a>>
         Value::None | Value::Null => Some(JObject::null()),
         Value::String(s) => env.new_string(s).ok().map(JObject::from),
         Value::Number(n) => number_to_jobject(env, n),
-        Value::Bool(b) => {
-            let class = env.find_class(jni_str!("java/lang/Boolean")).ok()?;
-            env.call_static_method(
-                class,
-                jni_str!("valueOf"),
-                jni_sig!("(Z)Ljava/lang/Boolean;"),
-                &[JValue::Bool(*b)],
-            )
-            .ok()
-            .and_then(|v| v.l().ok())
-        }
+        Value::Bool(b) => jni_cache().ok()?.boolean.value_of(env, JValue::Bool(*b)).ok(),
         Value::Object(map) => {
-            let class = env.find_class(jni_str!("java/util/LinkedHashMap")).ok()?;
-            let map_obj = env.new_object(class, jni_sig!("()V"), &[]).ok()?;
+            let cache = jni_cache().ok()?;
+            let map_obj = cache.linked_hash_map.new_object(env, &[]).ok()?;
             for (k, v) in map.iter() {
                 let key_obj = env.new_string(k).ok().map(JObject::from)?;
                 let val_obj = value_to_jobject(env, v).unwrap_or(JObject::null());
-                let _ = env.call_method(
-                    &map_obj,
-                    jni_str!("put"),
-                    jni_sig!("(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;"),
-                    &[JValue::Object(&key_obj), JValue::Object(&val_obj)],
-                );
+                let _ = cache.map_put(env, &map_obj, &key_obj, &val_obj);
             }
             Some(map_obj)
         }
         Value::Array(arr) => {
-            let class = env.find_class(jni_str!("java/util/ArrayList")).ok()?;
-            let list_obj = env.new_object(class, jni_sig!("()V"), &[]).ok()?;
+            let cache = jni_cache().ok()?;
+            let list_obj = cache.array_list.new_object(env, &[]).ok()?;
             for v in arr.iter() {
                 let elem = value_to_jobject(env, v).unwrap_or(JObject::null());
-                let _ = env.call_method(
-                    &list_obj,
-                    jni_str!("add"),
-                    jni_sig!("(Ljava/lang/Object;)Z"),
-                    &[JValue::Object(&elem)],
-                );
+                let _ = cache.list_add(env, &list_obj, &elem);
             }
             Some(list_obj)
         }
@@ -93,40 +75,13 @@ fn value_to_jobject<'a>(env: &mut Env<'a>, value: &Value) -> Option<JObject<'a>>
 }
 
 fn number_to_jobject<'a>(env: &mut Env<'a>, n: &Number) -> Option<JObject<'a>> {
+    let cache = jni_cache().ok()?;
     match n {
-        Number::Int(i) => {
-            let class = env.find_class(jni_str!("java/lang/Long")).ok()?;
-            env.call_static_method(
-                class,
-                jni_str!("valueOf"),
-                jni_sig!("(J)Ljava/lang/Long;"),
-                &[JValue::Long(*i)],
-            )
-            .ok()
-            .and_then(|v| v.l().ok())
-        }
-        Number::Float(f) => {
-            let class = env.find_class(jni_str!("java/lang/Double")).ok()?;
-            env.call_static_method(
-                class,
-                jni_str!("valueOf"),
-                jni_sig!("(D)Ljava/lang/Double;"),
-                &[JValue::Double(*f)],
-            )
-            .ok()
-            .and_then(|v| v.l().ok())
-        }
+        Number::Int(i) => cache.long.value_of(env, JValue::Long(*i)).ok(),
+        Number::Float(f) => cache.double.value_of(env, JValue::Double(*f)).ok(),
         Number::Decimal(d) => {
-            let class = env.find_class(jni_str!("java/lang/Double")).ok()?;
             let f: f64 = d.to_string().parse().unwrap_or(0.0);
-            env.call_static_method(
-                class,
-                jni_str!("valueOf"),
-                jni_sig!("(D)Ljava/lang/Double;"),
-                &[JValue::Double(f)],
-            )
-            .ok()
-            .and_then(|v| v.l().ok())
+            cache.double.value_of(env, JValue::Double(f)).ok()
         }
     }
 }
@@ -177,11 +132,7 @@ fn build_server_exception<'a>(env: &mut Env<'a>, error: &surrealdb::Error) -> Op
         _ => (SERVER_EXCEPTION, "UNKNOWN", Some(error.kind_str())),
     };
     let is_base_class = class_name == SERVER_EXCEPTION;
-
-    let class = match env.find_class(JNIString::from(class_name)) {
-        Ok(c) => c,
-        Err(_) => return None,
-    };
+    let cache = jni_cache().ok()?;
 
     let message = match env.new_string(error.message()) {
         Ok(s) => s,
@@ -195,16 +146,7 @@ fn build_server_exception<'a>(env: &mut Env<'a>, error: &surrealdb::Error) -> Op
 
     if is_base_class {
         // ServerException(ErrorKind kind, String rawKindIfUnknown, String message, Object details, ServerException cause)
-        let enum_class = env.find_class(jni_str!("com/surrealdb/ErrorKind")).ok()?;
-        let enum_obj = env
-            .get_static_field(
-                &enum_class,
-                JNIString::from(enum_name),
-                jni_sig!("Lcom/surrealdb/ErrorKind;"),
-            )
-            .ok()?
-            .l()
-            .ok()?;
+        let enum_obj = cache.error_kind(enum_name)?;
         let raw_kind_jstr = match raw_kind_for_unknown {
             Some(s) => env
                 .new_string(s)
@@ -214,13 +156,13 @@ fn build_server_exception<'a>(env: &mut Env<'a>, error: &surrealdb::Error) -> Op
             None => JObject::null(),
         };
         let args = [
-            JValue::Object(&enum_obj),
+            JValue::Object(enum_obj),
             JValue::Object(&raw_kind_jstr),
             JValue::Object(&message_obj),
             JValue::Object(&details_obj),
             JValue::Object(&java_cause),
         ];
-        env.new_object(class, jni_sig!("(Lcom/surrealdb/ErrorKind;Ljava/lang/String;Ljava/lang/String;Ljava/lang/Object;Lcom/surrealdb/ServerException;)V"), &args).ok()
+        cache.server_exception.new_object(env, &args).ok()
     } else {
         // Subclass(String message, Object details, ServerException cause)
         let args = [
@@ -228,12 +170,10 @@ fn build_server_exception<'a>(env: &mut Env<'a>, error: &surrealdb::Error) -> Op
             JValue::Object(&details_obj),
             JValue::Object(&java_cause),
         ];
-        env.new_object(
-            class,
-            jni_sig!("(Ljava/lang/String;Ljava/lang/Object;Lcom/surrealdb/ServerException;)V"),
-            &args,
-        )
-        .ok()
+        cache
+            .server_exception_subclass(class_name)?
+            .new_object(env, &args)
+            .ok()
     }
 }
 
@@ -81,7 +81,7 @@ pub extern "system" fn Java_com_surrealdb_Geometry_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) -> jboolean {
-    release_instance::<Arc<Value>>(ptr);
+    release_instance::<Arc<Value>>(ptr, JniTypes::Value);
     true as jboolean
 }
 
@@ -1,6 +1,7 @@
 use std::hash::{DefaultHasher, Hash, Hasher};
 use std::ptr::null_mut;
 use std::str::FromStr;
+use std::sync::Arc;
 
 use crate::with_env_body;
 use jni::objects::{JClass, JLongArray, JString};
@@ -10,10 +11,19 @@ use surrealdb::types::{Array, RecordId, RecordIdKey, ToSql, Uuid, Value};
 
 use crate::error::SurrealError;
 use crate::{
-    get_long_array, get_rust_string, get_value_instance, new_string, take_value_mut_instance,
-    JniTypes,
+    get_long_array, get_rust_string, get_value_instance, new_string, release_instance,
+    take_value_mut_instance, JniTypes,
 };
 
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_Id_deleteInstance<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) {
+    release_instance::<Arc<Value>>(ptr, JniTypes::Value);
+}
+
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_Id_newLongId<'local>(
     _env: EnvUnowned<'local>,
@@ -0,0 +1,90 @@
+use std::sync::Arc;
+
+use surrealdb::types::Value;
+
+/// Native handle backing the Java value and entry iterators.
+///
+/// Iterators created from an `Array` or `Object` share the parent's
+/// `Arc<Value>` and walk its elements in place, so starting an iteration no
+/// longer copies the whole collection. Each element is cloned only when it is
+/// handed to Java. Iterators over an owned query result move the elements out
+/// instead.
+pub(crate) struct NativeIter<T> {
+    /// Declared before `_owner` so that it is dropped first: for shared
+    /// iterators it borrows from the value kept alive by `_owner`.
+    iter: Box<dyn Iterator<Item = T> + Send>,
+    remaining: usize,
+    _owner: Option<Arc<Value>>,
+}
+
+pub(crate) type ValueIter = NativeIter<Value>;
+
+pub(crate) type EntryIter = NativeIter<(String, Value)>;
+
+impl<T> NativeIter<T> {
+    pub(crate) fn owned<I>(iter: I) -> Self
+    where
+        I: ExactSizeIterator<Item = T> + Send + 'static,
+    {
+        Self {
+            remaining: iter.len(),
+            iter: Box::new(iter),
+            _owner: None,
+        }
+    }
+}
+
+impl ValueIter {
+    /// Iterates over the elements of a shared array, or returns `None` if the
+    /// value is not an array.
+    pub(crate) fn shared(value: Arc<Value>) -> Option<Self> {
+        // SAFETY: the value is immutable while shared, and `_owner` keeps it
+        // alive (at the same address) for as long as `iter` borrows from it.
+        let borrowed: &'static Value = unsafe { &*Arc::as_ptr(&value) };
+        if let Value::Array(a) = borrowed {
+            Some(Self {
+                remaining: a.len(),
+                iter: Box::new(a.iter().cloned()),
+                _owner: Some(value),
+            })
+        } else {
+            None
+        }
+    }
+}
+
+impl EntryIter {
+    /// Iterates over the entries of a shared object, or returns `None` if the
+    /// value is not an object.
+    pub(crate) fn shared(value: Arc<Value>) -> Option<Self> {
+        // SAFETY: see `ValueIter::shared`.
+        let borrowed: &'static Value = unsafe { &*Arc::as_ptr(&value) };
+        if let Value::Object(o) = borrowed {
+            Some(Self {
+                remaining: o.len(),
+                iter: Box::new(o.iter().map(|(k, v)| (k.clone(), v.clone()))),
+                _owner: Some(value),
+            })
+        } else {
+            None
+        }
+    }
+}
+
+impl<T> Iterator for NativeIter<T> {
+    type Item = T;
+
+    fn next(&mut self) -> Option<T> {
+        let next = self.iter.next();
+        if next.is_some() {
+            self.remaining -= 1;
+        }
+        next
+    }
+
+    fn size_hint(&self) -> (usize, Option<usize>) {
+        (self.remaining, Some(self.remaining))
+    }
+}
+
+impl<T> ExactSizeIterator for NativeIter<T> {}
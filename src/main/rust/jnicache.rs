@@ -0,0 +1,267 @@
+//! Java classes and method IDs resolved once, when the library is loaded.
+//!
+//! `JNI_OnLoad` runs on the thread calling `System.load`, whose class loader
+//! can see the `com.surrealdb` classes, and resolves every class the native
+//! layer instantiates into a global reference together with its constructor
+//! (and any other method) ID.  Result paths then build Java objects with the
+//! cached IDs instead of paying a `find_class` and a by-name method lookup on
+//! every call.
+use std::ffi::c_void;
+
+use jni::objects::{Global, JClass, JMethodID, JObject, JStaticMethodID, JValue};
+use jni::signature::{Primitive, ReturnType};
+use jni::strings::{JNIStr, JNIString};
+use jni::sys::{jint, jvalue, JNI_VERSION_1_8};
+use jni::{jni_sig, jni_str, Env, JavaVM};
+use once_cell::sync::OnceCell;
+
+use crate::error::SurrealError;
+
+static CACHE: OnceCell<JniCache> = OnceCell::new();
+
+/// A class together with the ID of the constructor the native layer uses.
+pub(crate) struct CachedClass {
+    class: Global<JClass<'static>>,
+    ctor: JMethodID,
+}
+
+impl CachedClass {
+    fn load(env: &mut Env, name: &JNIStr, ctor_sig: &JNIStr) -> jni::errors::Result<Self> {
+        let class = env.find_class(name)?;
+        let ctor = env.get_method_id(&class, jni_str!("<init>"), ctor_sig)?;
+        Ok(Self {
+            class: env.new_global_ref(&class)?,
+            ctor,
+        })
+    }
+
+    /// Instantiates the class; `args` must match the cached constructor.
+    pub(crate) fn new_object<'local>(
+        &self,
+        env: &mut Env<'local>,
+        args: &[JValue],
+    ) -> jni::errors::Result<JObject<'local>> {
+        let args: Vec<jvalue> = args.iter().map(JValue::as_jni).collect();
+        // SAFETY: the constructor ID was resolved against this class and callers
+        // pass arguments matching its signature.
+        unsafe { env.new_object_unchecked(&*self.class, self.ctor, &args) }
+    }
+}
+
+/// A static `valueOf` factory of a boxed primitive type.
+pub(crate) struct CachedBoxing {
+    class: Global<JClass<'static>>,
+    value_of: JStaticMethodID,
+}
+
+impl CachedBoxing {
+    fn load(env: &mut Env, name: &JNIStr, value_of_sig: &JNIStr) -> jni::errors::Result<Self> {
+        let class = env.find_class(name)?;
+        let value_of = env.get_static_method_id(&class, jni_str!("valueOf"), value_of_sig)?;
+        Ok(Self {
+            class: env.new_global_ref(&class)?,
+            value_of,
+        })
+    }
+
+    /// Boxes `value`, which must match the cached `valueOf` parameter type.
+    pub(crate) fn value_of<'local>(
+        &self,
+        env: &mut Env<'local>,
+        value: JValue,
+    ) -> jni::errors::Result<JObject<'local>> {
+        // SAFETY: the method ID was resolved against this class and returns an object.
+        unsafe {
+            env.call_static_method_unchecked(
+                &*self.class,
+                self.value_of,
+                ReturnType::Object,
+                &[value.as_jni()],
+            )
+        }?
+        .l()
+    }
+}
+
+/// Classes and method IDs shared by every native call.
+pub(crate) struct JniCache {
+    pub(crate) live_notification: CachedClass,
+    pub(crate) live_stream: CachedClass,
+    pub(crate) token: CachedClass,
+    pub(crate) ns_db: CachedClass,
+    pub(crate) boolean: CachedBoxing,
+    pub(crate) long: CachedBoxing,
+    pub(crate) double: CachedBoxing,
+    pub(crate) linked_hash_map: CachedClass,
+    map_put: JMethodID,
+    pub(crate) array_list: CachedClass,
+    list_add: JMethodID,
+    /// `ServerException(ErrorKind, String, String, Object, ServerException)`.
+    pub(crate) server_exception: CachedClass,
+    /// Subclasses of `ServerException`, keyed by their internal class name, with
+    /// their `(String, Object, ServerException)` constructor.
+    server_exception_subclasses: Vec<(&'static str, CachedClass)>,
+    /// The `ErrorKind` constants passed to the base `ServerException`.
+    error_kinds: Vec<(&'static str, Global<JObject<'static>>)>,
+}
+
+/// `ServerException` subclasses built by `error::build_server_exception`.
+const SERVER_EXCEPTION_SUBCLASSES: [&str; 9] = [
+    "com/surrealdb/ValidationException",
+    "com/surrealdb/ConfigurationException",
+    "com/surrealdb/ThrownException",
+    "com/surrealdb/QueryException",
+    "com/surrealdb/SerializationException",
+    "com/surrealdb/NotAllowedException",
+    "com/surrealdb/NotFoundException",
+    "com/surrealdb/AlreadyExistsException",
+    "com/surrealdb/InternalException",
+];
+
+/// `ErrorKind` constants used with the base `ServerException` class.
+const BASE_ERROR_KINDS: [&str; 2] = ["CONNECTION", "UNKNOWN"];
+
+impl JniCache {
+    fn load(env: &mut Env) -> jni::errors::Result<Self> {
+        let string_pair = jni_sig!("(Ljava/lang/String;Ljava/lang/String;)V");
+        let linked_hash_map =
+            CachedClass::load(env, jni_str!("java/util/LinkedHashMap"), jni_sig!("()V"))?;
+        let map_put = env.get_method_id(
+            &*linked_hash_map.class,
+            jni_str!("put"),
+            jni_sig!("(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;"),
+        )?;
+        let array_list = CachedClass::load(env, jni_str!("java/util/ArrayList"), jni_sig!("()V"))?;
+        let list_add = env.get_method_id(
+            &*array_list.class,
+            jni_str!("add"),
+            jni_sig!("(Ljava/lang/Object;)Z"),
+        )?;
+        let mut server_exception_subclasses = Vec::new();
+        for name in SERVER_EXCEPTION_SUBCLASSES {
+            let class = CachedClass::load(
+                env,
+                &JNIString::from(name),
+                jni_sig!("(Ljava/lang/String;Ljava/lang/Object;Lcom/surrealdb/ServerException;)V"),
+            )?;
+            server_exception_subclasses.push((name, class));
+        }
+        let error_kind = env.find_class(jni_str!("com/surrealdb/ErrorKind"))?;
+        let mut error_kinds = Vec::new();
+        for name in BASE_ERROR_KINDS {
+            let constant = env
+                .get_static_field(
+                    &error_kind,
+                    JNIString::from(name),
+                    jni_sig!("Lcom/surrealdb/ErrorKind;"),
+                )?
+                .l()?;
+            error_kinds.push((name, env.new_global_ref(&constant)?));
+        }
+        Ok(Self {
+            live_notification: CachedClass::load(
+                env,
+                jni_str!("com/surrealdb/LiveNotification"),
+                jni_sig!("(Ljava/lang/String;JLjava/lang/String;)V"),
+            )?,
+            live_stream: CachedClass::load(
+                env,
+                jni_str!("com/surrealdb/LiveStream"),
+                jni_sig!("(JLjava/lang/String;)V"),
+            )?,
+            token: CachedClass::load(env, jni_str!("com/surrealdb/signin/Token"), string_pair)?,
+            ns_db: CachedClass::load(env, jni_str!("com/surrealdb/NsDb"), string_pair)?,
+            boolean: CachedBoxing::load(
+                env,
+                jni_str!("java/lang/Boolean"),
+                jni_sig!("(Z)Ljava/lang/Boolean;"),
+            )?,
+            long: CachedBoxing::load(
+                env,
+                jni_str!("java/lang/Long"),
+                jni_sig!("(J)Ljava/lang/Long;"),
+            )?,
+            double: CachedBoxing::load(
+                env,
+                jni_str!("java/lang/Double"),
+                jni_sig!("(D)Ljava/lang/Double;"),
+            )?,
+            linked_hash_map,
+            map_put,
+            array_list,
+            list_add,
+            server_exception: CachedClass::load(
+                env,
+                jni_str!("com/surrealdb/ServerException"),
+                jni_sig!("(Lcom/surrealdb/ErrorKind;Ljava/lang/String;Ljava/lang/String;Ljava/lang/Object;Lcom/surrealdb/ServerException;)V"),
+            )?,
+            server_exception_subclasses,
+            error_kinds,
+        })
+    }
+
+    /// Calls `LinkedHashMap.put(key, value)`.
+    pub(crate) fn map_put(
+        &self,
+        env: &mut Env,
+        map: &JObject,
+        key: &JObject,
+        value: &JObject,
+    ) -> jni::errors::Result<()> {
+        let args = [JValue::Object(key).as_jni(), JValue::Object(value).as_jni()];
+        // SAFETY: `map` is a LinkedHashMap created from the cached class.
+        unsafe { env.call_method_unchecked(map, self.map_put, ReturnType::Object, &args) }?;
+        Ok(())
+    }
+
+    /// Calls `ArrayList.add(element)`.
+    pub(crate) fn list_add(
+        &self,
+        env: &mut Env,
+        list: &JObject,
+        element: &JObject,
+    ) -> jni::errors::Result<()> {
+        let args = [JValue::Object(element).as_jni()];
+        let ret = ReturnType::Primitive(Primitive::Boolean);
+        // SAFETY: `list` is an ArrayList created from the cached class.
+        unsafe { env.call_method_unchecked(list, self.list_add, ret, &args) }?;
+        Ok(())
+    }
+
+    /// Returns the cached `ServerException` subclass with the given name.
+    pub(crate) fn server_exception_subclass(&self, name: &str) -> Option<&CachedClass> {
+        self.server_exception_subclasses.iter().find(|(n, _)| *n == name).map(|(_, c)| c)
+    }
+
+    /// Returns the cached `ErrorKind` constant with the given name.
+    pub(crate) fn error_kind(&self, name: &str) -> Option<&JObject<'static>> {
+        self.error_kinds.iter().find(|(n, _)| *n == name).map(|(_, k)| &**k)
+    }
+}
+
+/// Returns the cache populated by `JNI_OnLoad`.
+pub(crate) fn jni_cache() -> Result<&'static JniCache, SurrealError> {
+    CACHE
+        .get()
+        .ok_or_else(|| SurrealError::SurrealDBJni("JNI class cache is not initialized".to_string()))
+}
+
+/// Resolves the cached classes when the JVM loads the library.
+///
+/// A failure leaves the cache empty and clears the pending Java exception, so
+/// the library still loads; native calls that need the cache then throw a
+/// `SurrealException` describing the problem.
+#[no_mangle]
+pub extern "system" fn JNI_OnLoad(vm: *mut jni::sys::JavaVM, _reserved: *mut c_void) -> jint {
+    let vm = unsafe { JavaVM::from_raw(vm) };
+    let _ = vm.attach_current_thread(|env| -> jni::errors::Result<()> {
+        match JniCache::load(env) {
+            Ok(cache) => {
+                let _ = CACHE.set(cache);
+            }
+            Err(_) => env.exception_clear(),
+        }
+        Ok(())
+    });
+    JNI_VERSION_1_8
+}
@@ -1,4 +1,5 @@
 use crate::error::SurrealError;
+use crate::iter::{EntryIter, ValueIter};
 #[cfg(debug_assertions)]
 use dashmap::DashMap;
 use jni::objects::{JObjectArray, JString};
@@ -6,10 +7,8 @@ use jni::sys::jlong;
 use jni::{Env, EnvOutcome, Outcome};
 use once_cell::sync::Lazy;
 use parking_lot::Mutex;
-use std::collections::btree_map::IntoIter as BIntoIter;
 use std::ops::Deref;
 use std::sync::Arc;
-use std::vec::IntoIter;
 use surrealdb::engine::any::Any;
 use surrealdb::method::Transaction;
 use surrealdb::types::Value;
@@ -25,37 +24,43 @@ pub(crate) type LiveNotificationResult =
 /// is confirmed, and freed by `releaseNative` (in live.rs) when the Java side
 /// calls `close()`.
 ///
-/// ## Fields (tuple elements)
-///
-/// 0. **`recv_mutex`** (`Arc<Mutex<()>>`) — held by `nextNative` for the
-///    entire duration of the blocking `recv()` call.  `releaseNative` acquires
-///    it *after* the channel has been closed so it can be sure no thread is
-///    still inside `recv()` before freeing the handle.
-///
-/// 1. **`join_handle`** (`Mutex<Option<JoinHandle>>`) — the background thread
-///    that reads from the SurrealDB live-query stream and forwards
-///    notifications into the async channel.  Taken and joined by
-///    `releaseNative` during shutdown.
-///
-/// 2. **`shutdown_tx`** (`Mutex<Option<Sender<()>>>`) — dropping this sender
-///    signals the background thread (via `tokio::select!`) to exit.
-///
-/// 3. **`rx`** (`Mutex<Option<Receiver<LiveNotificationResult>>>`) — the
-///    receiving end of the notification channel, read by `nextNative`.
-///
 /// ## Lock ordering
 ///
 /// Both `nextNative` and `releaseNative` acquire `recv_mutex` **before**
 /// `rx`, ensuring a consistent ordering and preventing deadlocks.
-pub(crate) type LiveStreamChannel = (
-    std::sync::Arc<parking_lot::Mutex<()>>,
-    parking_lot::Mutex<Option<std::thread::JoinHandle<()>>>,
-    parking_lot::Mutex<Option<async_channel::Sender<()>>>,
-    parking_lot::Mutex<Option<async_channel::Receiver<LiveNotificationResult>>>,
-);
+pub(crate) struct LiveStreamChannel {
+    /// Held by `nextNative` for the entire duration of the blocking `recv()`
+    /// call.  `releaseNative` acquires it *after* the channel has been closed
+    /// so it can be sure no thread is still inside `recv()` before freeing the
+    /// handle.
+    pub(crate) recv_mutex: Arc<Mutex<()>>,
+    /// The Tokio task that reads from the SurrealDB live-query stream and
+    /// forwards notifications into the bounded channel.  Taken and awaited by
+    /// `releaseNative` during shutdown.
+    pub(crate) join_handle: Mutex<Option<tokio::task::JoinHandle<()>>>,
+    /// Dropping this sender signals the forwarder task (via
+    /// `tokio::select!`) to exit, even while it waits for channel capacity or
+    /// credit.
+    pub(crate) shutdown_tx: Mutex<Option<async_channel::Sender<()>>>,
+    /// The receiving end of the bounded notification channel, read by
+    /// `nextNative`.  When the channel is full the forwarder stops polling the
+    /// SurrealDB stream until the consumer catches up.
+    pub(crate) rx: Mutex<Option<async_channel::Receiver<LiveNotificationResult>>>,
+    /// Outstanding demand for streams created in demand-driven mode (used by
+    /// `LivePublisher`).  The forwarder takes one permit before polling for
+    /// each notification, and `requestNative` adds permits.  `None` for plain
+    /// `LiveStream`s, which are only bounded by the channel capacity.
+    pub(crate) credit: Option<Arc<tokio::sync::Semaphore>>,
+    /// An error received by `nextBatchNative` after it had already drained
+    /// some notifications.  The batch is returned first and the error is
+    /// thrown by the next `nextNative` or `nextBatchNative` call.
+    pub(crate) pending_error: Mutex<Option<surrealdb::Error>>,
+}
 use tokio::runtime::Runtime;
 
 mod array;
+mod asyncsurreal;
+mod codec;
 mod entry;
 mod entryiterator;
 mod entrymut;
@@ -63,11 +68,17 @@ mod error;
 mod fileref;
 mod geometry;
 mod id;
+mod iter;
+mod jnicache;
 mod live;
+mod livequeryhub;
 mod macros;
 mod object;
 mod recordid;
 mod response;
+mod runtime;
+mod scope;
+mod stats;
 mod surreal;
 mod syncentryiterator;
 mod syncvalueiterator;
@@ -76,13 +87,14 @@ mod value;
 mod valueiterator;
 mod valuemut;
 
-static TOKIO_RUNTIME: Lazy<Runtime> =
-    Lazy::new(|| Runtime::new().expect("Cannot start Tokio runtime"));
+static TOKIO_RUNTIME: Lazy<Runtime> = Lazy::new(runtime::build);
 
 #[cfg(debug_assertions)]
 type Allocations = DashMap<jlong, JniTypes>;
 
-#[derive(PartialEq)]
+/// The kinds of native handle, in the order of the `NativeStats.KINDS` names
+/// on the Java side.
+#[derive(Clone, Copy, PartialEq)]
 enum JniTypes {
     Surreal,
     Transaction,
@@ -96,6 +108,8 @@ enum JniTypes {
     SyncObjectIter,
     Response,
     LiveStream,
+    AsyncOutcome,
+    LiveQueryHub,
 }
 
 impl JniTypes {
@@ -115,11 +129,11 @@ impl JniTypes {
         create_instance(v, Self::ValueMut)
     }
 
-    fn new_array_iter(i: IntoIter<Value>) -> jlong {
+    fn new_array_iter(i: ValueIter) -> jlong {
         create_instance(i, Self::ArrayIter)
     }
 
-    fn new_sync_array_iter(i: Arc<Mutex<IntoIter<Value>>>) -> jlong {
+    fn new_sync_array_iter(i: Arc<Mutex<ValueIter>>) -> jlong {
         create_instance(i, Self::SyncArrayIter)
     }
 
@@ -131,11 +145,11 @@ impl JniTypes {
         create_instance((key, value), Self::KeyValueMutEntry)
     }
 
-    fn new_sync_object_iter(i: Arc<Mutex<BIntoIter<String, Value>>>) -> jlong {
+    fn new_sync_object_iter(i: Arc<Mutex<EntryIter>>) -> jlong {
         create_instance(i, Self::SyncObjectIter)
     }
 
-    fn new_object_iter(i: BIntoIter<String, Value>) -> jlong {
+    fn new_object_iter(i: EntryIter) -> jlong {
         create_instance(i, Self::ObjectIter)
     }
 
@@ -161,6 +175,8 @@ impl JniTypes {
             JniTypes::SyncObjectIter => "SynchronizedObjectIterator",
             JniTypes::Response => "Response",
             JniTypes::LiveStream => "LiveStream",
+            JniTypes::AsyncOutcome => "AsyncOutcome",
+            JniTypes::LiveQueryHub => "LiveQueryHub",
         }
     }
 }
@@ -176,14 +192,15 @@ impl Deref for JniTypes {
 #[cfg(debug_assertions)]
 static ALLOCATOR: Lazy<Allocations> = Lazy::new(Allocations::default);
 
-fn create_instance<T>(instance: T, _typ: JniTypes) -> jlong {
+fn create_instance<T>(instance: T, typ: JniTypes) -> jlong {
     // Enclose the instance in an arc
     let instance = Box::new(instance);
     // Convert it into a ptr
     let ptr = Box::into_raw(instance) as jlong;
+    stats::allocated(typ);
     // Keep trace of the type
     #[cfg(debug_assertions)]
-    ALLOCATOR.insert(ptr, _typ);
+    ALLOCATOR.insert(ptr, typ);
     ptr
 }
 
@@ -241,6 +258,7 @@ pub(crate) fn take_instance<T>(ptr: jlong, t: JniTypes) -> Result<T, SurrealErro
         check_allocation(ptr, t)?;
         ALLOCATOR.remove(&ptr);
     }
+    stats::freed(t);
 
     // Convert jlong to a Box<T>, effectively taking ownership of the instance
     let instance = unsafe { Box::from_raw(ptr as *mut T) };
@@ -255,10 +273,11 @@ pub(crate) fn clone_surreal_instance(ptr: jlong) -> Result<jlong, SurrealError>
     Ok(JniTypes::new_surreal(cloned))
 }
 
-fn release_instance<T>(ptr: jlong) {
+fn release_instance<T>(ptr: jlong, typ: JniTypes) {
     if ptr != 0 {
         #[cfg(debug_assertions)]
         ALLOCATOR.remove(&ptr);
+        stats::freed(typ);
         // Convert jlong back to Arc<T> and let it go out of scope to free memory
         unsafe {
             let _ = Box::from_raw(ptr as *mut T);
@@ -1,12 +1,120 @@
+use std::collections::BTreeMap;
 use std::sync::Arc;
+use std::time::Duration;
 
 use crate::with_env_body;
-use jni::objects::{JObject, JValue};
-use jni::sys::{jlong, jobject};
-use jni::{jni_sig, jni_str, EnvUnowned};
+use async_channel::{Receiver, Sender, TryRecvError};
+use futures::{Stream, StreamExt};
+use jni::objects::{JByteArray, JLongArray, JObject, JObjectArray, JString, JValue};
+use jni::sys::{jbyte, jint, jlong, jobject};
+use jni::{Env, EnvUnowned};
+use surrealdb::engine::any::Any;
+use surrealdb::types::{ToSql, Value};
+use surrealdb::{Notification, Surreal};
+use tokio::sync::Semaphore;
 
 use crate::error::SurrealError;
-use crate::{get_instance, new_string, take_instance, JniTypes, LiveStreamChannel, TOKIO_RUNTIME};
+use crate::jnicache::jni_cache;
+use crate::{
+    get_instance, new_string, release_instance, take_instance, JniTypes, LiveNotificationResult,
+    LiveStreamChannel, TOKIO_RUNTIME,
+};
+
+/// Starts a live query on `table` and returns its UUID and notification stream.
+///
+/// Unlike the `.select(table).live()` builder (whose query id is private), the
+/// raw `LIVE SELECT` runs synchronously on the calling thread, so subscription
+/// errors (e.g. the table does not exist) are surfaced eagerly via `take(0)`.
+/// The statement returns a `Value::Uuid`, which is read up front so it is
+/// available before any notification arrives.  `take(0)` and `stream(0)` read
+/// independent maps, so reading the UUID does not consume the stream.
+pub(crate) fn start_live_query(
+    surreal: &Surreal<Any>,
+    table: String,
+) -> Result<
+    (
+        String,
+        impl Stream<Item = LiveNotificationResult> + Unpin + Send + 'static,
+    ),
+    SurrealError,
+> {
+    // type::table($tb) binds the table name safely (no SQL injection).
+    let mut params = BTreeMap::new();
+    params.insert("tb".to_string(), Value::String(table));
+    let mut res = crate::surreal::surrealdb_query::<Value>(
+        surreal,
+        "LIVE SELECT * FROM type::table($tb)",
+        Some(params),
+    )?;
+    // The statement result at index 0 is the live-query UUID.
+    let uuid = match res.take::<Value>(0)? {
+        Value::Uuid(uuid) => uuid.to_string(),
+        // Some servers/protocols return the live-query id wrapped in a one-element
+        // array; unwrap it, mirroring the SDK's `.select(table).live()` builder.
+        Value::Array(mut arr) if arr.len() == 1 => match arr.pop() {
+            Some(Value::Uuid(uuid)) => uuid.to_string(),
+            other => {
+                return Err(SurrealError::SurrealDBJni(format!(
+                    "LIVE SELECT did not return a UUID: {other:?}"
+                )));
+            }
+        },
+        other => {
+            return Err(SurrealError::SurrealDBJni(format!(
+                "LIVE SELECT did not return a UUID: {}",
+                other.to_sql()
+            )));
+        }
+    };
+    // The notification stream lives in a separate map from the results, so the
+    // take(0) above does not disturb it.
+    let stream = res.stream::<Value>(0)?;
+    Ok((uuid, stream))
+}
+
+/// Drives a live-query stream, forwarding each notification into `tx`.
+///
+/// Backpressure is applied at two levels.  The notification channel is
+/// bounded, so when the consumer falls behind `send` waits and the SurrealDB
+/// stream is no longer polled.  In demand-driven mode (`credit` is `Some`), a
+/// permit is also required before polling for each notification, so nothing
+/// is read from the SurrealDB stream until the subscriber has requested it.
+///
+/// Every wait is raced against `shutdown_rx`, which is closed by
+/// `releaseNative`, so the loop always exits promptly on shutdown.
+pub(crate) async fn forward_notifications<S>(
+    mut stream: S,
+    tx: Sender<LiveNotificationResult>,
+    shutdown_rx: Receiver<()>,
+    credit: Option<Arc<Semaphore>>,
+) where
+    S: Stream<Item = LiveNotificationResult> + Unpin,
+{
+    loop {
+        if let Some(credit) = &credit {
+            tokio::select! {
+                _ = shutdown_rx.recv() => break,
+                permit = credit.acquire() => match permit {
+                    Ok(p) => p.forget(),
+                    Err(_) => break,
+                },
+            }
+        }
+        let item = tokio::select! {
+            _ = shutdown_rx.recv() => break,
+            item = stream.next() => match item {
+                Some(i) => i,
+                None => break,
+            },
+        };
+        tokio::select! {
+            _ = shutdown_rx.recv() => break,
+            sent = tx.send(item) => if sent.is_err() {
+                break;
+            },
+        }
+    }
+}
 
 /// JNI implementation of `LiveStream.nextNative(long handle)`.
 ///
@@ -33,13 +141,15 @@ pub extern "system" fn Java_com_surrealdb_LiveStream_nextNative<'local>(
     handle_ptr: jlong,
 ) -> jobject {
     with_env_body!(env, env, {
-        let (recv_mutex, _join_handle_mux, _shutdown_tx_mux, rx_mux) =
-            match get_instance::<LiveStreamChannel>(handle_ptr, JniTypes::LiveStream) {
-                Ok(r) => r,
-                Err(e) => return e.exception(env, std::ptr::null_mut),
-            };
-        let _recv_guard = recv_mutex.lock();
-        let rx_opt_guard = rx_mux.lock();
+        let channel = match get_instance::<LiveStreamChannel>(handle_ptr, JniTypes::LiveStream) {
+            Ok(r) => r,
+            Err(e) => return e.exception(env, std::ptr::null_mut),
+        };
+        let _recv_guard = channel.recv_mutex.lock();
+        if let Some(e) = channel.pending_error.lock().take() {
+            return SurrealError::from(e).exception(env, std::ptr::null_mut);
+        }
+        let rx_opt_guard = channel.rx.lock();
         let rx_ref = match rx_opt_guard.as_ref() {
             Some(rx) => rx,
             None => return JObject::null().into_raw(),
@@ -48,52 +158,171 @@ pub extern "system" fn Java_com_surrealdb_LiveStream_nextNative<'local>(
             Ok(item) => item,
             Err(_) => return JObject::null().into_raw(),
         };
-        let notification = match item {
-            Ok(n) => n,
-            Err(e) => return SurrealError::from(e).exception(env, std::ptr::null_mut),
+        match item {
+            Ok(n) => new_live_notification(env, n),
+            Err(e) => SurrealError::from(e).exception(env, std::ptr::null_mut),
+        }
+    })
+}
+
+/// Action codes written by `nextBatchNative`, matching `LiveStream.ACTIONS`.
+fn action_code(action: &str) -> jbyte {
+    match action {
+        "CREATE" => 0,
+        "UPDATE" => 1,
+        "DELETE" => 2,
+        "KILLED" => 3,
+        _ => -1,
+    }
+}
+
+/// JNI implementation of `LiveStream.nextBatchNative(long handle, long[] valuePtrs,
+/// byte[] actions, String[] otherActions, int max, long timeoutNanos)`.
+///
+/// Drains up to `max` queued notifications in a single native call.  Waits up
+/// to `timeoutNanos` for the first notification, then takes whatever else is
+/// already queued without waiting.  For each notification, the value handle
+/// is written to `valuePtrs` and the action code to `actions`; an action
+/// without a code (`-1`) is written by name to `otherActions`.  The query id is
+/// the same for every notification of a stream and is supplied by the Java
+/// side, so no Java object is created per notification.
+///
+/// Returns the number of notifications written, `0` on timeout, or `-1` once
+/// the stream has ended.  Follows the locking protocol of `nextNative`.  An
+/// error received after some notifications were drained is stored in
+/// `pending_error` and thrown by the next call, so no notification is lost.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveStream_nextBatchNative<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: jni::objects::JClass<'local>,
+    handle_ptr: jlong,
+    value_ptrs: JLongArray<'local>,
+    actions: JByteArray<'local>,
+    other_actions: JObjectArray<'local, JString<'local>>,
+    max: jint,
+    timeout_nanos: jlong,
+) -> jint {
+    with_env_body!(env, env, {
+        let channel = match get_instance::<LiveStreamChannel>(handle_ptr, JniTypes::LiveStream) {
+            Ok(r) => r,
+            Err(e) => return e.exception(env, || 0),
         };
-        let action_raw = new_string!(env, notification.action.to_string(), || {
-            std::ptr::null_mut()
-        });
-        let action_str = unsafe { JObject::from_raw(env, action_raw) };
-        let value_ptr = JniTypes::new_value(Arc::new(notification.data));
-        let query_id_raw = new_string!(env, notification.query_id.to_string(), || {
-            std::ptr::null_mut()
-        });
-        let query_id_str = unsafe { JObject::from_raw(env, query_id_raw) };
-        let class = match env.find_class(jni_str!("com/surrealdb/LiveNotification")) {
-            Ok(c) => c,
-            Err(e) => return SurrealError::from(e).exception(env, std::ptr::null_mut),
+        let _recv_guard = channel.recv_mutex.lock();
+        if let Some(e) = channel.pending_error.lock().take() {
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        let rx_opt_guard = channel.rx.lock();
+        let rx_ref = match rx_opt_guard.as_ref() {
+            Some(rx) => rx,
+            None => return -1,
         };
-        let args = [
-            JValue::Object(&action_str),
-            JValue::Long(value_ptr),
-            JValue::Object(&query_id_str),
-        ];
-        match env.new_object(
-            class,
-            jni_sig!("(Ljava/lang/String;JLjava/lang/String;)V"),
-            &args,
-        ) {
-            Ok(obj) => obj.into_raw(),
-            Err(e) => SurrealError::from(e).exception(env, std::ptr::null_mut),
+        let max = max.max(1) as usize;
+        let timeout = Duration::from_nanos(timeout_nanos.max(0) as u64);
+        // Wait for the first notification, then drain what is already queued
+        let first = match rx_ref.try_recv() {
+            Ok(item) => item,
+            Err(TryRecvError::Closed) => return -1,
+            Err(TryRecvError::Empty) if timeout.is_zero() => return 0,
+            Err(TryRecvError::Empty) => {
+                match TOKIO_RUNTIME.block_on(tokio::time::timeout(timeout, rx_ref.recv())) {
+                    Ok(Ok(item)) => item,
+                    Ok(Err(_)) => return -1,
+                    Err(_) => return 0,
+                }
+            }
+        };
+        let mut notifications = Vec::with_capacity(max);
+        let mut next = Some(first);
+        while let Some(item) = next.take() {
+            match item {
+                Ok(n) => notifications.push(n),
+                Err(e) if notifications.is_empty() => {
+                    return SurrealError::from(e).exception(env, || 0);
+                }
+                Err(e) => {
+                    *channel.pending_error.lock() = Some(e);
+                    break;
+                }
+            }
+            if notifications.len() < max {
+                next = rx_ref.try_recv().ok();
+            }
+        }
+        // Write the actions first, so that the value handles are only created once
+        // copying them out is the last step that can fail
+        let mut codes = Vec::with_capacity(notifications.len());
+        for (i, n) in notifications.iter().enumerate() {
+            let action = n.action.to_string();
+            let code = action_code(&action);
+            if code < 0 {
+                let name = match env.new_string(action) {
+                    Ok(s) => s,
+                    Err(e) => return SurrealError::from(e).exception(env, || 0),
+                };
+                if let Err(e) = other_actions.set_element(env, i, &name) {
+                    return SurrealError::from(e).exception(env, || 0);
+                }
+            }
+            codes.push(code);
+        }
+        if let Err(e) = actions.set_region(env, 0, &codes) {
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        let ptrs: Vec<jlong> = notifications
+            .into_iter()
+            .map(|n| JniTypes::new_value(Arc::new(n.data)))
+            .collect();
+        if let Err(e) = value_ptrs.set_region(env, 0, &ptrs) {
+            // The Java side never saw these handles
+            for ptr in ptrs {
+                release_instance::<Arc<Value>>(ptr, JniTypes::Value);
+            }
+            return SurrealError::from(e).exception(env, || 0);
         }
+        ptrs.len() as jint
     })
 }
 
+/// Builds a Java `LiveNotification(action, valuePtr, queryId)` from a
+/// notification.  Shared by `LiveStream` and `LiveQueryHub`.
+pub(crate) fn new_live_notification(env: &mut Env, notification: Notification<Value>) -> jobject {
+    let action_raw = new_string!(env, notification.action.to_string(), || {
+        std::ptr::null_mut()
+    });
+    let action_str = unsafe { JObject::from_raw(env, action_raw) };
+    let value_ptr = JniTypes::new_value(Arc::new(notification.data));
+    let query_id_raw = new_string!(env, notification.query_id.to_string(), || {
+        std::ptr::null_mut()
+    });
+    let query_id_str = unsafe { JObject::from_raw(env, query_id_raw) };
+    let cache = match jni_cache() {
+        Ok(c) => c,
+        Err(e) => return e.exception(env, std::ptr::null_mut),
+    };
+    let args = [
+        JValue::Object(&action_str),
+        JValue::Long(value_ptr),
+        JValue::Object(&query_id_str),
+    ];
+    match cache.live_notification.new_object(env, &args) {
+        Ok(obj) => obj.into_raw(),
+        Err(e) => SurrealError::from(e).exception(env, std::ptr::null_mut),
+    }
+}
+
 /// JNI implementation of `LiveStream.releaseNative(long handle)`.
 ///
-/// Shuts down the live query: stops the background thread, waits for any
+/// Shuts down the live query: stops the forwarder task, waits for any
 /// in-progress `nextNative` call to finish, then frees the native handle.
 ///
 /// ## Shutdown sequence
 ///
-/// 1. **Drop `shutdown_tx`** — the background thread's `tokio::select!` loop
-///    detects the closed shutdown channel and breaks.  This also causes the
-///    background thread to drop its `tx_thread` sender, closing the
-///    notification channel.
-/// 2. **Join the background thread** — ensures `tx_thread` has been dropped
-///    and the channel is fully closed before proceeding.
+/// 1. **Drop `shutdown_tx`** — the forwarder task's `tokio::select!` loop
+///    detects the closed shutdown channel and breaks, including while it is
+///    waiting for channel capacity or credit.  This also causes the task to
+///    drop its sender, closing the notification channel.
+/// 2. **Await the forwarder task** — ensures the sender has been dropped and
+///    the channel is fully closed before proceeding.
 /// 3. **Acquire `recv_mutex`** — at this point the channel is closed, so any
 ///    `nextNative` call blocked on `recv()` has already returned and released
 ///    the mutex.  Acquiring it here is a final safety barrier.
@@ -115,13 +344,40 @@ pub extern "system" fn Java_com_surrealdb_LiveStream_releaseNative<'local>(
         Ok(r) => r,
         Err(_) => return,
     };
-    let (recv_mutex, join_handle_mux, shutdown_tx_mux, rx_mux) = channel_ref;
-    drop(shutdown_tx_mux.lock().take());
-    if let Some(join_handle) = join_handle_mux.lock().take() {
-        let _ = join_handle.join();
+    drop(channel_ref.shutdown_tx.lock().take());
+    if let Some(join_handle) = channel_ref.join_handle.lock().take() {
+        let _ = TOKIO_RUNTIME.block_on(join_handle);
     }
-    let _recv_guard = recv_mutex.lock();
-    let _rx = rx_mux.lock().take();
+    let _recv_guard = channel_ref.recv_mutex.lock();
+    let _rx = channel_ref.rx.lock().take();
     drop(_recv_guard);
     let _ = take_instance::<LiveStreamChannel>(handle_ptr, JniTypes::LiveStream);
 }
+
+/// JNI implementation of `LiveStream.requestNative(long handle, long n)`.
+///
+/// Adds `n` to the outstanding demand of a demand-driven stream, allowing the
+/// forwarder to read up to `n` more notifications from the SurrealDB stream.
+/// The total is capped at the semaphore maximum, which is treated as
+/// unbounded demand.  Has no effect on streams created without credit.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveStream_requestNative<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: jni::objects::JClass<'local>,
+    handle_ptr: jlong,
+    n: jlong,
+) {
+    with_env_body!(env, env, {
+        let channel = match get_instance::<LiveStreamChannel>(handle_ptr, JniTypes::LiveStream) {
+            Ok(r) => r,
+            Err(e) => return e.exception(env, || ()),
+        };
+        if let Some(credit) = &channel.credit {
+            let headroom = Semaphore::MAX_PERMITS.saturating_sub(credit.available_permits());
+            let n = usize::try_from(n.max(0)).unwrap_or(usize::MAX).min(headroom);
+            if n > 0 {
+                credit.add_permits(n);
+            }
+        }
+    })
+}
@@ -0,0 +1,219 @@
+//! Native side of `LiveQueryHub`.
+//!
+//! A hub multiplexes any number of live queries onto one bounded delivery
+//! queue. Each subscription is driven by its own task on the shared Tokio
+//! runtime (the same `forward_notifications` loop used by `LiveStream`), and
+//! all of them feed the hub's channel, so a single Java consumer loop can serve
+//! every query id.
+//!
+//! ```text
+//!  Tokio task (query A) ─┐
+//!  Tokio task (query B) ─┼──▶ bounded channel ──▶ nextNative() (one Java loop)
+//!  Tokio task (query C) ─┘
+//! ```
+//!
+//! ## Lock ordering
+//!
+//! As for `LiveStreamChannel`, `nextNative` and `releaseNative` acquire
+//! `recv_mutex` **before** `rx`.
+use std::collections::HashMap;
+use std::ptr::null_mut;
+
+use async_channel::{Receiver, Sender};
+use jni::objects::{JClass, JObject, JString};
+use jni::sys::{jboolean, jint, jlong, jobject, jstring};
+use jni::EnvUnowned;
+use parking_lot::Mutex;
+use tokio::task::JoinHandle;
+
+use crate::error::SurrealError;
+use crate::live::{forward_notifications, new_live_notification, start_live_query};
+use crate::{
+    create_instance, get_instance, get_rust_string, get_surreal_ref, new_string, take_instance,
+    with_env_body, JniTypes, LiveNotificationResult, TOKIO_RUNTIME,
+};
+
+/// A live query registered with a hub.
+struct Subscription {
+    /// Dropping this sender stops the forwarder task.
+    shutdown_tx: Sender<()>,
+    /// The forwarder task, awaited when the subscription is removed.
+    task: JoinHandle<()>,
+}
+
+impl Subscription {
+    /// Signals the forwarder task to exit and waits until it has dropped its
+    /// sender and the live query stream.
+    fn stop(self) {
+        drop(self.shutdown_tx);
+        let _ = TOKIO_RUNTIME.block_on(self.task);
+    }
+}
+
+/// Native handle backing a Java `LiveQueryHub` instance.
+pub(crate) struct LiveQueryHub {
+    /// Held by `nextNative` for the duration of the blocking `recv()`, see
+    /// `LiveStreamChannel::recv_mutex`.
+    recv_mutex: Mutex<()>,
+    /// The hub's own sender.  Each subscription gets a clone; dropping this
+    /// one in `releaseNative` closes the channel once every task has exited.
+    tx: Mutex<Option<Sender<LiveNotificationResult>>>,
+    /// The shared delivery queue read by `nextNative`.
+    rx: Mutex<Option<Receiver<LiveNotificationResult>>>,
+    /// Active subscriptions keyed by live query UUID.
+    subscriptions: Mutex<HashMap<String, Subscription>>,
+}
+
+/// JNI implementation of `LiveQueryHub.newNative(int capacity)`.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveQueryHub_newNative<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    capacity: jint,
+) -> jlong {
+    let (tx, rx) = async_channel::bounded(capacity.max(1) as usize);
+    let hub = LiveQueryHub {
+        recv_mutex: Mutex::new(()),
+        tx: Mutex::new(Some(tx)),
+        rx: Mutex::new(Some(rx)),
+        subscriptions: Mutex::new(HashMap::new()),
+    };
+    create_instance(hub, JniTypes::LiveQueryHub)
+}
+
+/// JNI implementation of `LiveQueryHub.subscribeNative(long ptr, long surrealPtr,
+/// String table)`.
+///
+/// Starts a live query on the given connection (surfacing subscription errors
+/// eagerly, as `selectLive` does) and spawns a forwarder task that feeds the
+/// hub's queue.  Returns the live query UUID.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveQueryHub_subscribeNative<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+    surreal_ptr: jlong,
+    table: JString<'local>,
+) -> jstring {
+    with_env_body!(env, env, {
+        let hub = match get_instance::<LiveQueryHub>(ptr, JniTypes::LiveQueryHub) {
+            Ok(h) => h,
+            Err(e) => return e.exception(env, null_mut),
+        };
+        let surreal = get_surreal_ref!(env, surreal_ptr, null_mut);
+        let table = get_rust_string!(env, &table, null_mut);
+        let tx = match hub.tx.lock().clone() {
+            Some(tx) => tx,
+            None => {
+                return SurrealError::NullPointerException("LiveQueryHub").exception(env, null_mut)
+            }
+        };
+        let (uuid, qstream) = match start_live_query(surreal, table) {
+            Ok(r) => r,
+            Err(e) => return e.exception(env, null_mut),
+        };
+        let (shutdown_tx, shutdown_rx) = async_channel::bounded::<()>(1);
+        let task = TOKIO_RUNTIME.spawn(forward_notifications(qstream, tx, shutdown_rx, None));
+        let output = new_string!(env, uuid.as_str(), null_mut);
+        hub.subscriptions.lock().insert(
+            uuid,
+            Subscription {
+                shutdown_tx,
+                task,
+            },
+        );
+        output
+    })
+}
+
+/// JNI implementation of `LiveQueryHub.unsubscribeNative(long ptr, String queryId)`.
+///
+/// Stops the forwarder task of the given live query, which drops the
+/// underlying stream and kills the live query.  Notifications already queued
+/// in the hub are still delivered.  Returns `false` if the id is unknown.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveQueryHub_unsubscribeNative<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+    query_id: JString<'local>,
+) -> jboolean {
+    with_env_body!(env, env, {
+        let hub = match get_instance::<LiveQueryHub>(ptr, JniTypes::LiveQueryHub) {
+            Ok(h) => h,
+            Err(e) => return e.exception(env, || false as jboolean),
+        };
+        let query_id = get_rust_string!(env, &query_id, || false as jboolean);
+        // Release the map lock before waiting for the task
+        let subscription = hub.subscriptions.lock().remove(&query_id);
+        match subscription {
+            Some(s) => {
+                s.stop();
+                true as jboolean
+            }
+            None => false as jboolean,
+        }
+    })
+}
+
+/// JNI implementation of `LiveQueryHub.nextNative(long ptr)`.
+///
+/// Blocks until a notification from any subscription arrives.  Returns `null`
+/// once the hub has been released.  The returned `LiveNotification` carries
+/// the id of the query it belongs to.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveQueryHub_nextNative<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) -> jobject {
+    with_env_body!(env, env, {
+        let hub = match get_instance::<LiveQueryHub>(ptr, JniTypes::LiveQueryHub) {
+            Ok(h) => h,
+            Err(e) => return e.exception(env, null_mut),
+        };
+        let _recv_guard = hub.recv_mutex.lock();
+        let rx_opt_guard = hub.rx.lock();
+        let rx_ref = match rx_opt_guard.as_ref() {
+            Some(rx) => rx,
+            None => return JObject::null().into_raw(),
+        };
+        let item = match TOKIO_RUNTIME.block_on(rx_ref.recv()) {
+            Ok(item) => item,
+            Err(_) => return JObject::null().into_raw(),
+        };
+        match item {
+            Ok(n) => new_live_notification(env, n),
+            Err(e) => SurrealError::from(e).exception(env, null_mut),
+        }
+    })
+}
+
+/// JNI implementation of `LiveQueryHub.releaseNative(long ptr)`.
+///
+/// Stops every subscription, then closes the delivery queue so that a thread
+/// blocked in `nextNative` returns, and finally frees the handle.  Follows the
+/// same shutdown sequence as `LiveStream.releaseNative`.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_LiveQueryHub_releaseNative<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) {
+    if ptr == 0 {
+        return;
+    }
+    let hub = match get_instance::<LiveQueryHub>(ptr, JniTypes::LiveQueryHub) {
+        Ok(h) => h,
+        Err(_) => return,
+    };
+    let subscriptions: Vec<Subscription> =
+        hub.subscriptions.lock().drain().map(|(_, s)| s).collect();
+    subscriptions.into_iter().for_each(Subscription::stop);
+    // Every task has dropped its sender; dropping the hub's closes the channel
+    drop(hub.tx.lock().take());
+    let _recv_guard = hub.recv_mutex.lock();
+    let _rx = hub.rx.lock().take();
+    drop(_recv_guard);
+    let _ = take_instance::<LiveQueryHub>(ptr, JniTypes::LiveQueryHub);
+}
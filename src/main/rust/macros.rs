@@ -118,11 +118,11 @@ macro_rules! get_entry_instance {
 }
 
 #[macro_export]
-macro_rules! get_value_iterator_instance {
+macro_rules! get_entry_iterator_instance {
     ($env:expr, $id:expr, $default_fn:expr) => {
-        match $crate::get_instance::<std::vec::IntoIter<surrealdb::types::Value>>(
+        match $crate::get_instance::<$crate::iter::EntryIter>(
             $id,
-            $crate::JniTypes::ArrayIter,
+            $crate::JniTypes::ObjectIter,
         ) {
             Ok(s) => s,
             Err(e) => return e.exception($env, $default_fn),
@@ -130,23 +130,10 @@ macro_rules! get_value_iterator_instance {
     };
 }
 
-#[macro_export]
-macro_rules! get_entry_iterator_instance {
-    ($env:expr, $id:expr, $default_fn:expr) => {
-        match $crate::get_instance::<
-            std::collections::btree_map::IntoIter<String, surrealdb::types::Value>,
-        >($id, JniTypes::ObjectIter)
-        {
-            Ok(s) => s,
-            Err(e) => return e.exception($env, $default_fn),
-        }
-    };
-}
-
 #[macro_export]
 macro_rules! get_value_iterator_mut_instance {
     ($env:expr, $id:expr, $default_fn:expr) => {
-        match $crate::get_instance_mut::<std::vec::IntoIter<surrealdb::types::Value>>(
+        match $crate::get_instance_mut::<$crate::iter::ValueIter>(
             $id,
             $crate::JniTypes::ArrayIter,
         ) {
@@ -159,10 +146,10 @@ macro_rules! get_value_iterator_mut_instance {
 #[macro_export]
 macro_rules! get_entry_iterator_mut_instance {
     ($env:expr, $id:expr, $default_fn:expr) => {
-        match $crate::get_instance_mut::<
-            std::collections::btree_map::IntoIter<String, surrealdb::types::Value>,
-        >($id, $crate::JniTypes::ObjectIter)
-        {
+        match $crate::get_instance_mut::<$crate::iter::EntryIter>(
+            $id,
+            $crate::JniTypes::ObjectIter,
+        ) {
             Ok(s) => s,
             Err(e) => return e.exception($env, $default_fn),
         }
@@ -172,10 +159,10 @@ macro_rules! get_entry_iterator_mut_instance {
 #[macro_export]
 macro_rules! get_sync_value_iterator_instance {
     ($env:expr, $id:expr, $default_fn:expr) => {
-        match $crate::get_instance::<
-            Arc<parking_lot::Mutex<std::vec::IntoIter<surrealdb::types::Value>>>,
-        >($id, $crate::JniTypes::SyncArrayIter)
-        {
+        match $crate::get_instance::<Arc<parking_lot::Mutex<$crate::iter::ValueIter>>>(
+            $id,
+            $crate::JniTypes::SyncArrayIter,
+        ) {
             Ok(s) => s.clone(),
             Err(e) => return e.exception($env, $default_fn),
         }
@@ -185,14 +172,10 @@ macro_rules! get_sync_value_iterator_instance {
 #[macro_export]
 macro_rules! get_sync_entry_iterator_instance {
     ($env:expr, $id:expr, $default_fn:expr) => {
-        match $crate::get_instance::<
-            Arc<
-                parking_lot::Mutex<
-                    std::collections::btree_map::IntoIter<String, surrealdb::types::Value>,
-                >,
-            >,
-        >($id, $crate::JniTypes::SyncObjectIter)
-        {
+        match $crate::get_instance::<Arc<parking_lot::Mutex<$crate::iter::EntryIter>>>(
+            $id,
+            $crate::JniTypes::SyncObjectIter,
+        ) {
             Ok(s) => s.clone(),
             Err(e) => return e.exception($env, $default_fn),
         }
@@ -328,7 +311,7 @@ macro_rules! return_value_array_first {
 macro_rules! return_value_array_iter {
     ($val:expr) => {
         if let surrealdb::types::Value::Array(a) = $val {
-            let iter = a.into_iter();
+            let iter = $crate::iter::ValueIter::owned(a.into_iter());
             return $crate::JniTypes::new_array_iter(iter);
         }
     };
@@ -338,7 +321,7 @@ macro_rules! return_value_array_iter {
 macro_rules! return_value_array_iter_sync {
     ($val:expr) => {
         if let surrealdb::types::Value::Array(a) = $val {
-            let iter = a.into_iter();
+            let iter = $crate::iter::ValueIter::owned(a.into_iter());
             return $crate::JniTypes::new_sync_array_iter(std::sync::Arc::new(
                 parking_lot::Mutex::new(iter),
             ));
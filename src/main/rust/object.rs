@@ -10,6 +10,7 @@ use parking_lot::Mutex;
 use surrealdb::types::{ToSql, Value};
 
 use crate::error::SurrealError;
+use crate::iter::EntryIter;
 use crate::{get_rust_string, get_value_instance, new_string, release_instance, JniTypes};
 
 #[no_mangle]
@@ -18,7 +19,7 @@ pub extern "system" fn Java_com_surrealdb_Object_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<Arc<Value>>(ptr);
+    release_instance::<Arc<Value>>(ptr, JniTypes::Value);
 }
 
 #[no_mangle]
@@ -65,8 +66,7 @@ pub extern "system" fn Java_com_surrealdb_Object_iterator<'local>(
 ) -> jlong {
     with_env_body!(env, env, {
         let value = get_value_instance!(env, ptr, || 0);
-        if let Value::Object(o) = value.as_ref() {
-            let iter = o.clone().into_iter();
+        if let Some(iter) = EntryIter::shared(value) {
             JniTypes::new_object_iter(iter)
         } else {
             SurrealError::NullPointerException("Object").exception(env, || 0)
@@ -82,8 +82,7 @@ pub extern "system" fn Java_com_surrealdb_Object_synchronizedIterator<'local>(
 ) -> jlong {
     with_env_body!(env, env, {
         let value = get_value_instance!(env, ptr, || 0);
-        if let Value::Object(o) = value.as_ref() {
-            let iter = o.clone().into_iter();
+        if let Some(iter) = EntryIter::shared(value) {
             JniTypes::new_sync_object_iter(Arc::new(Mutex::new(iter)))
         } else {
             SurrealError::NullPointerException("Object").exception(env, || 0)
@@ -17,7 +17,7 @@ pub extern "system" fn Java_com_surrealdb_RecordId_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<std::sync::Arc<Value>>(ptr);
+    release_instance::<std::sync::Arc<Value>>(ptr, JniTypes::Value);
 }
 
 #[no_mangle]
@@ -17,7 +17,7 @@ pub extern "system" fn Java_com_surrealdb_Response_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<Arc<Mutex<Result<IndexedResults>>>>(ptr);
+    release_instance::<Arc<Mutex<Result<IndexedResults>>>>(ptr, JniTypes::Response);
 }
 
 #[no_mangle]
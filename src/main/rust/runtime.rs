@@ -0,0 +1,114 @@
+use std::sync::atomic::{AtomicBool, AtomicUsize, Ordering};
+
+use crate::with_env_body;
+use jni::objects::{JClass, JString};
+use jni::sys::{jboolean, jint, jlong};
+use jni::EnvUnowned;
+use parking_lot::Mutex;
+use tokio::runtime::{Builder, Runtime};
+
+use crate::error::SurrealError;
+use crate::{get_rust_string, TOKIO_RUNTIME};
+
+const DEFAULT_THREAD_NAME_PREFIX: &str = "surrealdb-runtime";
+
+/// Settings for the shared Tokio runtime, installed from Java by
+/// `SurrealRuntimeConfig` before the runtime is first used. Zero or empty
+/// fields keep the Tokio defaults.
+#[derive(Default)]
+struct RuntimeConfig {
+    worker_threads: usize,
+    thread_name_prefix: String,
+    stack_size: usize,
+    max_blocking_threads: usize,
+    current_thread: bool,
+}
+
+/// The configuration to build the runtime with. Guards `STARTED` too, so a
+/// configuration is either used by the runtime or rejected, never lost.
+static CONFIG: Mutex<Option<RuntimeConfig>> = Mutex::new(None);
+
+static STARTED: AtomicBool = AtomicBool::new(false);
+
+/// Builds the shared runtime from the installed configuration.
+pub(crate) fn build() -> Runtime {
+    let config = {
+        let mut config = CONFIG.lock();
+        STARTED.store(true, Ordering::Release);
+        config.take().unwrap_or_default()
+    };
+    let mut builder = if config.current_thread {
+        Builder::new_current_thread()
+    } else {
+        Builder::new_multi_thread()
+    };
+    builder.enable_all();
+    if config.worker_threads > 0 {
+        builder.worker_threads(config.worker_threads);
+    }
+    if config.stack_size > 0 {
+        builder.thread_stack_size(config.stack_size);
+    }
+    if config.max_blocking_threads > 0 {
+        builder.max_blocking_threads(config.max_blocking_threads);
+    }
+    let prefix = if config.thread_name_prefix.is_empty() {
+        DEFAULT_THREAD_NAME_PREFIX.to_string()
+    } else {
+        config.thread_name_prefix
+    };
+    let driver_name = format!("{prefix}-driver");
+    let next_id = AtomicUsize::new(1);
+    builder.thread_name_fn(move || {
+        format!("{prefix}-{}", next_id.fetch_add(1, Ordering::Relaxed))
+    });
+    let runtime = builder.build().expect("Cannot start Tokio runtime");
+    if config.current_thread {
+        // A current-thread runtime only runs spawned tasks (live query
+        // forwarders, async operations) while a thread is inside `block_on`,
+        // so one dedicated thread keeps driving it.
+        std::thread::Builder::new()
+            .name(driver_name)
+            .spawn(|| TOKIO_RUNTIME.block_on(std::future::pending::<()>()))
+            .expect("Cannot start Tokio runtime driver");
+    }
+    runtime
+}
+
+/// Installs the runtime configuration. Returns `false`, leaving the running
+/// runtime unchanged, if the runtime has already been started.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_SurrealRuntimeConfig_install<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    worker_threads: jint,
+    thread_name_prefix: JString<'local>,
+    stack_size: jlong,
+    max_blocking_threads: jint,
+    current_thread: jboolean,
+) -> jboolean {
+    with_env_body!(env, env, {
+        let thread_name_prefix = get_rust_string!(env, thread_name_prefix, || false as jboolean);
+        let mut config = CONFIG.lock();
+        if STARTED.load(Ordering::Acquire) {
+            return false as jboolean;
+        }
+        *config = Some(RuntimeConfig {
+            worker_threads: worker_threads.max(0) as usize,
+            thread_name_prefix,
+            stack_size: stack_size.max(0) as usize,
+            max_blocking_threads: max_blocking_threads.max(0) as usize,
+            current_thread: current_thread != 0,
+        });
+        true as jboolean
+    })
+}
+
+/// Returns whether the shared runtime has been started.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_SurrealRuntimeConfig_isStarted<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+) -> jboolean {
+    STARTED.load(Ordering::Acquire) as jboolean
+}
@@ -0,0 +1,52 @@
+use std::sync::Arc;
+
+use crate::with_env_body;
+use jni::objects::{JClass, JLongArray};
+use jni::sys::{jint, jlong};
+use jni::{Env, EnvUnowned};
+use surrealdb::types::Value;
+
+use crate::error::SurrealError;
+use crate::{release_instance, JniTypes};
+
+/// Releases the value handles in `values[0..value_count]` and the entry
+/// handles in `entries[0..entry_count]` collected by a closing `NativeScope`.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_NativeScope_release<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    values: JLongArray<'local>,
+    value_count: jint,
+    entries: JLongArray<'local>,
+    entry_count: jint,
+) {
+    with_env_body!(env, env, {
+        let result = read_handles(env, &values, value_count).and_then(|values| {
+            let entries = read_handles(env, &entries, entry_count)?;
+            Ok((values, entries))
+        });
+        match result {
+            Ok((values, entries)) => {
+                for handle in values {
+                    release_instance::<Arc<Value>>(handle, JniTypes::Value);
+                }
+                for handle in entries {
+                    release_instance::<(String, Arc<Value>)>(handle, JniTypes::KeyValueEntry);
+                }
+            }
+            Err(e) => e.exception(env, || ()),
+        }
+    })
+}
+
+fn read_handles(
+    env: &mut Env,
+    handles: &JLongArray,
+    count: jint,
+) -> Result<Vec<jlong>, SurrealError> {
+    let mut buf: Vec<jlong> = vec![0; count.max(0) as usize];
+    if !buf.is_empty() {
+        handles.get_region(env, 0, &mut buf)?;
+    }
+    Ok(buf)
+}
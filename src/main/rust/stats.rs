@@ -0,0 +1,64 @@
+use std::sync::atomic::{AtomicU64, Ordering};
+
+use crate::with_env_body;
+use jni::objects::{JClass, JLongArray};
+use jni::sys::jint;
+use jni::EnvUnowned;
+
+use crate::error::SurrealError;
+use crate::JniTypes;
+
+/// Number of `JniTypes` variants.
+const KINDS: usize = JniTypes::LiveQueryHub as usize + 1;
+
+/// Always-on handle counters, one pair per `JniTypes` kind. Relaxed atomic
+/// increments keep them cheap enough for release builds.
+struct Counters {
+    allocated: [AtomicU64; KINDS],
+    freed: [AtomicU64; KINDS],
+}
+
+#[allow(clippy::declare_interior_mutable_const)]
+const ZERO: AtomicU64 = AtomicU64::new(0);
+
+static COUNTERS: Counters = Counters {
+    allocated: [ZERO; KINDS],
+    freed: [ZERO; KINDS],
+};
+
+pub(crate) fn allocated(typ: JniTypes) {
+    COUNTERS.allocated[typ as usize].fetch_add(1, Ordering::Relaxed);
+}
+
+pub(crate) fn freed(typ: JniTypes) {
+    COUNTERS.freed[typ as usize].fetch_add(1, Ordering::Relaxed);
+}
+
+/// Writes the allocated and freed counts of each kind, in `JniTypes` order,
+/// as consecutive pairs into `out`, and returns the number of kinds.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_NativeStats_counters<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    out: JLongArray<'local>,
+) -> jint {
+    with_env_body!(env, env, {
+        let mut buf = Vec::with_capacity(KINDS * 2);
+        for i in 0..KINDS {
+            // Read freed first so that a snapshot never shows more frees than
+            // allocations
+            let freed = COUNTERS.freed[i].load(Ordering::Relaxed) as i64;
+            let allocated = COUNTERS.allocated[i].load(Ordering::Relaxed) as i64;
+            buf.push(allocated);
+            buf.push(freed);
+        }
+        let len = match out.len(env) {
+            Ok(len) => len.min(buf.len()),
+            Err(e) => return SurrealError::from(e).exception(env, || 0),
+        };
+        if let Err(e) = out.set_region(env, 0, &buf[..len]) {
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        KINDS as jint
+    })
+}
@@ -5,25 +5,27 @@ use std::str::FromStr;
 use std::sync::Arc;
 
 use crate::error::SurrealError;
+use crate::jnicache::jni_cache;
 use crate::with_env_body;
 use crate::{
     build_params_map, check_query_result, convert_up_type, get_long_array, get_rust_string,
     get_rust_string_array, get_surreal_ref, get_value_instance, get_value_mut_instance,
     new_jlong_array, new_string, release_instance, return_unexpected_result,
     return_value_array_first, return_value_array_iter, return_value_array_iter_sync,
-    take_one_result, JniTypes, TOKIO_RUNTIME,
+    take_one_result, JniTypes, LiveStreamChannel, TOKIO_RUNTIME,
 };
-use futures::StreamExt;
 use jni::objects::{JClass, JLongArray, JObject, JObjectArray, JString, JValue};
 use jni::sys::{jboolean, jint, jlong, jlongArray, jobject, jstring};
-use jni::{jni_sig, jni_str, Env, EnvUnowned};
+use jni::{Env, EnvUnowned};
 use parking_lot::Mutex;
 use serde::Serialize;
 use std::ops::Bound;
 use std::result::Result as StdResult;
 use surrealdb::engine::any::Any;
 use surrealdb::opt::auth::{Database, Namespace, Record as AuthRecord, Root};
-use surrealdb::types::{RecordId, RecordIdKey, RecordIdKeyRange, SurrealValue, ToSql, Uuid, Value};
+use surrealdb::types::{
+    Array, RecordId, RecordIdKey, RecordIdKeyRange, SurrealValue, ToSql, Uuid, Value,
+};
 use surrealdb::{IndexedResults, Result, Surreal};
 
 #[no_mangle]
@@ -69,7 +71,7 @@ pub extern "system" fn Java_com_surrealdb_Surreal_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<Surreal<Any>>(ptr);
+    release_instance::<Surreal<Any>>(ptr, JniTypes::Surreal);
 }
 
 #[no_mangle]
@@ -127,9 +129,7 @@ fn new_token_object<'local>(
     access: String,
     refresh: Option<String>,
 ) -> StdResult<jobject, SurrealError> {
-    let token_class = env
-        .find_class(jni_str!("com/surrealdb/signin/Token"))
-        .map_err(SurrealError::from)?;
+    let cache = jni_cache()?;
     let access_jstr = env.new_string(access).map_err(SurrealError::from)?;
     let refresh_jobj: JObject<'local> = match refresh {
         Some(s) => env.new_string(s).map_err(SurrealError::from)?.into(),
@@ -139,13 +139,7 @@ fn new_token_object<'local>(
         JValue::Object(access_jstr.as_ref()),
         JValue::Object(refresh_jobj.as_ref()),
     ];
-    let token_obj = env
-        .new_object(
-            token_class,
-            jni_sig!("(Ljava/lang/String;Ljava/lang/String;)V"),
-            &args,
-        )
-        .map_err(SurrealError::from)?;
+    let token_obj = cache.token.new_object(env, &args).map_err(SurrealError::from)?;
     Ok(token_obj.into_raw())
 }
 
@@ -154,9 +148,7 @@ fn new_ns_db_object<'local>(
     namespace: Option<String>,
     database: Option<String>,
 ) -> StdResult<jobject, SurrealError> {
-    let ns_db_class = env
-        .find_class(jni_str!("com/surrealdb/NsDb"))
-        .map_err(SurrealError::from)?;
+    let cache = jni_cache()?;
     let ns_jobj: JObject<'local> = match namespace {
         Some(s) => env.new_string(s).map_err(SurrealError::from)?.into(),
         None => JObject::null(),
@@ -169,13 +161,7 @@ fn new_ns_db_object<'local>(
         JValue::Object(ns_jobj.as_ref()),
         JValue::Object(db_jobj.as_ref()),
     ];
-    let ns_db_obj = env
-        .new_object(
-            ns_db_class,
-            jni_sig!("(Ljava/lang/String;Ljava/lang/String;)V"),
-            &args,
-        )
-        .map_err(SurrealError::from)?;
+    let ns_db_obj = cache.ns_db.new_object(env, &args).map_err(SurrealError::from)?;
     Ok(ns_db_obj.into_raw())
 }
 
@@ -513,7 +499,8 @@ pub extern "system" fn Java_com_surrealdb_Surreal_run<'local>(
     })
 }
 
-/// JNI implementation of `Surreal.selectLive(long ptr, String table)`.
+/// JNI implementation of `Surreal.selectLive(long ptr, String table, int capacity,
+/// boolean demand)`.
 ///
 /// Starts a live query on `table` and returns a fully-constructed Java
 /// `LiveStream` object carrying both the native `LiveStreamChannel` handle and
@@ -522,121 +509,77 @@ pub extern "system" fn Java_com_surrealdb_Surreal_run<'local>(
 /// ## Architecture
 ///
 /// ```text
-///  Java thread                              Background thread       SurrealDB engine
-///  ───────────                              ─────────────────       ────────────────
+///  Java thread                              Tokio task              SurrealDB engine
+///  ───────────                              ──────────              ────────────────
 ///  selectLive()
-///    ├─ query("LIVE SELECT …").await ──────────────────────────▶  subscribe + UUID
-///    ├─ res.take(0)   ──▶ live-query UUID (surfaces errors eagerly)
-///    ├─ res.stream(0) ──▶ QueryStream<Value>
-///    ├─ spawn ─────────────────────────────▶ loop { select! { notif ─▶ tx_thread.send() } }
+///    ├─ start_live_query() ────────────────────────────────────▶  subscribe + UUID
+///    ├─ spawn ─────────────────────────────▶ forward_notifications(qstream, tx)
 ///    ▼                                                │
 ///  new LiveStream(handle, uuid)                       │
 ///  nextNative()                                       │
 ///    rx.recv() ◀──────────────────────────────────────┘
 /// ```
 ///
-/// Unlike the `.select(table).live()` builder (whose query id is private), the
-/// raw `LIVE SELECT` runs synchronously on the calling thread, so subscription
-/// errors (e.g. the table does not exist) are surfaced eagerly via `take(0)`
-/// rather than deferred to `next()`.  The statement returns a `Value::Uuid`,
-/// which we read up front so it is available from `LiveStream.getQueryId()`
-/// before any notification arrives.  A dedicated OS thread then drives the
-/// notification stream on the shared tokio runtime, forwarding notifications
-/// through an unbounded `async_channel` that the Java side reads via
-/// `nextNative`.  `take(0)` and `stream(0)` read independent maps, so reading
-/// the UUID does not consume the stream.
+/// The subscription is confirmed synchronously on the calling thread (see
+/// `start_live_query`), so errors are surfaced eagerly rather than deferred to
+/// `next()`.  The notification stream is then driven by a task on the shared
+/// tokio runtime — no OS thread is dedicated to a subscription — forwarding
+/// notifications through a bounded `async_channel` of `capacity` entries that
+/// the Java side reads via `nextNative`.  When `demand` is set the stream is
+/// created without credit and the forwarder only polls for notifications that
+/// were requested through `requestNative` (see `LivePublisher`).
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_Surreal_selectLive<'local>(
     mut env: EnvUnowned<'local>,
     _class: JClass<'local>,
     ptr: jlong,
     table: JString<'local>,
+    capacity: jint,
+    demand: jboolean,
 ) -> jobject {
     with_env_body!(env, env, {
         let surreal = get_surreal_ref!(env, ptr, null_mut);
         let table = get_rust_string!(env, &table, null_mut);
 
-        // Run the LIVE SELECT synchronously on the calling thread. type::table($tb)
-        // binds the table name safely (no SQL injection).
-        let mut params = BTreeMap::new();
-        params.insert("tb".to_string(), Value::String(table));
-        let res =
-            surrealdb_query::<Value>(surreal, "LIVE SELECT * FROM type::table($tb)", Some(params));
-        let mut res = check_query_result!(env, res, null_mut);
-
-        // The statement result at index 0 is the live-query UUID. Reading it via
-        // take(0) also surfaces subscription errors (e.g. the table does not exist).
-        let uuid_str = match res.take::<Value>(0) {
-            Ok(Value::Uuid(uuid)) => uuid.to_string(),
-            // Some servers/protocols return the live-query id wrapped in a one-element
-            // array; unwrap it, mirroring the SDK's `.select(table).live()` builder.
-            Ok(Value::Array(mut arr)) if arr.len() == 1 => match arr.pop() {
-                Some(Value::Uuid(uuid)) => uuid.to_string(),
-                other => {
-                    return SurrealError::SurrealDBJni(format!(
-                        "LIVE SELECT did not return a UUID: {other:?}"
-                    ))
-                    .exception(env, null_mut);
-                }
-            },
-            Ok(other) => {
-                return SurrealError::SurrealDBJni(format!(
-                    "LIVE SELECT did not return a UUID: {}",
-                    other.to_sql()
-                ))
-                .exception(env, null_mut);
-            }
-            Err(e) => return SurrealError::SurrealDB(e).exception(env, null_mut),
-        };
-
-        // The notification stream lives in a separate map from the results, so the
-        // take(0) above does not disturb it.
-        let qstream = match res.stream::<Value>(0) {
-            Ok(s) => s,
-            Err(e) => return SurrealError::SurrealDB(e).exception(env, null_mut),
+        // Run the LIVE SELECT synchronously on the calling thread; subscription
+        // errors (e.g. the table does not exist) are surfaced here.
+        let (uuid_str, qstream) = match crate::live::start_live_query(surreal, table) {
+            Ok(r) => r,
+            Err(e) => return e.exception(env, null_mut),
         };
 
-        // Notification channel: background thread produces, nextNative consumes.
-        let (tx, rx) = async_channel::unbounded();
-        // Shutdown channel: dropping shutdown_tx signals the background thread to exit.
+        // Bounded notification channel: the forwarder task produces, nextNative
+        // consumes. A full channel stops the forwarder from polling the stream.
+        let (tx, rx) = async_channel::bounded(capacity.max(1) as usize);
+        // Shutdown channel: dropping shutdown_tx signals the forwarder task to exit.
         let (shutdown_tx, shutdown_rx) = async_channel::bounded::<()>(1);
-
-        let tx_thread = tx.clone();
-        let join_handle = std::thread::spawn(move || {
-            TOKIO_RUNTIME.block_on(async move {
-                let mut qstream = qstream;
-                loop {
-                    tokio::select! {
-                        _ = shutdown_rx.recv() => break,
-                        item = qstream.next() => match item {
-                            Some(i) => {
-                                let _ = tx_thread.send(i).await;
-                            }
-                            None => break,
-                        },
-                    }
-                }
-            });
+        // In demand-driven mode nothing is read until requestNative grants credit.
+        let credit =
+            (demand == true as jboolean).then(|| Arc::new(tokio::sync::Semaphore::new(0)));
+
+        let forwarder =
+            crate::live::forward_notifications(qstream, tx, shutdown_rx, credit.clone());
+        let join_handle = TOKIO_RUNTIME.spawn(forwarder);
+
+        let handle = JniTypes::new_live_stream(LiveStreamChannel {
+            recv_mutex: Arc::new(Mutex::new(())),
+            join_handle: Mutex::new(Some(join_handle)),
+            shutdown_tx: Mutex::new(Some(shutdown_tx)),
+            rx: Mutex::new(Some(rx)),
+            credit,
+            pending_error: Mutex::new(None),
         });
 
-        let recv_mutex = std::sync::Arc::new(parking_lot::Mutex::new(()));
-        let handle = JniTypes::new_live_stream((
-            recv_mutex,
-            parking_lot::Mutex::new(Some(join_handle)),
-            parking_lot::Mutex::new(Some(shutdown_tx)),
-            parking_lot::Mutex::new(Some(rx)),
-        ));
-
         // Construct and return a LiveStream(handle, queryId), mirroring how live.rs
         // builds a LiveNotification.
         let uuid_raw = new_string!(env, uuid_str, null_mut);
         let uuid_jstr = unsafe { JObject::from_raw(env, uuid_raw) };
-        let class = match env.find_class(jni_str!("com/surrealdb/LiveStream")) {
+        let cache = match jni_cache() {
             Ok(c) => c,
-            Err(e) => return SurrealError::from(e).exception(env, null_mut),
+            Err(e) => return e.exception(env, null_mut),
         };
         let args = [JValue::Long(handle), JValue::Object(&uuid_jstr)];
-        match env.new_object(class, jni_sig!("(JLjava/lang/String;)V"), &args) {
+        match cache.live_stream.new_object(env, &args) {
             Ok(obj) => obj.into_raw(),
             Err(e) => SurrealError::from(e).exception(env, null_mut),
         }
@@ -716,7 +659,7 @@ pub extern "system" fn Java_com_surrealdb_Surreal_importSql<'local>(
     })
 }
 
-fn surrealdb_query<T>(
+pub(crate) fn surrealdb_query<T>(
     surreal: &Surreal<Any>,
     query: &str,
     params: Option<BTreeMap<String, T>>,
@@ -833,15 +776,17 @@ pub extern "system" fn Java_com_surrealdb_Surreal_insertTargetValues<'local>(
         let target = get_rust_string!(env, target, null_mut);
         // Get the pointers
         let value_ptrs = get_long_array!(env, &value_ptrs, null_mut);
-        // Build the queries
-        let mut records = Vec::with_capacity(value_ptrs.len());
+        // Bind the records as one array parameter, so they are never rendered
+        // to SurrealQL text and parsed again by the server
+        let mut rows = Vec::with_capacity(value_ptrs.len());
         for value_ptr in &value_ptrs {
             let value = get_value_mut_instance!(env, *value_ptr, null_mut);
-            records.push(value.to_sql());
+            rows.push(value.clone());
         }
-        let query = format!("INSERT INTO {} [ {} ]", target, records.join(" , "));
+        let query = format!("INSERT INTO {} $rows", target);
+        let params = BTreeMap::from([("rows".to_string(), Value::Array(Array::from(rows)))]);
         // Execute the query
-        let res = surrealdb_query::<()>(surreal, &query, None);
+        let res = surrealdb_query(surreal, &query, Some(params));
         // Check the result
         let mut response = check_query_result!(env, res, null_mut);
         // There is only one statement
@@ -877,8 +822,9 @@ pub extern "system" fn Java_com_surrealdb_Surreal_insertRelationTargetValue<'loc
         // Get the value
         let value = get_value_mut_instance!(env, value_ptr, || 0);
         // Execute the query
-        let query = format!("INSERT RELATION INTO {} {}", target, value.to_sql());
-        let res = surrealdb_query::<()>(surreal, &query, None);
+        let query = format!("INSERT RELATION INTO {} $val", target);
+        let params = BTreeMap::from([("val".to_string(), value.clone())]);
+        let res = surrealdb_query(surreal, &query, Some(params));
         // Check the result
         let mut response = check_query_result!(env, res, || 0);
         // There is only one statement
@@ -905,19 +851,17 @@ pub extern "system" fn Java_com_surrealdb_Surreal_insertRelationTargetValues<'lo
         let target = get_rust_string!(env, target, null_mut);
         // Get the pointers
         let value_ptrs = get_long_array!(env, &value_ptrs, null_mut);
-        // Build the queries
-        let mut records = Vec::with_capacity(value_ptrs.len());
+        // Bind the records as one array parameter, so they are never rendered
+        // to SurrealQL text and parsed again by the server
+        let mut rows = Vec::with_capacity(value_ptrs.len());
         for value_ptr in &value_ptrs {
             let value = get_value_mut_instance!(env, *value_ptr, null_mut);
-            records.push(value.to_sql());
+            rows.push(value.clone());
         }
-        let query = format!(
-            "INSERT RELATION INTO {} [ {} ]",
-            target,
-            records.join(" , ")
-        );
+        let query = format!("INSERT RELATION INTO {} $rows", target);
+        let params = BTreeMap::from([("rows".to_string(), Value::Array(Array::from(rows)))]);
         // Execute the query
-        let res = surrealdb_query::<()>(surreal, &query, None);
+        let res = surrealdb_query(surreal, &query, Some(params));
         // Check the result
         let mut response = check_query_result!(env, res, null_mut);
         // There is only one statement
@@ -1140,6 +1084,37 @@ pub extern "system" fn Java_com_surrealdb_Surreal_selectTargetsValuesSync<'local
     })
 }
 
+/// Like `selectTargetsValues`, but returns the whole result as one `Array`
+/// handle so that Java can read it by index (see `ArraySpliterator`).
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_Surreal_selectTargetsArray<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    surreal_ptr: jlong,
+    targets: JObjectArray<'local, JString<'local>>,
+) -> jlong {
+    with_env_body!(env, env, {
+        // Retrieve the Surreal instance
+        let surreal = get_surreal_ref!(env, surreal_ptr, || 0);
+        // Get the targets
+        let targets = get_rust_string_array!(env, targets, || 0);
+        // Prepare the query
+        let query = format!("SELECT * FROM {}", targets.join(","));
+        // Execute the query
+        let res = surrealdb_query::<()>(surreal, &query, None);
+        // Check the result
+        let mut response = check_query_result!(env, res, || 0);
+        // There is only one statement
+        let result = take_one_result!(env, response, || 0);
+        // Return the array
+        if matches!(result, Value::Array(_)) {
+            return JniTypes::new_value(Arc::new(result));
+        }
+        // Otherwise throw an error
+        return_unexpected_result!(env, result.to_sql(), || 0)
+    })
+}
+
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_Surreal_deleteRecordId<'local>(
     mut env: EnvUnowned<'local>,
@@ -1282,7 +1257,7 @@ fn value_to_record_id_key(value: &Value) -> std::result::Result<RecordIdKey, Sur
 }
 
 /// Builds the range record id value for SELECT/DELETE/UPDATE/UPSERT $_range.
-fn build_range_value(
+pub(crate) fn build_range_value(
     _env: &mut Env,
     table: &str,
     start_ptr: jlong,
@@ -4,9 +4,20 @@ use crate::with_env_body;
 use jni::objects::JClass;
 use jni::sys::{jboolean, jlong};
 use jni::EnvUnowned;
+use parking_lot::Mutex;
 
 use crate::error::SurrealError;
-use crate::{get_sync_entry_iterator_instance, JniTypes};
+use crate::iter::EntryIter;
+use crate::{get_sync_entry_iterator_instance, release_instance, JniTypes};
+
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_SynchronizedEntryIterator_deleteInstance<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) {
+    release_instance::<Arc<Mutex<EntryIter>>>(ptr, JniTypes::SyncObjectIter);
+}
 
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_SynchronizedEntryIterator_hasNext<'local>(
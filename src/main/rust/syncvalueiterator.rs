@@ -1,39 +1,48 @@
 use std::sync::Arc;
 
 use crate::with_env_body;
-use jni::objects::JClass;
-use jni::sys::{jboolean, jlong};
+use jni::objects::{JClass, JLongArray};
+use jni::sys::{jint, jlong};
 use jni::EnvUnowned;
+use parking_lot::Mutex;
 
-use crate::error::SurrealError;
-use crate::{get_sync_value_iterator_instance, JniTypes};
+use crate::get_sync_value_iterator_instance;
+use crate::iter::ValueIter;
+use crate::{release_instance, JniTypes};
+use crate::valueiterator::{next_chunk, release_chunk};
 
+/// See `Java_com_surrealdb_ValueIterator_release`.
 #[no_mangle]
-pub extern "system" fn Java_com_surrealdb_SynchronizedValueIterator_hasNext<'local>(
+pub extern "system" fn Java_com_surrealdb_SynchronizedValueIterator_release<'local>(
     mut env: EnvUnowned<'local>,
     _class: JClass<'local>,
     ptr: jlong,
-) -> jboolean {
+    handles: JLongArray<'local>,
+    from: jint,
+    to: jint,
+) {
     with_env_body!(env, env, {
-        let iter = get_sync_value_iterator_instance!(env, ptr, || false as jboolean);
-        let iter = iter.lock();
-        (iter.len() > 0) as jboolean
+        release_instance::<Arc<Mutex<ValueIter>>>(ptr, JniTypes::SyncArrayIter);
+        if let Err(e) = release_chunk(env, &handles, from, to) {
+            e.exception(env, || ())
+        }
     })
 }
 
+/// See `Java_com_surrealdb_ValueIterator_nextChunk`.
 #[no_mangle]
-pub extern "system" fn Java_com_surrealdb_SynchronizedValueIterator_next<'local>(
+pub extern "system" fn Java_com_surrealdb_SynchronizedValueIterator_nextChunk<'local>(
     mut env: EnvUnowned<'local>,
     _class: JClass<'local>,
     ptr: jlong,
-) -> jlong {
+    out: JLongArray<'local>,
+) -> jint {
     with_env_body!(env, env, {
         let iter = get_sync_value_iterator_instance!(env, ptr, || 0);
         let mut iter = iter.lock();
-        if let Some(v) = iter.next() {
-            JniTypes::new_value(v.into())
-        } else {
-            SurrealError::NoSuchElementException.exception(env, || 0)
+        match next_chunk(env, &mut iter, &out) {
+            Ok(n) => n,
+            Err(e) => e.exception(env, || 0),
         }
     })
 }
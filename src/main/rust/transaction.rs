@@ -21,7 +21,7 @@ pub extern "system" fn Java_com_surrealdb_Transaction_nativeDeleteInstance<'loca
     _class: JClass<'local>,
     ptr: jlong,
 ) {
-    release_instance::<Transaction<Any>>(ptr);
+    release_instance::<Transaction<Any>>(ptr, JniTypes::Transaction);
 }
 
 #[no_mangle]
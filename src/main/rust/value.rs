@@ -9,6 +9,7 @@ use jni::sys::{jboolean, jbyteArray, jdouble, jint, jlong, jlongArray, jstring};
 use jni::EnvUnowned;
 use surrealdb::types::{Number, ToSql, Value};
 
+use crate::codec::encode_value;
 use crate::error::SurrealError;
 use crate::{get_value_instance, new_jlong_array, new_string, release_instance, JniTypes};
 
@@ -18,7 +19,7 @@ pub extern "system" fn Java_com_surrealdb_Value_deleteInstance<'local>(
     _class: JClass<'local>,
     ptr: jlong,
 ) -> jboolean {
-    release_instance::<Arc<Value>>(ptr);
+    release_instance::<Arc<Value>>(ptr, JniTypes::Value);
     true as jboolean
 }
 
@@ -137,6 +138,27 @@ pub extern "system" fn Java_com_surrealdb_Value_getBytes<'local>(
     })
 }
 
+/// Serializes the whole value for `ValueDecoder`, so a conversion to a Java
+/// object needs a single native call instead of one per node.
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_Value_encode<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) -> jbyteArray {
+    with_env_body!(env, env, {
+        let value = get_value_instance!(env, ptr, null_mut);
+        let encoded = encode_value(value.as_ref());
+        match env.byte_array_from_slice(&encoded.buf) {
+            Ok(a) => a.as_jarray_raw(),
+            Err(e) => {
+                encoded.release_handles();
+                SurrealError::from(e).exception(env, null_mut)
+            }
+        }
+    })
+}
+
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_Value_isLong<'local>(
     mut env: EnvUnowned<'local>,
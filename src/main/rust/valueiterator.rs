@@ -1,35 +1,85 @@
+use std::sync::Arc;
+
 use crate::with_env_body;
-use jni::objects::JClass;
-use jni::sys::{jboolean, jlong};
-use jni::EnvUnowned;
+use jni::objects::{JClass, JLongArray};
+use jni::sys::{jint, jlong};
+use jni::{Env, EnvUnowned};
+use surrealdb::types::Value;
 
 use crate::error::SurrealError;
-use crate::{get_value_iterator_instance, get_value_iterator_mut_instance, JniTypes};
+use crate::iter::ValueIter;
+use crate::{get_value_iterator_mut_instance, release_instance, JniTypes};
 
+/// Releases the iterator together with the prefetched handles in
+/// `handles[from..to]` that Java never handed out.
 #[no_mangle]
-pub extern "system" fn Java_com_surrealdb_ValueIterator_hasNext<'local>(
+pub extern "system" fn Java_com_surrealdb_ValueIterator_release<'local>(
     mut env: EnvUnowned<'local>,
     _class: JClass<'local>,
     ptr: jlong,
-) -> jboolean {
+    handles: JLongArray<'local>,
+    from: jint,
+    to: jint,
+) {
     with_env_body!(env, env, {
-        let iter = get_value_iterator_instance!(env, ptr, || false as jboolean);
-        (iter.len() > 0) as jboolean
+        release_instance::<ValueIter>(ptr, JniTypes::ArrayIter);
+        if let Err(e) = release_chunk(env, &handles, from, to) {
+            e.exception(env, || ())
+        }
     })
 }
 
+/// Moves up to `out.length` values into new handles written to `out` and
+/// returns how many were written; `0` means the iterator is exhausted.
 #[no_mangle]
-pub extern "system" fn Java_com_surrealdb_ValueIterator_next<'local>(
+pub extern "system" fn Java_com_surrealdb_ValueIterator_nextChunk<'local>(
     mut env: EnvUnowned<'local>,
     _class: JClass<'local>,
     ptr: jlong,
-) -> jlong {
+    out: JLongArray<'local>,
+) -> jint {
     with_env_body!(env, env, {
         let iter = get_value_iterator_mut_instance!(env, ptr, || 0);
-        if let Some(v) = iter.next() {
-            JniTypes::new_value(v.into())
-        } else {
-            SurrealError::NullPointerException("Value").exception(env, || 0)
+        match next_chunk(env, iter, &out) {
+            Ok(n) => n,
+            Err(e) => e.exception(env, || 0),
         }
     })
 }
+
+pub(crate) fn next_chunk(
+    env: &mut Env,
+    iter: &mut ValueIter,
+    out: &JLongArray,
+) -> Result<jint, SurrealError> {
+    let capacity = out.len(env)?;
+    let handles: Vec<jlong> = iter
+        .by_ref()
+        .take(capacity)
+        .map(|v| JniTypes::new_value(v.into()))
+        .collect();
+    if let Err(e) = out.set_region(env, 0, &handles) {
+        for handle in handles {
+            release_instance::<Arc<Value>>(handle, JniTypes::Value);
+        }
+        return Err(e.into());
+    }
+    Ok(handles.len() as jint)
+}
+
+pub(crate) fn release_chunk(
+    env: &mut Env,
+    handles: &JLongArray,
+    from: jint,
+    to: jint,
+) -> Result<(), SurrealError> {
+    if to <= from {
+        return Ok(());
+    }
+    let mut buf: Vec<jlong> = vec![0; to as usize];
+    handles.get_region(env, 0, &mut buf)?;
+    for handle in &buf[from as usize..] {
+        release_instance::<Arc<Value>>(*handle, JniTypes::Value);
+    }
+    Ok(())
+}
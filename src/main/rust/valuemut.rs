@@ -5,20 +5,30 @@ use std::str::FromStr;
 
 use crate::with_env_body;
 use chrono::DateTime;
-use jni::objects::{JClass, JLongArray, JString};
-use jni::sys::{jboolean, jdouble, jint, jlong, jstring};
+use jni::objects::{JByteArray, JClass, JLongArray, JString};
+use jni::sys::{jboolean, jbyte, jdouble, jint, jlong, jstring};
 use jni::EnvUnowned;
 use rust_decimal::Decimal;
 use surrealdb::types::{
     Array, Datetime, Duration, File, Number, Object, Table, ToSql, Uuid, Value,
 };
 
+use crate::codec::decode_value;
 use crate::error::SurrealError;
 use crate::{
     create_instance, get_long_array, get_rust_string, get_value_instance, get_value_mut_instance,
-    new_string, take_entry_mut_instance, take_value_mut_instance, JniTypes,
+    new_string, release_instance, take_entry_mut_instance, take_value_mut_instance, JniTypes,
 };
 
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_ValueMut_deleteInstance<'local>(
+    _env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    ptr: jlong,
+) {
+    release_instance::<Value>(ptr, JniTypes::ValueMut);
+}
+
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_ValueMut_newNone<'local>(
     _env: EnvUnowned<'local>,
@@ -295,6 +305,31 @@ pub extern "system" fn Java_com_surrealdb_ValueMut_newTable<'local>(
     })
 }
 
+#[no_mangle]
+pub extern "system" fn Java_com_surrealdb_ValueMut_newFromBuffer<'local>(
+    mut env: EnvUnowned<'local>,
+    _class: JClass<'local>,
+    buf: JByteArray<'local>,
+    len: jint,
+    handles: JLongArray<'local>,
+) -> jlong {
+    with_env_body!(env, env, {
+        let mut bytes: Vec<jbyte> = vec![0; len.max(0) as usize];
+        if let Err(e) = buf.get_region(env, 0, &mut bytes) {
+            return SurrealError::from(e).exception(env, || 0);
+        }
+        let handles = get_long_array!(env, &handles, || 0);
+        // SAFETY: jbyte and u8 have the same size and alignment; this only
+        // reinterprets the signed bytes without copying them.
+        let bytes: &[u8] =
+            unsafe { std::slice::from_raw_parts(bytes.as_ptr().cast(), bytes.len()) };
+        match decode_value(bytes, &handles) {
+            Ok(value) => JniTypes::new_value_mut(value),
+            Err(e) => e.exception(env, || 0),
+        }
+    })
+}
+
 #[no_mangle]
 pub extern "system" fn Java_com_surrealdb_ValueMut_toString<'local>(
     mut env: EnvUnowned<'local>,
@@ -0,0 +1,400 @@
+package com.surrealdb.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@code com.surrealdb.SurrealMapper} for every type annotated
+ * with {@code com.surrealdb.SurrealEntity}.
+ * <p>
+ * The generated mapper uses the same field selection as the driver's
+ * reflective mapping: non-static, non-transient fields of the type and its
+ * non-JDK superclasses, subclass first, with hidden fields skipped and
+ * {@code @SurrealName} applied. Records are read through their canonical
+ * constructor and written through their accessors.
+ * <p>
+ * The annotation types are referenced by name so the processor has no
+ * dependency on the driver.
+ */
+public class SurrealEntityProcessor extends AbstractProcessor {
+
+	private static final String ENTITY = "com.surrealdb.SurrealEntity";
+	private static final String NAME = "com.surrealdb.SurrealName";
+	private static final String MAPPER = "com.surrealdb.SurrealMapper";
+	private static final String SUFFIX = "_SurrealMapper";
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(ENTITY);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		final TypeElement entity = processingEnv.getElementUtils().getTypeElement(ENTITY);
+		if (entity == null) {
+			return false;
+		}
+		for (final Element element : roundEnv.getElementsAnnotatedWith(entity)) {
+			try {
+				generate(element);
+			} catch (InvalidEntityException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+						"Failed to write the SurrealMapper: " + e.getMessage(), element);
+			}
+		}
+		return true;
+	}
+
+	private void generate(Element element) throws IOException, InvalidEntityException {
+		final boolean record = isRecord(element);
+		if (!(element instanceof TypeElement) || !(record || element.getKind() == ElementKind.CLASS)) {
+			throw new InvalidEntityException("@SurrealEntity applies to classes and records", element);
+		}
+		final TypeElement type = (TypeElement) element;
+		checkType(type, record);
+		final List<MappedField> fields = record ? recordFields(type) : classFields(type);
+
+		final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		final String mapperName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+				.replace('$', '_') + SUFFIX;
+		final String typeName = type.getQualifiedName().toString();
+
+		final StringBuilder src = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			src.append("package ").append(packageName).append(";\n\n");
+		}
+		src.append("// Generated by ").append(getClass().getName()).append(" from ").append(typeName)
+				.append(". Do not edit.\n");
+		src.append("public final class ").append(mapperName).append(" implements ").append(MAPPER).append('<')
+				.append(typeName).append("> {\n\n");
+
+		src.append("\tprivate static final java.lang.String[] NAMES = {");
+		for (int i = 0; i < fields.size(); i++) {
+			src.append(i == 0 ? "" : ", ").append(literal(fields.get(i).name));
+		}
+		src.append("};\n\n");
+
+		src.append("\t@java.lang.Override\n\tpublic java.lang.String[] names() {\n\t\treturn NAMES;\n\t}\n\n");
+
+		src.append("\t@java.lang.Override\n\tpublic java.lang.Object[] values(final ").append(typeName)
+				.append(" value) {\n\t\treturn new java.lang.Object[]{");
+		for (int i = 0; i < fields.size(); i++) {
+			src.append(i == 0 ? "" : ", ").append("value.").append(fields.get(i).javaName).append(record ? "()" : "");
+		}
+		src.append("};\n\t}\n\n");
+
+		src.append("\t@java.lang.Override\n\t@java.lang.SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+		src.append("\tpublic ").append(typeName).append(" read(final ").append(MAPPER).append(".Reader reader) {\n");
+		if (record) {
+			src.append("\t\treturn new ").append(typeName).append('(');
+			for (int i = 0; i < fields.size(); i++) {
+				final MappedField field = fields.get(i);
+				src.append(i == 0 ? "\n\t\t\t\t" : ",\n\t\t\t\t").append('(').append(field.castType).append(") ")
+						.append("reader.getOrDefault(").append(literal(field.name)).append(", ")
+						.append(field.typeTokens).append(')');
+			}
+			src.append(");\n");
+		} else {
+			src.append("\t\tfinal ").append(typeName).append(" target = new ").append(typeName).append("();\n");
+			for (final MappedField field : fields) {
+				if (field.optional) {
+					src.append("\t\tif (target.").append(field.javaName).append(" == null) {\n\t\t\ttarget.")
+							.append(field.javaName).append(" = java.util.Optional.empty();\n\t\t}\n");
+				}
+			}
+			for (int i = 0; i < fields.size(); i++) {
+				final MappedField field = fields.get(i);
+				final String get = "reader.get(" + literal(field.name) + ", " + field.typeTokens + ")";
+				src.append("\t\tif (reader.has(").append(literal(field.name)).append(")) {\n");
+				if (field.primitive) {
+					// Leave primitive fields at their default value when the entry is null
+					src.append("\t\t\tfinal java.lang.Object v").append(i).append(" = ").append(get).append(";\n");
+					src.append("\t\t\tif (v").append(i).append(" != null) {\n\t\t\t\ttarget.").append(field.javaName)
+							.append(" = (").append(field.castType).append(") v").append(i).append(";\n\t\t\t}\n");
+				} else {
+					src.append("\t\t\ttarget.").append(field.javaName).append(" = (").append(field.castType)
+							.append(") ").append(get).append(";\n");
+				}
+				src.append("\t\t}\n");
+			}
+			src.append("\t\treturn target;\n");
+		}
+		src.append("\t}\n}\n");
+
+		final String qualifiedMapper = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMapper, type).openWriter()) {
+			writer.write(src.toString());
+		}
+	}
+
+	private void checkType(TypeElement type, boolean record) throws InvalidEntityException {
+		if (!type.getTypeParameters().isEmpty()) {
+			throw new InvalidEntityException("@SurrealEntity does not support generic types", type);
+		}
+		if (!record && type.getModifiers().contains(Modifier.ABSTRACT)) {
+			throw new InvalidEntityException("@SurrealEntity type must not be abstract", type);
+		}
+		for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+			if (e.getModifiers().contains(Modifier.PRIVATE)) {
+				throw new InvalidEntityException("@SurrealEntity type must not be private", type);
+			}
+			if (e.getEnclosingElement() instanceof TypeElement && !e.getModifiers().contains(Modifier.STATIC)
+					&& !isRecord(e)) {
+				throw new InvalidEntityException("@SurrealEntity nested type must be static", type);
+			}
+		}
+		if (!record) {
+			boolean constructor = false;
+			for (final Element e : type.getEnclosedElements()) {
+				if (e.getKind() == ElementKind.CONSTRUCTOR && ((ExecutableElement) e).getParameters().isEmpty()
+						&& !e.getModifiers().contains(Modifier.PRIVATE)) {
+					constructor = true;
+				}
+			}
+			if (!constructor) {
+				throw new InvalidEntityException("@SurrealEntity class needs a non-private no-arg constructor", type);
+			}
+		}
+	}
+
+	private List<MappedField> classFields(TypeElement type) throws InvalidEntityException {
+		final Map<String, MappedField> fields = new LinkedHashMap<>();
+		final Set<String> seenJavaNames = new HashSet<>();
+		final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		TypeElement c = type;
+		while (c != null && !isJdkType(c)) {
+			for (final Element e : c.getEnclosedElements()) {
+				if (e.getKind() != ElementKind.FIELD) {
+					continue;
+				}
+				// Hiding follows the Java name and applies to every declared field,
+				// as in the driver's SurrealFieldNames
+				if (!seenJavaNames.add(e.getSimpleName().toString())) {
+					continue;
+				}
+				final Set<Modifier> modifiers = e.getModifiers();
+				if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+					continue;
+				}
+				if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+					throw new InvalidEntityException(
+							"@SurrealEntity fields must not be private or final: " + describe(e), type);
+				}
+				if (!modifiers.contains(Modifier.PUBLIC)
+						&& !processingEnv.getElementUtils().getPackageOf(e).equals(pkg)) {
+					throw new InvalidEntityException(
+							"@SurrealEntity inherited fields from another package must be public: " + describe(e),
+							type);
+				}
+				final MappedField field = field((VariableElement) e, e);
+				final MappedField previous = fields.put(field.name, field);
+				if (previous != null) {
+					throw new InvalidEntityException("Duplicate SurrealDB field name '" + field.name + "' on "
+							+ describe(previous.element) + " and " + describe(e), type);
+				}
+			}
+			final TypeMirror superclass = c.getSuperclass();
+			c = superclass.getKind() == TypeKind.DECLARED
+					? (TypeElement) ((DeclaredType) superclass).asElement()
+					: null;
+		}
+		return new ArrayList<>(fields.values());
+	}
+
+	private List<MappedField> recordFields(TypeElement type) throws InvalidEntityException {
+		// Annotations on a record component may sit on the component or be
+		// propagated to its backing field
+		final Map<String, Element> components = new LinkedHashMap<>();
+		for (final Element e : type.getEnclosedElements()) {
+			if ("RECORD_COMPONENT".equals(e.getKind().name())) {
+				components.put(e.getSimpleName().toString(), e);
+			}
+		}
+		final Map<String, MappedField> fields = new LinkedHashMap<>();
+		for (final Element e : type.getEnclosedElements()) {
+			if (e.getKind() != ElementKind.FIELD || e.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			final Element component = components.get(e.getSimpleName().toString());
+			final MappedField field = field((VariableElement) e,
+					surrealName(e) == null && component != null ? component : e);
+			if (fields.put(field.name, field) != null) {
+				throw new InvalidEntityException(
+						"Duplicate SurrealDB field name '" + field.name + "' on record " + type.getQualifiedName(),
+						type);
+			}
+		}
+		return new ArrayList<>(fields.values());
+	}
+
+	private MappedField field(VariableElement field, Element annotated) throws InvalidEntityException {
+		final String javaName = field.getSimpleName().toString();
+		String name = surrealName(annotated);
+		if (name == null) {
+			name = javaName;
+		} else if (name.trim().isEmpty()) {
+			throw new InvalidEntityException("@SurrealName value must not be blank on " + describe(field), field);
+		}
+		final TypeMirror type = field.asType();
+		final boolean primitive = type.getKind().isPrimitive();
+		final String castType = primitive
+				? processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString()
+				: erasure(type);
+		final StringBuilder tokens = new StringBuilder(primitive ? type.toString() : erasure(type)).append(".class");
+		if (type.getKind() == TypeKind.DECLARED) {
+			for (final TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+				tokens.append(", ").append(erasure(bound(argument))).append(".class");
+			}
+		}
+		final boolean optional = "java.util.Optional".equals(castType);
+		return new MappedField(field, javaName, name, castType, tokens.toString(), primitive, optional);
+	}
+
+	private String surrealName(Element element) {
+		for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			final TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotation.getQualifiedName().contentEquals(NAME)) {
+				for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror
+						.getElementValues().entrySet()) {
+					if (entry.getKey().getSimpleName().contentEquals("value")) {
+						return String.valueOf(entry.getValue().getValue());
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private TypeMirror bound(TypeMirror argument) {
+		if (argument.getKind() == TypeKind.WILDCARD) {
+			final TypeMirror extendsBound = ((WildcardType) argument).getExtendsBound();
+			return extendsBound != null
+					? extendsBound
+					: processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType();
+		}
+		return argument;
+	}
+
+	private String erasure(TypeMirror type) {
+		final TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+		if (erased.getKind() == TypeKind.DECLARED) {
+			return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+		}
+		if (erased.getKind() == TypeKind.ARRAY) {
+			final TypeMirror component = ((javax.lang.model.type.ArrayType) erased).getComponentType();
+			return (component.getKind().isPrimitive() ? component.toString() : erasure(component)) + "[]";
+		}
+		return erased.toString();
+	}
+
+	private static boolean isRecord(Element element) {
+		// ElementKind.RECORD only exists on JDK 16+
+		return "RECORD".equals(element.getKind().name());
+	}
+
+	private static boolean isJdkType(TypeElement type) {
+		final String name = type.getQualifiedName().toString();
+		return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+				|| name.startsWith("sun.") || name.startsWith("com.sun.");
+	}
+
+	private static String describe(Element field) {
+		return ((TypeElement) field.getEnclosingElement()).getQualifiedName() + "." + field.getSimpleName();
+	}
+
+	private static String literal(String value) {
+		final StringBuilder sb = new StringBuilder("\"");
+		for (final char c : value.toCharArray()) {
+			switch (c) {
+				case '"' :
+					sb.append("\\\"");
+					break;
+				case '\\' :
+					sb.append("\\\\");
+					break;
+				case '\n' :
+					sb.append("\\n");
+					break;
+				case '\r' :
+					sb.append("\\r");
+					break;
+				case '\t' :
+					sb.append("\\t");
+					break;
+				default :
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	private static final class MappedField {
+		final Element element;
+		final String javaName;
+		final String name;
+		final String castType;
+		final String typeTokens;
+		final boolean primitive;
+		final boolean optional;
+
+		MappedField(Element element, String javaName, String name, String castType, String typeTokens,
+				boolean primitive, boolean optional) {
+			this.element = element;
+			this.javaName = javaName;
+			this.name = name;
+			this.castType = castType;
+			this.typeTokens = typeTokens;
+			this.primitive = primitive;
+			this.optional = optional;
+		}
+	}
+
+	private static final class InvalidEntityException extends Exception {
+		private static final long serialVersionUID = 1L;
+		final transient Element element;
+
+		InvalidEntityException(String message, Element element) {
+			super(message);
+			this.element = element;
+		}
+	}
+}
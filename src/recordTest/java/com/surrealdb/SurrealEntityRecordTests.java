@@ -0,0 +1,45 @@
+package com.surrealdb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+public class SurrealEntityRecordTests {
+
+	@SurrealEntity
+	public record Account(@SurrealName("user_name") String name, int logins, Optional<String> email) {
+	}
+
+	@Test
+	void mapperIsGenerated() {
+		final SurrealMapper<Account> mapper = SurrealMappers.find(Account.class);
+		assertNotNull(mapper);
+		assertEquals(Arrays.asList("user_name", "logins", "email"), Arrays.asList(mapper.names()));
+	}
+
+	@Test
+	void roundTrip() {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final Account account = new Account("ada", 3, Optional.of("ada@example.com"));
+			final Value value = surreal.query("RETURN $account", Collections.singletonMap("account", account)).take(0);
+
+			assertEquals("ada", value.getObject().get("user_name").getString());
+			assertEquals(account, value.get(Account.class));
+		}
+	}
+
+	@Test
+	void missingComponentsUseDefaults() {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final Account account = surreal.query("RETURN { user_name: 'bob' }").take(Account.class, 0);
+
+			assertEquals(new Account("bob", 0, Optional.empty()), account);
+		}
+	}
+}
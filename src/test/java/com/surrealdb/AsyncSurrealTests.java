@@ -0,0 +1,191 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.surrealdb.pojos.Person;
+
+/**
+ * Tests for {@link Surreal#async()}.
+ */
+public class AsyncSurrealTests {
+
+	@Test
+	void asyncQuery() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Response response = surreal.async().query("RETURN 1; RETURN 'two';").join();
+			assertEquals(2, response.size());
+			assertEquals(1, response.take(0).getLong());
+			assertEquals("two", response.take(1).getString());
+		}
+	}
+
+	@Test
+	void asyncQueryWithParams() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Response response = surreal.async()
+					.query("RETURN $name", Collections.singletonMap("name", "Tobie")).join();
+			assertEquals("Tobie", response.take(0).getString());
+		}
+	}
+
+	@Test
+	void asyncCreateSelectDelete() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			final RecordId id = new RecordId("person", "tobie");
+			final Person created = async.create(Person.class, id, Helpers.tobie).join();
+			assertEquals(Helpers.tobie.name, created.name);
+			final Optional<Person> selected = async.select(Person.class, id).join();
+			assertEquals(Optional.of(created), selected);
+			async.delete(id).join();
+			assertFalse(async.select(id).join().isPresent());
+		}
+	}
+
+	@Test
+	void asyncRecordIdsAreBound() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			// A key that is not a plain identifier, nor valid SurrealQL
+			final RecordId id = new RecordId("person", "o'neil`; DELETE person; --");
+			final Person created = async.create(Person.class, id, Helpers.tobie).join();
+			assertEquals(id, created.id);
+			assertEquals(Helpers.tobie.name, surreal.select(Person.class, id).get().name);
+			assertEquals(Helpers.jaime.name, async.upsert(Person.class, id, UpType.CONTENT, Helpers.jaime).join().name);
+			assertEquals(Helpers.jaime.name, async.select(Person.class, id).join().get().name);
+			async.delete(id).join();
+			assertFalse(surreal.select(id).isPresent());
+		}
+	}
+
+	@Test
+	void asyncInsertAndSelectTable() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			final List<Person> inserted = async.insert(Person.class, "person", Helpers.tobie, Helpers.jaime).join();
+			assertEquals(2, inserted.size());
+			final List<Person> selected = async.select(Person.class, "person").join();
+			assertEquals(2, selected.size());
+			assertTrue(selected.containsAll(inserted));
+		}
+	}
+
+	@Test
+	void asyncUpdate() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			final RecordId id = new RecordId("person", 1);
+			async.create(id, Helpers.tobie).join();
+			final Person updated = async.update(Person.class, id, UpType.CONTENT, Helpers.jaime).join();
+			assertEquals(Helpers.jaime.name, updated.name);
+			assertEquals(id, updated.id);
+		}
+	}
+
+	@Test
+	void asyncRun() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Value value = surreal.async().run("string::concat", "foo", "bar").join();
+			assertEquals("foobar", value.getString());
+		}
+	}
+
+	@Test
+	void manyConcurrentOperations() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			final List<CompletableFuture<Value>> futures = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				futures.add(async.create(new RecordId("item", i), Collections.singletonMap("n", i)));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+			final Response count = surreal.query("RETURN count(SELECT * FROM item)");
+			assertEquals(200, count.take(0).getLong());
+		}
+	}
+
+	@Test
+	void asyncErrorCompletesExceptionally() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			final RecordId id = new RecordId("person", "dup");
+			async.create(id, Helpers.tobie).join();
+			final CompletionException e = assertThrows(CompletionException.class,
+					() -> async.create(id, Helpers.jaime).join());
+			assertInstanceOf(SurrealException.class, e.getCause());
+		}
+	}
+
+	@Test
+	void asyncSelectRecordIds() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final AsyncSurreal async = surreal.async();
+			final List<Value> created = async.create("person", Helpers.tobie, Helpers.jaime).join();
+			final RecordId[] ids = created.stream().map(v -> v.get(Person.class).id).toArray(RecordId[]::new);
+			final List<Person> selected = async.select(Person.class, ids).join();
+			assertEquals(Arrays.asList(ids), selected.stream().map(p -> p.id).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	void pipelineReturnsResultsInOrder() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.create(Person.class, new RecordId("person", 1), Helpers.tobie);
+			surreal.create(Person.class, new RecordId("person", 2), Helpers.jaime);
+			final Pipeline pipeline = surreal.pipeline().select(Person.class, new RecordId("person", 2))
+					.select(Person.class, new RecordId("person", 1)).query("RETURN 3").run("math::max", Arrays.asList(1, 4))
+					.select(new RecordId("person", 3));
+			assertEquals(5, pipeline.size());
+			final List<java.lang.Object> results = pipeline.execute();
+			assertEquals(5, results.size());
+			assertEquals(Helpers.jaime.name, ((Optional<Person>) results.get(0)).get().name);
+			assertEquals(Helpers.tobie.name, ((Optional<Person>) results.get(1)).get().name);
+			assertEquals(3, ((Response) results.get(2)).take(0).getLong());
+			assertEquals(4, ((Value) results.get(3)).getLong());
+			assertFalse(((Optional<?>) results.get(4)).isPresent());
+		}
+	}
+
+	@Test
+	void pipelineReportsFailureAfterAllComplete() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.create(new RecordId("person", 1), Helpers.tobie);
+			final Pipeline pipeline = surreal.pipeline().create(new RecordId("person", 2), Helpers.jaime)
+					.create(new RecordId("person", 1), Helpers.tobie).create(new RecordId("person", 3), Helpers.emmanuel);
+			final List<CompletableFuture<?>> futures = pipeline.submit();
+			assertEquals(3, futures.size());
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+			assertFalse(futures.get(0).isCompletedExceptionally());
+			assertTrue(futures.get(1).isCompletedExceptionally());
+			assertFalse(futures.get(2).isCompletedExceptionally());
+			// Running it again repeats every operation, and the records now exist
+			assertThrows(SurrealException.class, pipeline::execute);
+		}
+	}
+}
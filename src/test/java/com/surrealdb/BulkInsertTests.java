@@ -0,0 +1,114 @@
+package com.surrealdb;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Surreal#bulkInsert(String, Iterator, BulkOptions)}.
+ */
+public class BulkInsertTests {
+
+	private static Iterator<Map<String, Integer>> rows(int count) {
+		return IntStream.range(0, count).mapToObj(i -> Collections.singletonMap("n", i)).iterator();
+	}
+
+	@Test
+	void insertsAllRowsInChunks() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final BulkResult result = surreal.bulkInsert("item", rows(2500),
+					BulkOptions.defaults().withChunkSize(100).withMaxInFlight(3));
+			assertTrue(result.isSuccess());
+			assertEquals(2500, result.getRowsInserted());
+			assertEquals(0, result.getRowsFailed());
+			assertEquals(25, result.getChunks());
+			assertTrue(result.getRowsPerSecond() > 0);
+			assertEquals(2500, surreal.query("RETURN count(SELECT * FROM item)").take(0).getLong());
+			assertEquals(2499, surreal.query("RETURN math::max((SELECT VALUE n FROM item))").take(0).getLong());
+		}
+	}
+
+	@Test
+	void reportsFailedChunks() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.query("DEFINE TABLE item SCHEMAFULL; DEFINE FIELD n ON item TYPE int ASSERT $value < 150");
+			final BulkResult result = surreal.bulkInsert("item", rows(300),
+					BulkOptions.defaults().withChunkSize(100).withMaxInFlight(1));
+			assertFalse(result.isSuccess());
+			assertEquals(100, result.getRowsInserted());
+			assertEquals(200, result.getRowsFailed());
+			assertEquals(2, result.getFailures().size());
+			assertEquals(1, result.getFailures().get(0).getChunkIndex());
+			assertEquals(100, result.getFailures().get(0).getFirstRow());
+			assertEquals(100, result.getFailures().get(0).getRowCount());
+			assertTrue(result.getFailures().get(0).getCause() instanceof SurrealException);
+		}
+	}
+
+	@Test
+	void stopsOnFirstError() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.query("DEFINE TABLE item SCHEMAFULL; DEFINE FIELD n ON item TYPE int ASSERT $value < 50");
+			final BulkResult result = surreal.bulkInsert("item", rows(1000),
+					BulkOptions.defaults().withChunkSize(100).withMaxInFlight(1).withStopOnError(true));
+			assertEquals(1, result.getFailures().size());
+			assertTrue(result.getChunks() < 10);
+		}
+	}
+
+	@Test
+	void reportsInterruptedLoads() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Iterator<Map<String, Integer>> rows = rows(300);
+			Thread.currentThread().interrupt();
+			final BulkResult result;
+			try {
+				result = surreal.bulkInsert("item", rows, BulkOptions.defaults().withChunkSize(100));
+			} finally {
+				assertTrue(Thread.interrupted());
+			}
+			assertTrue(result.isInterrupted());
+			assertFalse(result.isSuccess());
+			assertEquals(0, result.getChunks());
+			// No row was taken from the iterator and lost
+			assertTrue(rows.hasNext());
+			assertEquals(0, (int) rows.next().get("n"));
+		}
+	}
+
+	@Test
+	void rethrowsIteratorFailures() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Iterator<Map<String, Integer>> rows = IntStream.range(0, 300).mapToObj(i -> {
+				if (i == 250) {
+					throw new IllegalStateException("cursor closed");
+				}
+				return Collections.singletonMap("n", i);
+			}).iterator();
+			final BulkOptions options = BulkOptions.defaults().withChunkSize(100).withMaxInFlight(1);
+			final IllegalStateException e = assertThrows(IllegalStateException.class,
+					() -> surreal.bulkInsert("item", rows, options));
+			assertEquals("cursor closed", e.getMessage());
+			// The chunks submitted before the failure have completed
+			assertEquals(200, surreal.query("RETURN count(SELECT * FROM item)").take(0).getLong());
+		}
+	}
+
+		@Test
+	void rejectsInvalidOptions() {
+		assertThrows(IllegalArgumentException.class, () -> BulkOptions.defaults().withChunkSize(0));
+		assertThrows(IllegalArgumentException.class, () -> BulkOptions.defaults().withMaxInFlight(0));
+	}
+}
@@ -0,0 +1,106 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.surrealdb.pojos.Person;
+
+/**
+ * Tests for {@link CachingSurreal}.
+ */
+public class CachingSurrealTests {
+
+	@Test
+	void repeatedReadsAreServedFromTheCache() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final RecordId id = new RecordId("person", 1);
+			surreal.create(Person.class, id, Helpers.tobie);
+			try (CachingSurreal cache = new CachingSurreal(surreal)) {
+				final Person first = cache.select(Person.class, id).get();
+				final Person second = cache.select(Person.class, id).get();
+				assertEquals("Tobie", second.name);
+				assertEquals(first, second);
+				assertNotSame(first, second);
+				assertEquals(1, cache.getMissCount());
+				assertEquals(1, cache.getHitCount());
+				assertEquals(1, cache.getSize());
+				assertFalse(cache.select(Person.class, new RecordId("person", 2)).isPresent());
+				assertEquals(1, cache.getSize());
+			}
+		}
+	}
+
+	@Test
+	void changesFromOtherClientsInvalidateRecords() throws InterruptedException {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final RecordId id = new RecordId("person", 1);
+			surreal.create(Person.class, id, Helpers.tobie);
+			try (CachingSurreal cache = new CachingSurreal(surreal)) {
+				assertEquals("Tobie", cache.select(Person.class, id).get().name);
+				surreal.query("UPDATE person:1 SET name = 'Jaime'");
+				for (int i = 0; i < 200 && cache.getSize() > 0; i++) {
+					Thread.sleep(10);
+				}
+				assertEquals(0, cache.getSize());
+				assertEquals("Jaime", cache.select(Person.class, id).get().name);
+			}
+		}
+	}
+
+	@Test
+	void ownWritesAndEvictionsAreApplied() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final RecordId tobie = new RecordId("person", 1);
+			final RecordId jaime = new RecordId("person", 2);
+			surreal.create(Person.class, tobie, Helpers.tobie);
+			surreal.create(Person.class, jaime, Helpers.jaime);
+			try (CachingSurreal cache = new CachingSurreal(surreal, CacheOptions.defaults().withMaximumSize(1))) {
+				cache.select(Person.class, tobie);
+				cache.select(Person.class, jaime);
+				assertEquals(1, cache.getSize());
+				assertEquals(1, cache.getEvictionCount());
+
+				final Person renamed = new Person("Renamed", Helpers.jaime.tags, 3, false, Helpers.jaime.emails);
+				cache.update(Person.class, jaime, UpType.CONTENT, renamed);
+				assertEquals("Renamed", cache.select(Person.class, jaime).get().name);
+
+				cache.delete(jaime);
+				final Optional<Person> deleted = cache.select(Person.class, jaime);
+				assertFalse(deleted.isPresent());
+			}
+		}
+	}
+
+	@Test
+	void closingStopsCaching() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final RecordId id = new RecordId("person", 1);
+			surreal.create(Person.class, id, Helpers.tobie);
+			final CachingSurreal cache = new CachingSurreal(surreal);
+			assertTrue(cache.select(Person.class, id).isPresent());
+			cache.close();
+			cache.close();
+			assertEquals(0, cache.getSize());
+			assertTrue(cache.select(Person.class, id).isPresent());
+			assertEquals(0, cache.getSize());
+		}
+	}
+
+	@Test
+	void optionsAreValidated() {
+		assertThrows(IllegalArgumentException.class, () -> CacheOptions.defaults().withMaximumSize(0));
+		assertThrows(IllegalArgumentException.class, () -> CacheOptions.defaults().withLiveCapacity(0));
+		assertThrows(IllegalArgumentException.class, () -> CacheOptions.defaults().withExpireAfterWrite(Duration.ZERO));
+	}
+}
@@ -6,6 +6,7 @@ import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.Test;
@@ -102,4 +103,18 @@ public class ConnectionTests {
 			}
 		}
 	}
+
+	@Test
+	void runtimeConfigIsFixedOnceStarted() throws SurrealException {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory");
+			assertTrue(SurrealRuntimeConfig.isRuntimeStarted());
+			final SurrealRuntimeConfig config = SurrealRuntimeConfig.builder().workerThreads(2)
+					.threadNamePrefix("test-runtime").maxBlockingThreads(8).build();
+			assertEquals(2, config.getWorkerThreads());
+			assertEquals("test-runtime", config.getThreadNamePrefix());
+			assertThrows(IllegalStateException.class, config::install);
+			assertThrows(IllegalArgumentException.class, () -> SurrealRuntimeConfig.builder().workerThreads(-1));
+		}
+	}
 }
@@ -4,7 +4,9 @@ import com.surrealdb.pojos.Person;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static com.surrealdb.Helpers.jaime;
 import static com.surrealdb.Helpers.tobie;
@@ -73,4 +75,21 @@ public class InsertTests {
 		}
 	}
 
+	@Test
+	void insertValuesAreBoundVerbatim() {
+		try (final Surreal surreal = new Surreal()) {
+			// Starts an embedded in memory instance
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			// Strings that would need escaping if rendered as SurrealQL text
+			final String tricky = "it's a \"quoted\" \\ $rows ]; DELETE person; --";
+			final Map<String, String> row = Collections.singletonMap("name", tricky);
+			final List<Value> values = surreal.insert("person", row, row);
+			assertEquals(2, values.size());
+			for (final Value value : values) {
+				assertEquals(tricky, value.getObject().get("name").getString());
+			}
+			assertEquals(2, surreal.query("RETURN count(SELECT * FROM person)").take(0).getLong());
+		}
+	}
+
 }
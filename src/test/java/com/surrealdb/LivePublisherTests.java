@@ -0,0 +1,136 @@
+package com.surrealdb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Surreal#selectLivePublisher(String)} and the bounded
+ * {@link Surreal#selectLive(String, int)} buffer.
+ */
+public class LivePublisherTests {
+
+	/**
+	 * Records signals and only requests what the test asks for.
+	 */
+	static final class RecordingSubscriber implements LiveSubscriber {
+
+		final List<LiveNotification> received = Collections.synchronizedList(new ArrayList<>());
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		final CountDownLatch terminated = new CountDownLatch(1);
+		volatile LiveSubscription subscription;
+		volatile CountDownLatch nextLatch = new CountDownLatch(0);
+
+		@Override
+		public void onSubscribe(LiveSubscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(LiveNotification notification) {
+			received.add(notification);
+			nextLatch.countDown();
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error.set(throwable);
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			terminated.countDown();
+		}
+
+		void request(int n) {
+			nextLatch = new CountDownLatch(n);
+			subscription.request(n);
+		}
+	}
+
+	@Test
+	void deliversOnlyRequestedNotifications() throws Exception {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			final LivePublisher publisher = surreal.selectLivePublisher("person");
+			final RecordingSubscriber subscriber = new RecordingSubscriber();
+			publisher.subscribe(subscriber);
+			for (int i = 0; i < 5; i++) {
+				surreal.query("CREATE person SET n = " + i);
+			}
+			// Nothing is delivered before demand is signalled
+			Thread.sleep(200);
+			assertEquals(0, subscriber.received.size());
+			subscriber.request(2);
+			assertTrue(subscriber.nextLatch.await(5, TimeUnit.SECONDS));
+			Thread.sleep(200);
+			assertEquals(2, subscriber.received.size());
+			subscriber.request(3);
+			assertTrue(subscriber.nextLatch.await(5, TimeUnit.SECONDS));
+			assertEquals(5, subscriber.received.size());
+			for (final LiveNotification n : subscriber.received) {
+				assertEquals("CREATE", n.getAction());
+				assertEquals(publisher.getQueryId(), n.getQueryId());
+			}
+			subscriber.subscription.cancel();
+		}
+	}
+
+	@Test
+	void nonPositiveRequestSignalsError() throws Exception {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			final RecordingSubscriber subscriber = new RecordingSubscriber();
+			surreal.selectLivePublisher("person").subscribe(subscriber);
+			subscriber.subscription.request(0);
+			assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalArgumentException.class, subscriber.error.get());
+		}
+	}
+
+	@Test
+	void secondSubscriberIsRejected() throws Exception {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			final LivePublisher publisher = surreal.selectLivePublisher("person");
+			final RecordingSubscriber first = new RecordingSubscriber();
+			final RecordingSubscriber second = new RecordingSubscriber();
+			publisher.subscribe(first);
+			publisher.subscribe(second);
+			assertTrue(second.terminated.await(1, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, second.error.get());
+			first.subscription.cancel();
+		}
+	}
+
+	@Test
+	void boundedStreamKeepsDeliveringAfterFillingUp() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			try (LiveStream stream = surreal.selectLive("person", 2)) {
+				for (int i = 0; i < 10; i++) {
+					surreal.query("CREATE person SET n = " + i);
+				}
+				for (int i = 0; i < 10; i++) {
+					final Optional<LiveNotification> n = stream.next();
+					assertTrue(n.isPresent());
+					assertEquals("CREATE", n.get().getAction());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.surrealdb;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LiveQueryHub}.
+ */
+public class LiveQueryHubTests {
+
+	@Test
+	void deliversNotificationsOfAllQueries() {
+		try (Surreal surreal = new Surreal(); LiveQueryHub hub = new LiveQueryHub()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS; DEFINE TABLE account SCHEMALESS");
+			final String people = hub.subscribe(surreal, "person");
+			final String accounts = hub.subscribe(surreal, "account");
+			surreal.query("CREATE person SET n = 1; CREATE account SET n = 2; CREATE person SET n = 3");
+			final Set<String> seen = new HashSet<>();
+			int personCount = 0;
+			for (int i = 0; i < 3; i++) {
+				final Optional<LiveNotification> n = hub.next();
+				assertTrue(n.isPresent());
+				assertEquals("CREATE", n.get().getAction());
+				seen.add(n.get().getQueryId());
+				if (n.get().getQueryId().equals(people)) {
+					personCount++;
+				}
+			}
+			assertEquals(2, personCount);
+			assertTrue(seen.contains(people));
+			assertTrue(seen.contains(accounts));
+		}
+	}
+
+	@Test
+	void unsubscribeStopsOneQuery() {
+		try (Surreal surreal = new Surreal(); LiveQueryHub hub = new LiveQueryHub()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS; DEFINE TABLE account SCHEMALESS");
+			final String people = hub.subscribe(surreal, "person");
+			final String accounts = hub.subscribe(surreal, "account");
+			assertTrue(hub.unsubscribe(people));
+			assertFalse(hub.unsubscribe(people));
+			surreal.query("CREATE person SET n = 1; CREATE account SET n = 2");
+			final Optional<LiveNotification> n = hub.next();
+			assertTrue(n.isPresent());
+			assertEquals(accounts, n.get().getQueryId());
+		}
+	}
+
+	@Test
+	void closeUnblocksNext() throws Exception {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			final LiveQueryHub hub = new LiveQueryHub();
+			hub.subscribe(surreal, "person");
+			final CountDownLatch done = new CountDownLatch(1);
+			final Thread consumer = new Thread(() -> {
+				if (!hub.next().isPresent()) {
+					done.countDown();
+				}
+			});
+			consumer.start();
+			Thread.sleep(200);
+			hub.close();
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertFalse(hub.next().isPresent());
+			assertThrows(IllegalStateException.class, () -> hub.subscribe(surreal, "person"));
+		}
+	}
+}
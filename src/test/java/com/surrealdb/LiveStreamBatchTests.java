@@ -0,0 +1,82 @@
+package com.surrealdb;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LiveStream#nextBatch(int, Duration)}.
+ */
+public class LiveStreamBatchTests {
+
+	@Test
+	void drainsQueuedNotificationsInOneCall() throws Exception {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			try (LiveStream stream = surreal.selectLive("person")) {
+				for (int i = 0; i < 10; i++) {
+					surreal.query("CREATE person SET n = " + i);
+				}
+				final List<LiveNotification> received = new ArrayList<>();
+				while (received.size() < 10) {
+					final List<LiveNotification> batch = stream.nextBatch(4, Duration.ofSeconds(5));
+					assertTrue(batch.size() >= 1 && batch.size() <= 4);
+					received.addAll(batch);
+				}
+				for (int i = 0; i < 10; i++) {
+					final LiveNotification n = received.get(i);
+					assertEquals("CREATE", n.getAction());
+					assertEquals(stream.getQueryId(), n.getQueryId());
+					assertEquals(i, n.getValue().getObject().get("n").getLong());
+				}
+			}
+		}
+	}
+
+	@Test
+	void returnsEmptyOnTimeout() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			try (LiveStream stream = surreal.selectLive("person")) {
+				final List<LiveNotification> into = new ArrayList<>();
+				assertEquals(0, stream.nextBatch(into, 16, Duration.ZERO));
+				assertEquals(0, stream.nextBatch(into, 16, Duration.ofMillis(50)));
+				assertTrue(into.isEmpty());
+			}
+		}
+	}
+
+	@Test
+	void reportsEndOfStream() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			final LiveStream stream = surreal.selectLive("person");
+			stream.close();
+			assertEquals(-1, stream.nextBatch(new ArrayList<>(), 16, Duration.ofSeconds(1)));
+			assertTrue(stream.nextBatch(16, Duration.ofSeconds(1)).isEmpty());
+		}
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			surreal.query("DEFINE TABLE person SCHEMALESS");
+			try (LiveStream stream = surreal.selectLive("person")) {
+				assertThrows(IllegalArgumentException.class,
+						() -> stream.nextBatch(new ArrayList<>(), 0, Duration.ZERO));
+				assertThrows(IllegalArgumentException.class,
+						() -> stream.nextBatch(new ArrayList<>(), 1, Duration.ofMillis(-1)));
+				assertThrows(IllegalArgumentException.class, () -> stream.nextBatch(-1, Duration.ZERO));
+			}
+		}
+	}
+}
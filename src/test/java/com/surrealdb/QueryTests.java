@@ -1,12 +1,15 @@
 package com.surrealdb;
 
 import java.awt.geom.Point2D;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -14,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
@@ -498,6 +502,272 @@ public class QueryTests {
 		}
 	}
 
+	@Test
+	void iteratorsOutliveTheirCollection() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final List<Long> numbers = new ArrayList<>();
+			for (long i = 0; i < 1000; i++) {
+				numbers.add(i);
+			}
+			final Value value = surreal
+					.query("RETURN { items: $items, name: 'Tobie' }", Collections.singletonMap("items", numbers)).take(0);
+			final Object obj = value.getObject();
+			final Array items = obj.get("items").getArray();
+			final Iterator<Value> first = items.iterator();
+			final Iterator<Value> second = items.synchronizedIterator();
+			final Iterator<Entry> entries = obj.iterator();
+			// The iterators keep the shared native value alive
+			items.deleteInstance();
+			obj.deleteInstance();
+			value.deleteInstance();
+			assertEquals(0, first.next().getLong());
+			for (long i = 0; i < 1000; i++) {
+				assertTrue(second.hasNext());
+				assertEquals(i, second.next().getLong());
+			}
+			assertFalse(second.hasNext());
+			assertEquals(1, first.next().getLong());
+			assertEquals("items", entries.next().getKey());
+			assertEquals("Tobie", entries.next().getValue().getString());
+			assertFalse(entries.hasNext());
+		}
+	}
+
+	@Test
+	void valueIteratorsFetchInChunks() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final int rows = ValueIterator.CHUNK_SIZE * 2 + 3;
+			final List<Map<String, Long>> items = new ArrayList<>();
+			for (long i = 1; i <= rows; i++) {
+				items.add(Collections.singletonMap("n", i));
+			}
+			surreal.insert("item", items.toArray());
+			for (final Iterator<Value> iter : Arrays.asList(surreal.select("item"), surreal.selectSync("item"))) {
+				long sum = 0;
+				int count = 0;
+				while (iter.hasNext()) {
+					sum += iter.next().getObject().get("n").getLong();
+					count++;
+				}
+				assertEquals(rows, count);
+				assertEquals((long) rows * (rows + 1) / 2, sum);
+				assertFalse(iter.hasNext());
+				assertThrows(NoSuchElementException.class, iter::next);
+			}
+			// Abandoning an iterator mid-chunk releases the values it prefetched
+			final ValueIterator partial = (ValueIterator) surreal.select("item");
+			assertTrue(partial.next().isObject());
+			partial.deleteInstance();
+		}
+	}
+
+	@Test
+	void nativeValuesAreAutoCloseable() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Value value;
+			try (final Response response = surreal.query("RETURN { tags: ['a', 'b'] }")) {
+				value = response.take(0);
+			}
+			// The value outlives the response it was taken from
+			try (final Array tags = value.getObject().get("tags").getArray()) {
+				assertEquals(2, tags.len());
+			}
+			final long freed = NativeStats.snapshot().get("Value").getFreed();
+			value.close();
+			// Closing frees the handle right away, without waiting for the cleaner
+			assertTrue(NativeStats.snapshot().get("Value").getFreed() >= freed + 1);
+			// Closing twice is a no-op
+			value.close();
+		}
+	}
+
+	@Test
+	void nativeScopeReleasesValuesTogether() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.query("CREATE person:1 SET name = 'Tobie', tags = ['CEO', 'CTO']");
+			try (final NativeScope outer = surreal.scope()) {
+				final Value value = surreal.query("SELECT * FROM ONLY person:1").take(0);
+				final int before = outer.size();
+				String name;
+				try (final NativeScope inner = surreal.scope()) {
+					name = value.getObject().get("name").getString();
+					for (final Entry entry : value.getObject()) {
+						assertTrue(entry.getKey().length() > 0);
+					}
+					assertTrue(inner.size() > 0);
+				}
+				assertEquals("Tobie", name);
+				// Handles created in the inner scope do not belong to the outer one
+				assertEquals(before, outer.size());
+				// A value closed early is skipped when the scope closes
+				value.close();
+				// Closing out of order is rejected
+				final NativeScope nested = surreal.scope();
+				assertThrows(IllegalStateException.class, outer::close);
+				nested.close();
+			}
+		}
+	}
+
+	@Test
+	void nativeStatsCountHandles() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final long allocated = surreal.nativeStats().get("Value").getAllocated();
+			final long freed = surreal.nativeStats().get("Value").getFreed();
+			NativeStats.setTrackAllocations(true);
+			final Value value;
+			try {
+				value = surreal.query("RETURN 1").take(0);
+			} finally {
+				NativeStats.setTrackAllocations(false);
+			}
+			assertTrue(surreal.nativeStats().get("Value").getAllocated() > allocated);
+			assertTrue(NativeStats.unreleasedAllocations().stream()
+					.anyMatch(t -> t.getMessage().startsWith("Unreleased " + Value.class.getName())));
+			value.close();
+			assertTrue(surreal.nativeStats().get("Value").getFreed() > freed);
+			assertTrue(surreal.nativeStats().getLive() > 0);
+			assertNull(surreal.nativeStats().get("Unknown"));
+		}
+	}
+
+	@Test
+	void metricsRecordOperations() throws SurrealException {
+		final List<String> recorded = Collections.synchronizedList(new ArrayList<>());
+		final MetricsRegistry registry = new MetricsRegistry() {
+			@Override
+			public void recordLatency(SurrealMetrics.Operation operation, SurrealMetrics.Phase phase, long nanos) {
+				recorded.add(operation.getName() + "." + phase);
+			}
+
+			@Override
+			public void increment(SurrealMetrics.Counter counter, long amount) {
+				recorded.add(counter.name());
+			}
+		};
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			SurrealMetrics.addRegistry(registry);
+			SurrealMetrics.enable();
+			try {
+				SurrealMetrics.reset();
+				surreal.create(new RecordId("person", "metric"), new Person("Metric", Collections.emptyList(), 1, true,
+						Collections.emptyList()));
+				surreal.query("SELECT * FROM person WHERE category = $c", Collections.singletonMap("c", 1));
+				assertTrue(surreal.select(Person.class, new RecordId("person", "metric")).isPresent());
+			} finally {
+				SurrealMetrics.disable();
+				SurrealMetrics.removeRegistry(registry);
+			}
+			assertEquals(1, SurrealMetrics.latency(SurrealMetrics.Operation.CREATE).getCount());
+			assertEquals(1,
+					SurrealMetrics.latency(SurrealMetrics.Operation.QUERY, SurrealMetrics.Phase.ENCODE).getCount());
+			assertEquals(1,
+					SurrealMetrics.latency(SurrealMetrics.Operation.SELECT, SurrealMetrics.Phase.DECODE).getCount());
+			final SurrealMetrics.Latency select = SurrealMetrics.latency(SurrealMetrics.Operation.SELECT);
+			assertEquals(1, select.getCount());
+			assertTrue(select.getValueAtPercentile(99) > 0);
+			assertTrue(select.getValueAtPercentile(99) <= select.getMax());
+			assertEquals(0, SurrealMetrics.getInFlight());
+			assertEquals(1, SurrealMetrics.getCount(SurrealMetrics.Counter.RECORDS_WRITTEN));
+			assertEquals(1, SurrealMetrics.getCount(SurrealMetrics.Counter.RECORDS_READ));
+			assertTrue(SurrealMetrics.getCount(SurrealMetrics.Counter.BYTES_ENCODED) > 0);
+			assertTrue(SurrealMetrics.getCount(SurrealMetrics.Counter.BYTES_DECODED) > 0);
+			assertTrue(recorded.contains("select.TOTAL"));
+			assertTrue(recorded.contains("RECORDS_READ"));
+			// Disabled metrics record nothing
+			surreal.query("RETURN 1");
+			assertEquals(1, SurrealMetrics.latency(SurrealMetrics.Operation.QUERY).getCount());
+		}
+	}
+
+	@Test
+	void slowQueryLogRecordsFingerprints() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Duration threshold = SlowQueryLog.getThreshold();
+			final int capacity = SlowQueryLog.getCapacity();
+			SlowQueryLog.setCapacity(2);
+			SlowQueryLog.setThreshold(Duration.ZERO);
+			try {
+				surreal.query("CREATE person:1 SET name = 'Tobie'");
+				surreal.query("SELECT * FROM person WHERE name = $name; RETURN 1",
+						Collections.singletonMap("name", "Tobie"));
+				surreal.select("person").hasNext();
+				SlowQueryLog.setThreshold(null);
+				surreal.query("RETURN 2");
+				final List<SlowQueryLog.Entry> entries = SlowQueryLog.entries();
+				// The oldest entry was overwritten
+				assertEquals(2, entries.size());
+				final SlowQueryLog.Entry query = entries.get(0);
+				assertEquals("query", query.getSource());
+				assertEquals("SELECT * FROM person WHERE name = $name; RETURN ?", query.getFingerprint());
+				assertEquals(Collections.singletonList("name"), query.getParameterKeys());
+				assertEquals(2, query.getResultSize());
+				final SlowQueryLog.Entry select = entries.get(1);
+				assertEquals("select", select.getSource());
+				assertEquals("SELECT * FROM person", select.getFingerprint());
+				assertEquals(-1, select.getResultSize());
+				SlowQueryLog.clear();
+				assertTrue(SlowQueryLog.entries().isEmpty());
+			} finally {
+				SlowQueryLog.setThreshold(threshold);
+				SlowQueryLog.setCapacity(capacity);
+			}
+		}
+	}
+
+	@Test
+	void slowQueryLogGroupsRecordsByTable() throws SurrealException {
+		try (final Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			final Duration threshold = SlowQueryLog.getThreshold();
+			final int capacity = SlowQueryLog.getCapacity();
+			SlowQueryLog.setCapacity(8);
+			SlowQueryLog.setThreshold(Duration.ZERO);
+			try {
+				surreal.create(new RecordId("person", "tobie"), Collections.singletonMap("name", "Tobie"));
+				surreal.select(new RecordId("person", "tobie"));
+				surreal.select(new RecordId("person", "jaime"));
+				surreal.select(new RecordId("person", "tobie"), new RecordId("person", "jaime"));
+				final List<SlowQueryLog.Entry> entries = SlowQueryLog.entries();
+				assertEquals(4, entries.size());
+				assertEquals("CREATE person:? CONTENT $val", entries.get(0).getFingerprint());
+				// String keys do not end up in the fingerprint
+				assertEquals("SELECT * FROM person:?", entries.get(1).getFingerprint());
+				assertEquals(entries.get(1).getFingerprint(), entries.get(2).getFingerprint());
+				assertEquals(entries.get(1).getFingerprint(), entries.get(3).getFingerprint());
+			} finally {
+				SlowQueryLog.setThreshold(threshold);
+				SlowQueryLog.setCapacity(capacity);
+			}
+		}
+	}
+
+	@Test
+	void latencyHistogramBucketsAreAccurate() {
+		for (long value = 0; value < 1_000_000; value = value * 3 / 2 + 1) {
+			final long highest = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+			assertTrue(highest >= value);
+			assertTrue(highest - value <= value / 32);
+		}
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000);
+		}
+		final SurrealMetrics.Latency latency = histogram.snapshot();
+		assertEquals(1000, latency.getCount());
+		assertEquals(1_000_000, latency.getMax());
+		assertEquals(500_500, latency.getMean(), 0.5);
+		assertTrue(Math.abs(latency.getValueAtPercentile(50) - 500_000) <= 500_000 / 32);
+		assertTrue(Math.abs(latency.getValueAtPercentile(99) - 990_000) <= 990_000 / 32);
+	}
+
 	@Test
 	void queryClassValueIterator() throws SurrealException {
 		try (final Surreal surreal = new Surreal()) {
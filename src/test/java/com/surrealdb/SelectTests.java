@@ -1,14 +1,20 @@
 package com.surrealdb;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
@@ -99,6 +105,61 @@ public class SelectTests implements AutoCloseable {
 		assertTrue(persons.contains(jaime));
 	}
 
+	@Test
+	public void selectTableObjectsPaged() {
+		final Iterator<Person> iterator = surreal.selectPaged(Person.class, "person", 1);
+		final List<Person> persons = toList(iterator, false);
+		assertEquals(2, persons.size());
+		assertTrue(persons.contains(tobie));
+		assertTrue(persons.contains(jaime));
+	}
+
+	@Test
+	public void selectTableValuesPagedAcrossPages() {
+		final List<Map<String, Long>> rows = new ArrayList<>();
+		for (long i = 1; i <= 25; i++) {
+			rows.add(Collections.singletonMap("n", i));
+		}
+		surreal.insert("item", rows.toArray());
+		for (final int pageSize : new int[]{1, 5, 7, 25, 100}) {
+			final List<Value> values = toList(surreal.selectPaged("item", pageSize), false);
+			final Set<Long> numbers = values.stream().map(v -> v.getObject().get("n").getLong())
+					.collect(Collectors.toSet());
+			assertEquals(25, values.size());
+			assertEquals(25, numbers.size());
+		}
+		assertFalse(surreal.selectPaged("missing", 10).hasNext());
+	}
+
+	@Test
+	public void selectTableObjectsStream() {
+		try (Stream<Person> stream = surreal.selectStream(Person.class, "person")) {
+			final List<Person> persons = stream.collect(Collectors.toList());
+			assertEquals(2, persons.size());
+			assertTrue(persons.contains(tobie));
+			assertTrue(persons.contains(jaime));
+		}
+	}
+
+	@Test
+	public void selectTableValuesParallelStream() {
+		final List<Map<String, Long>> rows = new ArrayList<>();
+		for (long i = 1; i <= 1000; i++) {
+			rows.add(Collections.singletonMap("n", i));
+		}
+		surreal.insert("item", rows.toArray());
+		try (Stream<Value> stream = surreal.selectStream("item")) {
+			final Spliterator<Value> spliterator = stream.spliterator();
+			assertEquals(1000, spliterator.getExactSizeIfKnown());
+			assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+		}
+		try (Stream<Value> stream = surreal.selectStream("item")) {
+			assertEquals(500500L, stream.parallel().mapToLong(v -> v.getObject().get("n").getLong()).sum());
+		}
+		final Array array = surreal.query("SELECT VALUE n FROM item").take(0).getArray();
+		assertEquals(500500L, StreamSupport.stream(array.spliterator(), true).mapToLong(Value::getLong).sum());
+	}
+
 	@Override
 	public void close() {
 		surreal.close();
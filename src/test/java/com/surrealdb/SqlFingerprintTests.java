@@ -0,0 +1,31 @@
+package com.surrealdb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class SqlFingerprintTests {
+
+	@Test
+	void literalsAreReplaced() {
+		assertEquals("SELECT * FROM person:? WHERE age > ? AND name = ?",
+				SqlFingerprint.of("SELECT * FROM person:1 WHERE age > 18 AND name = 'Tobie'"));
+		assertEquals("UPDATE t SET d = ?, x = ?, r = ?, n = -?",
+				SqlFingerprint.of("UPDATE t SET d = 1h30m, x = 1.5e3dec, r = r\"person:1\", n = -3"));
+		assertEquals("RETURN ?", SqlFingerprint.of("RETURN 'it\\'s'"));
+	}
+
+	@Test
+	void identifiersParametersAndCommentsAreNormalized() {
+		assertEquals("SELECT v2, `a 1` FROM $table LIMIT ?",
+				SqlFingerprint.of("SELECT  v2,\n\t`a 1` -- columns\nFROM $table /* all */ LIMIT 10"));
+		assertEquals(SqlFingerprint.of("SELECT * FROM person:1"), SqlFingerprint.of("SELECT * FROM person:2"));
+	}
+
+	@Test
+	void statementsAreCounted() {
+		assertEquals(1, SqlFingerprint.statements(SqlFingerprint.of("INFO FOR DB")));
+		assertEquals(2, SqlFingerprint.statements(SqlFingerprint.of("RETURN 1; IF $x { RETURN 1; RETURN 2 };")));
+		assertEquals(1, SqlFingerprint.statements(SqlFingerprint.of("SELECT `a;b` FROM t; ")));
+		assertEquals(0, SqlFingerprint.statements(SqlFingerprint.of(" ;; ")));
+	}
+}
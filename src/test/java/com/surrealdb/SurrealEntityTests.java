@@ -0,0 +1,103 @@
+package com.surrealdb;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Covers the mappers generated for {@link SurrealEntity} types.
+ */
+public class SurrealEntityTests {
+
+	public static class Base {
+		public RecordId id;
+		String owner;
+	}
+
+	@SurrealEntity
+	public static class Member extends Base {
+		@SurrealName("full_name")
+		public String name;
+		public int age;
+		public long visits;
+		public Optional<String> nickname;
+		public List<Address> addresses;
+		public Map<String, Long> scores;
+		transient String ignored;
+	}
+
+	@SurrealEntity
+	public static class Address {
+		public String city;
+		public Value extra;
+	}
+
+	@Test
+	void mapperIsGenerated() {
+		final SurrealMapper<Member> mapper = SurrealMappers.find(Member.class);
+		assertNotNull(mapper);
+		assertEquals("com.surrealdb.SurrealEntityTests_Member_SurrealMapper", mapper.getClass().getName());
+		assertEquals(Arrays.asList("full_name", "age", "visits", "nickname", "addresses", "scores", "id", "owner"),
+				Arrays.asList(mapper.names()));
+		assertNull(SurrealMappers.find(Base.class));
+	}
+
+	@Test
+	void roundTrip() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final Address address = new Address();
+			address.city = "London";
+			final Member member = new Member();
+			member.name = "Tobie";
+			member.age = 33;
+			member.visits = 1L << 40;
+			member.nickname = Optional.of("T");
+			member.addresses = Arrays.asList(address);
+			member.scores = java.util.Collections.singletonMap("chess", 7L);
+			member.owner = "admin";
+			member.ignored = "skipped";
+
+			final Member created = surreal.create(Member.class, new RecordId("member", "tobie"), member);
+			assertEquals("tobie", created.id.getId().getString());
+
+			final Value raw = surreal.query("SELECT * FROM ONLY member:tobie").take(0);
+			assertEquals("Tobie", raw.getObject().get("full_name").getString());
+			// the transient field is not written
+			assertEquals(8, raw.getObject().len());
+
+			final Member selected = surreal.select(Member.class, new RecordId("member", "tobie")).get();
+			assertEquals("Tobie", selected.name);
+			assertEquals(33, selected.age);
+			assertEquals(1L << 40, selected.visits);
+			assertEquals(Optional.of("T"), selected.nickname);
+			assertEquals("London", selected.addresses.get(0).city);
+			assertEquals(7L, selected.scores.get("chess"));
+			assertEquals("admin", selected.owner);
+			assertNull(selected.ignored);
+		}
+	}
+
+	@Test
+	void missingAndNullEntries() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final Member member = surreal
+					.query("RETURN { full_name: NULL, age: NULL, addresses: [{ city: 'Paris', extra: { deep: true } }] }")
+					.take(Member.class, 0);
+			assertNull(member.name);
+			assertEquals(0, member.age);
+			assertFalse(member.nickname.isPresent());
+			assertNull(member.scores);
+			assertTrue(member.addresses.get(0).extra.getObject().get("deep").getBoolean());
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.surrealdb;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.surrealdb.pojos.Person;
+import com.surrealdb.signin.RootCredential;
+
+/**
+ * Tests for {@link SurrealPool}.
+ */
+public class SurrealPoolTests {
+
+	private static final PoolOptions OPTIONS = PoolOptions.defaults().withSize(2).withNamespace("test_ns")
+			.withDatabase("test_db").withAcquireTimeout(Duration.ofMillis(200));
+
+	@Test
+	void leasedSessionsAreReadyAndReused() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.create(Person.class, "person", Helpers.tobie);
+			try (SurrealPool pool = new SurrealPool(surreal, OPTIONS)) {
+				assertEquals(2, pool.getIdle());
+				final Surreal first;
+				try (SurrealPool.Lease lease = pool.lease()) {
+					first = lease.session();
+					assertEquals("test_ns", first.getNamespace());
+					assertEquals("test_db", first.getDatabase());
+					assertTrue(first.select(Person.class, "person").hasNext());
+					assertEquals(1, pool.getLeased());
+				}
+				assertEquals(0, pool.getLeased());
+				try (SurrealPool.Lease lease = pool.lease()) {
+					assertSame(first, lease.session());
+				}
+			}
+		}
+	}
+
+	@Test
+	void concurrencyIsCapped() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory");
+			try (SurrealPool pool = new SurrealPool(surreal, OPTIONS)) {
+				try (SurrealPool.Lease a = pool.lease(); SurrealPool.Lease b = pool.lease()) {
+					assertNotSame(a.session(), b.session());
+					assertThrows(SurrealException.class, pool::lease);
+				}
+				pool.lease().close();
+			}
+		}
+	}
+
+	@Test
+	void changedAndExpiredSessionsAreReplaced() throws InterruptedException {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory");
+			try (SurrealPool pool = new SurrealPool(surreal, OPTIONS.withLeaseTimeout(Duration.ofMillis(50)))) {
+				final SurrealPool.Lease changed = pool.lease();
+				changed.session().useDb("other_db");
+				changed.close();
+				assertEquals(1, pool.getIdle());
+
+				final SurrealPool.Lease expired = pool.lease();
+				for (int i = 0; i < 100 && !expired.isExpired(); i++) {
+					Thread.sleep(10);
+				}
+				assertTrue(expired.isExpired());
+				assertThrows(IllegalStateException.class, expired::session);
+				assertEquals(0, pool.getLeased());
+				try (SurrealPool.Lease lease = pool.lease()) {
+					assertEquals("test_db", lease.session().getDatabase());
+				}
+				expired.close();
+			}
+		}
+	}
+
+	@Test
+	void sessionsWithChangedAuthenticationAreReplaced() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory");
+			surreal.query("DEFINE USER pool ON ROOT PASSWORD 'secret' ROLES OWNER");
+			final RootCredential credential = new RootCredential("pool", "secret");
+			try (SurrealPool pool = new SurrealPool(surreal, OPTIONS.withSize(1).withCredential(credential))) {
+				final Surreal invalidated;
+				try (SurrealPool.Lease lease = pool.lease()) {
+					invalidated = lease.session();
+					invalidated.invalidate();
+				}
+				assertEquals(0, pool.getIdle());
+				final Surreal replaced;
+				try (SurrealPool.Lease lease = pool.lease()) {
+					replaced = lease.session();
+					assertNotSame(invalidated, replaced);
+					// Signed in by the pool only, with its credential
+					assertEquals(1, replaced.getAuthChanges());
+					assertEquals("test_db", replaced.getDatabase());
+				}
+				try (SurrealPool.Lease lease = pool.lease()) {
+					assertSame(replaced, lease.session());
+					lease.session().signin(credential);
+				}
+				try (SurrealPool.Lease lease = pool.lease()) {
+					assertNotSame(replaced, lease.session());
+					assertEquals(1, lease.session().getAuthChanges());
+				}
+			}
+		}
+	}
+
+		@Test
+	void sessionsOutliveNativeScopes() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test_ns").useDb("test_db");
+			surreal.create(Person.class, "person", Helpers.tobie);
+			final SurrealPool pool;
+			try (NativeScope scope = surreal.scope()) {
+				pool = new SurrealPool(surreal, OPTIONS);
+				// The changed session is replaced by one opened inside the scope
+				try (SurrealPool.Lease lease = pool.lease()) {
+					lease.session().useDb("other_db");
+				}
+				try (SurrealPool.Lease lease = pool.lease()) {
+					assertTrue(lease.session().select(Person.class, "person").hasNext());
+				}
+			}
+			try (SurrealPool.Lease a = pool.lease(); SurrealPool.Lease b = pool.lease()) {
+				assertTrue(a.session().select(Person.class, "person").hasNext());
+				assertTrue(b.session().select(Person.class, "person").hasNext());
+			} finally {
+				pool.close();
+			}
+		}
+	}
+}
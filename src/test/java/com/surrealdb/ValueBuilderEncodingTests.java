@@ -0,0 +1,144 @@
+package com.surrealdb;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.surrealdb.pojos.ByteData;
+
+/**
+ * Covers the single-buffer encoding used by {@link ValueBuilder}: every value
+ * kind must decode on the native side exactly as it was encoded.
+ */
+public class ValueBuilderEncodingTests {
+
+	@Test
+	void integersAtEveryHeadLength() {
+		final long[] values = {0, 23, 24, 255, 256, 65535, 65536, 4294967295L, 4294967296L, Long.MAX_VALUE, -1, -24,
+				-25, -256, -257, -65537, Long.MIN_VALUE};
+		for (final long l : values) {
+			final Value value = bind(l);
+			assertTrue(value.isLong(), "for " + l);
+			assertEquals(l, value.getLong());
+		}
+	}
+
+	@Test
+	void scalars() {
+		assertEquals(1.5, bind(1.5).getDouble());
+		assertEquals(-0.25, bind(-0.25f).getDouble());
+		assertEquals(7, bind((short) 7).getLong());
+		assertEquals(true, bind(true).getBoolean());
+		assertEquals(false, bind(false).getBoolean());
+		assertTrue(bind(Optional.empty()).isNull());
+		assertEquals("present", bind(Optional.of("present")).getString());
+		assertEquals(new BigDecimal("12345678901234567890.123456789"),
+				bind(new BigDecimal("12345678901234567890.123456789")).getBigDecimal());
+		assertEquals(Duration.ofMillis(90061001), bind(Duration.ofMillis(90061001)).getDuration());
+		final UUID uuid = UUID.randomUUID();
+		assertEquals(uuid, bind(uuid).getUuid());
+	}
+
+	@Test
+	void stringsAreUtf8() {
+		final StringBuilder sb = new StringBuilder("héllo wörld ✓ 😀 ");
+		while (sb.toString().getBytes(StandardCharsets.UTF_8).length < 70000) {
+			sb.append(sb);
+		}
+		final String s = sb.toString();
+		assertEquals(s, bind(s).getString());
+		assertEquals("", bind("").getString());
+	}
+
+	@Test
+	void nestedCollectionsAndMaps() {
+		final Map<String, java.lang.Object> inner = new LinkedHashMap<>();
+		inner.put("n", 1L);
+		inner.put("nothing", null);
+		inner.put("list", Arrays.asList("a", 2, 3.5));
+		final Map<java.lang.Object, java.lang.Object> outer = new LinkedHashMap<>();
+		outer.put("inner", inner);
+		// Non-string keys use their string representation
+		outer.put(42, "answer");
+		final List<java.lang.Object> big = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			big.add(i);
+		}
+		outer.put("big", big);
+
+		final Object object = bind(outer).getObject();
+		assertEquals(3, object.len());
+		assertEquals("answer", object.get("42").getString());
+		final Object decodedInner = object.get("inner").getObject();
+		assertEquals(1, decodedInner.get("n").getLong());
+		assertTrue(decodedInner.get("nothing").isNull());
+		final Array list = decodedInner.get("list").getArray();
+		assertEquals("a", list.get(0).getString());
+		assertEquals(2, list.get(1).getLong());
+		assertEquals(3.5, list.get(2).getDouble());
+		final Array decodedBig = object.get("big").getArray();
+		assertEquals(1000, decodedBig.len());
+		assertEquals(999, decodedBig.get(999).getLong());
+	}
+
+	@Test
+	void nativeHandlesAreCopied() {
+		final RecordId recordId = new RecordId("person", "tobie");
+		final Array array = Array.of(1, "two");
+		final ValueMut mut = ValueMut.createString("mut");
+		final Map<String, java.lang.Object> map = new LinkedHashMap<>();
+		map.put("record", recordId);
+		map.put("array", array);
+		map.put("mut", mut);
+		map.put("id", Id.from(7));
+
+		final Object object = bind(map).getObject();
+		assertEquals(recordId, object.get("record").getRecordId());
+		assertEquals(2, object.get("array").getArray().len());
+		assertEquals("mut", object.get("mut").getString());
+		assertEquals(7, object.get("id").getLong());
+		// The handles are cloned, not consumed: they remain usable afterwards
+		assertEquals("person", recordId.getTable());
+		assertEquals(2, array.len());
+	}
+
+	@Test
+	void byteArraysRoundTrip() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final ByteData data = new ByteData();
+			data.data = new byte[]{0, 1, 127, -128, -1};
+			final ByteData created = surreal.create(ByteData.class, "bytes", data).get(0);
+			assertArrayEquals(data.data, created.data);
+		}
+	}
+
+	@Test
+	void unsupportedTypesAreRejected() {
+		assertThrows(SurrealException.class, () -> ValueBuilder.convert(java.math.BigInteger.ONE));
+		assertThrows(SurrealException.class,
+				() -> ValueBuilder.convert(Collections.singletonList(java.math.BigInteger.ONE)));
+	}
+
+	private static Value bind(java.lang.Object input) {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final Response response = surreal.query("RETURN $value", Collections.singletonMap("value", input));
+			return response.take(0);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.surrealdb;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Covers {@link Value#get(Class)}, which reads the whole value in one native
+ * call and converts the decoded tree.
+ */
+public class ValueDecodeTests {
+
+	public static class Address {
+		public String city;
+		public long zip;
+	}
+
+	public static class Everything {
+		public String name;
+		public int count;
+		public short small;
+		public float ratio;
+		public double exact;
+		public BigDecimal price;
+		public boolean active;
+		public UUID uuid;
+		public Duration ttl;
+		public Instant created;
+		public ZonedDateTime updated;
+		public byte[] payload;
+		public RecordId owner;
+		public Id ownerId;
+		public Address address;
+		public List<Address> history;
+		public List<java.lang.Object> tags;
+		public Map<String, Address> byKind;
+		public Optional<String> nickname;
+		public Optional<Address> billing;
+		public Value raw;
+		public String missing;
+	}
+
+	@Test
+	void decodesEveryFieldKind() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final String sql = "RETURN { name: 'Tobie', count: 42, small: 7, ratio: 0.5, exact: 1.25, price: 9.99dec,"
+					+ "active: true, uuid: u'4bd4bf8b-6a6f-4c1b-8f7a-0b9c5a1d2e3f', ttl: 1h30m,"
+					+ "created: d'2026-06-06T08:09:10.123456789Z', updated: d'2026-06-06T08:09:10Z',"
+					+ "payload: <bytes>'abc', owner: person:tobie, ownerId: person:tobie,"
+					+ "address: { city: 'London', zip: 12345 },"
+					+ "history: [{ city: 'Paris', zip: 1 }, { city: 'Berlin', zip: 2 }],"
+					+ "tags: ['a', 1, [2, 3]], byKind: { home: { city: 'Rome', zip: 3 } },"
+					+ "nickname: 'T', billing: { city: 'Oslo', zip: 4 }, raw: [1, { deep: true }],"
+					+ "unknown: 'ignored' }";
+			final Everything e = surreal.query(sql).take(Everything.class, 0);
+
+			assertEquals("Tobie", e.name);
+			assertEquals(42, e.count);
+			assertEquals(7, e.small);
+			assertEquals(0.5f, e.ratio);
+			assertEquals(1.25, e.exact);
+			assertEquals(new BigDecimal("9.99"), e.price);
+			assertTrue(e.active);
+			assertEquals(UUID.fromString("4bd4bf8b-6a6f-4c1b-8f7a-0b9c5a1d2e3f"), e.uuid);
+			assertEquals(Duration.ofMinutes(90), e.ttl);
+			assertEquals(Instant.parse("2026-06-06T08:09:10.123456789Z"), e.created);
+			assertEquals(Instant.parse("2026-06-06T08:09:10Z"), e.updated.toInstant());
+			assertArrayEquals("abc".getBytes(), e.payload);
+			assertEquals("person", e.owner.getTable());
+			assertEquals("tobie", e.owner.getId().getString());
+			assertEquals("tobie", e.ownerId.getString());
+			assertEquals("London", e.address.city);
+			assertEquals(12345, e.address.zip);
+			assertEquals(2, e.history.size());
+			assertEquals("Berlin", e.history.get(1).city);
+			assertEquals("a", e.tags.get(0));
+			assertEquals(1L, e.tags.get(1));
+			assertEquals(3L, ((List<?>) e.tags.get(2)).get(1));
+			assertEquals("Rome", e.byKind.get("home").city);
+			assertEquals(Optional.of("T"), e.nickname);
+			assertEquals("Oslo", e.billing.get().city);
+			// Value fields are resolved from the native value, not the decoded copy
+			assertTrue(e.raw.isArray());
+			assertTrue(e.raw.getArray().get(1).getObject().get("deep").getBoolean());
+			assertNull(e.missing);
+		}
+	}
+
+	@Test
+	void valueFieldsInNestedObjects() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			final Value value = surreal.query("RETURN { history: [{ city: 'Paris', zip: 1, extra: 'x' }] }").take(0);
+			final Holder holder = value.get(Holder.class);
+			assertEquals("x", holder.history.get(0).extra.getString());
+		}
+	}
+
+	@Test
+	void nullAndNoneDecodeToNull() {
+		try (Surreal surreal = new Surreal()) {
+			surreal.connect("memory").useNs("test").useDb("test");
+			assertNull(surreal.query("RETURN NULL").take(0).get(Address.class));
+			assertNull(surreal.query("RETURN NONE").take(0).get(Address.class));
+			final Everything e = surreal.query("RETURN { name: NULL, nickname: NULL }").take(Everything.class, 0);
+			assertNull(e.name);
+			assertFalse(e.nickname.isPresent());
+			assertFalse(e.billing.isPresent());
+		}
+	}
+
+	public static class Holder {
+		public List<WithValue> history;
+	}
+
+	public static class WithValue {
+		public String city;
+		public Value extra;
+	}
+}